@@ -9,6 +9,7 @@ plugins {
   java
   id("org.springframework.boot") version libs.versions.springboot.get()
   id("io.spring.dependency-management") version "1.1.7"
+  id("me.champeau.jmh") version "0.7.3"
 }
 
 buildscript {
@@ -35,6 +36,18 @@ repositories {
 
 val agent: Configuration by configurations.creating
 
+// The load test boots the whole application, so it is kept out of `test` and `check`
+val loadTest: SourceSet by
+  sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+  }
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(
+  configurations.testImplementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(
+  configurations.testRuntimeOnly.get())
+
 dependencies {
   implementation("io.opentelemetry:opentelemetry-api")
   agent("io.opentelemetry.javaagent:opentelemetry-javaagent:2.9.0")
@@ -56,6 +69,7 @@ dependencies {
   implementation("org.jobrunr:jobrunr-spring-boot-3-starter:7.3.2")
   implementation("com.google.zxing:core:3.5.3")
   implementation("com.google.zxing:javase:3.5.3")
+  implementation("com.github.ben-manes.caffeine:caffeine")
 
   runtimeOnly("io.micrometer:micrometer-registry-prometheus")
   runtimeOnly("org.postgresql:postgresql")
@@ -74,6 +88,86 @@ tasks.withType<Test> {
   environment("TESTCONTAINERS_RYUK_DISABLED", "true") // Disable Ryuk container for tests
 }
 
+// Tune the load test by `./gradlew loadTest -PloadTest.users=5000 -PloadTest.concurrency=500`
+tasks.register<Test>("loadTest") {
+  group = "verification"
+  description = "Seeds a dataset and drives a request mix against the application"
+
+  testClassesDirs = loadTest.output.classesDirs
+  classpath = loadTest.runtimeClasspath
+  outputs.upToDateWhen { false }
+  testLogging.showStandardStreams = true
+  providers.gradlePropertiesPrefixedBy("loadTest.").get().forEach { (key, value) ->
+    systemProperty(key, value)
+  }
+}
+
+val gitShortSha: Provider<String> =
+  providers
+    .exec {
+      commandLine("git", "rev-parse", "--short", "HEAD")
+      isIgnoreExitValue = true
+    }
+    .standardOutput
+    .asText
+    .map { it.trim().ifEmpty { "local" } }
+val jmhResultsDir = layout.buildDirectory.dir("results/jmh")
+
+// Run only some benchmarks by `./gradlew jmh -PjmhIncludes=PasswordHashingBenchmark`
+// The results are kept per commit, as `build/results/jmh/results-<commit>.json`
+jmh {
+  jmhVersion = "1.37"
+  resultFormat = "JSON"
+  resultsFile = jmhResultsDir.zip(gitShortSha) { dir, sha -> dir.file("results-$sha.json") }
+  providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
+// Diff the results of this commit with another one by `./gradlew jmhCompare -PjmhBaseline=<commit>`
+tasks.register("jmhCompare") {
+  group = "benchmark"
+  description = "Compares the JMH results of the current commit with the ones of -PjmhBaseline"
+
+  val baselineSha = providers.gradleProperty("jmhBaseline")
+  val currentSha = gitShortSha
+  val resultsDir = jmhResultsDir
+
+  doLast {
+    fun readScores(sha: String): Map<String, Pair<Double, String>> {
+      val resultsFile = resultsDir.get().file("results-$sha.json").asFile
+      check(resultsFile.exists()) { "JMH results of [$sha] are not found: $resultsFile" }
+
+      @Suppress("UNCHECKED_CAST")
+      val results = groovy.json.JsonSlurper().parse(resultsFile) as List<Map<String, Any?>>
+
+      return results.associate { result ->
+        val params =
+          (result["params"] as Map<*, *>?)
+            ?.entries
+            ?.joinToString(",", "(", ")") { "${it.key}=${it.value}" }
+            .orEmpty()
+        val primaryMetric = result["primaryMetric"] as Map<*, *>
+        val score = (primaryMetric["score"] as Number).toDouble()
+
+        "${result["benchmark"]}$params" to (score to "${primaryMetric["scoreUnit"]}")
+      }
+    }
+
+    val baselineScores = readScores(baselineSha.get())
+    readScores(currentSha.get()).toSortedMap().forEach { (benchmark, current) ->
+      val baseline = baselineScores[benchmark] ?: return@forEach
+      val change = (current.first - baseline.first) / baseline.first * 100
+      println(
+        String.format(
+          "%-90s %14.3f -> %14.3f %-8s (%+.1f%%)",
+          benchmark,
+          baseline.first,
+          current.first,
+          current.second,
+          change))
+    }
+  }
+}
+
 tasks.register<Copy>("copyAgent") {
   from(agent) {
     rename("opentelemetry-javaagent-.*\\.jar", "opentelemetry-javaagent.jar")
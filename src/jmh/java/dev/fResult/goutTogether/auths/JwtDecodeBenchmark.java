@@ -0,0 +1,114 @@
+package dev.fResult.goutTogether.auths;
+
+import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
+import static dev.fResult.goutTogether.common.Constants.ROLES_CLAIM;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.SecurityContext;
+import dev.fResult.goutTogether.common.security.AuthenticatedPrincipal;
+import dev.fResult.goutTogether.common.security.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Cost of decoding an access token on every authenticated request, by the plain RSA verification
+ * of {@link NimbusJwtDecoder} and by {@link CachingJwtDecoder} in front of it.
+ *
+ * <p>The tokens are sent round-robin from a pool of <code>tokenCount</code> clients, all of them
+ * fit in the cache, so the cached path measures a warm hit with its SHA-256 key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class JwtDecodeBenchmark {
+  @Param({"1", "1000"})
+  private int tokenCount;
+
+  private JwtDecoder nimbusDecoder;
+  private JwtDecoder cachingDecoder;
+  private String[] tokens;
+  private int nextTokenIndex;
+
+  @Setup
+  public void setUp() throws NoSuchAlgorithmException {
+    final var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    final var keyPair = keyPairGenerator.generateKeyPair();
+    final var publicKey = (RSAPublicKey) keyPair.getPublic();
+    final var jwk =
+        new RSAKey.Builder(publicKey).privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+    final var jwkSource = new ImmutableJWKSet<SecurityContext>(new JWKSet(jwk));
+    final var jwtEncoder = new NimbusJwtEncoder(jwkSource);
+
+    nimbusDecoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+    cachingDecoder =
+        new CachingJwtDecoder(
+            nimbusDecoder, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    final var issuedAt = Instant.now();
+    tokens = new String[tokenCount];
+    for (var i = 0; i < tokenCount; i++) {
+      final var claims =
+          JwtClaimsSet.builder()
+              .issuer("gout-together")
+              .issuedAt(issuedAt)
+              .subject("user" + i + "@example.com")
+              .claim(ROLES_CLAIM, "CONSUMER")
+              .claim(RESOURCE_ID_CLAIM, i + 1)
+              .expiresAt(issuedAt.plusSeconds(3600))
+              .build();
+      tokens[i] = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+  }
+
+  private String nextToken() {
+    final var token = tokens[nextTokenIndex];
+    nextTokenIndex = (nextTokenIndex + 1) % tokenCount;
+
+    return token;
+  }
+
+  @Benchmark
+  public Jwt decodeWithoutCache() {
+    return nimbusDecoder.decode(nextToken());
+  }
+
+  @Benchmark
+  public Jwt decodeWithCache() {
+    return cachingDecoder.decode(nextToken());
+  }
+
+  /** What a controller gets, the cached token plus its claims which are parsed once */
+  @Benchmark
+  public AuthenticatedPrincipal decodeWithCacheToPrincipal() {
+    return AuthenticatedPrincipal.from(cachingDecoder.decode(nextToken()));
+  }
+}
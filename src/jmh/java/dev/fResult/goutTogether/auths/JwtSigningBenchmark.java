@@ -0,0 +1,123 @@
+package dev.fResult.goutTogether.auths;
+
+import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
+import static dev.fResult.goutTogether.common.Constants.ROLES_CLAIM;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import dev.fResult.goutTogether.common.security.JwtKeySet;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Throughput of issuing and verifying an access token per signing key, to pick the algorithm of
+ * <code>goutapp.oauth.signing-key-id</code>. The tokens are verified without the cache of
+ * verified tokens, as the first request of every token does.
+ *
+ * <p>Every key is written as <code>algorithm:keySize</code>, the key size is only for RSA:
+ *
+ * <ul>
+ *   <li><code>RS256:4096</code> is the key which the README generates
+ *   <li><code>RS256:2048</code> is the minimum RSA key size of RFC 7518
+ *   <li><code>ES256:256</code> is the P-256 curve
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class JwtSigningBenchmark {
+  private static final String KEY_ID = "benchmark-key";
+
+  @Param({"RS256:4096", "RS256:2048", "ES256:256"})
+  private String signingKey;
+
+  private NimbusJwtEncoder jwtEncoder;
+  private JwtDecoder jwtDecoder;
+  private JwtKeySet jwtKeySet;
+  private String token;
+
+  @Setup
+  public void setUp() throws JOSEException {
+    final var parameters = signingKey.split(":");
+    final var algorithm = JWSAlgorithm.parse(parameters[0]);
+    final var keySize = Integer.parseInt(parameters[1]);
+
+    final JWK jwk =
+        JWSAlgorithm.Family.EC.contains(algorithm)
+            ? new ECKeyGenerator(Curve.forJWSAlgorithm(algorithm).iterator().next())
+                .keyID(KEY_ID)
+                .algorithm(algorithm)
+                .keyUse(KeyUse.SIGNATURE)
+                .generate()
+            : new RSAKeyGenerator(keySize)
+                .keyID(KEY_ID)
+                .algorithm(algorithm)
+                .keyUse(KeyUse.SIGNATURE)
+                .generate();
+    jwtKeySet = JwtKeySet.of(List.of(jwk), KEY_ID);
+    jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(jwtKeySet.jwkSet()));
+
+    // The same as SecurityConfig.jwtDecoder without its cache
+    final var jwtProcessor = new DefaultJWTProcessor<SecurityContext>();
+    jwtProcessor.setJWSKeySelector(
+        new JWSVerificationKeySelector<>(
+            jwtKeySet.algorithms(), new ImmutableJWKSet<>(jwtKeySet.publicJwkSet())));
+    jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+    jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+
+    token = issue().getTokenValue();
+  }
+
+  /** Login and token refresh */
+  @Benchmark
+  public Jwt issue() {
+    final var issuedAt = Instant.now();
+    final var claims =
+        JwtClaimsSet.builder()
+            .issuer("gout-together")
+            .issuedAt(issuedAt)
+            .subject("john.wick@example.com")
+            .claim(ROLES_CLAIM, "CONSUMER")
+            .claim(RESOURCE_ID_CLAIM, 1)
+            .expiresAt(issuedAt.plusSeconds(3600))
+            .build();
+
+    return jwtEncoder.encode(JwtEncoderParameters.from(jwtKeySet.signingHeader(), claims));
+  }
+
+  /** The first request of every access token */
+  @Benchmark
+  public Jwt verify() {
+    return jwtDecoder.decode(token);
+  }
+}
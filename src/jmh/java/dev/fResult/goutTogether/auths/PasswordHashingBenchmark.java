@@ -0,0 +1,66 @@
+package dev.fResult.goutTogether.auths;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * Cost of a single Argon2 hash per parameter set, to pick the {@code goutapp.password-hashing.*}
+ * values and the max concurrent hashes which the heap can afford.
+ *
+ * <p>Every parameter set is written as <code>memoryInKb:iterations:parallelism</code>:
+ *
+ * <ul>
+ *   <li><code>16384:2:1</code> is the current default, same as Spring Security 5.8
+ *   <li><code>19456:2:1</code> and <code>12288:3:1</code> are the OWASP minimums
+ *   <li><code>65536:3:4</code> is the RFC 9106 second recommended option
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class PasswordHashingBenchmark {
+  private static final String RAW_PASSWORD = "P@$$w0rd-0f-4-n0rm4l-l3ngth";
+
+  @Param({"16384:2:1", "19456:2:1", "12288:3:1", "65536:3:4"})
+  private String parameterSet;
+
+  private Argon2PasswordEncoder passwordEncoder;
+  private String encodedPassword;
+
+  @Setup
+  public void setUp() {
+    final var parameters = parameterSet.split(":");
+    final var memoryInKb = Integer.parseInt(parameters[0]);
+    final var iterations = Integer.parseInt(parameters[1]);
+    final var parallelism = Integer.parseInt(parameters[2]);
+
+    passwordEncoder = new Argon2PasswordEncoder(16, 32, parallelism, memoryInKb, iterations);
+    encodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+  }
+
+  /** Registration and password change */
+  @Benchmark
+  public String encode() {
+    return passwordEncoder.encode(RAW_PASSWORD);
+  }
+
+  /** Login */
+  @Benchmark
+  public boolean matches() {
+    return passwordEncoder.matches(RAW_PASSWORD, encodedPassword);
+  }
+}
@@ -0,0 +1,85 @@
+package dev.fResult.goutTogether.auths;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import dev.fResult.goutTogether.auths.dtos.AuthenticatedUser;
+import dev.fResult.goutTogether.auths.services.TokenService;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.configs.SecurityConfig;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.security.JwtKeySet;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the tokens which every login and refresh issues, through {@link TokenService} and the
+ * encoder of {@link SecurityConfig}, so the claims building and the <code>kid</code> header are
+ * measured along with the signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class TokenIssuanceBenchmark {
+  private static final String KEY_ID = "benchmark-key";
+
+  @Param({"RS256", "ES256"})
+  private String algorithm;
+
+  private TokenService tokenService;
+  private AuthenticatedUser authenticatedUser;
+
+  @Setup
+  public void setUp() throws JOSEException {
+    final var jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+    final JWK jwk =
+        JWSAlgorithm.Family.EC.contains(jwsAlgorithm)
+            ? new ECKeyGenerator(Curve.forJWSAlgorithm(jwsAlgorithm).iterator().next())
+                .keyID(KEY_ID)
+                .algorithm(jwsAlgorithm)
+                .keyUse(KeyUse.SIGNATURE)
+                .generate()
+            : new RSAKeyGenerator(2048)
+                .keyID(KEY_ID)
+                .algorithm(jwsAlgorithm)
+                .keyUse(KeyUse.SIGNATURE)
+                .generate();
+    final var jwtEncoder =
+        new SecurityConfig(new MyApplicationProperties())
+            .jwtEncoder(JwtKeySet.of(List.of(jwk), KEY_ID));
+
+    // The user details service is only used to issue by a refresh token, which is not measured
+    tokenService = new TokenService(null, 900, 86_400, jwtEncoder);
+    authenticatedUser =
+        AuthenticatedUser.of(1, "user@example.com", "encoded-password", UserRoleName.CONSUMER);
+  }
+
+  @Benchmark
+  public String issueAccessToken() {
+    return tokenService.issueAccessToken(authenticatedUser, Instant.now());
+  }
+
+  @Benchmark
+  public String issueRefreshToken() {
+    return tokenService.issueRefreshToken();
+  }
+}
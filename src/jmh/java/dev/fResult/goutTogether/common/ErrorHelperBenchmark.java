@@ -0,0 +1,72 @@
+package dev.fResult.goutTogether.common;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cost of the exception suppliers of {@link ErrorHelper}, on the happy path where a supplier is
+ * built but never called, and on the path where its exception is thrown.
+ *
+ * <p>The warning which a supplier logs is turned off, its cost depends on the appenders, not on
+ * the helper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class ErrorHelperBenchmark {
+  private static final int TOUR_ID = 1;
+
+  /** Number of the missing ids of a batch */
+  @Param({"1", "100"})
+  private int idCount;
+
+  private ErrorHelper errorHelper;
+  private Optional<Tour> tourOpt;
+  private List<Integer> ids;
+
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(ErrorHelperBenchmark.class)).setLevel(Level.OFF);
+
+    errorHelper = new ErrorHelper(ErrorHelperBenchmark.class);
+    tourOpt = Optional.of(Tour.of(TOUR_ID, null, "title", "description", "location", 10, null, ""));
+    ids = IntStream.rangeClosed(1, idCount).boxed().toList();
+  }
+
+  @Benchmark
+  public Tour entityFound() {
+    return tourOpt.orElseThrow(errorHelper.entityNotFound("entityFound", Tour.class, TOUR_ID));
+  }
+
+  @Benchmark
+  public EntityNotFoundException entityNotFound() {
+    return errorHelper.entityNotFound("entityNotFound", Tour.class, TOUR_ID).get();
+  }
+
+  @Benchmark
+  public EntityNotFoundException someEntitiesMissing() {
+    return errorHelper.someEntitiesMissing("someEntitiesMissing", Tour.class, ids).get();
+  }
+}
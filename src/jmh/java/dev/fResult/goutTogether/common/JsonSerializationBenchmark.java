@@ -0,0 +1,91 @@
+package dev.fResult.goutTogether.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
+import dev.fResult.goutTogether.common.enumurations.BookingStatus;
+import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import dev.fResult.goutTogether.common.models.CursorPage;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Cost of writing the response bodies of the booking and the tour listing, by an {@link
+ * ObjectMapper} which is built like the one of Spring Boot.
+ *
+ * <p>A {@link Page} is written as a {@link PageImpl} as it is, with its {@link PageRequest} and
+ * sort, the {@link CursorPage} of the keyset pagination is the baseline of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class JsonSerializationBenchmark {
+  /** Number of the tours of a page */
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private BookingInfoResponse bookingInfo;
+  private Page<Tour> tourPage;
+  private CursorPage<Tour> tourCursorPage;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    bookingInfo = BookingInfoResponse.of(1, 1, 1, BookingStatus.PENDING, 1);
+
+    final var activityDate = Instant.now().plus(30, ChronoUnit.DAYS);
+    final var tours = new ArrayList<Tour>(pageSize);
+    for (var id = 1; id <= pageSize; id++) {
+      tours.add(
+          Tour.of(
+              id,
+              AggregateReference.to(id % 10 + 1),
+              "Tour " + id,
+              "A day trip to the old town, lunch included",
+              "Chiang Mai",
+              20,
+              activityDate,
+              TourStatus.APPROVED.name()));
+    }
+    tourPage = new PageImpl<>(tours, PageRequest.of(0, pageSize), 10_000);
+    tourCursorPage = CursorPage.of(tours, "eyJpZCI6MjB9", null);
+  }
+
+  @Benchmark
+  public byte[] writeBookingInfo() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(bookingInfo);
+  }
+
+  @Benchmark
+  public byte[] writeTourPage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(tourPage);
+  }
+
+  @Benchmark
+  public byte[] writeTourCursorPage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(tourCursorPage);
+  }
+}
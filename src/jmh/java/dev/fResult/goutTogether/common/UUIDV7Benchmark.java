@@ -0,0 +1,46 @@
+package dev.fResult.goutTogether.common;
+
+import dev.fResult.goutTogether.common.utils.UUIDV7;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the id of every refresh token and idempotent key, by {@link UUIDV7} and by the
+ * random UUID v4 of the JDK, on a single thread and on 4 threads which issue them at once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class UUIDV7Benchmark {
+  @Benchmark
+  public UUID uuidV7() {
+    return UUIDV7.randomUUID();
+  }
+
+  @Benchmark
+  public UUID uuidV4() {
+    return UUID.randomUUID();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public UUID uuidV7Contended() {
+    return UUIDV7.randomUUID();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public UUID uuidV4Contended() {
+    return UUID.randomUUID();
+  }
+}
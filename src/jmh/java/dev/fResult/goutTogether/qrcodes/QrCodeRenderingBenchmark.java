@@ -0,0 +1,51 @@
+package dev.fResult.goutTogether.qrcodes;
+
+import com.google.zxing.WriterException;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+import dev.fResult.goutTogether.common.helpers.QrCodeHelper;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of rendering a payment QR code on a miss of {@link QrCodeImageCache}, per size. The
+ * BufferedImage is what the QR endpoint rendered before the PNG bytes were cached, the others are
+ * what it renders now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class QrCodeRenderingBenchmark {
+  private static final String QR_CODE_CONTENT = "/api/v1/payments/123456";
+
+  @Param({"300", "1024"})
+  private int size;
+
+  /** Only at the default size, it is not sized by the request */
+  @Benchmark
+  public BufferedImage generateBufferedImage() throws WriterException {
+    return QrCodeHelper.generateQrCodeImage(QR_CODE_CONTENT);
+  }
+
+  @Benchmark
+  public byte[] generatePng() throws WriterException {
+    return QrCodeHelper.generateQrCode(QR_CODE_CONTENT, QrCodeFormat.PNG, size);
+  }
+
+  @Benchmark
+  public byte[] generateSvg() throws WriterException {
+    return QrCodeHelper.generateQrCode(QR_CODE_CONTENT, QrCodeFormat.SVG, size);
+  }
+}
@@ -0,0 +1,118 @@
+package dev.fResult.goutTogether.wallets;
+
+import dev.fResult.goutTogether.wallets.entities.UserWallet;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+
+/**
+ * Cost of the money arithmetic of a batch payment, without the database: the debits are summed by
+ * wallet like <code>PaymentServiceImpl.payByBookingIds</code> does, then every wallet balance is
+ * checked and debited like <code>WalletServiceImpl.transferMoneyForBookings</code> does.
+ *
+ * <p>The sums which are keyed by the wallet id and by the <code>long</code> of minor units are the
+ * baselines of the sums which are keyed by the wallet record, whose hash covers its balance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class WalletArithmeticBenchmark {
+  private static final int BOOKINGS_PER_USER = 5;
+  private static final BigDecimal TOUR_PRICE = new BigDecimal("100.00");
+  private static final long TOUR_PRICE_IN_MINOR_UNITS = 100_00;
+
+  /** Number of the bookings of a batch */
+  @Param({"10", "500"})
+  private int bookingCount;
+
+  private UserWallet[] userWalletByBooking;
+  private Map<UserWallet, BigDecimal> debitByUserWallet;
+
+  @Setup
+  public void setUp() {
+    final var userCount = Math.max(1, bookingCount / BOOKINGS_PER_USER);
+    final var userWallets = new ArrayList<UserWallet>(userCount);
+    for (var userId = 1; userId <= userCount; userId++) {
+      userWallets.add(
+          UserWallet.of(
+              userId, AggregateReference.to(userId), Instant.now(), new BigDecimal("10000.00")));
+    }
+
+    userWalletByBooking = new UserWallet[bookingCount];
+    for (var i = 0; i < bookingCount; i++) {
+      userWalletByBooking[i] = userWallets.get(i % userCount);
+    }
+    debitByUserWallet = sumDebitsByWallet();
+  }
+
+  @Benchmark
+  public Map<UserWallet, BigDecimal> sumDebitsByWallet() {
+    final var debitByUserWallet = new LinkedHashMap<UserWallet, BigDecimal>();
+    for (final var userWallet : userWalletByBooking) {
+      debitByUserWallet.merge(userWallet, TOUR_PRICE, BigDecimal::add);
+    }
+
+    return debitByUserWallet;
+  }
+
+  @Benchmark
+  public Map<Integer, BigDecimal> sumDebitsByWalletId() {
+    final var debitByUserWalletId = new HashMap<Integer, BigDecimal>();
+    for (final var userWallet : userWalletByBooking) {
+      debitByUserWalletId.merge(userWallet.id(), TOUR_PRICE, BigDecimal::add);
+    }
+
+    return debitByUserWalletId;
+  }
+
+  @Benchmark
+  public Map<Integer, Long> sumDebitsInMinorUnitsByWalletId() {
+    final var debitInMinorUnitsByUserWalletId = new HashMap<Integer, Long>();
+    for (final var userWallet : userWalletByBooking) {
+      debitInMinorUnitsByUserWalletId.merge(userWallet.id(), TOUR_PRICE_IN_MINOR_UNITS, Long::sum);
+    }
+
+    return debitInMinorUnitsByUserWalletId;
+  }
+
+  @Benchmark
+  public List<UserWallet> debitWallets() {
+    final var userWalletsToUpdate = new ArrayList<UserWallet>(debitByUserWallet.size());
+    debitByUserWallet.forEach(
+        (userWallet, amount) -> {
+          final var userWalletBalance = userWallet.balance();
+          if (userWalletBalance.compareTo(amount) < 0) {
+            throw new IllegalStateException("Balance is insufficient");
+          }
+
+          userWalletsToUpdate.add(
+              UserWallet.of(
+                  userWallet.id(),
+                  userWallet.userId(),
+                  Instant.now(),
+                  userWalletBalance.subtract(amount)));
+        });
+
+    return userWalletsToUpdate;
+  }
+}
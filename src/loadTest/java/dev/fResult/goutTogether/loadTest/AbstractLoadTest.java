@@ -0,0 +1,47 @@
+package dev.fResult.goutTogether.loadTest;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(LoadTestDatabaseConfig.class)
+public abstract class AbstractLoadTest {
+  protected static final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+  @DynamicPropertySource
+  static void registerProperties(DynamicPropertyRegistry registry)
+      throws NoSuchAlgorithmException {
+
+    if (settings.usesLocalDatabase()) {
+      registry.add("spring.datasource.url", settings::jdbcUrl);
+      registry.add("spring.datasource.username", settings::jdbcUsername);
+      registry.add("spring.datasource.password", settings::jdbcPassword);
+    }
+    // The default pool of 10 connections would queue the virtual users before the database does
+    registry.add(
+        "spring.datasource.hikari.maximum-pool-size", () -> Math.min(settings.concurrency(), 50));
+
+    // NOTE: The application context cannot be started with the `DUMMY` keys from `application.yml`
+    final var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    final var keyPair = keyPairGenerator.generateKeyPair();
+    final var privateKeyBase64 = toBase64Pem("PRIVATE KEY", keyPair.getPrivate().getEncoded());
+    final var publicKeyBase64 = toBase64Pem("PUBLIC KEY", keyPair.getPublic().getEncoded());
+    registry.add("goutapp.oauth.private-key", () -> privateKeyBase64);
+    registry.add("goutapp.oauth.public-key", () -> publicKeyBase64);
+  }
+
+  private static String toBase64Pem(String type, byte[] encodedKey) {
+    final var pem =
+        String.format(
+            "-----BEGIN %s-----\n%s\n-----END %s-----",
+            type, Base64.getEncoder().encodeToString(encodedKey), type);
+
+    return Base64.getEncoder().encodeToString(pem.getBytes());
+  }
+}
@@ -0,0 +1,13 @@
+package dev.fResult.goutTogether.loadTest;
+
+/** How the concurrent updaters of the contention lab update the same tour count */
+public enum ContentionStrategy {
+  /** Read, then write the new amount back, without any lock */
+  NO_LOCK,
+  /** Read by <code>SELECT ... FOR UPDATE</code>, then write the new amount back */
+  PESSIMISTIC_LOCK,
+  /** Read without a lock, then save only when its <code>version</code> is not changed, or retry */
+  OPTIMISTIC_LOCK,
+  /** Increment the amount inside a single conditional <code>UPDATE</code> */
+  ATOMIC_UPDATE
+}
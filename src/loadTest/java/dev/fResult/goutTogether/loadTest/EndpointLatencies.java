@@ -0,0 +1,76 @@
+package dev.fResult.goutTogether.loadTest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies and errors of every endpoint which the load test calls, kept in Micrometer timers.
+ *
+ * <p>The percentiles never expire while the run is measured, so the report covers the whole run
+ * rather than its last few minutes only.
+ */
+public class EndpointLatencies {
+  private static final String TIMER_NAME = "loadtest.requests";
+  private static final String ERROR_COUNTER_NAME = "loadtest.errors";
+  private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  public void record(String endpoint, long elapsedNanos, boolean isSuccessful) {
+    Timer.builder(TIMER_NAME)
+        .tag("endpoint", endpoint)
+        .publishPercentiles(PERCENTILES)
+        .percentilePrecision(2)
+        .distributionStatisticExpiry(Duration.ofDays(1))
+        .distributionStatisticBufferLength(1)
+        .register(meterRegistry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+    if (!isSuccessful) {
+      Counter.builder(ERROR_COUNTER_NAME)
+          .tag("endpoint", endpoint)
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+
+  public String report(Duration measuredFor) {
+    final var report = new StringBuilder();
+    report.append(
+        String.format(
+            "%-36s %9s %8s %10s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+    meterRegistry.find(TIMER_NAME).timers().stream()
+        .sorted((timer1, timer2) -> Long.compare(timer2.count(), timer1.count()))
+        .forEach(timer -> report.append(toReportLine(timer, measuredFor)));
+
+    return report.toString();
+  }
+
+  private String toReportLine(Timer timer, Duration measuredFor) {
+    final var endpoint = timer.getId().getTag("endpoint");
+    final var errorCounter =
+        meterRegistry.find(ERROR_COUNTER_NAME).tag("endpoint", endpoint).counter();
+    final var errorCount = errorCounter == null ? 0 : (long) errorCounter.count();
+    final var percentileMillis =
+        Arrays.stream(timer.takeSnapshot().percentileValues())
+            .mapToDouble(percentile -> percentile.value(TimeUnit.MILLISECONDS))
+            .toArray();
+
+    return String.format(
+        "%-36s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+        endpoint,
+        timer.count(),
+        errorCount,
+        timer.count() / (measuredFor.toMillis() / 1000.0),
+        percentileMillis[0],
+        percentileMillis[1],
+        percentileMillis[2],
+        timer.max(TimeUnit.MILLISECONDS));
+  }
+}
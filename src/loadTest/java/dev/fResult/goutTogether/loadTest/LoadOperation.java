@@ -0,0 +1,33 @@
+package dev.fResult.goutTogether.loadTest;
+
+import java.util.Arrays;
+
+/** What a virtual user does in one iteration of the load test */
+public enum LoadOperation {
+  BROWSE("browse"),
+  BOOK("book"),
+  PAY("pay"),
+  CANCEL("cancel"),
+  TOP_UP("topUp"),
+  LOGIN("login"),
+  REFRESH("refresh");
+
+  private final String name;
+
+  LoadOperation(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @throws IllegalArgumentException when the name is not one of the operations
+   */
+  public static LoadOperation fromName(String name) {
+    return Arrays.stream(values())
+        .filter(operation -> operation.name.equalsIgnoreCase(name))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    String.format("Load operation [%s] is not supported", name)));
+  }
+}
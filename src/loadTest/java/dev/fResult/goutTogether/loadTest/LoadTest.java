@@ -0,0 +1,94 @@
+package dev.fResult.goutTogether.loadTest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Boots the application on a random port, seeds a dataset, then lets a virtual thread per virtual
+ * user drive the request mix for the configured duration. The latencies of the warm-up are not
+ * recorded.
+ *
+ * <p>Run by <code>./gradlew loadTest</code>, see {@link LoadTestSettings} for the knobs.
+ */
+class LoadTest extends AbstractLoadTest {
+  private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+  @LocalServerPort private int port;
+  @Autowired private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  void whenDriveRequestMix_ThenReportLatenciesAndLockWaits() throws Exception {
+    // Arrange
+    final var dataset =
+        new LoadTestDatasetGenerator(namedParameterJdbcTemplate, passwordEncoder)
+            .generate(settings);
+    final var weightedOperations = toWeightedOperations();
+    final var endpointLatencies = new EndpointLatencies();
+    final var startedAt = Instant.now();
+    final var measuredFrom = startedAt.plus(settings.warmup());
+    final var endsAt = measuredFrom.plus(settings.duration());
+    final var client =
+        new LoadTestClient(
+            "http://localhost:" + port,
+            objectMapper,
+            endpointLatencies,
+            () -> Instant.now().isAfter(measuredFrom));
+
+    logger.info(
+        "[loadTest] {} virtual users drive {} for {} s after {} s of warm-up",
+        settings.concurrency(),
+        settings.mix(),
+        settings.duration().toSeconds(),
+        settings.warmup().toSeconds());
+
+    // Actual
+    try (final var lockWaitSampler = new LockWaitSampler(jdbcTemplate, Duration.ofMillis(500));
+        final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+      for (var i = 0; i < settings.concurrency(); i++) {
+        final var userId = dataset.userIds().get(i % dataset.userIds().size());
+        final var virtualUser = new VirtualUser(client, dataset, userId, weightedOperations);
+        executor.submit(() -> virtualUser.runUntil(endsAt));
+      }
+      executor.shutdown();
+      executor.awaitTermination(
+          settings.warmup().plus(settings.duration()).plusMinutes(1).toSeconds(),
+          TimeUnit.SECONDS);
+
+      // Assert
+      final var report = endpointLatencies.report(settings.duration()) + lockWaitSampler.report();
+      logger.info("[loadTest] Load test report:\n{}", report);
+      assertFalse(report.isBlank());
+    }
+  }
+
+  // Each operation is repeated by its weight, so a uniform pick follows the mix
+  private static LoadOperation[] toWeightedOperations() {
+    final var weightedOperations = new ArrayList<LoadOperation>();
+    settings
+        .mix()
+        .forEach(
+            (operation, weight) -> {
+              for (var i = 0; i < weight; i++) weightedOperations.add(operation);
+            });
+
+    return weightedOperations.toArray(LoadOperation[]::new);
+  }
+}
@@ -0,0 +1,114 @@
+package dev.fResult.goutTogether.loadTest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Calls the application over HTTP for the virtual users, and records the latency of every call
+ * under its endpoint template, e.g. <code>POST /api/v1/payments/{bookingId}</code>, once the
+ * warm-up is over.
+ */
+public class LoadTestClient {
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  private final HttpClient httpClient;
+  private final String baseUrl;
+  private final ObjectMapper objectMapper;
+  private final EndpointLatencies endpointLatencies;
+  private final BooleanSupplier isMeasuring;
+
+  public LoadTestClient(
+      String baseUrl,
+      ObjectMapper objectMapper,
+      EndpointLatencies endpointLatencies,
+      BooleanSupplier isMeasuring) {
+
+    this.httpClient =
+        HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    this.baseUrl = baseUrl;
+    this.objectMapper = objectMapper;
+    this.endpointLatencies = endpointLatencies;
+    this.isMeasuring = isMeasuring;
+  }
+
+  public <T> Optional<T> get(String endpoint, String path, String accessToken, Class<T> type) {
+    return send(endpoint, newRequest(path, accessToken).GET(), type);
+  }
+
+  public <T> Optional<T> post(
+      String endpoint, String path, String accessToken, Object body, Class<T> type) {
+
+    return send(endpoint, newRequest(path, accessToken).POST(toJsonBody(body)), type);
+  }
+
+  public <T> Optional<T> put(
+      String endpoint, String path, String accessToken, Object body, Class<T> type) {
+
+    return send(endpoint, newRequest(path, accessToken).PUT(toJsonBody(body)), type);
+  }
+
+  // Every call carries a fresh idempotent key, the endpoints which do not need it ignore it
+  private HttpRequest.Builder newRequest(String path, String accessToken) {
+    final var request =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .header("idempotent-key", UUID.randomUUID().toString());
+    if (accessToken != null) request.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+
+    return request;
+  }
+
+  private HttpRequest.BodyPublisher toJsonBody(Object body) {
+    if (body == null) return HttpRequest.BodyPublishers.noBody();
+
+    try {
+      return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private <T> Optional<T> send(String endpoint, HttpRequest.Builder request, Class<T> type) {
+    final var startedAt = System.nanoTime();
+    try {
+      final var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+      final var isSuccessful = response.statusCode() / 100 == 2;
+      record(endpoint, startedAt, isSuccessful);
+
+      return isSuccessful && type != Void.class
+          ? Optional.of(objectMapper.readValue(response.body(), type))
+          : Optional.empty();
+    } catch (IOException ex) {
+      record(endpoint, startedAt, false);
+
+      return Optional.empty();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+
+      return Optional.empty();
+    }
+  }
+
+  private void record(String endpoint, long startedAt, boolean isSuccessful) {
+    if (isMeasuring.getAsBoolean()) {
+      endpointLatencies.record(endpoint, System.nanoTime() - startedAt, isSuccessful);
+    }
+  }
+}
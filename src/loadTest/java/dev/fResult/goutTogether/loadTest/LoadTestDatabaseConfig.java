@@ -0,0 +1,31 @@
+package dev.fResult.goutTogether.loadTest;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Starts a PostgreSQL container for the load test, unless <code>loadTest.jdbcUrl</code> points the
+ * run at a local PostgreSQL which is sized like the production one.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class LoadTestDatabaseConfig {
+  @Bean
+  @ServiceConnection
+  @Conditional(NoLocalDatabase.class)
+  public PostgreSQLContainer<?> postgreSQLContainer() {
+    return new PostgreSQLContainer<>("postgres:13.3");
+  }
+
+  static class NoLocalDatabase implements Condition {
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+      return !LoadTestSettings.fromSystemProperties().usesLocalDatabase();
+    }
+  }
+}
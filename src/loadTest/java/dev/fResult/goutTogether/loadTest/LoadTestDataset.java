@@ -0,0 +1,17 @@
+package dev.fResult.goutTogether.loadTest;
+
+import java.util.List;
+
+public record LoadTestDataset(
+    String runId, String password, List<Integer> userIds, List<Integer> tourIds) {
+
+  public static LoadTestDataset of(
+      String runId, String password, List<Integer> userIds, List<Integer> tourIds) {
+
+    return new LoadTestDataset(runId, password, userIds, tourIds);
+  }
+
+  public String emailOf(int userId) {
+    return String.format("load-%s-%d@example.com", runId, userId);
+  }
+}
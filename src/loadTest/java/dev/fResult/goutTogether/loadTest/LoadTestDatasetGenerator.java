@@ -0,0 +1,148 @@
+package dev.fResult.goutTogether.loadTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Seeds the consumers, tour companies, tours and their wallets of a load test run in a few set
+ * based statements, so a dataset of many thousand rows is ready in seconds.
+ *
+ * <p>Every account shares one password, which is hashed once, and their logins are prefixed by the
+ * run id, so a local database can be seeded again without the unique logins being violated.
+ */
+public class LoadTestDatasetGenerator {
+  private static final Logger logger = LoggerFactory.getLogger(LoadTestDatasetGenerator.class);
+  private static final String PASSWORD = "LoadTest#Passw0rd";
+  private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final PasswordEncoder passwordEncoder;
+
+  public LoadTestDatasetGenerator(
+      NamedParameterJdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.passwordEncoder = passwordEncoder;
+  }
+
+  public LoadTestDataset generate(LoadTestSettings settings) {
+    final var startedAt = System.nanoTime();
+    final var runId = Long.toString(System.currentTimeMillis(), 36);
+    final var encodedPassword = passwordEncoder.encode(PASSWORD);
+
+    final var userIds = insertUsers(runId, settings.users(), encodedPassword);
+    final var tourCompanyIds =
+        insertTourCompanies(runId, settings.tourCompanies(), encodedPassword);
+    final var tourIds = insertTours(tourCompanyIds, settings.tours(), settings.tourCapacity());
+
+    logger.info(
+        "[generate] {} users, {} tour companies and {} tours are seeded in {} ms",
+        userIds.size(),
+        tourCompanyIds.size(),
+        tourIds.size(),
+        (System.nanoTime() - startedAt) / 1_000_000);
+
+    return LoadTestDataset.of(runId, PASSWORD, userIds, tourIds);
+  }
+
+  /**
+   * Seeds a single tour with its company, for the contention lab to update its tour count.
+   *
+   * @return id of the tour
+   */
+  public int generateTour(int capacity) {
+    final var runId = Long.toString(System.currentTimeMillis(), 36);
+    final var tourCompanyIds = insertTourCompanies(runId, 1, passwordEncoder.encode(PASSWORD));
+
+    return insertTours(tourCompanyIds, 1, capacity).getFirst();
+  }
+
+  private List<Integer> insertUsers(String runId, int count, String encodedPassword) {
+    final var sql =
+        """
+        WITH new_users AS (
+          INSERT INTO users (first_name, last_name)
+          SELECT 'Load', 'Tester ' || i FROM generate_series(1, :count) AS i
+          RETURNING id
+        ), new_roles AS (
+          INSERT INTO user_roles (user_id, role_id)
+          SELECT id, (SELECT id FROM roles WHERE name = 'CONSUMER') FROM new_users
+        ), new_logins AS (
+          INSERT INTO user_logins (user_id, email, password)
+          SELECT id, 'load-' || :runId || '-' || id || '@example.com', :password FROM new_users
+        ), new_wallets AS (
+          INSERT INTO user_wallets (user_id, last_updated, balance)
+          SELECT id, CURRENT_TIMESTAMP, :balance FROM new_users
+        )
+        SELECT id FROM new_users ORDER BY id
+        """;
+
+    return jdbcTemplate.queryForList(
+        sql,
+        Map.of(
+            "count", count,
+            "runId", runId,
+            "password", encodedPassword,
+            "balance", INITIAL_BALANCE),
+        Integer.class);
+  }
+
+  private List<Integer> insertTourCompanies(String runId, int count, String encodedPassword) {
+    final var sql =
+        """
+        WITH new_tour_companies AS (
+          INSERT INTO tour_companies (name, status)
+          SELECT 'Load Test Company ' || i, 'APPROVED' FROM generate_series(1, :count) AS i
+          RETURNING id
+        ), new_logins AS (
+          INSERT INTO tour_company_logins (tour_company_id, username, password)
+          SELECT id, 'load-' || :runId || '-company-' || id, :password FROM new_tour_companies
+        ), new_wallets AS (
+          INSERT INTO tour_company_wallets (tour_company_id, last_updated, balance)
+          SELECT id, CURRENT_TIMESTAMP, 0 FROM new_tour_companies
+        )
+        SELECT id FROM new_tour_companies ORDER BY id
+        """;
+
+    return jdbcTemplate.queryForList(
+        sql, Map.of("count", count, "runId", runId, "password", encodedPassword), Integer.class);
+  }
+
+  // The tours are spread over the companies round robin, and over the next 90 days
+  private List<Integer> insertTours(List<Integer> tourCompanyIds, int count, int capacity) {
+    final var sql =
+        """
+        WITH new_tours AS (
+          INSERT INTO tours (
+            tour_company_id, title, description, location, number_of_people, activity_date, status)
+          SELECT
+            (ARRAY[:tourCompanyIds])[1 + i % :tourCompanyCount],
+            'Load test tour ' || i,
+            'A day trip which is generated for the load test',
+            (ARRAY['Bangkok', 'Chiang Mai', 'Phuket', 'Krabi', 'Nan'])[1 + i % 5],
+            :capacity,
+            CURRENT_TIMESTAMP + (1 + i % 90) * INTERVAL '1 day',
+            'APPROVED'
+          FROM generate_series(1, :count) AS i
+          RETURNING id
+        ), new_tour_counts AS (
+          INSERT INTO tour_counts (tour_id, amount) SELECT id, 0 FROM new_tours
+        )
+        SELECT id FROM new_tours ORDER BY id
+        """;
+
+    return jdbcTemplate.queryForList(
+        sql,
+        Map.of(
+            "tourCompanyIds", tourCompanyIds,
+            "tourCompanyCount", tourCompanyIds.size(),
+            "capacity", capacity,
+            "count", count),
+        Integer.class);
+  }
+}
@@ -0,0 +1,89 @@
+package dev.fResult.goutTogether.loadTest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Knobs of a load test run, read from the <code>loadTest.*</code> system properties which the
+ * <code>loadTest</code> Gradle task forwards from its <code>-P</code> properties.
+ *
+ * <p>The <code>jdbcUrl</code> points the run at a local PostgreSQL, otherwise a Testcontainers one
+ * is started. The <code>mix</code> weights the operations, e.g. <code>browse=50,book=20</code>, and
+ * the <code>contentionUpdaters</code> lists how many concurrent updaters the contention lab tries,
+ * same as the <code>prerequisitesCallers</code> for the payment prerequisites lab.
+ */
+public record LoadTestSettings(
+    int users,
+    int tourCompanies,
+    int tours,
+    int tourCapacity,
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    Map<LoadOperation, Integer> mix,
+    List<Integer> contentionUpdaters,
+    int contentionUpdatesPerUpdater,
+    List<Integer> prerequisitesCallers,
+    int prerequisitesLoadsPerCaller,
+    String jdbcUrl,
+    String jdbcUsername,
+    String jdbcPassword) {
+  private static final String PREFIX = "loadTest.";
+  private static final String DEFAULT_MIX =
+      "browse=45,book=15,pay=12,cancel=5,topUp=10,login=3,refresh=10";
+
+  public static LoadTestSettings fromSystemProperties() {
+    return new LoadTestSettings(
+        intProperty("users", 1000),
+        intProperty("tourCompanies", 20),
+        intProperty("tours", 500),
+        intProperty("tourCapacity", 100_000),
+        intProperty("concurrency", 200),
+        Duration.ofSeconds(intProperty("warmupSeconds", 10)),
+        Duration.ofSeconds(intProperty("durationSeconds", 60)),
+        parseMix(System.getProperty(PREFIX + "mix", DEFAULT_MIX)),
+        parseIntegers(System.getProperty(PREFIX + "contentionUpdaters", "4,16,64")),
+        intProperty("contentionUpdatesPerUpdater", 50),
+        parseIntegers(System.getProperty(PREFIX + "prerequisitesCallers", "1,8,32")),
+        intProperty("prerequisitesLoadsPerCaller", 200),
+        System.getProperty(PREFIX + "jdbcUrl", ""),
+        System.getProperty(PREFIX + "jdbcUsername", "goutapp"),
+        System.getProperty(PREFIX + "jdbcPassword", "secret"));
+  }
+
+  public boolean usesLocalDatabase() {
+    return !jdbcUrl.isBlank();
+  }
+
+  private static int intProperty(String name, int defaultValue) {
+    return Integer.parseInt(System.getProperty(PREFIX + name, String.valueOf(defaultValue)));
+  }
+
+  private static List<Integer> parseIntegers(String integers) {
+    return Arrays.stream(integers.split(","))
+        .map(String::trim)
+        .filter(integer -> !integer.isEmpty())
+        .map(Integer::valueOf)
+        .toList();
+  }
+
+  /**
+   * @throws IllegalArgumentException when an operation is unknown or its weight is not a number
+   */
+  private static Map<LoadOperation, Integer> parseMix(String mix) {
+    return Arrays.stream(mix.split(","))
+        .map(String::trim)
+        .filter(entry -> !entry.isEmpty())
+        .map(entry -> entry.split("=", 2))
+        .collect(
+            Collectors.toMap(
+                pair -> LoadOperation.fromName(pair[0].trim()),
+                pair -> Integer.parseInt(pair[1].trim()),
+                Integer::sum,
+                LinkedHashMap::new));
+  }
+}
@@ -0,0 +1,93 @@
+package dev.fResult.goutTogether.loadTest;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Samples <code>pg_stat_activity</code> of the application database on a virtual thread while the
+ * load test runs, to count the sessions which are waiting for a lock and how long the longest of
+ * them has been waiting.
+ */
+public class LockWaitSampler implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(LockWaitSampler.class);
+  private static final String SAMPLE_SQL =
+      """
+      SELECT
+        COUNT(*) FILTER (WHERE wait_event_type = 'Lock') AS lock_waiting,
+        COUNT(*) FILTER (WHERE state = 'active') AS active,
+        COALESCE(
+          MAX(EXTRACT(EPOCH FROM (CLOCK_TIMESTAMP() - state_change)) * 1000)
+            FILTER (WHERE wait_event_type = 'Lock'),
+          0) AS longest_lock_wait_millis
+      FROM pg_stat_activity
+      WHERE datname = CURRENT_DATABASE() AND pid <> PG_BACKEND_PID()
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration interval;
+  private final AtomicBoolean isRunning = new AtomicBoolean(true);
+  private final AtomicLong sampleCount = new AtomicLong();
+  private final AtomicLong lockWaitingTotal = new AtomicLong();
+  private final AtomicLong lockWaitingSamples = new AtomicLong();
+  private final AtomicLong lockWaitingMax = new AtomicLong();
+  private final AtomicLong activeMax = new AtomicLong();
+  private final AtomicLong longestLockWaitMillis = new AtomicLong();
+  private final Thread samplerThread;
+
+  public LockWaitSampler(JdbcTemplate jdbcTemplate, Duration interval) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.interval = interval;
+    this.samplerThread =
+        Thread.ofVirtual().name("lock-wait-sampler").start(this::sampleUntilClosed);
+  }
+
+  private void sampleUntilClosed() {
+    while (isRunning.get()) {
+      try {
+        jdbcTemplate.query(
+            SAMPLE_SQL,
+            resultSet -> {
+              final var lockWaiting = resultSet.getLong("lock_waiting");
+              sampleCount.incrementAndGet();
+              lockWaitingTotal.addAndGet(lockWaiting);
+              if (lockWaiting > 0) lockWaitingSamples.incrementAndGet();
+              lockWaitingMax.accumulateAndGet(lockWaiting, Math::max);
+              activeMax.accumulateAndGet(resultSet.getLong("active"), Math::max);
+              longestLockWaitMillis.accumulateAndGet(
+                  resultSet.getLong("longest_lock_wait_millis"), Math::max);
+            });
+        Thread.sleep(interval);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        logger.warn("[sampleUntilClosed] pg_stat_activity cannot be sampled: {}", ex.getMessage());
+      }
+    }
+  }
+
+  public String report() {
+    final var samples = Math.max(1, sampleCount.get());
+
+    return String.format(
+        "pg_stat_activity: %d samples, lock waiting in %.1f%% of them, "
+            + "%.2f lock waiting sessions on average, %d at most, "
+            + "longest lock waiting query %d ms, %d active sessions at most%n",
+        sampleCount.get(),
+        lockWaitingSamples.get() * 100.0 / samples,
+        lockWaitingTotal.get() / (double) samples,
+        lockWaitingMax.get(),
+        longestLockWaitMillis.get(),
+        activeMax.get());
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    isRunning.set(false);
+    samplerThread.join(interval.multipliedBy(2));
+  }
+}
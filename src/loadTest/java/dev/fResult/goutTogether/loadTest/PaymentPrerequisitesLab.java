@@ -0,0 +1,187 @@
+package dev.fResult.goutTogether.loadTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.fResult.goutTogether.bookings.entities.Booking;
+import dev.fResult.goutTogether.common.enumurations.BookingStatus;
+import dev.fResult.goutTogether.tours.services.TourService;
+import dev.fResult.goutTogether.wallets.repositories.TourCompanyWalletRepository;
+import dev.fResult.goutTogether.wallets.repositories.UserWalletRepository;
+import dev.fResult.goutTogether.wallets.services.WalletService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Lets K concurrent callers load the wallets of random bookings by every {@link
+ * PrerequisitesLoading}, then reports the throughput, the latencies and the failures of each of
+ * them, so the wallet service loads them the way which is measured as the fastest.
+ *
+ * <p>Run only the lab by <code>./gradlew loadTest --tests '*PaymentPrerequisitesLab'</code>, and
+ * try other K by <code>-PloadTest.prerequisitesCallers=2,16,64</code>. The parallel loading needs
+ * more than K connections, a K near the pool size shows its connection waits.
+ */
+class PaymentPrerequisitesLab extends AbstractLoadTest {
+  private static final Logger logger = LoggerFactory.getLogger(PaymentPrerequisitesLab.class);
+  private static final int WARMUP_LOADS = 100;
+  private static final List<String> reportLines = Collections.synchronizedList(new ArrayList<>());
+
+  private static LoadTestDataset dataset;
+
+  @Autowired private UserWalletRepository userWalletRepository;
+  @Autowired private TourCompanyWalletRepository tourCompanyWalletRepository;
+  @Autowired private TourService tourService;
+  @Autowired private WalletService walletService;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @BeforeAll
+  static void seedDataset(
+      @Autowired NamedParameterJdbcTemplate jdbcTemplate,
+      @Autowired PasswordEncoder passwordEncoder) {
+
+    dataset = new LoadTestDatasetGenerator(jdbcTemplate, passwordEncoder).generate(settings);
+  }
+
+  static Stream<Arguments> loadingsAndCallers() {
+    return settings.prerequisitesCallers().stream()
+        .flatMap(
+            callers ->
+                Arrays.stream(PrerequisitesLoading.values())
+                    .map(loading -> Arguments.of(loading, callers)));
+  }
+
+  @ParameterizedTest(name = "{0} with {1} callers")
+  @MethodSource("loadingsAndCallers")
+  void whenLoadWalletsConcurrently_ThenReportLatencies(PrerequisitesLoading loading, int callers)
+      throws InterruptedException {
+
+    // Arrange
+    final var prerequisitesLoader =
+        new PaymentPrerequisitesLoader(
+            userWalletRepository,
+            tourCompanyWalletRepository,
+            tourService,
+            walletService,
+            transactionTemplate);
+    for (var i = 0; i < WARMUP_LOADS; i++) prerequisitesLoader.load(loading, randomBooking());
+
+    final var loadsPerCaller = settings.prerequisitesLoadsPerCaller();
+    final var latencyTimer = buildLatencyTimer();
+    final var failureCount = new LongAdder();
+    final var startLatch = new CountDownLatch(1);
+
+    // Actual
+    final var startedAt = System.nanoTime();
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var i = 0; i < callers; i++) {
+        executor.submit(
+            () -> {
+              startLatch.await();
+              for (var j = 0; j < loadsPerCaller; j++) {
+                final var booking = randomBooking();
+                final var loadStartedAt = System.nanoTime();
+                try {
+                  prerequisitesLoader.load(loading, booking);
+                } catch (RuntimeException ex) {
+                  failureCount.increment();
+                }
+                latencyTimer.record(System.nanoTime() - loadStartedAt, TimeUnit.NANOSECONDS);
+              }
+
+              return null;
+            });
+      }
+      startLatch.countDown();
+    }
+    final var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+    // Assert
+    reportLines.add(toReportLine(loading, callers, failureCount.sum(), elapsed, latencyTimer));
+    assertEquals((long) callers * loadsPerCaller, latencyTimer.count());
+  }
+
+  @AfterAll
+  static void printReport() {
+    logger.info(
+        "[printReport] Payment prerequisites report:\n{}\n{}",
+        String.format(
+            "%-10s %8s %8s %8s %10s %9s %9s %9s",
+            "loading",
+            "callers",
+            "loads",
+            "failures",
+            "loads/s",
+            "p50 ms",
+            "p99 ms",
+            "p999 ms"),
+        String.join("\n", reportLines));
+  }
+
+  private static Booking randomBooking() {
+    final var random = ThreadLocalRandom.current();
+    final var userId = dataset.userIds().get(random.nextInt(dataset.userIds().size()));
+    final var tourId = dataset.tourIds().get(random.nextInt(dataset.tourIds().size()));
+
+    return Booking.of(
+        null,
+        AggregateReference.to(userId),
+        AggregateReference.to(tourId),
+        BookingStatus.PENDING.name(),
+        Instant.now(),
+        Instant.now(),
+        null);
+  }
+
+  private static Timer buildLatencyTimer() {
+    return Timer.builder("loadtest.prerequisites.loads")
+        .publishPercentiles(0.5, 0.99, 0.999)
+        .percentilePrecision(2)
+        .distributionStatisticExpiry(Duration.ofDays(1))
+        .distributionStatisticBufferLength(1)
+        .register(new SimpleMeterRegistry());
+  }
+
+  private static String toReportLine(
+      PrerequisitesLoading loading,
+      int callers,
+      long failureCount,
+      Duration elapsed,
+      Timer latencyTimer) {
+
+    final var percentiles = latencyTimer.takeSnapshot().percentileValues();
+
+    return String.format(
+        "%-10s %8d %8d %8d %10.1f %9.2f %9.2f %9.2f",
+        loading,
+        callers,
+        latencyTimer.count(),
+        failureCount,
+        latencyTimer.count() / (elapsed.toNanos() / 1_000_000_000.0),
+        percentiles[0].value(TimeUnit.MILLISECONDS),
+        percentiles[1].value(TimeUnit.MILLISECONDS),
+        percentiles[2].value(TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,110 @@
+package dev.fResult.goutTogether.loadTest;
+
+import dev.fResult.goutTogether.bookings.entities.Booking;
+import dev.fResult.goutTogether.tours.services.TourService;
+import dev.fResult.goutTogether.users.entities.User;
+import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
+import dev.fResult.goutTogether.wallets.entities.UserWallet;
+import dev.fResult.goutTogether.wallets.repositories.TourCompanyWalletRepository;
+import dev.fResult.goutTogether.wallets.repositories.UserWalletRepository;
+import dev.fResult.goutTogether.wallets.services.WalletService;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import kotlin.Pair;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads the wallets of a booking by one of the {@link PrerequisitesLoading}, each load in its own
+ * transaction, the way a booking payment does.
+ *
+ * <p>The booking itself is not part of the race, every other prerequisite is found by its user id
+ * and tour id, so it is always loaded first.
+ */
+public class PaymentPrerequisitesLoader {
+  private final UserWalletRepository userWalletRepository;
+  private final TourCompanyWalletRepository tourCompanyWalletRepository;
+  private final TourService tourService;
+  private final WalletService walletService;
+  private final TransactionTemplate transactionTemplate;
+
+  public PaymentPrerequisitesLoader(
+      UserWalletRepository userWalletRepository,
+      TourCompanyWalletRepository tourCompanyWalletRepository,
+      TourService tourService,
+      WalletService walletService,
+      TransactionTemplate transactionTemplate) {
+
+    this.userWalletRepository = userWalletRepository;
+    this.tourCompanyWalletRepository = tourCompanyWalletRepository;
+    this.tourService = tourService;
+    this.walletService = walletService;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * @throws IllegalStateException when a wallet is not found, or a forked read fails
+   */
+  public Pair<UserWallet, TourCompanyWallet> load(PrerequisitesLoading loading, Booking booking) {
+    return transactionTemplate.execute(
+        status ->
+            switch (loading) {
+              case PARALLEL -> loadInParallel(booking);
+              case SERIAL -> loadSerially(booking);
+              case JOINED -> loadJoined(booking);
+            });
+  }
+
+  private Pair<UserWallet, TourCompanyWallet> loadInParallel(Booking booking) {
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final var userWalletFuture = executor.submit(() -> findUserWallet(booking.userId()));
+      final var tourFuture =
+          executor.submit(() -> tourService.getTourById(booking.tourId().getId()));
+
+      final var tourCompanyId = tourFuture.get().tourCompanyId();
+      final var tourCompanyWallet =
+          tourCompanyWalletRepository
+              .findOneByTourCompanyId(tourCompanyId)
+              .orElseThrow(() -> notFound(TourCompanyWallet.class, tourCompanyId.getId()));
+
+      return new Pair<>(userWalletFuture.get(), tourCompanyWallet);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("A forked read of the prerequisites fails", ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The prerequisites loading is interrupted", ex);
+    }
+  }
+
+  private Pair<UserWallet, TourCompanyWallet> loadSerially(Booking booking) {
+    final var userWallet = findUserWallet(booking.userId());
+    final var tourCompanyId = tourService.getTourById(booking.tourId().getId()).tourCompanyId();
+    final var tourCompanyWallet =
+        tourCompanyWalletRepository
+            .findOneByTourCompanyId(tourCompanyId)
+            .orElseThrow(() -> notFound(TourCompanyWallet.class, tourCompanyId.getId()));
+
+    return new Pair<>(userWallet, tourCompanyWallet);
+  }
+
+  /* The batch payment path, with a batch of one booking */
+  private Pair<UserWallet, TourCompanyWallet> loadJoined(Booking booking) {
+    final var bookingWallets = walletService.getConsumerAndTourCompanyWallets(List.of(booking));
+
+    return new Pair<>(
+        bookingWallets.userWalletByUserId().get(booking.userId().getId()),
+        bookingWallets.tourCompanyWalletByTourId().get(booking.tourId().getId()));
+  }
+
+  private UserWallet findUserWallet(AggregateReference<User, Integer> userId) {
+    return userWalletRepository
+        .findOneByUserId(userId)
+        .orElseThrow(() -> notFound(UserWallet.class, userId.getId()));
+  }
+
+  private static IllegalStateException notFound(Class<?> walletClass, Integer ownerId) {
+    return new IllegalStateException(
+        String.format("%s of [%d] is not found", walletClass.getSimpleName(), ownerId));
+  }
+}
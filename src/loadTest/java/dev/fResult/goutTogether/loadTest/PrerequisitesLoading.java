@@ -0,0 +1,17 @@
+package dev.fResult.goutTogether.loadTest;
+
+/** How the payment prerequisites lab loads the wallets of a booking, in the payment transaction */
+public enum PrerequisitesLoading {
+  /**
+   * Load the user wallet and the tour on their own virtual threads, then lock the tour company
+   * wallet, the way the wallet service did before. The forked reads borrow their own connections.
+   */
+  PARALLEL,
+  /** Load the user wallet, the tour, then lock the tour company wallet, one after another */
+  SERIAL,
+  /**
+   * Lock the user wallet, then the tour company wallet which is joined by the tour, the way the
+   * batch payment locks the wallets of its bookings
+   */
+  JOINED
+}
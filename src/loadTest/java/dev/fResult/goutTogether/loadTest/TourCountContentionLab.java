@@ -0,0 +1,164 @@
+package dev.fResult.goutTogether.loadTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Lets K concurrent updaters increment the same tour count by every {@link ContentionStrategy},
+ * then reports the lost updates, the retries, the throughput and the latencies of each of them, so
+ * a locking strategy is chosen by numbers rather than by taste.
+ *
+ * <p>Run only the lab by <code>./gradlew loadTest --tests '*TourCountContentionLab'</code>, and try
+ * other K by <code>-PloadTest.contentionUpdaters=2,8,32</code>.
+ */
+class TourCountContentionLab extends AbstractLoadTest {
+  private static final Logger logger = LoggerFactory.getLogger(TourCountContentionLab.class);
+  private static final int TOUR_CAPACITY = Integer.MAX_VALUE / 2;
+  private static final List<String> reportLines = Collections.synchronizedList(new ArrayList<>());
+
+  @Autowired private TourCountRepository tourCountRepository;
+  @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  static Stream<Arguments> strategiesAndUpdaters() {
+    return settings.contentionUpdaters().stream()
+        .flatMap(
+            updaters ->
+                Arrays.stream(ContentionStrategy.values())
+                    .map(strategy -> Arguments.of(strategy, updaters)));
+  }
+
+  @ParameterizedTest(name = "{0} with {1} updaters")
+  @MethodSource("strategiesAndUpdaters")
+  void whenUpdateSameTourCountConcurrently_ThenReportLostUpdates(
+      ContentionStrategy strategy, int updaters) throws InterruptedException {
+
+    // Arrange
+    final var tourId =
+        new LoadTestDatasetGenerator(jdbcTemplate, passwordEncoder).generateTour(TOUR_CAPACITY);
+    final var tourCountUpdater =
+        new TourCountUpdater(tourCountRepository, jdbcTemplate, transactionTemplate);
+    final var tourCount = tourCountUpdater.findByTourId(tourId);
+    final var updatesPerUpdater = settings.contentionUpdatesPerUpdater();
+    final var latencyTimer = buildLatencyTimer();
+    final var retryCount = new LongAdder();
+    final var failureCount = new LongAdder();
+    final var startLatch = new CountDownLatch(1);
+
+    // Actual
+    final var startedAt = System.nanoTime();
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var i = 0; i < updaters; i++) {
+        executor.submit(
+            () -> {
+              startLatch.await();
+              for (var j = 0; j < updatesPerUpdater; j++) {
+                final var updateStartedAt = System.nanoTime();
+                try {
+                  retryCount.add(tourCountUpdater.increment(strategy, tourCount, 1));
+                } catch (RuntimeException ex) {
+                  failureCount.increment();
+                }
+                latencyTimer.record(System.nanoTime() - updateStartedAt, TimeUnit.NANOSECONDS);
+              }
+
+              return null;
+            });
+      }
+      startLatch.countDown();
+    }
+    final var elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+    // Assert
+    final var expectedAmount = updaters * updatesPerUpdater - failureCount.intValue();
+    final var actualAmount = tourCountUpdater.findByTourId(tourId).amount();
+    final var lostUpdateCount = expectedAmount - actualAmount;
+    reportLines.add(
+        toReportLine(
+            strategy,
+            updaters,
+            lostUpdateCount,
+            retryCount.sum(),
+            failureCount.sum(),
+            elapsed,
+            latencyTimer));
+
+    // Losing the updates is the very thing which the lab shows without a lock
+    if (strategy != ContentionStrategy.NO_LOCK) assertEquals(expectedAmount, actualAmount);
+  }
+
+  @AfterAll
+  static void printReport() {
+    logger.info(
+        "[printReport] Tour count contention report:\n{}\n{}",
+        String.format(
+            "%-18s %8s %8s %8s %8s %8s %10s %9s %9s",
+            "strategy",
+            "updaters",
+            "updates",
+            "lost",
+            "retries",
+            "failures",
+            "updates/s",
+            "p50 ms",
+            "p99 ms"),
+        String.join("\n", reportLines));
+  }
+
+  private static Timer buildLatencyTimer() {
+    return Timer.builder("loadtest.contention.updates")
+        .publishPercentiles(0.5, 0.99)
+        .percentilePrecision(2)
+        .distributionStatisticExpiry(Duration.ofDays(1))
+        .distributionStatisticBufferLength(1)
+        .register(new SimpleMeterRegistry());
+  }
+
+  private static String toReportLine(
+      ContentionStrategy strategy,
+      int updaters,
+      int lostUpdateCount,
+      long retryCount,
+      long failureCount,
+      Duration elapsed,
+      Timer latencyTimer) {
+
+    final var percentiles = latencyTimer.takeSnapshot().percentileValues();
+
+    return String.format(
+        "%-18s %8d %8d %8d %8d %8d %10.1f %9.2f %9.2f",
+        strategy,
+        updaters,
+        latencyTimer.count(),
+        lostUpdateCount,
+        retryCount,
+        failureCount,
+        latencyTimer.count() / (elapsed.toNanos() / 1_000_000_000.0),
+        percentiles[0].value(TimeUnit.MILLISECONDS),
+        percentiles[1].value(TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,102 @@
+package dev.fResult.goutTogether.loadTest;
+
+import dev.fResult.goutTogether.tours.entities.Tour;
+import dev.fResult.goutTogether.tours.entities.TourCount;
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Increments a tour count by one of the {@link ContentionStrategy}, each increment in its own
+ * transaction, the way a booking payment does.
+ */
+public class TourCountUpdater {
+  private static final int MAX_BACKOFF_MILLIS = 5;
+
+  private final TourCountRepository tourCountRepository;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public TourCountUpdater(
+      TourCountRepository tourCountRepository,
+      NamedParameterJdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate) {
+
+    this.tourCountRepository = tourCountRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * @return number of retries, which only the optimistic lock takes
+   * @throws IllegalStateException when the tour count is not found
+   */
+  public int increment(ContentionStrategy strategy, TourCount tourCount, int amount)
+      throws InterruptedException {
+
+    return switch (strategy) {
+      case NO_LOCK -> {
+        // Written by SQL, as a save of the versioned entity would detect the lost update
+        transactionTemplate.executeWithoutResult(
+            status -> {
+              final var currentTourCount = findById(tourCount.id());
+              jdbcTemplate.update(
+                  "UPDATE tour_counts SET amount = :newAmount WHERE id = :id",
+                  Map.of("id", tourCount.id(), "newAmount", currentTourCount.amount() + amount));
+            });
+        yield 0;
+      }
+      case PESSIMISTIC_LOCK -> {
+        transactionTemplate.executeWithoutResult(
+            status -> {
+              final var currentTourCount =
+                  tourCountRepository
+                      .findOneByTourId(tourCount.tourId())
+                      .orElseThrow(() -> notFound(tourCount.id()));
+              tourCountRepository.save(currentTourCount.increaseAmount(amount));
+            });
+        yield 0;
+      }
+      case OPTIMISTIC_LOCK -> incrementOptimistically(tourCount.id(), amount);
+      case ATOMIC_UPDATE -> {
+        tourCountRepository
+            .incrementAmountIfAvailable(tourCount.tourId().getId(), amount)
+            .orElseThrow(() -> notFound(tourCount.id()));
+        yield 0;
+      }
+    };
+  }
+
+  // The version which is read is the expected one of the save, a concurrent save makes it fail
+  private int incrementOptimistically(int tourCountId, int amount) throws InterruptedException {
+    for (var retries = 0; ; retries++) {
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> tourCountRepository.save(findById(tourCountId).increaseAmount(amount)));
+
+        return retries;
+      } catch (OptimisticLockingFailureException ex) {
+        // A random backoff spreads the retries, so the same updaters do not collide again
+        Thread.sleep(ThreadLocalRandom.current().nextInt(MAX_BACKOFF_MILLIS + 1));
+      }
+    }
+  }
+
+  public TourCount findByTourId(int tourId) {
+    return tourCountRepository
+        .findOneByTourId(AggregateReference.<Tour, Integer>to(tourId))
+        .orElseThrow(() -> notFound(tourId));
+  }
+
+  private TourCount findById(int tourCountId) {
+    return tourCountRepository.findById(tourCountId).orElseThrow(() -> notFound(tourCountId));
+  }
+
+  private static IllegalStateException notFound(int id) {
+    return new IllegalStateException(String.format("TourCount [%d] is not found", id));
+  }
+}
@@ -0,0 +1,170 @@
+package dev.fResult.goutTogether.loadTest;
+
+import dev.fResult.goutTogether.auths.dtos.LoginRequest;
+import dev.fResult.goutTogether.auths.dtos.LoginResponse;
+import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
+import dev.fResult.goutTogether.bookings.dtos.BookingCancellationRequest;
+import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.wallets.dtos.WalletTopUpRequest;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One consumer of the seeded dataset, who logs in, then does the operations of the mix one after
+ * another until the run is over. The bookings are kept, so the payments and the cancellations act
+ * on the bookings which the same consumer has made.
+ */
+public class VirtualUser {
+  private static final BigDecimal TOP_UP_AMOUNT = new BigDecimal("100.00");
+  private static final int BROWSE_PAGE_SIZE = 20;
+
+  private final LoadTestClient client;
+  private final LoadTestDataset dataset;
+  private final int userId;
+  private final LoadOperation[] weightedOperations;
+  private final Deque<BookingInfoResponse> pendingBookings = new ArrayDeque<>();
+  private final Deque<BookingInfoResponse> paidBookings = new ArrayDeque<>();
+
+  private String accessToken;
+  private String refreshToken;
+
+  public VirtualUser(
+      LoadTestClient client,
+      LoadTestDataset dataset,
+      int userId,
+      LoadOperation[] weightedOperations) {
+
+    this.client = client;
+    this.dataset = dataset;
+    this.userId = userId;
+    this.weightedOperations = weightedOperations;
+  }
+
+  public void runUntil(Instant endsAt) {
+    final var random = ThreadLocalRandom.current();
+    login();
+
+    while (Instant.now().isBefore(endsAt) && !Thread.currentThread().isInterrupted()) {
+      if (accessToken == null) {
+        login();
+        continue;
+      }
+
+      switch (weightedOperations[random.nextInt(weightedOperations.length)]) {
+        case BROWSE -> browse(random);
+        case BOOK -> book(random);
+        case PAY -> pay(random);
+        case CANCEL -> cancel(random);
+        case TOP_UP -> topUp();
+        case LOGIN -> login();
+        case REFRESH -> refresh();
+      }
+    }
+  }
+
+  private void browse(ThreadLocalRandom random) {
+    final var pageCount = Math.max(1, dataset.tourIds().size() / BROWSE_PAGE_SIZE);
+    client.get(
+        "GET /api/v1/tours",
+        String.format("/api/v1/tours?page=%d&size=%d", random.nextInt(pageCount), BROWSE_PAGE_SIZE),
+        accessToken,
+        Void.class);
+    client.get(
+        "GET /api/v1/tours/{id}",
+        "/api/v1/tours/" + randomTourId(random),
+        accessToken,
+        Void.class);
+  }
+
+  private void book(ThreadLocalRandom random) {
+    client
+        .post(
+            "POST /api/v1/bookings/tours/{tourId}",
+            "/api/v1/bookings/tours/" + randomTourId(random),
+            accessToken,
+            null,
+            BookingInfoResponse.class)
+        .ifPresent(pendingBookings::addLast);
+  }
+
+  // Nothing to pay yet is a booking, as a consumer books before they pay
+  private void pay(ThreadLocalRandom random) {
+    final var pendingBooking = pendingBookings.pollFirst();
+    if (pendingBooking == null) {
+      book(random);
+      return;
+    }
+
+    client
+        .post(
+            "POST /api/v1/payments/{bookingId}",
+            "/api/v1/payments/" + pendingBooking.id(),
+            accessToken,
+            null,
+            BookingInfoResponse.class)
+        .ifPresent(paidBooking -> paidBookings.addLast(pendingBooking));
+  }
+
+  private void cancel(ThreadLocalRandom random) {
+    final var booking =
+        !paidBookings.isEmpty() ? paidBookings.pollFirst() : pendingBookings.pollFirst();
+    if (booking == null) {
+      book(random);
+      return;
+    }
+
+    client.put(
+        "PUT /api/v1/bookings/{id}/cancel",
+        String.format("/api/v1/bookings/%d/cancel", booking.id()),
+        accessToken,
+        BookingCancellationRequest.of(booking.tourId()),
+        Void.class);
+  }
+
+  private void topUp() {
+    client.post(
+        "POST /api/v1/wallets/top-up",
+        "/api/v1/wallets/top-up",
+        accessToken,
+        WalletTopUpRequest.of(TOP_UP_AMOUNT),
+        Void.class);
+  }
+
+  private void login() {
+    client
+        .post(
+            "POST /api/v1/auths/login",
+            "/api/v1/auths/login",
+            null,
+            LoginRequest.of(dataset.emailOf(userId), dataset.password()),
+            LoginResponse.class)
+        .ifPresentOrElse(this::keepTokens, () -> accessToken = null);
+  }
+
+  private void refresh() {
+    client
+        .post(
+            "POST /api/v1/auths/refresh",
+            "/api/v1/auths/refresh",
+            null,
+            RefreshTokenRequest.of(UserRoleName.CONSUMER, userId, refreshToken),
+            LoginResponse.class)
+        .ifPresentOrElse(this::keepTokens, () -> accessToken = null);
+  }
+
+  private void keepTokens(LoginResponse loginResponse) {
+    accessToken = loginResponse.accessToken();
+    refreshToken = loginResponse.refreshToken();
+  }
+
+  private int randomTourId(ThreadLocalRandom random) {
+    final List<Integer> tourIds = dataset.tourIds();
+
+    return tourIds.get(random.nextInt(tourIds.size()));
+  }
+}
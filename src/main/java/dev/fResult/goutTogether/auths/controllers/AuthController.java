@@ -1,18 +1,14 @@
 package dev.fResult.goutTogether.auths.controllers;
 
-import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
-import static dev.fResult.goutTogether.common.Constants.ROLES_CLAIM;
-
 import dev.fResult.goutTogether.auths.dtos.LoginRequest;
 import dev.fResult.goutTogether.auths.dtos.LoginResponse;
 import dev.fResult.goutTogether.auths.dtos.LogoutInfo;
 import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
 import dev.fResult.goutTogether.auths.services.AuthService;
+import dev.fResult.goutTogether.common.security.AuthenticatedPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -47,12 +43,9 @@ public class AuthController {
   }
 
   @PostMapping("/logout")
-  public ResponseEntity<Void> logout(Authentication authentication) {
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var resourceId = jwt.getClaimAsString(RESOURCE_ID_CLAIM);
-    final var roles = jwt.getClaimAsString(ROLES_CLAIM);
-    final var logoutInfo = LogoutInfo.of(Integer.parseInt(resourceId), roles);
-    logger.debug("[logout] Logging out by username [{}]", authentication.getName());
+  public ResponseEntity<Void> logout(AuthenticatedPrincipal principal) {
+    final var logoutInfo = LogoutInfo.of(principal.resourceId(), principal.role().name());
+    logger.debug("[logout] Logging out by username [{}]", principal.email());
     authService.logout(logoutInfo);
 
     return ResponseEntity.noContent().build();
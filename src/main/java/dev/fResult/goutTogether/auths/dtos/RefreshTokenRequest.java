@@ -1,6 +1,5 @@
 package dev.fResult.goutTogether.auths.dtos;
 
-import dev.fResult.goutTogether.common.constraints.UUID;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -10,7 +9,8 @@ import org.springframework.lang.NonNull;
 public record RefreshTokenRequest(
     @NotNull UserRoleName usage,
     @NonNull @Min(1) Integer resourceId,
-    @NotBlank @UUID(message = "invalid format") String refreshToken) {
+    // A UUID in database mode, or a signed JWT in stateless mode
+    @NotBlank String refreshToken) {
 
   public static RefreshTokenRequest of(
       UserRoleName usage, Integer resourceId, String refreshToken) {
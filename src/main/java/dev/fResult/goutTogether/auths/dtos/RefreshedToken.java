@@ -0,0 +1,9 @@
+package dev.fResult.goutTogether.auths.dtos;
+
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+
+public record RefreshedToken(UserRoleName usage, int resourceId, String refreshToken) {
+  public static RefreshedToken of(UserRoleName usage, int resourceId, String refreshToken) {
+    return new RefreshedToken(usage, resourceId, refreshToken);
+  }
+}
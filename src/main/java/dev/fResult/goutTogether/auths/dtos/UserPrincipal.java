@@ -0,0 +1,11 @@
+package dev.fResult.goutTogether.auths.dtos;
+
+/**
+ * The credential of a user joined with its role, the <code>roleId</code> is <code>null</code> when
+ * the user has no role bound yet.
+ */
+public record UserPrincipal(int userId, String email, String password, Integer roleId) {
+  public static UserPrincipal of(int userId, String email, String password, Integer roleId) {
+    return new UserPrincipal(userId, email, password, roleId);
+  }
+}
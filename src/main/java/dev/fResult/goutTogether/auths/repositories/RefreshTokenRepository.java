@@ -2,13 +2,18 @@ package dev.fResult.goutTogether.auths.repositories;
 
 import dev.fResult.goutTogether.auths.entities.RefreshToken;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
-import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 
 public interface RefreshTokenRepository extends ListCrudRepository<RefreshToken, Integer> {
+  /**
+   * When <code>refresh_tokens</code> is partitioned, its unique index is on the token and the
+   * issued date, so the token alone is unique only because it is a random UUIDv7 from {@link
+   * dev.fResult.goutTogether.auths.services.TokenService#issueRefreshToken()}. A token which is
+   * issued twice would fail this lookup instead of returning either of its rows.
+   */
   Optional<RefreshToken> findOneByToken(String token);
 
   @Modifying
@@ -19,13 +24,4 @@ public interface RefreshTokenRepository extends ListCrudRepository<RefreshToken,
       WHERE usage = :usage AND resource_id = :resourceId;
       """)
   void updateRefreshTokenByResource(UserRoleName usage, int resourceId, boolean isExpired);
-
-  @Modifying
-  @Query(
-      """
-      UPDATE refresh_tokens
-      SET is_expired = :isExpired
-      WHERE is_expired = false AND issued_date <= :thresholdDate;
-      """)
-  void updateRefreshTokenThatExpired(boolean isExpired, Instant thresholdDate);
 }
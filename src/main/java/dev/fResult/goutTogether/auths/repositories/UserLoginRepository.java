@@ -1,11 +1,14 @@
 package dev.fResult.goutTogether.auths.repositories;
 
+import dev.fResult.goutTogether.auths.dtos.UserPrincipal;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
 import dev.fResult.goutTogether.users.entities.User;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 
 public interface UserLoginRepository extends ListCrudRepository<UserLogin, Integer> {
@@ -16,4 +19,27 @@ public interface UserLoginRepository extends ListCrudRepository<UserLogin, Integ
   Optional<UserLogin> findOneByUserId(AggregateReference<User, Integer> userId);
 
   Optional<UserLogin> findOneByEmailAndPassword(String userEmail, String password);
+
+  /** Load the credential and the role of a user in one round trip. */
+  @Query(
+      """
+      SELECT ul.user_id, ul.email, ul.password, ur.role_id
+      FROM user_logins ul
+      LEFT JOIN user_roles ur ON ur.user_id = ul.user_id
+      WHERE ul.email = :email;
+      """)
+  Optional<UserPrincipal> findPrincipalByEmail(String email);
+
+  @Query(
+      """
+      SELECT ul.user_id, ul.email, ul.password, ur.role_id
+      FROM user_logins ul
+      LEFT JOIN user_roles ur ON ur.user_id = ul.user_id
+      WHERE ul.user_id = :userId;
+      """)
+  Optional<UserPrincipal> findPrincipalByUserId(int userId);
+
+  @Modifying
+  @Query("UPDATE user_logins SET password = :password WHERE user_id = :userId;")
+  int updatePasswordByUserId(int userId, String password);
 }
@@ -11,11 +11,9 @@ import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
 import dev.fResult.goutTogether.auths.entities.RefreshToken;
 import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
-import dev.fResult.goutTogether.auths.repositories.RefreshTokenRepository;
 import dev.fResult.goutTogether.auths.repositories.UserLoginRepository;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
-import dev.fResult.goutTogether.common.exceptions.RefreshTokenExpiredException;
 import dev.fResult.goutTogether.common.helpers.ErrorHelper;
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import dev.fResult.goutTogether.tourCompanies.repositories.TourCompanyLoginRepository;
@@ -40,11 +38,12 @@ public class AuthServiceImpl implements AuthService {
   private final ErrorHelper errorHelper = new ErrorHelper(AuthServiceImpl.class);
 
   private final UserLoginRepository userLoginRepository;
-  private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenStore refreshTokenStore;
   private final TourCompanyLoginRepository tourCompanyLoginRepository;
   private final TokenService tokenService;
   private final PasswordEncoder passwordEncoder;
   private final AuthenticationManager authenticationManager;
+  private final PrincipalCache principalCache;
 
   public AuthServiceImpl(
       UserLoginRepository userLoginRepository,
@@ -52,14 +51,16 @@ public class AuthServiceImpl implements AuthService {
       TokenService tokenService,
       PasswordEncoder passwordEncoder,
       AuthenticationManager authenticationManager,
-      RefreshTokenRepository refreshTokenRepository) {
+      RefreshTokenStore refreshTokenStore,
+      PrincipalCache principalCache) {
 
     this.userLoginRepository = userLoginRepository;
     this.tourCompanyLoginRepository = tourCompanyLoginRepository;
     this.tokenService = tokenService;
     this.passwordEncoder = passwordEncoder;
     this.authenticationManager = authenticationManager;
-    this.refreshTokenRepository = refreshTokenRepository;
+    this.refreshTokenStore = refreshTokenStore;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -142,7 +143,10 @@ public class AuthServiceImpl implements AuthService {
         UserLogin.of(
             userCredential.id(), userCredential.userId(), userCredential.email(), passwordToUpdate);
 
-    return userLoginRepository.save(credentialToUpdate);
+    final var updatedCredential = userLoginRepository.save(credentialToUpdate);
+    principalCache.evictUser(userId);
+
+    return updatedCredential;
   }
 
   @Override
@@ -159,7 +163,10 @@ public class AuthServiceImpl implements AuthService {
     final var credentialToUpdate =
         UserLogin.of(userCredential.id(), userCredential.userId(), email, passwordToUpdate);
 
-    return userLoginRepository.save(credentialToUpdate);
+    final var updatedCredential = userLoginRepository.save(credentialToUpdate);
+    principalCache.evictUser(Objects.requireNonNull(userCredential.userId().getId()));
+
+    return updatedCredential;
   }
 
   @Override
@@ -171,6 +178,7 @@ public class AuthServiceImpl implements AuthService {
     final var credentialToDelete = getUserCredentialByUserId(userId);
 
     userLoginRepository.delete(credentialToDelete);
+    principalCache.evictUser(userId);
     logger.info(
         "[deleteUserCredentialById] {} id [{}] is deleted",
         UserLogin.class.getSimpleName(),
@@ -240,6 +248,7 @@ public class AuthServiceImpl implements AuthService {
     final var credentialToDelete = findTourCompanyCredentialByTourCompanyId(id);
 
     tourCompanyLoginRepository.delete(credentialToDelete);
+    principalCache.evictTourCompany(id);
     logger.info(
         "[deleteTourCompanyLoginById] {} id [{}] is deleted",
         TourCompanyLogin.class.getSimpleName(),
@@ -258,20 +267,8 @@ public class AuthServiceImpl implements AuthService {
 
     final var now = Instant.now();
     final var accessToken = tokenService.issueAccessToken(authenticatedUser, now);
-    final var refreshToken = tokenService.issueRefreshToken();
-
-    logout(authenticatedUser);
-
-    final var refreshTokenToCreate =
-        RefreshToken.of(
-            null,
-            refreshToken,
-            now,
-            authenticatedUser.roleName(),
-            authenticatedUser.userId(),
-            false);
-
-    refreshTokenRepository.save(refreshTokenToCreate);
+    final var refreshToken =
+        refreshTokenStore.issue(authenticatedUser.roleName(), authenticatedUser.userId(), now);
 
     final var loggedInInfo =
         LoginResponse.of(authenticatedUser.userId(), TOKEN_TYPE, accessToken, refreshToken);
@@ -287,60 +284,24 @@ public class AuthServiceImpl implements AuthService {
         "[refreshToken] {} token [{}] is refreshing",
         RefreshToken.class.getSimpleName(),
         body.refreshToken());
-    final var refreshToken =
-        refreshTokenRepository
-            .findOneByToken(body.refreshToken())
-            .orElseThrow(
-                errorHelper.entityWithSubResourceNotFound(
-                    "refreshToken", RefreshToken.class, "token", body.refreshToken()));
-
-    final var resourceId = body.resourceId();
-    final var refreshTokenExpired = tokenService.isRefreshTokenExpired(refreshToken);
-    throwExceptionIfRefreshTokenExpired(refreshTokenExpired, refreshToken, resourceId);
+    final var refreshedToken = refreshTokenStore.refresh(body);
 
     final var refreshedAccessToken =
-        switch (body.usage()) {
-          case UserRoleName.COMPANY -> issueTourCompanyAccessToken(resourceId);
-          case UserRoleName.ADMIN, UserRoleName.CONSUMER -> issueUserAccessToken(resourceId);
-        };
-
-    final var refreshTokenRotation = tokenService.rotateRefreshTokenIfNeed(refreshToken);
-
-    if (!refreshTokenRotation.equals(refreshToken.token())) {
-      final var refreshTokenToBeExpired =
-          RefreshToken.of(
-              refreshToken.id(),
-              refreshToken.token(),
-              refreshToken.issuedDate(),
-              refreshToken.usage(),
-              refreshToken.resourceId(),
-              true);
-      refreshTokenRepository.save(refreshTokenToBeExpired);
-
-      final var newRefreshToken =
-          RefreshToken.of(
-              null,
-              refreshTokenRotation,
-              Instant.now(),
-              refreshToken.usage(),
-              refreshToken.resourceId(),
-              false);
-      final var rotatedRefreshToken = refreshTokenRepository.save(newRefreshToken);
-
-      return LoginResponse.of(
-          rotatedRefreshToken.resourceId(), TOKEN_TYPE, refreshedAccessToken, refreshTokenRotation);
-    }
+        tokenService.issueAccessToken(
+            refreshedToken.usage(), refreshedToken.resourceId(), Instant.now());
 
     return LoginResponse.of(
-        refreshToken.resourceId(), TOKEN_TYPE, refreshedAccessToken, refreshToken.token());
+        refreshedToken.resourceId(),
+        TOKEN_TYPE,
+        refreshedAccessToken,
+        refreshedToken.refreshToken());
   }
 
   @Override
   public boolean logout(AuthenticatedUser authenticatedUser) {
     logger.debug("[logout] Logging out by username [{}]", authenticatedUser.email());
 
-    refreshTokenRepository.updateRefreshTokenByResource(
-        authenticatedUser.roleName(), authenticatedUser.userId(), true);
+    refreshTokenStore.revokeAll(authenticatedUser.roleName(), authenticatedUser.userId());
 
     logger.info("[logout] username [{}]'s tokens all are expired", authenticatedUser.email());
 
@@ -352,7 +313,7 @@ public class AuthServiceImpl implements AuthService {
     logger.debug("[logout] Logging out by resourceId [{}]", logoutInfo.resourceId());
 
     final var roleName = UserRoleName.valueOf(logoutInfo.roles());
-    refreshTokenRepository.updateRefreshTokenByResource(roleName, logoutInfo.resourceId(), true);
+    refreshTokenStore.revokeAll(roleName, logoutInfo.resourceId());
 
     logger.info(
         "[logout] {} resourceId [{}]'s tokens all are expired",
@@ -379,32 +340,4 @@ public class AuthServiceImpl implements AuthService {
           .someEntitiesMissing("findUserCredentialsByUserIds", UserLogin.class, notFoundUserIds)
           .get();
   }
-
-  private void throwExceptionIfRefreshTokenExpired(
-      boolean refreshTokenExpired, RefreshToken refreshToken, Integer resourceId) {
-
-    if (refreshTokenExpired) {
-      logger.info(
-          "[refreshToken] {} token [{}] is already expired, please re-login",
-          refreshToken.token(),
-          RefreshToken.class.getSimpleName());
-      final var logoutInfo = LogoutInfo.of(resourceId, refreshToken.usage().name());
-      logout(logoutInfo);
-
-      logger.warn("[refreshToken] {} is already expired, please re-login", refreshToken.token());
-      throw new RefreshTokenExpiredException(
-          String.format(
-              "%s is already expired, please re-login", RefreshToken.class.getSimpleName()));
-    }
-  }
-
-  private String issueUserAccessToken(int userId) {
-    final var userCredential = getUserCredentialByUserId(userId);
-    return tokenService.issueAccessToken(userCredential, Instant.now());
-  }
-
-  private String issueTourCompanyAccessToken(int tourCompanyId) {
-    final var companyCredential = findTourCompanyCredentialByTourCompanyId(tourCompanyId);
-    return tokenService.issueAccessToken(companyCredential, Instant.now());
-  }
 }
@@ -1,6 +1,7 @@
 package dev.fResult.goutTogether.auths.services;
 
 import dev.fResult.goutTogether.auths.dtos.AuthenticatedUser;
+import dev.fResult.goutTogether.auths.dtos.UserPrincipal;
 import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
 import dev.fResult.goutTogether.auths.repositories.UserLoginRepository;
@@ -9,36 +10,36 @@ import dev.fResult.goutTogether.common.helpers.ErrorHelper;
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import dev.fResult.goutTogether.tourCompanies.repositories.TourCompanyLoginRepository;
 import dev.fResult.goutTogether.users.entities.User;
-import dev.fResult.goutTogether.users.repositories.UserRoleRepository;
 import java.util.Objects;
-import java.util.function.Predicate;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
   private final ErrorHelper errorHelper = new ErrorHelper(CustomUserDetailsService.class);
 
   private final UserLoginRepository userLoginRepository;
-  private final UserRoleRepository userRoleRepository;
   private final TourCompanyLoginRepository tourCompanyLoginRepository;
+  private final PrincipalCache principalCache;
 
   public CustomUserDetailsService(
       UserLoginRepository userLoginRepository,
-      UserRoleRepository userRoleRepository,
-      TourCompanyLoginRepository tourCompanyLoginRepository) {
+      TourCompanyLoginRepository tourCompanyLoginRepository,
+      PrincipalCache principalCache) {
 
     this.userLoginRepository = userLoginRepository;
-    this.userRoleRepository = userRoleRepository;
     this.tourCompanyLoginRepository = tourCompanyLoginRepository;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -48,6 +49,68 @@ public class CustomUserDetailsService implements UserDetailsService {
         UserLogin.class.getSimpleName(),
         username);
 
+    return principalCache.getByUsername(username, this::loginByUsername);
+  }
+
+  /**
+   * Load the principal by the resource id which is issued in the tokens, the {@link
+   * UserRoleName#COMPANY} usage refers to a tour company, the others refer to a user.
+   */
+  public AuthenticatedUser loadUserByResource(UserRoleName usage, int resourceId) {
+    logger.debug(
+        "[loadUserByResource] {} resourceId [{}] of {} is loading",
+        AuthenticatedUser.class.getSimpleName(),
+        resourceId,
+        usage);
+
+    return principalCache.getByResource(
+        usage,
+        resourceId,
+        () ->
+            switch (usage) {
+              case UserRoleName.COMPANY -> loginTourCompanyById(resourceId);
+              case UserRoleName.ADMIN, UserRoleName.CONSUMER -> loginUserById(resourceId);
+            });
+  }
+
+  /**
+   * Store the password which is re-hashed on a successful login, because the stored hash is
+   * weaker than the current Argon2 parameters. A failure is only logged, the login still succeeds
+   * and the re-hash is retried on the next login.
+   */
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    final var authenticatedUser = (AuthenticatedUser) user;
+    final var resourceId = authenticatedUser.userId();
+
+    try {
+      if (authenticatedUser.roleName() == UserRoleName.COMPANY) {
+        tourCompanyLoginRepository.updatePasswordByTourCompanyId(resourceId, newPassword);
+        principalCache.evictTourCompany(resourceId);
+      } else {
+        userLoginRepository.updatePasswordByUserId(resourceId, newPassword);
+        principalCache.evictUser(resourceId);
+      }
+    } catch (DataAccessException ex) {
+      logger.warn(
+          "[updatePassword] Failed to re-hash password of {} resourceId [{}]",
+          authenticatedUser.roleName(),
+          resourceId,
+          ex);
+
+      return user;
+    }
+
+    logger.info(
+        "[updatePassword] Password of {} resourceId [{}] is re-hashed",
+        authenticatedUser.roleName(),
+        resourceId);
+
+    return AuthenticatedUser.of(
+        resourceId, authenticatedUser.email(), newPassword, authenticatedUser.roleName());
+  }
+
+  private AuthenticatedUser loginByUsername(String username) {
     if (isEmail(username)) return loginUser(username);
     return loginTourCompany(username);
   }
@@ -58,28 +121,43 @@ public class CustomUserDetailsService implements UserDetailsService {
 
   private AuthenticatedUser loginUser(String email) {
     logger.debug("[loginUser] {} is logging in", User.class.getSimpleName());
-    final var userLogin =
+    final var userPrincipal =
         userLoginRepository
-            .findOneByEmail(email)
+            .findPrincipalByEmail(email)
             .orElseThrow(
                 errorHelper.entityWithSubResourceNotFound(
                     "loginUser", UserLogin.class, "email", email));
 
-    final var userId = Objects.requireNonNull(userLogin.userId().getId());
+    return toAuthenticatedUser("loginUser", userPrincipal);
+  }
 
-    final var userRole =
-        userRoleRepository
-            .findOneByUserId(AggregateReference.to(userId))
+  private AuthenticatedUser loginUserById(int userId) {
+    logger.debug("[loginUserById] {} id [{}] is logging in", User.class.getSimpleName(), userId);
+    final var userPrincipal =
+        userLoginRepository
+            .findPrincipalByUserId(userId)
             .orElseThrow(
                 errorHelper.entityWithSubResourceNotFound(
-                    "loginUser", UserLogin.class, "userId", String.valueOf(userId)));
+                    "loginUserById", UserLogin.class, "userId", String.valueOf(userId)));
 
-    final Predicate<Integer> isAdmin =
-        roleId -> Objects.requireNonNull(roleId) == UserRoleName.ADMIN.getId();
+    return toAuthenticatedUser("loginUserById", userPrincipal);
+  }
 
-    final var role = isAdmin.test(userRole.roleId().getId()) ? UserRoleName.ADMIN : UserRoleName.CONSUMER;
+  private AuthenticatedUser toAuthenticatedUser(String methodName, UserPrincipal userPrincipal) {
+    if (userPrincipal.roleId() == null) {
+      throw errorHelper
+          .entityWithSubResourceNotFound(
+              methodName, UserLogin.class, "userId", String.valueOf(userPrincipal.userId()))
+          .get();
+    }
 
-    return AuthenticatedUser.of(userId, userLogin.email(), userLogin.password(), role);
+    final var role =
+        Objects.equals(userPrincipal.roleId(), UserRoleName.ADMIN.getId())
+            ? UserRoleName.ADMIN
+            : UserRoleName.CONSUMER;
+
+    return AuthenticatedUser.of(
+        userPrincipal.userId(), userPrincipal.email(), userPrincipal.password(), role);
   }
 
   private AuthenticatedUser loginTourCompany(String username) {
@@ -91,8 +169,30 @@ public class CustomUserDetailsService implements UserDetailsService {
                 errorHelper.entityWithSubResourceNotFound(
                     "loginTourCompany", TourCompanyLogin.class, "username", username));
 
+    return toAuthenticatedUser(companyCredential);
+  }
+
+  private AuthenticatedUser loginTourCompanyById(int tourCompanyId) {
+    logger.debug(
+        "[loginTourCompanyById] {} id [{}] is logging in",
+        TourCompany.class.getSimpleName(),
+        tourCompanyId);
+    final var companyCredential =
+        tourCompanyLoginRepository
+            .findOneByTourCompanyId(AggregateReference.to(tourCompanyId))
+            .orElseThrow(
+                errorHelper.entityWithSubResourceNotFound(
+                    "loginTourCompanyById",
+                    TourCompanyLogin.class,
+                    "tourCompanyId",
+                    String.valueOf(tourCompanyId)));
+
+    return toAuthenticatedUser(companyCredential);
+  }
+
+  private AuthenticatedUser toAuthenticatedUser(TourCompanyLogin companyCredential) {
     return AuthenticatedUser.of(
-        companyCredential.id(),
+        Objects.requireNonNull(companyCredential.tourCompanyId().getId()),
         companyCredential.username(),
         companyCredential.password(),
         UserRoleName.COMPANY);
@@ -0,0 +1,128 @@
+package dev.fResult.goutTogether.auths.services;
+
+import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
+import dev.fResult.goutTogether.auths.dtos.RefreshedToken;
+import dev.fResult.goutTogether.auths.entities.RefreshToken;
+import dev.fResult.goutTogether.auths.repositories.RefreshTokenRepository;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.exceptions.RefreshTokenExpiredException;
+import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/** Keeps every issued refresh token as a row of <code>refresh_tokens</code>. */
+@Service
+@ConditionalOnProperty(
+    prefix = "goutapp.token",
+    name = "refresh-token-mode",
+    havingValue = "database",
+    matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+  private final Logger logger = LoggerFactory.getLogger(DatabaseRefreshTokenStore.class);
+  private final ErrorHelper errorHelper = new ErrorHelper(DatabaseRefreshTokenStore.class);
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final TokenService tokenService;
+  private final RefreshTokenPurger refreshTokenPurger;
+
+  public DatabaseRefreshTokenStore(
+      RefreshTokenRepository refreshTokenRepository,
+      TokenService tokenService,
+      RefreshTokenPurger refreshTokenPurger) {
+
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.tokenService = tokenService;
+    this.refreshTokenPurger = refreshTokenPurger;
+  }
+
+  @Override
+  public String issue(UserRoleName usage, int resourceId, Instant issuedAt) {
+    revokeAll(usage, resourceId);
+
+    final var refreshToken = tokenService.issueRefreshToken();
+    refreshTokenRepository.save(
+        RefreshToken.of(null, refreshToken, issuedAt, usage, resourceId, false));
+
+    return refreshToken;
+  }
+
+  @Override
+  public RefreshedToken refresh(RefreshTokenRequest body) {
+    final var refreshToken =
+        refreshTokenRepository
+            .findOneByToken(body.refreshToken())
+            .filter(token -> isIssuedFor(token, body))
+            .orElseThrow(
+                errorHelper.entityWithSubResourceNotFound(
+                    "refresh", RefreshToken.class, "token", body.refreshToken()));
+
+    throwExceptionIfRefreshTokenExpired(refreshToken);
+
+    final var refreshTokenRotation = tokenService.rotateRefreshTokenIfNeed(refreshToken);
+
+    if (!refreshTokenRotation.equals(refreshToken.token())) {
+      final var refreshTokenToBeExpired =
+          RefreshToken.of(
+              refreshToken.id(),
+              refreshToken.token(),
+              refreshToken.issuedDate(),
+              refreshToken.usage(),
+              refreshToken.resourceId(),
+              true);
+      refreshTokenRepository.save(refreshTokenToBeExpired);
+
+      final var newRefreshToken =
+          RefreshToken.of(
+              null,
+              refreshTokenRotation,
+              Instant.now(),
+              refreshToken.usage(),
+              refreshToken.resourceId(),
+              false);
+      final var rotatedRefreshToken = refreshTokenRepository.save(newRefreshToken);
+
+      return RefreshedToken.of(
+          rotatedRefreshToken.usage(), rotatedRefreshToken.resourceId(), refreshTokenRotation);
+    }
+
+    return RefreshedToken.of(
+        refreshToken.usage(), refreshToken.resourceId(), refreshToken.token());
+  }
+
+  @Override
+  public void revokeAll(UserRoleName usage, int resourceId) {
+    refreshTokenRepository.updateRefreshTokenByResource(usage, resourceId, true);
+  }
+
+  @Override
+  public void cleanupExpired() {
+    refreshTokenPurger.purgeExpired();
+  }
+
+  private boolean isIssuedFor(RefreshToken refreshToken, RefreshTokenRequest body) {
+    return isSameUsage(refreshToken.usage(), body.usage())
+        && refreshToken.resourceId() == body.resourceId();
+  }
+
+  // Admins and consumers are both users, so their refresh tokens are interchangeable
+  private boolean isSameUsage(UserRoleName tokenUsage, UserRoleName requestUsage) {
+    return (tokenUsage == UserRoleName.COMPANY) == (requestUsage == UserRoleName.COMPANY);
+  }
+
+  private void throwExceptionIfRefreshTokenExpired(RefreshToken refreshToken) {
+    if (!refreshToken.isExpired() && !tokenService.isRefreshTokenExpired(refreshToken)) return;
+
+    logger.info(
+        "[refresh] {} token [{}] is already expired, please re-login",
+        RefreshToken.class.getSimpleName(),
+        refreshToken.token());
+    revokeAll(refreshToken.usage(), refreshToken.resourceId());
+
+    throw new RefreshTokenExpiredException(
+        String.format(
+            "%s is already expired, please re-login", RefreshToken.class.getSimpleName()));
+  }
+}
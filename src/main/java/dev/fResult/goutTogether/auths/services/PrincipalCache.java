@@ -0,0 +1,142 @@
+package dev.fResult.goutTogether.auths.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fResult.goutTogether.auths.dtos.AuthenticatedUser;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Short-lived in-memory cache of the authenticated principals, which {@link
+ * CustomUserDetailsService} reads through on every login and every token refresh. A principal is
+ * cached by its username and by its resource id, so both lookups share the same entry.
+ *
+ * <p>The principal holds the password hash and the role, so every password change, role change
+ * and delete of a credential must evict it by {@link #evictUser(int)} or {@link
+ * #evictTourCompany(int)}.
+ */
+@Component
+public class PrincipalCache {
+  private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+  public static final String BY_USERNAME_CACHE_NAME = "principalsByUsername";
+  public static final String BY_RESOURCE_CACHE_NAME = "principalsByResource";
+
+  private final Cache<String, AuthenticatedUser> principalByUsername;
+  private final Cache<ResourceKey, AuthenticatedUser> principalByResource;
+
+  public PrincipalCache(MyApplicationProperties myProps, MeterRegistry meterRegistry) {
+    final var principalCacheProps = myProps.getPrincipalCache();
+    final var expiredIn = Duration.ofSeconds(principalCacheProps.getExpiredInSeconds());
+
+    this.principalByUsername =
+        Caffeine.newBuilder()
+            .maximumSize(principalCacheProps.getMaximumSize())
+            .expireAfterWrite(expiredIn)
+            .recordStats()
+            .build();
+    this.principalByResource =
+        Caffeine.newBuilder()
+            .maximumSize(principalCacheProps.getMaximumSize())
+            .expireAfterWrite(expiredIn)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, principalByUsername, BY_USERNAME_CACHE_NAME);
+    CaffeineCacheMetrics.monitor(meterRegistry, principalByResource, BY_RESOURCE_CACHE_NAME);
+  }
+
+  /**
+   * @param loader loads the principal on a miss, it throws when the principal is not found, which
+   *     is not cached
+   */
+  public AuthenticatedUser getByUsername(
+      String username, Function<String, AuthenticatedUser> loader) {
+
+    return principalByUsername.get(
+        username,
+        key -> {
+          final var loadedPrincipal = loader.apply(key);
+          principalByResource.put(ResourceKey.from(loadedPrincipal), loadedPrincipal);
+
+          return loadedPrincipal;
+        });
+  }
+
+  /**
+   * @param loader loads the principal on a miss, it throws when the principal is not found, which
+   *     is not cached
+   */
+  public AuthenticatedUser getByResource(
+      UserRoleName usage, int resourceId, Supplier<AuthenticatedUser> loader) {
+
+    return principalByResource.get(
+        ResourceKey.of(usage, resourceId),
+        key -> {
+          final var loadedPrincipal = loader.get();
+          principalByUsername.put(loadedPrincipal.email(), loadedPrincipal);
+
+          return loadedPrincipal;
+        });
+  }
+
+  public void evictUser(int userId) {
+    evict(ResourceKey.of(UserRoleName.CONSUMER, userId));
+  }
+
+  public void evictTourCompany(int tourCompanyId) {
+    evict(ResourceKey.of(UserRoleName.COMPANY, tourCompanyId));
+  }
+
+  /*
+   * Evict the principal now, and again after the current transaction is committed, so a login in
+   * between cannot keep the old password or role in the cache.
+   */
+  private void evict(ResourceKey resourceKey) {
+    invalidate(resourceKey);
+    logger.debug(
+        "[evict] {} resourceId [{}] is evicted",
+        AuthenticatedUser.class.getSimpleName(),
+        resourceKey.resourceId());
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            invalidate(resourceKey);
+          }
+        });
+  }
+
+  private void invalidate(ResourceKey resourceKey) {
+    principalByResource.invalidate(resourceKey);
+
+    // The username of the principal may be changed already, so it is matched by its resource
+    principalByUsername
+        .asMap()
+        .values()
+        .removeIf(principal -> ResourceKey.from(principal).equals(resourceKey));
+  }
+
+  /** Users and tour companies have their own id sequences, so the resource id alone clashes. */
+  private record ResourceKey(boolean isTourCompany, int resourceId) {
+    static ResourceKey of(UserRoleName usage, int resourceId) {
+      return new ResourceKey(usage == UserRoleName.COMPANY, resourceId);
+    }
+
+    static ResourceKey from(AuthenticatedUser principal) {
+      return of(principal.roleName(), principal.userId());
+    }
+  }
+}
@@ -0,0 +1,268 @@
+package dev.fResult.goutTogether.auths.services;
+
+import dev.fResult.goutTogether.auths.entities.RefreshToken;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deletes the expired rows of <code>refresh_tokens</code> for good.
+ *
+ * <p>When <code>refresh_tokens</code> is partitioned by month, a partition is dropped as a whole
+ * once every refresh token in it is expired, and the partitions of the upcoming months are created
+ * ahead of time. Otherwise, the expired rows are deleted in chunks, each chunk in its own short
+ * statement, so the cleanup never holds the locks of a whole month of rows.
+ */
+@Service
+public class RefreshTokenPurger implements InitializingBean {
+  private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurger.class);
+
+  public static final String METRIC_PREFIX = "refresh_tokens.purge";
+  public static final String PARTITION_NAME_PREFIX = "refresh_tokens_p";
+  public static final String DEFAULT_PARTITION_NAME = "refresh_tokens_default";
+
+  private static final String TABLE_NAME = "refresh_tokens";
+  private static final DateTimeFormatter PARTITION_MONTH_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMM");
+
+  private static final String IS_PARTITIONED_SQL =
+      """
+      SELECT EXISTS (
+        SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('refresh_tokens')
+      );
+      """;
+  private static final String FIND_PARTITION_NAMES_SQL =
+      """
+      SELECT child.relname
+      FROM pg_inherits
+      JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+      WHERE pg_inherits.inhparent = to_regclass('refresh_tokens');
+      """;
+  private static final String CREATE_PARTITION_SQL =
+      "CREATE TABLE IF NOT EXISTS %s PARTITION OF refresh_tokens FOR VALUES FROM ('%s') TO ('%s')";
+  private static final String COUNT_PARTITION_ROWS_SQL = "SELECT COUNT(*) FROM %s";
+  private static final String DROP_PARTITION_SQL = "DROP TABLE IF EXISTS %s";
+  private static final String DELETE_CHUNK_SQL =
+      """
+      DELETE FROM %1$s
+      WHERE (id, issued_date) IN (
+        SELECT id, issued_date FROM %1$s
+        WHERE issued_date <= :thresholdDate
+        ORDER BY issued_date
+        LIMIT :chunkSize
+      );
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final MeterRegistry meterRegistry;
+  private final long refreshTokenExpiredInSeconds;
+  private final int purgeChunkSize;
+  private final int partitionMonthsAhead;
+  private final Counter partitionDropRowsCounter;
+  private final Counter chunkedDeleteRowsCounter;
+  private final Counter partitionsCreatedCounter;
+  private final Timer purgeTimer;
+
+  public RefreshTokenPurger(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      MyApplicationProperties myProps,
+      MeterRegistry meterRegistry) {
+
+    final var tokenProps = myProps.getToken();
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.meterRegistry = meterRegistry;
+    this.refreshTokenExpiredInSeconds = tokenProps.getRefreshTokenExpiredInSeconds();
+    this.purgeChunkSize = tokenProps.getPurgeChunkSize();
+    this.partitionMonthsAhead = tokenProps.getPartitionMonthsAhead();
+    this.partitionDropRowsCounter = buildPurgedRowsCounter("partition_drop");
+    this.chunkedDeleteRowsCounter = buildPurgedRowsCounter("chunked_delete");
+    this.partitionsCreatedCounter =
+        Counter.builder("refresh_tokens.partitions.created")
+            .description("Monthly partitions of refresh tokens which are created ahead of time")
+            .register(meterRegistry);
+    this.purgeTimer =
+        Timer.builder(METRIC_PREFIX + ".duration")
+            .description("Duration of a cleanup run of the expired refresh tokens")
+            .register(meterRegistry);
+  }
+
+  /** A deployment which is down over a month boundary still has its partition on startup. */
+  @Override
+  public void afterPropertiesSet() {
+    try {
+      createUpcomingPartitions();
+    } catch (DataAccessException ex) {
+      logger.error(
+          "[afterPropertiesSet] Failed to create the upcoming partitions of {}",
+          RefreshToken.class.getSimpleName(),
+          ex);
+    }
+  }
+
+  /**
+   * Creates the partitions of the current month and the upcoming months which are missing.
+   *
+   * @return number of partitions which are created
+   */
+  public int createUpcomingPartitions() {
+    if (!isPartitioned()) return 0;
+
+    final var existingPartitionNames = new HashSet<>(findPartitionNames());
+    final var currentMonth = YearMonth.now(ZoneOffset.UTC);
+    var createdCount = 0;
+    for (var monthsAhead = 0; monthsAhead <= partitionMonthsAhead; monthsAhead++) {
+      final var partitionMonth = currentMonth.plusMonths(monthsAhead);
+      final var partitionName = toPartitionName(partitionMonth);
+      if (existingPartitionNames.contains(partitionName)) continue;
+
+      try {
+        jdbcTemplate.update(
+            String.format(
+                CREATE_PARTITION_SQL,
+                partitionName,
+                toMonthStart(partitionMonth),
+                toMonthStart(partitionMonth.plusMonths(1))),
+            Map.of());
+      } catch (DataAccessException ex) {
+        // The default partition holds some rows of this month already, they are purged from there
+        logger.warn(
+            "[createUpcomingPartitions] Partition [{}] cannot be created: {}",
+            partitionName,
+            ex.getMessage());
+        continue;
+      }
+
+      createdCount++;
+      partitionsCreatedCounter.increment();
+      logger.info("[createUpcomingPartitions] Partition [{}] is created", partitionName);
+    }
+
+    return createdCount;
+  }
+
+  /**
+   * Deletes every refresh token which is issued before its lifetime.
+   *
+   * @return number of refresh tokens which are deleted
+   */
+  public int purgeExpired() {
+    final var thresholdDate = Instant.now().minusSeconds(refreshTokenExpiredInSeconds);
+    final var sample = Timer.start(meterRegistry);
+    try {
+      final var purgedCount =
+          isPartitioned()
+              ? purgeByPartitions(thresholdDate)
+              : deleteInChunks(TABLE_NAME, thresholdDate);
+
+      logger.info(
+          "[purgeExpired] {} {}s issued before [{}] are deleted",
+          purgedCount,
+          RefreshToken.class.getSimpleName(),
+          thresholdDate);
+
+      return purgedCount;
+    } finally {
+      sample.stop(purgeTimer);
+    }
+  }
+
+  private int purgeByPartitions(Instant thresholdDate) {
+    final var partitionNames = findPartitionNames();
+    var purgedCount = 0;
+    for (final var partitionName : partitionNames) {
+      final var isPartitionExpired =
+          toPartitionEnd(partitionName).filter(end -> !end.isAfter(thresholdDate)).isPresent();
+      if (!isPartitionExpired) continue;
+
+      final var rowCount =
+          jdbcTemplate.queryForObject(
+              String.format(COUNT_PARTITION_ROWS_SQL, partitionName), Map.of(), Integer.class);
+      jdbcTemplate.update(String.format(DROP_PARTITION_SQL, partitionName), Map.of());
+
+      purgedCount += rowCount;
+      partitionDropRowsCounter.increment(rowCount);
+      logger.info(
+          "[purgeByPartitions] Partition [{}] is dropped with {} rows", partitionName, rowCount);
+    }
+
+    if (!partitionNames.contains(DEFAULT_PARTITION_NAME)) return purgedCount;
+
+    return purgedCount + deleteInChunks(DEFAULT_PARTITION_NAME, thresholdDate);
+  }
+
+  private int deleteInChunks(String tableName, Instant thresholdDate) {
+    final var deleteChunkSql = String.format(DELETE_CHUNK_SQL, tableName);
+    final var params =
+        new MapSqlParameterSource()
+            .addValue("thresholdDate", Timestamp.from(thresholdDate))
+            .addValue("chunkSize", purgeChunkSize);
+
+    var purgedCount = 0;
+    int deletedCount;
+    do {
+      deletedCount = jdbcTemplate.update(deleteChunkSql, params);
+      purgedCount += deletedCount;
+      chunkedDeleteRowsCounter.increment(deletedCount);
+    } while (deletedCount >= purgeChunkSize);
+
+    return purgedCount;
+  }
+
+  private boolean isPartitioned() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Map.of(), Boolean.class));
+  }
+
+  private List<String> findPartitionNames() {
+    return jdbcTemplate.queryForList(FIND_PARTITION_NAMES_SQL, Map.of(), String.class);
+  }
+
+  private Counter buildPurgedRowsCounter(String strategy) {
+    return Counter.builder(METRIC_PREFIX + ".rows")
+        .description("Expired refresh tokens which are deleted by the cleanup job")
+        .tag("strategy", strategy)
+        .register(meterRegistry);
+  }
+
+  private static String toPartitionName(YearMonth partitionMonth) {
+    return PARTITION_NAME_PREFIX + partitionMonth.format(PARTITION_MONTH_FORMATTER);
+  }
+
+  private static Instant toMonthStart(YearMonth month) {
+    return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+
+  // The partitions which are not named by their month, like the default one, never end
+  private static Optional<Instant> toPartitionEnd(String partitionName) {
+    if (!partitionName.startsWith(PARTITION_NAME_PREFIX)) return Optional.empty();
+
+    try {
+      final var partitionMonth =
+          YearMonth.parse(
+              partitionName.substring(PARTITION_NAME_PREFIX.length()), PARTITION_MONTH_FORMATTER);
+
+      return Optional.of(toMonthStart(partitionMonth.plusMonths(1)));
+    } catch (DateTimeParseException ex) {
+      return Optional.empty();
+    }
+  }
+}
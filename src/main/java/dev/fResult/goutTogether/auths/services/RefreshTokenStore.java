@@ -0,0 +1,35 @@
+package dev.fResult.goutTogether.auths.services;
+
+import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
+import dev.fResult.goutTogether.auths.dtos.RefreshedToken;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.exceptions.RefreshTokenExpiredException;
+import java.time.Instant;
+
+/**
+ * Issues, rotates and revokes the refresh tokens. The implementation is selected by the <code>
+ * goutapp.token.refresh-token-mode</code> property.
+ */
+public interface RefreshTokenStore {
+  /**
+   * Revoke all refresh tokens of the resource, then issue a new one.
+   *
+   * @return the new refresh token
+   */
+  String issue(UserRoleName usage, int resourceId, Instant issuedAt);
+
+  /**
+   * @return the resource which the refresh token is issued for, with the refresh token to hand
+   *     back, either the given one or its rotation
+   * @throws EntityNotFoundException when the refresh token is not found, or it is not issued for
+   *     the given resource
+   * @throws RefreshTokenExpiredException when the refresh token is expired or revoked
+   */
+  RefreshedToken refresh(RefreshTokenRequest body);
+
+  void revokeAll(UserRoleName usage, int resourceId);
+
+  /** Clean up what is left by the expired refresh tokens. */
+  void cleanupExpired();
+}
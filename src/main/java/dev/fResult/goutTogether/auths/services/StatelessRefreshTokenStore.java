@@ -0,0 +1,389 @@
+package dev.fResult.goutTogether.auths.services;
+
+import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
+import dev.fResult.goutTogether.auths.dtos.RefreshedToken;
+import dev.fResult.goutTogether.auths.entities.RefreshToken;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.exceptions.RefreshTokenExpiredException;
+import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues the refresh tokens as HMAC-signed JWTs, which carry their resource, their issued time and
+ * their rotation counter, so a refresh is validated without reading the database.
+ *
+ * <p>A revocation moves the "tokens issued before" watermark of the resource, which is held in
+ * memory and written behind to <code>refresh_token_watermarks</code> in batches. Every flush also
+ * reads back the watermarks which are moved by the other instances, so a logout takes effect on
+ * them within a few flush intervals.
+ *
+ * <p>The refresh tokens are signed with a separate secret, so they are never accepted as access
+ * tokens, which are signed with the RSA key.
+ */
+@Service
+@ConditionalOnProperty(
+    prefix = "goutapp.token",
+    name = "refresh-token-mode",
+    havingValue = "stateless")
+public class StatelessRefreshTokenStore
+    implements RefreshTokenStore, InitializingBean, DisposableBean {
+
+  private final Logger logger = LoggerFactory.getLogger(StatelessRefreshTokenStore.class);
+  private final ErrorHelper errorHelper = new ErrorHelper(StatelessRefreshTokenStore.class);
+
+  private static final int MIN_SECRET_LENGTH_IN_BYTES = 32;
+  private static final String ISSUER = "gout-together";
+  private static final String TOKEN_USE_CLAIM = "token_use";
+  private static final String REFRESH_TOKEN_USE = "refresh";
+  private static final String USAGE_CLAIM = "usage";
+  private static final String ROTATION_CLAIM = "rotation";
+  // The standard `iat` claim is in seconds, but a revocation must not spare the tokens which are
+  // issued in the same second before it
+  private static final String ISSUED_AT_MILLIS_CLAIM = "issued_at_ms";
+
+  private static final String UPSERT_WATERMARK_SQL =
+      """
+      INSERT INTO refresh_token_watermarks (usage, resource_id, revoked_before)
+      VALUES (:usage, :resourceId, :revokedBefore)
+      ON CONFLICT (usage, resource_id)
+      DO UPDATE SET revoked_before =
+        GREATEST(refresh_token_watermarks.revoked_before, EXCLUDED.revoked_before);
+      """;
+  private static final String FIND_WATERMARKS_SQL =
+      """
+      SELECT usage, resource_id, revoked_before
+      FROM refresh_token_watermarks
+      WHERE revoked_before > :revokedAfter;
+      """;
+  private static final String DELETE_WATERMARKS_SQL =
+      "DELETE FROM refresh_token_watermarks WHERE revoked_before <= :thresholdDate";
+
+  private final Map<WatermarkKey, Instant> revokedBeforeByResource = new ConcurrentHashMap<>();
+  private final Set<WatermarkKey> dirtyWatermarkKeys = ConcurrentHashMap.newKeySet();
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final JwtEncoder refreshTokenEncoder;
+  private final JwtDecoder refreshTokenDecoder;
+  private final long refreshTokenExpiredInSeconds;
+  private final long watermarkFlushIntervalMillis;
+  private final ScheduledExecutorService flushScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofVirtual().name("refresh-token-watermark-flush").factory());
+
+  private volatile Instant lastSyncedAt = Instant.EPOCH;
+
+  public StatelessRefreshTokenStore(
+      NamedParameterJdbcTemplate jdbcTemplate, MyApplicationProperties myProps) {
+    final var tokenProps = myProps.getToken();
+    final var secretKey = buildSecretKey(tokenProps.getRefreshTokenSecret());
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.refreshTokenEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey));
+    this.refreshTokenDecoder = buildDecoder(secretKey);
+    this.refreshTokenExpiredInSeconds = tokenProps.getRefreshTokenExpiredInSeconds();
+    this.watermarkFlushIntervalMillis = tokenProps.getWatermarkFlushIntervalMillis();
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    syncWatermarks();
+
+    flushScheduler.scheduleWithFixedDelay(
+        this::flushAndSyncWatermarksSafely,
+        watermarkFlushIntervalMillis,
+        watermarkFlushIntervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    flushScheduler.shutdown();
+    flushWatermarks();
+  }
+
+  @Override
+  public String issue(UserRoleName usage, int resourceId, Instant issuedAt) {
+    moveWatermark(WatermarkKey.of(usage, resourceId), issuedAt);
+
+    return encode(usage, resourceId, 0, issuedAt);
+  }
+
+  @Override
+  public RefreshedToken refresh(RefreshTokenRequest body) {
+    final var refreshToken = decode(body);
+    final var usage = UserRoleName.valueOf(refreshToken.getClaimAsString(USAGE_CLAIM));
+    final var resourceId = Integer.parseInt(refreshToken.getClaimAsString(RESOURCE_ID_CLAIM));
+    final var issuedAt = Instant.ofEpochMilli(refreshToken.<Long>getClaim(ISSUED_AT_MILLIS_CLAIM));
+    final var watermarkKey = WatermarkKey.of(usage, resourceId);
+
+    throwExceptionIfRefreshTokenRevoked(watermarkKey, issuedAt);
+    throwExceptionIfRefreshTokenExpired(watermarkKey, refreshToken);
+
+    final var now = Instant.now();
+    final var thresholdToRotate =
+        refreshToken.getExpiresAt().minusSeconds(TokenService.TIME_FOR_ROTATE_IN_SECONDS);
+    if (now.isBefore(thresholdToRotate)) {
+      return RefreshedToken.of(usage, resourceId, body.refreshToken());
+    }
+
+    // Moving the watermark to the rotation revokes the refresh token which is rotated
+    final var rotation = refreshToken.<Long>getClaim(ROTATION_CLAIM) + 1;
+    moveWatermark(watermarkKey, now);
+    logger.debug(
+        "[refresh] {} of {} resourceId [{}] is rotated {} times",
+        RefreshToken.class.getSimpleName(),
+        usage,
+        resourceId,
+        rotation);
+
+    return RefreshedToken.of(usage, resourceId, encode(usage, resourceId, rotation, now));
+  }
+
+  @Override
+  public void revokeAll(UserRoleName usage, int resourceId) {
+    moveWatermark(WatermarkKey.of(usage, resourceId), Instant.now());
+  }
+
+  /** The watermarks before the oldest unexpired refresh token cannot revoke anything anymore. */
+  @Override
+  public void cleanupExpired() {
+    final var thresholdDate = Instant.now().minusSeconds(refreshTokenExpiredInSeconds);
+
+    revokedBeforeByResource
+        .values()
+        .removeIf(revokedBefore -> !revokedBefore.isAfter(thresholdDate));
+    final var deletedCount =
+        jdbcTemplate.update(
+            DELETE_WATERMARKS_SQL,
+            new MapSqlParameterSource("thresholdDate", Timestamp.from(thresholdDate)));
+
+    logger.info("[cleanupExpired] Deleted {} refresh token watermarks", deletedCount);
+  }
+
+  /**
+   * Writes the moved watermarks to <code>refresh_token_watermarks</code> in one batch.
+   *
+   * @return number of watermarks which are flushed
+   */
+  public int flushWatermarks() {
+    final var watermarkKeys = new ArrayList<WatermarkKey>();
+    final var batchParams = new ArrayList<SqlParameterSource>();
+    for (final var watermarkKey : dirtyWatermarkKeys) {
+      dirtyWatermarkKeys.remove(watermarkKey);
+      final var revokedBefore = revokedBeforeByResource.get(watermarkKey);
+      if (revokedBefore == null) continue;
+
+      watermarkKeys.add(watermarkKey);
+      batchParams.add(
+          new MapSqlParameterSource()
+              .addValue("usage", watermarkKey.usage().name())
+              .addValue("resourceId", watermarkKey.resourceId())
+              .addValue("revokedBefore", Timestamp.from(revokedBefore)));
+    }
+
+    if (batchParams.isEmpty()) return 0;
+
+    try {
+      jdbcTemplate.batchUpdate(
+          UPSERT_WATERMARK_SQL, batchParams.toArray(SqlParameterSource[]::new));
+    } catch (RuntimeException ex) {
+      // Mark the watermarks dirty again, so the next flush can retry them
+      dirtyWatermarkKeys.addAll(watermarkKeys);
+      throw ex;
+    }
+
+    logger.debug("[flushWatermarks] Flushed {} refresh token watermarks", watermarkKeys.size());
+
+    return watermarkKeys.size();
+  }
+
+  private void flushAndSyncWatermarksSafely() {
+    try {
+      flushWatermarks();
+      syncWatermarks();
+    } catch (RuntimeException ex) {
+      logger.error(
+          "[flushAndSyncWatermarksSafely] Failed to flush {} watermarks, will retry later",
+          RefreshToken.class.getSimpleName(),
+          ex);
+    }
+  }
+
+  /*
+   * Another instance flushes its watermark up to one interval after it is moved, so we read back
+   * a few intervals before the last sync to not miss it.
+   */
+  private void syncWatermarks() {
+    final var syncedAt = Instant.now();
+    final var lookBackMillis = Math.max(watermarkFlushIntervalMillis * 3, 1_000);
+    final var oldestUnexpired = syncedAt.minusSeconds(refreshTokenExpiredInSeconds);
+    final var revokedAfter =
+        lastSyncedAt == Instant.EPOCH ? oldestUnexpired : lastSyncedAt.minusMillis(lookBackMillis);
+
+    jdbcTemplate.query(
+        FIND_WATERMARKS_SQL,
+        new MapSqlParameterSource("revokedAfter", Timestamp.from(revokedAfter)),
+        resultSet -> {
+          final var watermarkKey =
+              WatermarkKey.of(
+                  UserRoleName.valueOf(resultSet.getString("usage")),
+                  resultSet.getInt("resource_id"));
+          final var revokedBefore = resultSet.getTimestamp("revoked_before").toInstant();
+          revokedBeforeByResource.merge(
+              watermarkKey, revokedBefore, StatelessRefreshTokenStore::max);
+        });
+
+    lastSyncedAt = syncedAt;
+  }
+
+  private void moveWatermark(WatermarkKey watermarkKey, Instant revokedBefore) {
+    revokedBeforeByResource.merge(watermarkKey, revokedBefore, StatelessRefreshTokenStore::max);
+    dirtyWatermarkKeys.add(watermarkKey);
+  }
+
+  private String encode(UserRoleName usage, int resourceId, long rotation, Instant issuedAt) {
+    final var claims =
+        JwtClaimsSet.builder()
+            .issuer(ISSUER)
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plusSeconds(refreshTokenExpiredInSeconds))
+            .claim(TOKEN_USE_CLAIM, REFRESH_TOKEN_USE)
+            .claim(USAGE_CLAIM, usage.name())
+            .claim(RESOURCE_ID_CLAIM, resourceId)
+            .claim(ROTATION_CLAIM, rotation)
+            .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli())
+            .build();
+    final var header = JwsHeader.with(MacAlgorithm.HS256).build();
+
+    return refreshTokenEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+  }
+
+  private Jwt decode(RefreshTokenRequest body) {
+    final var refreshTokenNotFound =
+        errorHelper.entityWithSubResourceNotFound(
+            "refresh", RefreshToken.class, "token", body.refreshToken());
+
+    final Jwt refreshToken;
+    try {
+      refreshToken = refreshTokenDecoder.decode(body.refreshToken());
+    } catch (JwtException ex) {
+      logger.warn(
+          "[refresh] {} is invalid: {}", RefreshToken.class.getSimpleName(), ex.getMessage());
+      throw refreshTokenNotFound.get();
+    }
+
+    final var usage = UserRoleName.valueOf(refreshToken.getClaimAsString(USAGE_CLAIM));
+    final var resourceId = Integer.parseInt(refreshToken.getClaimAsString(RESOURCE_ID_CLAIM));
+    final var isIssuedForResource =
+        (usage == UserRoleName.COMPANY) == (body.usage() == UserRoleName.COMPANY)
+            && resourceId == body.resourceId();
+    if (!isIssuedForResource) throw refreshTokenNotFound.get();
+
+    return refreshToken;
+  }
+
+  private void throwExceptionIfRefreshTokenRevoked(WatermarkKey watermarkKey, Instant issuedAt) {
+    final var revokedBefore = revokedBeforeByResource.get(watermarkKey);
+    if (revokedBefore == null || !issuedAt.isBefore(revokedBefore)) return;
+
+    logger.info(
+        "[refresh] {} of resourceId [{}] is already revoked, please re-login",
+        RefreshToken.class.getSimpleName(),
+        watermarkKey.resourceId());
+    throw new RefreshTokenExpiredException(
+        String.format(
+            "%s is already revoked, please re-login", RefreshToken.class.getSimpleName()));
+  }
+
+  private void throwExceptionIfRefreshTokenExpired(WatermarkKey watermarkKey, Jwt refreshToken) {
+    if (Instant.now().isBefore(refreshToken.getExpiresAt())) return;
+
+    logger.info(
+        "[refresh] {} of resourceId [{}] is already expired, please re-login",
+        RefreshToken.class.getSimpleName(),
+        watermarkKey.resourceId());
+    moveWatermark(watermarkKey, Instant.now());
+
+    throw new RefreshTokenExpiredException(
+        String.format(
+            "%s is already expired, please re-login", RefreshToken.class.getSimpleName()));
+  }
+
+  private static SecretKey buildSecretKey(String secretBase64) {
+    final var secretBytes =
+        secretBase64 == null ? new byte[0] : Base64.getDecoder().decode(secretBase64);
+
+    if (secretBytes.length < MIN_SECRET_LENGTH_IN_BYTES) {
+      throw new IllegalStateException(
+          String.format(
+              "goutapp.token.refresh-token-secret must be at least %d bytes in Base64",
+              MIN_SECRET_LENGTH_IN_BYTES));
+    }
+
+    return new SecretKeySpec(secretBytes, "HmacSHA256");
+  }
+
+  // The expiration is checked by ourselves, so an expired token can revoke its resource
+  private static JwtDecoder buildDecoder(SecretKey secretKey) {
+    final var decoder =
+        NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS256).build();
+    decoder.setJwtValidator(
+        jwt ->
+            REFRESH_TOKEN_USE.equals(jwt.getClaimAsString(TOKEN_USE_CLAIM))
+                ? OAuth2TokenValidatorResult.success()
+                : OAuth2TokenValidatorResult.failure(
+                    new OAuth2Error("invalid_token", "Not a refresh token", null)));
+
+    return decoder;
+  }
+
+  private static Instant max(Instant instant1, Instant instant2) {
+    return instant1.isAfter(instant2) ? instant1 : instant2;
+  }
+
+  private record WatermarkKey(UserRoleName usage, int resourceId) {
+    // Admins and consumers are both users, so they share one watermark
+    static WatermarkKey of(UserRoleName usage, int resourceId) {
+      final var normalizedUsage =
+          usage == UserRoleName.COMPANY ? UserRoleName.COMPANY : UserRoleName.CONSUMER;
+
+      return new WatermarkKey(normalizedUsage, resourceId);
+    }
+  }
+}
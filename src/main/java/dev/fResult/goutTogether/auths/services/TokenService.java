@@ -7,9 +7,10 @@ import dev.fResult.goutTogether.auths.dtos.AuthenticatedUser;
 import dev.fResult.goutTogether.auths.entities.RefreshToken;
 import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
-import dev.fResult.goutTogether.auths.repositories.RefreshTokenRepository;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import dev.fResult.goutTogether.common.utils.UUIDV7;
 import java.time.Instant;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -21,21 +22,18 @@ import org.springframework.stereotype.Service;
 @Service
 public class TokenService {
   private static final String ISSUER = "gout-together";
-  private static final int TIME_FOR_ROTATE_IN_SECONDS = 120;
+  static final int TIME_FOR_ROTATE_IN_SECONDS = 120;
 
-  private final RefreshTokenRepository refreshTokenRepository;
   private final CustomUserDetailsService userDetailsService;
   private final long accessTokenExpiredInSeconds;
   private final long refreshTokenExpiredInSeconds;
   private final JwtEncoder jwtEncoder;
 
   public TokenService(
-      RefreshTokenRepository refreshTokenRepository,
       CustomUserDetailsService userDetailsService,
       @Value("${goutapp.token.access-token-expired-in-seconds}") long accessTokenExpiredInSeconds,
       @Value("${goutapp.token.refresh-token-expired-in-seconds}") long refreshTokenExpiredInSeconds,
       JwtEncoder jwtEncoder) {
-    this.refreshTokenRepository = refreshTokenRepository;
     this.userDetailsService = userDetailsService;
     this.accessTokenExpiredInSeconds = accessTokenExpiredInSeconds;
     this.refreshTokenExpiredInSeconds = refreshTokenExpiredInSeconds;
@@ -47,15 +45,23 @@ public class TokenService {
   }
 
   public String issueAccessToken(UserLogin userLogin, Instant issuedAt) {
-    final var authenticatedUser =
-        (AuthenticatedUser) userDetailsService.loadUserByUsername(userLogin.email());
+    final var userId = Objects.requireNonNull(userLogin.userId().getId());
 
-    return generateToken(authenticatedUser, issuedAt, accessTokenExpiredInSeconds);
+    return issueAccessToken(UserRoleName.CONSUMER, userId, issuedAt);
   }
 
   public String issueAccessToken(TourCompanyLogin tourCompanyLogin, Instant issuedAt) {
-    final var authenticatedUser =
-        (AuthenticatedUser) userDetailsService.loadUserByUsername(tourCompanyLogin.username());
+    final var tourCompanyId = Objects.requireNonNull(tourCompanyLogin.tourCompanyId().getId());
+
+    return issueAccessToken(UserRoleName.COMPANY, tourCompanyId, issuedAt);
+  }
+
+  /**
+   * Issue the access token of the resource which the refresh token is issued for, the principal is
+   * read from the cache of {@link CustomUserDetailsService} instead of being loaded again.
+   */
+  public String issueAccessToken(UserRoleName usage, int resourceId, Instant issuedAt) {
+    final var authenticatedUser = userDetailsService.loadUserByResource(usage, resourceId);
 
     return generateToken(authenticatedUser, issuedAt, accessTokenExpiredInSeconds);
   }
@@ -82,19 +88,6 @@ public class TokenService {
     return refreshToken.token();
   }
 
-  public void cleanupExpiredRefreshToken() {
-    /* Assume Life of Refresh Token is 1 day
-     * - Token issued at 20241213 - 16:13
-     * - Token expires at 20241214 - 16.13
-     * - Cron started at 20241213 - 16:13
-     * - When we want to check expired token from issued date -> use minusDay(1)
-     */
-    final var currentDateTime = Instant.now();
-    final var thresholdDateTime = currentDateTime.minusSeconds(refreshTokenExpiredInSeconds);
-
-    refreshTokenRepository.updateRefreshTokenThatExpired(true, thresholdDateTime);
-  }
-
   private String generateToken(
       AuthenticatedUser authenticatedUser, Instant issuedAt, long expiredInSeconds) {
     final var scope =
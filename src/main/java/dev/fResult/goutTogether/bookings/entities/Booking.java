@@ -4,6 +4,7 @@ import dev.fResult.goutTogether.tours.entities.Tour;
 import dev.fResult.goutTogether.users.entities.User;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -16,8 +17,10 @@ public record Booking(
     @Column("state") String status,
     Instant bookingDate,
     Instant lastUpdated,
-    String idempotentKey) {
+    String idempotentKey,
+    @Version Integer version) {
 
+  /** A booking which is not versioned yet, the version is set when it is inserted. */
   public static Booking of(
       Integer id,
       AggregateReference<User, Integer> userId,
@@ -27,6 +30,20 @@ public record Booking(
       Instant lastUpdated,
       String idempotentKey) {
 
-    return new Booking(id, userId, tourId, status, bookingDate, lastUpdated, idempotentKey);
+    return new Booking(id, userId, tourId, status, bookingDate, lastUpdated, idempotentKey, null);
+  }
+
+  public static Booking of(
+      Integer id,
+      AggregateReference<User, Integer> userId,
+      AggregateReference<Tour, Integer> tourId,
+      String status,
+      Instant bookingDate,
+      Instant lastUpdated,
+      String idempotentKey,
+      Integer version) {
+
+    return new Booking(
+        id, userId, tourId, status, bookingDate, lastUpdated, idempotentKey, version);
   }
 }
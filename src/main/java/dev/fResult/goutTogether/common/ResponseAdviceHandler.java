@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.*;
 import org.springframework.lang.NonNull;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -89,6 +90,18 @@ public class ResponseAdviceHandler extends ResponseEntityExceptionHandler {
     return ResponseEntity.of(detail).build();
   }
 
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  protected ResponseEntity<?> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex) {
+
+    final var detail =
+        ProblemDetail.forStatusAndDetail(
+            HttpStatus.CONFLICT, "The resource is updated concurrently, please try again");
+    logger.warn("Optimistic locking failure: {}", ex.getMessage());
+
+    return ResponseEntity.of(detail).build();
+  }
+
   @ExceptionHandler(RefreshTokenExpiredException.class)
   protected ResponseEntity<?> handleRefreshTokenExpiredException(RefreshTokenExpiredException ex) {
     final var detail = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
@@ -97,6 +110,17 @@ public class ResponseAdviceHandler extends ResponseEntityExceptionHandler {
     return ResponseEntity.of(detail).build();
   }
 
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  protected ResponseEntity<?> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+    final var detail =
+        ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    logger.warn("Password hashing busy: {}", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(detail);
+  }
+
   @ExceptionHandler(Exception.class)
   protected ResponseEntity<?> handleGlobalException(Exception ex) {
     final var detail =
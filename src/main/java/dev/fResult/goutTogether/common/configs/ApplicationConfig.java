@@ -1,21 +0,0 @@
-package dev.fResult.goutTogether.common.configs;
-
-import java.util.List;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.converter.BufferedImageHttpMessageConverter;
-import org.springframework.http.converter.HttpMessageConverter;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class ApplicationConfig implements WebMvcConfigurer {
-  @Bean
-  public BufferedImageHttpMessageConverter bufferedImageHttpMessageConverter() {
-    return new BufferedImageHttpMessageConverter();
-  }
-
-  @Override
-  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
-    converters.add(bufferedImageHttpMessageConverter());
-  }
-}
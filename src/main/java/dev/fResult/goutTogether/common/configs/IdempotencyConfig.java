@@ -0,0 +1,26 @@
+package dev.fResult.goutTogether.common.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.fResult.goutTogether.idempotency.IdempotencyFilter;
+import dev.fResult.goutTogether.idempotency.IdempotencyService;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+
+  @Bean
+  public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+      IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+
+    final var registration =
+        new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService, objectMapper));
+    // Right after Spring Security, so the keys are only claimed by the authenticated requests
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+    registration.addUrlPatterns("/api/*");
+
+    return registration;
+  }
+}
@@ -1,13 +1,28 @@
 package dev.fResult.goutTogether.common.configs;
 
+import dev.fResult.goutTogether.common.enumurations.InventoryMode;
+import dev.fResult.goutTogether.common.enumurations.RefreshTokenMode;
+import dev.fResult.goutTogether.common.enumurations.TourCompanyWalletMode;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 
 @ConfigurationProperties(prefix = "goutapp")
 public class MyApplicationProperties {
   private final Booking booking = new Booking();
   private final Token token = new Token();
   private final OAuth oauth = new OAuth();
+  private final Inventory inventory = new Inventory();
+  private final Wallet wallet = new Wallet();
+  private final Idempotency idempotency = new Idempotency();
+  private final TourCache tourCache = new TourCache();
+  private final PrincipalCache principalCache = new PrincipalCache();
+  private final PasswordHashing passwordHashing = new PasswordHashing();
+  private final JwtCache jwtCache = new JwtCache();
+  private final QrCodeCache qrCodeCache = new QrCodeCache();
+  private final OptimisticLock optimisticLock = new OptimisticLock();
 
   public Booking getBooking() {
     return booking;
@@ -21,6 +36,42 @@ public class MyApplicationProperties {
     return oauth;
   }
 
+  public Inventory getInventory() {
+    return inventory;
+  }
+
+  public Wallet getWallet() {
+    return wallet;
+  }
+
+  public Idempotency getIdempotency() {
+    return idempotency;
+  }
+
+  public TourCache getTourCache() {
+    return tourCache;
+  }
+
+  public PrincipalCache getPrincipalCache() {
+    return principalCache;
+  }
+
+  public PasswordHashing getPasswordHashing() {
+    return passwordHashing;
+  }
+
+  public JwtCache getJwtCache() {
+    return jwtCache;
+  }
+
+  public QrCodeCache getQrCodeCache() {
+    return qrCodeCache;
+  }
+
+  public OptimisticLock getOptimisticLock() {
+    return optimisticLock;
+  }
+
   public static class Booking {
     /** The static tour price for learning purpose. */
     BigDecimal tourPrice = BigDecimal.valueOf(100.00);
@@ -41,6 +92,21 @@ public class MyApplicationProperties {
     /** Duration of expiration of refresh token in 'seconds'. (Default: 1 month) */
     private int refreshTokenExpiredInSeconds = 2592000;
 
+    /** Where the refresh tokens are kept, `database` or `stateless`. (Default: database) */
+    private RefreshTokenMode refreshTokenMode = RefreshTokenMode.DATABASE;
+
+    /** HMAC secret of the stateless refresh tokens in Base64 format, at least 32 bytes. */
+    private String refreshTokenSecret;
+
+    /** Interval to flush the revocation watermarks of stateless mode in 'milliseconds'. */
+    private long watermarkFlushIntervalMillis = 1_000;
+
+    /** Rows which the cleanup job deletes in one statement, when it cannot drop a partition. */
+    private int purgeChunkSize = 5_000;
+
+    /** Monthly partitions of refresh tokens which are created ahead of the current month. */
+    private int partitionMonthsAhead = 2;
+
     public int getAccessTokenExpiredInSeconds() {
       return accessTokenExpiredInSeconds;
     }
@@ -56,6 +122,46 @@ public class MyApplicationProperties {
     public void setRefreshTokenExpiredInSeconds(int refreshTokenExpiredInSeconds) {
       this.refreshTokenExpiredInSeconds = refreshTokenExpiredInSeconds;
     }
+
+    public RefreshTokenMode getRefreshTokenMode() {
+      return refreshTokenMode;
+    }
+
+    public void setRefreshTokenMode(RefreshTokenMode refreshTokenMode) {
+      this.refreshTokenMode = refreshTokenMode;
+    }
+
+    public String getRefreshTokenSecret() {
+      return refreshTokenSecret;
+    }
+
+    public void setRefreshTokenSecret(String refreshTokenSecret) {
+      this.refreshTokenSecret = refreshTokenSecret;
+    }
+
+    public long getWatermarkFlushIntervalMillis() {
+      return watermarkFlushIntervalMillis;
+    }
+
+    public void setWatermarkFlushIntervalMillis(long watermarkFlushIntervalMillis) {
+      this.watermarkFlushIntervalMillis = watermarkFlushIntervalMillis;
+    }
+
+    public int getPurgeChunkSize() {
+      return purgeChunkSize;
+    }
+
+    public void setPurgeChunkSize(int purgeChunkSize) {
+      this.purgeChunkSize = purgeChunkSize;
+    }
+
+    public int getPartitionMonthsAhead() {
+      return partitionMonthsAhead;
+    }
+
+    public void setPartitionMonthsAhead(int partitionMonthsAhead) {
+      this.partitionMonthsAhead = partitionMonthsAhead;
+    }
   }
 
   public static class OAuth {
@@ -64,6 +170,18 @@ public class MyApplicationProperties {
     /** Public key in Base64 format. */
     private String publicKey;
 
+    /** Key id of the RS256 key pair above, which goes to the `kid` header of its tokens. */
+    private String keyId = "rs256-1";
+
+    /** Key id of the key which signs the new access tokens. (Default: the key id above) */
+    private String signingKeyId;
+
+    /**
+     * More signing keys, like an ES256 key to switch to, or a retired key which only verifies the
+     * access tokens that are not expired yet, so it has no private key.
+     */
+    private List<Key> keys = new ArrayList<>();
+
     public String getPrivateKey() {
       return privateKey;
     }
@@ -79,5 +197,409 @@ public class MyApplicationProperties {
     public void setPublicKey(String publicKey) {
       this.publicKey = publicKey;
     }
+
+    public String getKeyId() {
+      return keyId;
+    }
+
+    public void setKeyId(String keyId) {
+      this.keyId = keyId;
+    }
+
+    public String getSigningKeyId() {
+      return signingKeyId;
+    }
+
+    public void setSigningKeyId(String signingKeyId) {
+      this.signingKeyId = signingKeyId;
+    }
+
+    public List<Key> getKeys() {
+      return keys;
+    }
+
+    public void setKeys(List<Key> keys) {
+      this.keys = keys;
+    }
+
+    public static class Key {
+      private String keyId;
+
+      /** `RS256`, `RS384`, `RS512`, `ES256`, `ES384` or `ES512`. (Default: ES256) */
+      private SignatureAlgorithm algorithm = SignatureAlgorithm.ES256;
+
+      /** PKCS#8 private key in Base64 format, it is empty when the key only verifies. */
+      private String privateKey;
+
+      /** X.509 public key in Base64 format. */
+      private String publicKey;
+
+      public String getKeyId() {
+        return keyId;
+      }
+
+      public void setKeyId(String keyId) {
+        this.keyId = keyId;
+      }
+
+      public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+      }
+
+      public void setAlgorithm(SignatureAlgorithm algorithm) {
+        this.algorithm = algorithm;
+      }
+
+      public String getPrivateKey() {
+        return privateKey;
+      }
+
+      public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+      }
+
+      public String getPublicKey() {
+        return publicKey;
+      }
+
+      public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+      }
+    }
+  }
+
+  public static class Inventory {
+    /** Where the reserved seats are checked, in the database or in memory. (Default: database) */
+    private InventoryMode mode = InventoryMode.DATABASE;
+
+    /** Interval of flushing the in-memory reservations to the database in 'milliseconds'. */
+    private long flushIntervalMillis = 500;
+
+    public InventoryMode getMode() {
+      return mode;
+    }
+
+    public void setMode(InventoryMode mode) {
+      this.mode = mode;
+    }
+
+    public long getFlushIntervalMillis() {
+      return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+      this.flushIntervalMillis = flushIntervalMillis;
+    }
+  }
+
+  public static class Wallet {
+    /**
+     * How the tour company wallets are credited, single row, sharded or queued in the outbox.
+     * (Default: single)
+     */
+    private TourCompanyWalletMode tourCompanyMode = TourCompanyWalletMode.SINGLE;
+
+    /** Number of sub-balance rows per tour company when the wallets are sharded. */
+    private int shardCount = 8;
+
+    /** Max number of outbox credits which are settled into the tour company wallets at once. */
+    private int settlementBatchSize = 500;
+
+    public TourCompanyWalletMode getTourCompanyMode() {
+      return tourCompanyMode;
+    }
+
+    public void setTourCompanyMode(TourCompanyWalletMode tourCompanyMode) {
+      this.tourCompanyMode = tourCompanyMode;
+    }
+
+    public int getShardCount() {
+      return shardCount;
+    }
+
+    public void setShardCount(int shardCount) {
+      this.shardCount = shardCount;
+    }
+
+    public int getSettlementBatchSize() {
+      return settlementBatchSize;
+    }
+
+    public void setSettlementBatchSize(int settlementBatchSize) {
+      this.settlementBatchSize = settlementBatchSize;
+    }
+  }
+
+  public static class Idempotency {
+    /** Max number of completed responses which are cached in memory. */
+    private long cacheMaximumSize = 10_000;
+
+    /** Duration of caching a completed response in memory in 'seconds'. (Default: 10 minutes) */
+    private long cacheExpiredInSeconds = 600;
+
+    /** Duration of keeping an idempotent key in the database in 'seconds'. (Default: 1 day) */
+    private long keyExpiredInSeconds = 86400;
+
+    /** Duration before an unfinished request gives its key to the retry in 'seconds'. */
+    private long inProgressTimeoutSeconds = 60;
+
+    public long getCacheMaximumSize() {
+      return cacheMaximumSize;
+    }
+
+    public void setCacheMaximumSize(long cacheMaximumSize) {
+      this.cacheMaximumSize = cacheMaximumSize;
+    }
+
+    public long getCacheExpiredInSeconds() {
+      return cacheExpiredInSeconds;
+    }
+
+    public void setCacheExpiredInSeconds(long cacheExpiredInSeconds) {
+      this.cacheExpiredInSeconds = cacheExpiredInSeconds;
+    }
+
+    public long getKeyExpiredInSeconds() {
+      return keyExpiredInSeconds;
+    }
+
+    public void setKeyExpiredInSeconds(long keyExpiredInSeconds) {
+      this.keyExpiredInSeconds = keyExpiredInSeconds;
+    }
+
+    public long getInProgressTimeoutSeconds() {
+      return inProgressTimeoutSeconds;
+    }
+
+    public void setInProgressTimeoutSeconds(long inProgressTimeoutSeconds) {
+      this.inProgressTimeoutSeconds = inProgressTimeoutSeconds;
+    }
+  }
+
+  public static class TourCache {
+    /** Max number of tours which are cached in memory. */
+    private long maximumSize = 10_000;
+
+    /** Duration of caching a tour in memory in 'seconds'. (Default: 5 minutes) */
+    private long expiredInSeconds = 300;
+
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public long getExpiredInSeconds() {
+      return expiredInSeconds;
+    }
+
+    public void setExpiredInSeconds(long expiredInSeconds) {
+      this.expiredInSeconds = expiredInSeconds;
+    }
+  }
+
+  public static class PrincipalCache {
+    /** Max number of authenticated principals which are cached in memory. */
+    private long maximumSize = 10_000;
+
+    /** Duration of caching a principal in memory in 'seconds'. (Default: 1 minute) */
+    private long expiredInSeconds = 60;
+
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public long getExpiredInSeconds() {
+      return expiredInSeconds;
+    }
+
+    public void setExpiredInSeconds(long expiredInSeconds) {
+      this.expiredInSeconds = expiredInSeconds;
+    }
+  }
+
+  public static class PasswordHashing {
+    /** Length of the random salt in 'bytes'. */
+    private int saltLength = 16;
+
+    /** Length of the generated hash in 'bytes'. */
+    private int hashLength = 32;
+
+    /** Number of lanes which Argon2 computes in parallel. */
+    private int parallelism = 1;
+
+    /** Memory cost of a single hash in 'KiB'. (Default: 16 MiB) */
+    private int memoryInKb = 16_384;
+
+    /** Number of passes over the memory. */
+    private int iterations = 2;
+
+    /** Max number of hashes which run at the same time, the others wait in a queue. */
+    private int maxConcurrentHashes = 4;
+
+    /** Duration of waiting in the queue in 'milliseconds' before the request is shed with 503. */
+    private long acquireTimeoutMillis = 2_000;
+
+    public int getSaltLength() {
+      return saltLength;
+    }
+
+    public void setSaltLength(int saltLength) {
+      this.saltLength = saltLength;
+    }
+
+    public int getHashLength() {
+      return hashLength;
+    }
+
+    public void setHashLength(int hashLength) {
+      this.hashLength = hashLength;
+    }
+
+    public int getParallelism() {
+      return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+    }
+
+    public int getMemoryInKb() {
+      return memoryInKb;
+    }
+
+    public void setMemoryInKb(int memoryInKb) {
+      this.memoryInKb = memoryInKb;
+    }
+
+    public int getIterations() {
+      return iterations;
+    }
+
+    public void setIterations(int iterations) {
+      this.iterations = iterations;
+    }
+
+    public int getMaxConcurrentHashes() {
+      return maxConcurrentHashes;
+    }
+
+    public void setMaxConcurrentHashes(int maxConcurrentHashes) {
+      this.maxConcurrentHashes = maxConcurrentHashes;
+    }
+
+    public long getAcquireTimeoutMillis() {
+      return acquireTimeoutMillis;
+    }
+
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+      this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+  }
+
+  public static class JwtCache {
+    /** Max number of verified access tokens which are cached in memory. */
+    private long maximumSize = 10_000;
+
+    /**
+     * Max duration of caching a verified access token in 'seconds', it is never cached after its
+     * expiration. (Default: 5 minutes)
+     */
+    private long expiredInSeconds = 300;
+
+    public long getMaximumSize() {
+      return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public long getExpiredInSeconds() {
+      return expiredInSeconds;
+    }
+
+    public void setExpiredInSeconds(long expiredInSeconds) {
+      this.expiredInSeconds = expiredInSeconds;
+    }
+  }
+
+  public static class QrCodeCache {
+    /** Max total size of the encoded QR code images which are cached in memory in 'bytes'. */
+    private long maximumSizeInBytes = 16 * 1024 * 1024;
+
+    /** Duration of caching a QR code image by the clients in 'seconds'. (Default: 1 day) */
+    private long maxAgeInSeconds = 86_400;
+
+    /**
+     * Directory of the pre-rendered QR code images, which outlive the in-memory cache and a restart.
+     * (Default: 'data/qr-codes' under the working directory)
+     */
+    private String blobDirectory = "data/qr-codes";
+
+    public long getMaximumSizeInBytes() {
+      return maximumSizeInBytes;
+    }
+
+    public void setMaximumSizeInBytes(long maximumSizeInBytes) {
+      this.maximumSizeInBytes = maximumSizeInBytes;
+    }
+
+    public long getMaxAgeInSeconds() {
+      return maxAgeInSeconds;
+    }
+
+    public void setMaxAgeInSeconds(long maxAgeInSeconds) {
+      this.maxAgeInSeconds = maxAgeInSeconds;
+    }
+
+    public String getBlobDirectory() {
+      return blobDirectory;
+    }
+
+    public void setBlobDirectory(String blobDirectory) {
+      this.blobDirectory = blobDirectory;
+    }
+  }
+
+  public static class OptimisticLock {
+    /** Max number of attempts of a flow whose versioned rows are updated concurrently. */
+    private int maxAttempts = 3;
+
+    /** Backoff before the first retry in 'milliseconds', it doubles on every next retry. */
+    private long initialBackoffMillis = 10;
+
+    /** Max backoff before a retry in 'milliseconds'. */
+    private long maxBackoffMillis = 200;
+
+    public int getMaxAttempts() {
+      return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+      return initialBackoffMillis;
+    }
+
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+      return maxBackoffMillis;
+    }
+
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+    }
   }
 }
@@ -1,6 +1,9 @@
 package dev.fResult.goutTogether.common.configs;
 
-import dev.fResult.goutTogether.auths.services.TokenService;
+import dev.fResult.goutTogether.auths.services.RefreshTokenPurger;
+import dev.fResult.goutTogether.auths.services.RefreshTokenStore;
+import dev.fResult.goutTogether.idempotency.IdempotencyService;
+import dev.fResult.goutTogether.wallets.services.TourCompanyWalletSettlement;
 import java.time.Instant;
 import org.jobrunr.jobs.annotations.Job;
 import org.jobrunr.jobs.annotations.Recurring;
@@ -13,11 +16,25 @@ public class RecurringJobConfig {
   private static final Logger logger = LoggerFactory.getLogger(RecurringJobConfig.class);
   // Every day
   private static final String CRON_EXPRESSION = "0 0 * * *";
+  // Every day, an hour after the refresh token cleanup
+  private static final String RECONCILIATION_CRON_EXPRESSION = "0 1 * * *";
+  // Same as the default poll interval of the background job server
+  private static final String SETTLEMENT_INTERVAL = "PT15S";
 
-  private final TokenService tokenService;
+  private final RefreshTokenStore refreshTokenStore;
+  private final RefreshTokenPurger refreshTokenPurger;
+  private final TourCompanyWalletSettlement tourCompanyWalletSettlement;
+  private final IdempotencyService idempotencyService;
 
-  public RecurringJobConfig(TokenService tokenService) {
-    this.tokenService = tokenService;
+  public RecurringJobConfig(
+      RefreshTokenStore refreshTokenStore,
+      RefreshTokenPurger refreshTokenPurger,
+      TourCompanyWalletSettlement tourCompanyWalletSettlement,
+      IdempotencyService idempotencyService) {
+    this.refreshTokenStore = refreshTokenStore;
+    this.refreshTokenPurger = refreshTokenPurger;
+    this.tourCompanyWalletSettlement = tourCompanyWalletSettlement;
+    this.idempotencyService = idempotencyService;
   }
 
   @Recurring(id = "refresh-token-cleanup", cron = CRON_EXPRESSION)
@@ -25,6 +42,38 @@ public class RecurringJobConfig {
   public void cleanupExpiredRefreshToken() {
     logger.info("Start cleaning up at {}", Instant.now());
 
-    tokenService.cleanupExpiredRefreshToken();
+    refreshTokenStore.cleanupExpired();
+  }
+
+  @Recurring(id = "refresh-token-partition-maintenance", cron = CRON_EXPRESSION)
+  @Job(name = "Recurring job for creating upcoming refresh token partitions")
+  public void createUpcomingRefreshTokenPartitions() {
+    logger.info("Start creating refresh token partitions at {}", Instant.now());
+
+    refreshTokenPurger.createUpcomingPartitions();
+  }
+
+  @Recurring(id = "idempotency-key-cleanup", cron = CRON_EXPRESSION)
+  @Job(name = "Recurring job for cleanup expired idempotent keys")
+  public void cleanupExpiredIdempotencyKeys() {
+    logger.info("Start cleaning up idempotent keys at {}", Instant.now());
+
+    idempotencyService.cleanupExpiredKeys();
+  }
+
+  @Recurring(id = "tour-company-wallet-settlement", interval = SETTLEMENT_INTERVAL)
+  @Job(name = "Recurring job for settling pending credits into tour company wallets")
+  public void settleTourCompanyWalletCredits() {
+    logger.debug("Start settling tour company wallet credits at {}", Instant.now());
+
+    tourCompanyWalletSettlement.settlePendingCredits();
+  }
+
+  @Recurring(id = "tour-company-wallet-reconciliation", cron = RECONCILIATION_CRON_EXPRESSION)
+  @Job(name = "Recurring job for reconciling tour company wallets with transactions")
+  public void reconcileTourCompanyWallets() {
+    logger.info("Start reconciling tour company wallets at {}", Instant.now());
+
+    tourCompanyWalletSettlement.reconcileWithLedger();
   }
 }
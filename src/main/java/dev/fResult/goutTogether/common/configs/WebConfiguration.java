@@ -1,10 +1,19 @@
 package dev.fResult.goutTogether.common.configs;
 
+import dev.fResult.goutTogether.common.security.AuthenticatedPrincipalArgumentResolver;
+import java.util.List;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableWebMvc
 @EnableSpringDataWebSupport
-public class WebConfiguration {}
+public class WebConfiguration implements WebMvcConfigurer {
+  @Override
+  public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+    resolvers.add(new AuthenticatedPrincipalArgumentResolver());
+  }
+}
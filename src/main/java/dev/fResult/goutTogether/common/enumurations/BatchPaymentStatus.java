@@ -0,0 +1,9 @@
+package dev.fResult.goutTogether.common.enumurations;
+
+public enum BatchPaymentStatus {
+  PAID,
+  ALREADY_PAID,
+  NOT_FOUND,
+  INSUFFICIENT_BALANCE,
+  INSUFFICIENT_SEATS
+}
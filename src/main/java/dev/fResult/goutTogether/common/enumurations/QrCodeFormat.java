@@ -0,0 +1,43 @@
+package dev.fResult.goutTogether.common.enumurations;
+
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.springframework.http.MediaType;
+
+public enum QrCodeFormat {
+  PNG("png", MediaType.IMAGE_PNG),
+  SVG("svg", MediaType.valueOf("image/svg+xml")),
+  WEBP("webp", MediaType.valueOf("image/webp"));
+
+  private final String fileExtension;
+  private final MediaType mediaType;
+
+  QrCodeFormat(String fileExtension, MediaType mediaType) {
+    this.fileExtension = fileExtension;
+    this.mediaType = mediaType;
+  }
+
+  public static QrCodeFormat fromFileExtension(String fileExtension) {
+    return Arrays.stream(values())
+        .filter(format -> format.fileExtension.equalsIgnoreCase(fileExtension))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new ValidationException(
+                    String.format(
+                        "QR code format [%s] is not supported, use one of [%s]",
+                        fileExtension,
+                        Arrays.stream(values())
+                            .map(QrCodeFormat::getFileExtension)
+                            .collect(Collectors.joining(", ")))));
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+}
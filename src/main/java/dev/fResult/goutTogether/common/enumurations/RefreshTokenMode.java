@@ -0,0 +1,6 @@
+package dev.fResult.goutTogether.common.enumurations;
+
+public enum RefreshTokenMode {
+  DATABASE,
+  STATELESS
+}
@@ -0,0 +1,7 @@
+package dev.fResult.goutTogether.common.enumurations;
+
+public enum TourCompanyWalletMode {
+  SINGLE,
+  SHARDED,
+  OUTBOX
+}
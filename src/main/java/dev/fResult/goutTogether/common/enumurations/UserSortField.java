@@ -0,0 +1,37 @@
+package dev.fResult.goutTogether.common.enumurations;
+
+import dev.fResult.goutTogether.common.models.KeysetSortField;
+
+public enum UserSortField implements KeysetSortField {
+  ID("id", "id", "INTEGER"),
+  FIRST_NAME("firstName", "first_name", "VARCHAR");
+
+  private final String property;
+  private final String column;
+  private final String columnType;
+
+  UserSortField(String property, String column, String columnType) {
+    this.property = property;
+    this.column = column;
+    this.columnType = columnType;
+  }
+
+  public static UserSortField fromProperty(String property) {
+    return KeysetSortField.fromProperty(values(), property);
+  }
+
+  @Override
+  public String property() {
+    return property;
+  }
+
+  @Override
+  public String column() {
+    return column;
+  }
+
+  @Override
+  public String columnType() {
+    return columnType;
+  }
+}
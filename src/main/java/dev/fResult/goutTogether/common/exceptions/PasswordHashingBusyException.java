@@ -0,0 +1,11 @@
+package dev.fResult.goutTogether.common.exceptions;
+
+public class PasswordHashingBusyException extends RuntimeException {
+  public PasswordHashingBusyException() {
+    super("Too many password hashings are in progress, please try again later");
+  }
+
+  public PasswordHashingBusyException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,63 @@
+package dev.fResult.goutTogether.common.helpers;
+
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import dev.fResult.goutTogether.common.models.KeysetSortField;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Builds the keyset pagination queries. The sort column and the direction are never taken from the
+ * request as they are, only from a {@link KeysetSortField} and a {@link Sort.Direction}.
+ */
+public class KeysetQueryHelper {
+  public static final int MAX_PAGE_SIZE = 100;
+
+  private KeysetQueryHelper() {}
+
+  public static void validatePageSize(int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new ValidationException(
+          String.format("Page size [%d] must be between 1 and %d", size, MAX_PAGE_SIZE));
+    }
+  }
+
+  /**
+   * The query takes the named parameters <code>:lastId</code> and <code>:lastValue</code> when
+   * <code>afterCursor</code> is true, and <code>:limit</code>.
+   *
+   * @param conditions the other conditions of the <code>WHERE</code> clause
+   */
+  public static String buildSelectSql(
+      String table,
+      List<String> conditions,
+      KeysetSortField sortField,
+      Sort.Direction direction,
+      boolean afterCursor) {
+
+    final var allConditions = new ArrayList<>(conditions);
+    if (afterCursor) allConditions.add(buildAfterCursorCondition(sortField, direction));
+
+    final var whereClause =
+        allConditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", allConditions) + "\n";
+    final var orderByClause =
+        sortField.isId()
+            ? String.format("id %s", direction.name())
+            : String.format("%s %s, id %s", sortField.column(), direction.name(), direction.name());
+
+    return String.format(
+        "SELECT * FROM %s\n%sORDER BY %s\nLIMIT :limit;", table, whereClause, orderByClause);
+  }
+
+  private static String buildAfterCursorCondition(
+      KeysetSortField sortField, Sort.Direction direction) {
+
+    final var operator = direction.isAscending() ? ">" : "<";
+    if (sortField.isId()) return String.format("id %s :lastId", operator);
+
+    // The row comparison lets the index on (column, id) seek straight to the next page
+    return String.format(
+        "(%s, id) %s (CAST(:lastValue AS %s), :lastId)",
+        sortField.column(), operator, sortField.columnType());
+  }
+}
@@ -0,0 +1,92 @@
+package dev.fResult.goutTogether.common.helpers;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a flow in its own transaction, and runs it again in a new one when a versioned row which it
+ * has read is updated by another transaction before its own update.
+ *
+ * <p>The retries back off exponentially with a full jitter, so the same conflicting requests do not
+ * collide again. A flow which is called inside a running transaction is not retried, as that
+ * transaction is already marked as rollback-only, its caller decides instead.
+ */
+@Component
+public class OptimisticLockRetrier {
+  private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetrier.class);
+
+  public static final String METRIC_PREFIX = "optimistic_lock";
+
+  private final TransactionTemplate transactionTemplate;
+  private final MyApplicationProperties.OptimisticLock optimisticLockProps;
+  private final MeterRegistry meterRegistry;
+
+  public OptimisticLockRetrier(
+      PlatformTransactionManager transactionManager,
+      MyApplicationProperties myProps,
+      MeterRegistry meterRegistry) {
+
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.optimisticLockProps = myProps.getOptimisticLock();
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * @param operation name of the flow, which tags its retry metrics
+   * @throws OptimisticLockingFailureException when the flow still conflicts on its last attempt
+   */
+  public <T> T executeInTransaction(String operation, Supplier<T> flow) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) return flow.get();
+
+    for (var attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> flow.get());
+      } catch (OptimisticLockingFailureException ex) {
+        if (attempt >= optimisticLockProps.getMaxAttempts()) {
+          countOf("exhausted", operation).increment();
+          logger.warn(
+              "[executeInTransaction] {} still conflicts after {} attempts: {}",
+              operation,
+              attempt,
+              ex.getMessage());
+
+          throw ex;
+        }
+
+        countOf("retries", operation).increment();
+        logger.debug("[executeInTransaction] {} conflicts, retrying: {}", operation, attempt);
+        backOff(attempt);
+      }
+    }
+  }
+
+  private void backOff(int attempt) {
+    final var ceilingMillis =
+        Math.min(
+            optimisticLockProps.getMaxBackoffMillis(),
+            optimisticLockProps.getInitialBackoffMillis() << Math.min(attempt - 1, 20));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceilingMillis + 1));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Retry of an optimistic lock conflict is interrupted", ex);
+    }
+  }
+
+  private Counter countOf(String outcome, String operation) {
+    return Counter.builder(METRIC_PREFIX + "." + outcome)
+        .description("Flows which conflict on a versioned row, by the outcome of the conflict")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+}
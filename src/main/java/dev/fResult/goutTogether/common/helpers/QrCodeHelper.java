@@ -3,14 +3,108 @@ package dev.fResult.goutTogether.common.helpers;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
 
 public class QrCodeHelper {
+  public static final int QR_CODE_SIZE = 300;
+
+  // No WebP writer comes with the JDK, it is there only when an ImageIO plugin is on the classpath
+  private static final boolean IS_WEBP_SUPPORTED =
+      ImageIO.getImageWritersByMIMEType(QrCodeFormat.WEBP.getMediaType().toString()).hasNext();
+
   public static BufferedImage generateQrCodeImage(String barcodeText) throws WriterException {
     final var qrCodeWriter = new QRCodeWriter();
-    final var bitMatrix = qrCodeWriter.encode(barcodeText, BarcodeFormat.QR_CODE, 300, 300);
+    final var bitMatrix =
+        qrCodeWriter.encode(barcodeText, BarcodeFormat.QR_CODE, QR_CODE_SIZE, QR_CODE_SIZE);
 
     return MatrixToImageWriter.toBufferedImage(bitMatrix);
   }
+
+  /** Encodes the QR code straight to PNG bytes, which are ready to be written to a response. */
+  public static byte[] generateQrCodePng(String barcodeText) throws WriterException {
+    return generateQrCode(barcodeText, QrCodeFormat.PNG, QR_CODE_SIZE);
+  }
+
+  /**
+   * @param size width and height in pixels, a raster image is rounded down to a whole number of
+   *     pixels per module
+   */
+  public static byte[] generateQrCode(String barcodeText, QrCodeFormat format, int size)
+      throws WriterException {
+
+    if (format == QrCodeFormat.SVG) return generateQrCodeSvg(barcodeText, size);
+
+    final var qrCodeWriter = new QRCodeWriter();
+    final var bitMatrix = qrCodeWriter.encode(barcodeText, BarcodeFormat.QR_CODE, size, size);
+
+    // A 2-color 300x300 PNG is about 1 KB
+    final var imageOutputStream = new ByteArrayOutputStream(2_048);
+    try {
+      MatrixToImageWriter.writeToStream(bitMatrix, format.getFileExtension(), imageOutputStream);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    return imageOutputStream.toByteArray();
+  }
+
+  public static boolean isSupported(QrCodeFormat format) {
+    return format != QrCodeFormat.WEBP || IS_WEBP_SUPPORTED;
+  }
+
+  /**
+   * Draws every run of the dark modules in a row as a rectangle of a single path, in the units of
+   * modules, so the SVG is scaled by its <code>viewBox</code> without any AWT.
+   */
+  private static byte[] generateQrCodeSvg(String barcodeText, int size) throws WriterException {
+    final var qrCodeWriter = new QRCodeWriter();
+    // Size of 0 renders a module per unit, with the quiet zone
+    final var bitMatrix = qrCodeWriter.encode(barcodeText, BarcodeFormat.QR_CODE, 0, 0);
+
+    final var svg = new StringBuilder(4_096);
+    svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\"")
+        .append(String.format(" width=\"%1$d\" height=\"%1$d\"", size))
+        .append(
+            String.format(" viewBox=\"0 0 %d %d\"", bitMatrix.getWidth(), bitMatrix.getHeight()))
+        .append(" shape-rendering=\"crispEdges\">")
+        .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>")
+        .append("<path fill=\"#000\" d=\"");
+    appendDarkModuleRuns(svg, bitMatrix);
+    svg.append("\"/></svg>");
+
+    return svg.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void appendDarkModuleRuns(StringBuilder path, BitMatrix bitMatrix) {
+    for (var y = 0; y < bitMatrix.getHeight(); y++) {
+      var x = 0;
+      while (x < bitMatrix.getWidth()) {
+        if (!bitMatrix.get(x, y)) {
+          x++;
+          continue;
+        }
+
+        final var runStart = x;
+        while (x < bitMatrix.getWidth() && bitMatrix.get(x, y)) x++;
+        final var runLength = x - runStart;
+        path.append('M')
+            .append(runStart)
+            .append(' ')
+            .append(y)
+            .append('h')
+            .append(runLength)
+            .append("v1h-")
+            .append(runLength)
+            .append('z');
+      }
+    }
+  }
 }
@@ -0,0 +1,40 @@
+package dev.fResult.goutTogether.common.models;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of the keyset pagination.
+ *
+ * @param nextCursor cursor of the next page, or <code>null</code> when this is the last page
+ * @param totalElements number of all elements, or <code>null</code> when the count is skipped
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, Long totalElements) {
+  public static <T> CursorPage<T> of(List<T> content, String nextCursor, Long totalElements) {
+    return new CursorPage<>(content, nextCursor, totalElements);
+  }
+
+  /**
+   * @param rows rows which are fetched with the limit of one more than the page size, the extra
+   *     row is not returned, it only tells that there is a next page
+   * @param toCursor builds the cursor of the last row of this page
+   */
+  public static <T> CursorPage<T> fromRows(
+      List<T> rows, int size, Function<T, KeysetCursor> toCursor, Long totalElements) {
+
+    if (rows.size() <= size) return of(rows, null, totalElements);
+
+    final var content = rows.subList(0, size);
+    final var nextCursor = toCursor.apply(content.getLast()).encode();
+
+    return of(List.copyOf(content), nextCursor, totalElements);
+  }
+
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    return of(content.stream().<R>map(mapper).toList(), nextCursor, totalElements);
+  }
+}
@@ -0,0 +1,91 @@
+package dev.fResult.goutTogether.common.models;
+
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last row of a page, which is handed to the client as an opaque string. The next
+ * page starts right after <code>(lastValue, lastId)</code> in the same sort order.
+ *
+ * @param lastValue the sort value of the last row, or <code>null</code> when it is sorted by id
+ */
+public record KeysetCursor(String sortBy, Sort.Direction direction, int lastId, String lastValue) {
+  private static final String DELIMITER = ":";
+
+  public static KeysetCursor of(
+      String sortBy, Sort.Direction direction, int lastId, String lastValue) {
+    return new KeysetCursor(sortBy, direction, lastId, lastValue);
+  }
+
+  public static KeysetCursor of(
+      KeysetSortField sortField, Sort.Direction direction, int lastId, String lastValue) {
+    return of(sortField.property(), direction, lastId, sortField.isId() ? null : lastValue);
+  }
+
+  public static KeysetCursor decode(String cursor) {
+    try {
+      final var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      // The last value goes last, so it may contain the delimiter itself
+      final var parts = decoded.split(DELIMITER, 4);
+
+      return of(
+          parts[0],
+          Sort.Direction.valueOf(parts[1]),
+          Integer.parseInt(parts[2]),
+          parts.length < 4 ? null : parts[3]);
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+      throw new ValidationException(String.format("Cursor [%s] is invalid", cursor));
+    }
+  }
+
+  public String encode() {
+    var raw = String.join(DELIMITER, sortBy, direction.name(), String.valueOf(lastId));
+    if (lastValue != null) raw = raw + DELIMITER + lastValue;
+
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * A cursor only continues the same sort order it is issued for, and its last value must be of the
+   * type of the sort field, because it is cast to that type in the query.
+   */
+  public KeysetCursor requireSameOrder(KeysetSortField sortField, Sort.Direction direction) {
+    if (!sortBy.equals(sortField.property()) || this.direction != direction) {
+      throw new ValidationException(
+          String.format(
+              "Cursor is issued for sorting by [%s %s], not [%s %s]",
+              sortBy, this.direction, sortField.property(), direction));
+    }
+    if (!sortField.isId() && lastValue == null) {
+      throw new ValidationException(
+          String.format("Cursor has no last value of [%s]", sortField.property()));
+    }
+    if (!sortField.isId()) validateLastValue(sortField);
+
+    return this;
+  }
+
+  private void validateLastValue(KeysetSortField sortField) {
+    try {
+      switch (sortField.columnType()) {
+        case "TIMESTAMPTZ" -> Instant.parse(lastValue);
+        case "INTEGER" -> Integer.parseInt(lastValue);
+        default -> {
+          // Postgres does not accept the NUL character in a text value
+          if (lastValue.indexOf('\0') >= 0) throw new IllegalArgumentException("NUL character");
+        }
+      }
+    } catch (DateTimeParseException | IllegalArgumentException ex) {
+      throw new ValidationException(
+          String.format(
+              "Cursor last value [%s] is not a valid %s of [%s]",
+              lastValue, sortField.columnType(), sortField.property()));
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package dev.fResult.goutTogether.common.models;
+
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A sort field which is allowed for the keyset pagination, each of them must have an index on
+ * <code>(column, id)</code> so the next page is an index range scan instead of skipping the rows.
+ */
+public interface KeysetSortField {
+  /** Property name of the entity, which is the value of the sort request param */
+  String property();
+
+  String column();
+
+  /** SQL type to cast the last sort value of the cursor to, before comparing with the column */
+  String columnType();
+
+  default boolean isId() {
+    return column().equals("id");
+  }
+
+  static <T extends KeysetSortField> T fromProperty(T[] sortFields, String property) {
+    return Arrays.stream(sortFields)
+        .filter(sortField -> sortField.property().equals(property))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new ValidationException(
+                    String.format(
+                        "Sort field [%s] is not allowed, use one of [%s]",
+                        property,
+                        Arrays.stream(sortFields)
+                            .map(KeysetSortField::property)
+                            .collect(Collectors.joining(", ")))));
+  }
+}
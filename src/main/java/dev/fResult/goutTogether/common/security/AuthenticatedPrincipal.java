@@ -0,0 +1,36 @@
+package dev.fResult.goutTogether.common.security;
+
+import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
+import static dev.fResult.goutTogether.common.Constants.ROLES_CLAIM;
+
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Caller of an authenticated request, as the claims of its access token. A controller takes it as
+ * a handler argument, which is resolved by {@link AuthenticatedPrincipalArgumentResolver}.
+ *
+ * @param resourceId the user id of a consumer or an admin, or the tour company id of a company
+ * @param email the subject of the access token
+ */
+public record AuthenticatedPrincipal(int resourceId, UserRoleName role, String email) {
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  public static AuthenticatedPrincipal of(int resourceId, UserRoleName role, String email) {
+    return new AuthenticatedPrincipal(resourceId, role, email);
+  }
+
+  public static AuthenticatedPrincipal from(Jwt jwt) {
+    final var resourceId = Integer.parseInt(jwt.getClaimAsString(RESOURCE_ID_CLAIM));
+
+    return of(resourceId, toRoleName(jwt.getClaimAsString(ROLES_CLAIM)), jwt.getSubject());
+  }
+
+  // The access token has a single role, which may be written with its authority prefix
+  private static UserRoleName toRoleName(String roles) {
+    final var role = roles.strip().split("[\\s,]+", 2)[0];
+
+    return UserRoleName.valueOf(
+        role.startsWith(ROLE_PREFIX) ? role.substring(ROLE_PREFIX.length()) : role);
+  }
+}
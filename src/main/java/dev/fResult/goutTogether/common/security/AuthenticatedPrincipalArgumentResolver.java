@@ -0,0 +1,48 @@
+package dev.fResult.goutTogether.common.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves the {@link AuthenticatedPrincipal} handler arguments from the access token of the
+ * request. The claims are parsed once per request, then the principal is kept as a request
+ * attribute for the other arguments and handlers of the same request.
+ */
+public class AuthenticatedPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+  private static final String PRINCIPAL_ATTRIBUTE = AuthenticatedPrincipal.class.getName();
+
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    return parameter.getParameterType() == AuthenticatedPrincipal.class;
+  }
+
+  @Override
+  public AuthenticatedPrincipal resolveArgument(
+      MethodParameter parameter,
+      ModelAndViewContainer mavContainer,
+      NativeWebRequest webRequest,
+      WebDataBinderFactory binderFactory) {
+
+    final var resolvedPrincipal =
+        webRequest.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (resolvedPrincipal instanceof AuthenticatedPrincipal principal) return principal;
+
+    if (!(webRequest.getUserPrincipal() instanceof JwtAuthenticationToken authentication)) {
+      final var errorMessage =
+          String.format(
+              "%s requires an access token", AuthenticatedPrincipal.class.getSimpleName());
+      throw new AuthenticationCredentialsNotFoundException(errorMessage);
+    }
+
+    final var principal = AuthenticatedPrincipal.from(authentication.getToken());
+    webRequest.setAttribute(PRINCIPAL_ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+
+    return principal;
+  }
+}
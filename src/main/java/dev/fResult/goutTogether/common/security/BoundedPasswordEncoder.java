@@ -0,0 +1,147 @@
+package dev.fResult.goutTogether.common.security;
+
+import dev.fResult.goutTogether.common.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Caps the number of password hashings which run at the same time. A memory-hard hash, like
+ * Argon2, allocates its whole memory cost on every call, so a burst of logins on virtual threads
+ * would otherwise allocate it thousands of times at once.
+ *
+ * <p>The excess callers wait in a fair queue up to the acquire timeout, then they are shed with
+ * {@link PasswordHashingBusyException}. A re-hash on login never waits nor sheds, the login has
+ * already matched its password, so the upgrade is skipped when every permit is in use.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+  private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+  public static final String METRIC_PREFIX = "password.hashing";
+
+  private final PasswordEncoder delegate;
+  private final Semaphore permits;
+  private final long acquireTimeoutMillis;
+  private final Counter rejectedCounter;
+  private final Counter skippedUpgradeCounter;
+  // The encoded password whose upgrade is accepted, until the re-hash on the same thread encodes it
+  private final ThreadLocal<String> upgradingPassword = new ThreadLocal<>();
+
+  public BoundedPasswordEncoder(
+      PasswordEncoder delegate,
+      int maxConcurrentHashes,
+      Duration acquireTimeout,
+      MeterRegistry meterRegistry) {
+
+    if (maxConcurrentHashes < 1) {
+      throw new IllegalArgumentException("maxConcurrentHashes must be at least 1");
+    }
+
+    this.delegate = delegate;
+    this.permits = new Semaphore(maxConcurrentHashes, true);
+    this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    this.rejectedCounter =
+        Counter.builder(METRIC_PREFIX + ".rejected")
+            .description("Password hashings which are shed because all permits are in use")
+            .register(meterRegistry);
+    this.skippedUpgradeCounter =
+        Counter.builder(METRIC_PREFIX + ".upgrades.skipped")
+            .description("Password re-hashings on login which are skipped because of no permit")
+            .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".queued", permits, Semaphore::getQueueLength)
+        .description("Password hashings which are waiting for a permit")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    final var encodedPasswordToUpgrade = upgradingPassword.get();
+    if (encodedPasswordToUpgrade != null) {
+      upgradingPassword.remove();
+      return encodeForUpgrade(rawPassword, encodedPasswordToUpgrade);
+    }
+
+    return withPermit("encode", () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return withPermit("matches", () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * Only reads the parameters from the encoded password, so it does not need a permit. The upgrade
+   * is skipped when the re-hash would have to wait for a permit, it is retried on the next login.
+   */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (!delegate.upgradeEncoding(encodedPassword)) return false;
+    if (permits.availablePermits() == 0 || permits.hasQueuedThreads()) {
+      skipUpgrade("upgradeEncoding");
+      return false;
+    }
+
+    upgradingPassword.set(encodedPassword);
+    return true;
+  }
+
+  /*
+   * The permit can be taken by another caller between upgradeEncoding and this re-hash, then the
+   * old hash is returned as it is, so the login still succeeds and its password is left unchanged.
+   */
+  private String encodeForUpgrade(CharSequence rawPassword, String encodedPassword) {
+    try {
+      if (!permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+        skipUpgrade("encode");
+        return encodedPassword;
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      skipUpgrade("encode");
+      return encodedPassword;
+    }
+
+    try {
+      return delegate.encode(rawPassword);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void skipUpgrade(String methodName) {
+    skippedUpgradeCounter.increment();
+    logger.info("[{}] No password hashing permit is free, the re-hash is skipped", methodName);
+  }
+
+  private <T> T withPermit(String methodName, Supplier<T> hashing) {
+    acquirePermit(methodName);
+    try {
+      return hashing.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void acquirePermit(String methodName) {
+    try {
+      if (permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) return;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    rejectedCounter.increment();
+    logger.warn(
+        "[{}] No password hashing permit is available within {} ms, the request is shed",
+        methodName,
+        acquireTimeoutMillis);
+
+    throw new PasswordHashingBusyException();
+  }
+}
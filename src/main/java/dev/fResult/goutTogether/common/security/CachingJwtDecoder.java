@@ -0,0 +1,96 @@
+package dev.fResult.goutTogether.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Keeps the access tokens which are verified by the delegate decoder in memory, so a client which
+ * sends the same token on every request pays its RSA signature verification once.
+ *
+ * <p>A token is cached by its SHA-256 hash, until its expiration or the max duration, whichever
+ * comes first. The invalid tokens are never cached, every retry of them is verified again.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+  public static final String CACHE_NAME = "verifiedJwts";
+
+  private final JwtDecoder delegate;
+  private final Cache<ByteBuffer, Jwt> jwtByTokenHash;
+
+  public CachingJwtDecoder(
+      JwtDecoder delegate, long maximumSize, Duration maxExpiredIn, MeterRegistry meterRegistry) {
+
+    this.delegate = delegate;
+    this.jwtByTokenHash =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpires(maxExpiredIn))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, jwtByTokenHash, CACHE_NAME);
+  }
+
+  @Override
+  public Jwt decode(String token) throws JwtException {
+    final var tokenHash = hash(token);
+    final var cachedJwt = jwtByTokenHash.getIfPresent(tokenHash);
+    if (cachedJwt != null) return cachedJwt;
+
+    // Not computed inside the cache, so a slow verification never blocks the other tokens
+    final var verifiedJwt = delegate.decode(token);
+    if (isNotExpired(verifiedJwt)) jwtByTokenHash.put(tokenHash, verifiedJwt);
+
+    return verifiedJwt;
+  }
+
+  private static boolean isNotExpired(Jwt jwt) {
+    return jwt.getExpiresAt() == null || jwt.getExpiresAt().isAfter(Instant.now());
+  }
+
+  private static ByteBuffer hash(String token) {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+
+      // Not US_ASCII, which maps every non-ASCII character to the same '?' of the hashed input
+      return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not supported by this JVM", ex);
+    }
+  }
+
+  private record UntilTokenExpires(Duration maxExpiredIn) implements Expiry<ByteBuffer, Jwt> {
+    @Override
+    public long expireAfterCreate(ByteBuffer tokenHash, Jwt jwt, long currentTime) {
+      if (jwt.getExpiresAt() == null) return maxExpiredIn.toNanos();
+
+      final var untilExpiresAt = Duration.between(Instant.now(), jwt.getExpiresAt());
+
+      return Math.max(0, Math.min(maxExpiredIn.toNanos(), untilExpiresAt.toNanos()));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        ByteBuffer tokenHash, Jwt jwt, long currentTime, long currentDuration) {
+
+      return expireAfterCreate(tokenHash, jwt, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        ByteBuffer tokenHash, Jwt jwt, long currentTime, long currentDuration) {
+
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package dev.fResult.goutTogether.common.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.util.StringUtils;
+
+/**
+ * Keys which sign and verify the access tokens, each of them is named by its <code>kid</code>.
+ * Only the signing key signs the new access tokens, the others verify the access tokens which are
+ * signed before a rotation, until they are expired.
+ *
+ * <p>A rotation without downtime takes two deploys: add the new key to every instance first, then
+ * switch the signing key id to it. The retired key is removed once the access token lifetime is
+ * passed.
+ */
+public class JwtKeySet {
+  private static final String PEM_BOUNDARY_PATTERN = "-----(BEGIN|END) [A-Z ]+-----|\\s";
+
+  private final JWKSet jwkSet;
+  private final JwsHeader signingHeader;
+  private final Set<JWSAlgorithm> algorithms;
+
+  private JwtKeySet(JWKSet jwkSet, JwsHeader signingHeader, Set<JWSAlgorithm> algorithms) {
+    this.jwkSet = jwkSet;
+    this.signingHeader = signingHeader;
+    this.algorithms = algorithms;
+  }
+
+  /**
+   * @throws IllegalStateException when a key id is duplicated, or the signing key is not found or
+   *     has no private key
+   */
+  public static JwtKeySet of(List<JWK> keys, String signingKeyId) {
+    final var keyIds = new HashSet<String>();
+    for (final var key : keys) {
+      if (!keyIds.add(key.getKeyID())) {
+        throw new IllegalStateException(
+            String.format("JWT key id [%s] is duplicated", key.getKeyID()));
+      }
+    }
+
+    final var jwkSet = new JWKSet(keys);
+    final var signingKey = jwkSet.getKeyByKeyId(signingKeyId);
+    if (signingKey == null || !signingKey.isPrivate()) {
+      throw new IllegalStateException(
+          String.format("JWT signing key [%s] is not found or has no private key", signingKeyId));
+    }
+
+    final var signingAlgorithm = SignatureAlgorithm.from(signingKey.getAlgorithm().getName());
+    final var signingHeader = JwsHeader.with(signingAlgorithm).keyId(signingKeyId).build();
+    final var algorithms =
+        keys.stream()
+            .map(key -> JWSAlgorithm.parse(key.getAlgorithm().getName()))
+            .collect(Collectors.toUnmodifiableSet());
+
+    return new JwtKeySet(jwkSet, signingHeader, algorithms);
+  }
+
+  /**
+   * The RS256 key pair of <code>goutapp.oauth.private-key</code> and <code>public-key</code> comes
+   * first when it is set, then the keys of <code>goutapp.oauth.keys</code>.
+   */
+  public static JwtKeySet from(MyApplicationProperties.OAuth oauthProps)
+      throws GeneralSecurityException {
+
+    final var keys = new ArrayList<JWK>();
+    if (StringUtils.hasText(oauthProps.getPublicKey())) {
+      keys.add(
+          toJwk(
+              oauthProps.getKeyId(),
+              SignatureAlgorithm.RS256,
+              oauthProps.getPrivateKey(),
+              oauthProps.getPublicKey()));
+    }
+    for (final var key : oauthProps.getKeys()) {
+      keys.add(toJwk(key.getKeyId(), key.getAlgorithm(), key.getPrivateKey(), key.getPublicKey()));
+    }
+
+    final var signingKeyId =
+        StringUtils.hasText(oauthProps.getSigningKeyId())
+            ? oauthProps.getSigningKeyId()
+            : oauthProps.getKeyId();
+
+    return of(keys, signingKeyId);
+  }
+
+  /** Every key with its private key, for the encoder */
+  public JWKSet jwkSet() {
+    return jwkSet;
+  }
+
+  /** Every key without its private key, for the decoder */
+  public JWKSet publicJwkSet() {
+    return jwkSet.toPublicJWKSet();
+  }
+
+  /** Algorithm and <code>kid</code> of the signing key, the decoder picks its key by them. */
+  public JwsHeader signingHeader() {
+    return signingHeader;
+  }
+
+  public Set<JWSAlgorithm> algorithms() {
+    return algorithms;
+  }
+
+  private static JWK toJwk(
+      String keyId, SignatureAlgorithm algorithm, String privateKeyBase64, String publicKeyBase64)
+      throws GeneralSecurityException {
+
+    final var jwsAlgorithm = JWSAlgorithm.parse(algorithm.getName());
+    final var publicKeySpec = new X509EncodedKeySpec(decodePem(publicKeyBase64));
+    final var privateKeySpec =
+        StringUtils.hasText(privateKeyBase64)
+            ? new PKCS8EncodedKeySpec(decodePem(privateKeyBase64))
+            : null;
+
+    if (JWSAlgorithm.Family.RSA.contains(jwsAlgorithm)) {
+      final var keyFactory = KeyFactory.getInstance("RSA");
+      final var rsaKeyBuilder =
+          new RSAKey.Builder((RSAPublicKey) keyFactory.generatePublic(publicKeySpec));
+      if (privateKeySpec != null) {
+        rsaKeyBuilder.privateKey((RSAPrivateKey) keyFactory.generatePrivate(privateKeySpec));
+      }
+
+      return rsaKeyBuilder.keyID(keyId).algorithm(jwsAlgorithm).keyUse(KeyUse.SIGNATURE).build();
+    }
+
+    if (JWSAlgorithm.Family.EC.contains(jwsAlgorithm)) {
+      final var keyFactory = KeyFactory.getInstance("EC");
+      final var curve = Curve.forJWSAlgorithm(jwsAlgorithm).iterator().next();
+      final var ecKeyBuilder =
+          new ECKey.Builder(curve, (ECPublicKey) keyFactory.generatePublic(publicKeySpec));
+      if (privateKeySpec != null) {
+        ecKeyBuilder.privateKey((ECPrivateKey) keyFactory.generatePrivate(privateKeySpec));
+      }
+
+      return ecKeyBuilder.keyID(keyId).algorithm(jwsAlgorithm).keyUse(KeyUse.SIGNATURE).build();
+    }
+
+    throw new IllegalStateException(
+        String.format("JWT signing algorithm [%s] is not supported", algorithm.getName()));
+  }
+
+  // The keys are configured as Base64 of the whole PEM file, so they fit in a single env var
+  private static byte[] decodePem(String pemBase64) {
+    final var pem = new String(Base64.getDecoder().decode(pemBase64), StandardCharsets.US_ASCII);
+
+    return Base64.getDecoder().decode(pem.replaceAll(PEM_BOUNDARY_PATTERN, ""));
+  }
+}
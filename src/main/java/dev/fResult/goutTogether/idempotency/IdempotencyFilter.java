@@ -0,0 +1,270 @@
+package dev.fResult.goutTogether.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Runs a mutating request with an <code>idempotent-key</code> header at most once, then replays
+ * its response to the retries with the same key.
+ *
+ * <p>Only the successful responses are kept. The key of a failed request is released, so the
+ * client can retry it after fixing the cause.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+  public static final String IDEMPOTENT_KEY_HEADER = "idempotent-key";
+  public static final String IDEMPOTENT_REPLAYED_HEADER = "idempotent-replayed";
+  // The key is stored as it is in bookings and transactions, whose idempotent_key is VARCHAR(40),
+  // a longer key would fail their insert with a 500
+  public static final int MAX_IDEMPOTENT_KEY_LENGTH = 40;
+  private static final Set<String> MUTATING_METHODS =
+      Set.of(
+          HttpMethod.POST.name(),
+          HttpMethod.PUT.name(),
+          HttpMethod.PATCH.name(),
+          HttpMethod.DELETE.name());
+
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
+
+  public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+    this.idempotencyService = idempotencyService;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    final var idempotentKey = request.getHeader(IDEMPOTENT_KEY_HEADER);
+
+    return !MUTATING_METHODS.contains(request.getMethod())
+        || idempotentKey == null
+        || idempotentKey.isBlank();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+
+    final var idempotentKey = request.getHeader(IDEMPOTENT_KEY_HEADER);
+    if (idempotentKey.length() > MAX_IDEMPOTENT_KEY_LENGTH) {
+      logger.warn("[doFilterInternal] Key of {} characters is too long", idempotentKey.length());
+      writeProblem(
+          response,
+          HttpStatus.BAD_REQUEST,
+          String.format(
+              "%s must not be longer than %d characters",
+              IDEMPOTENT_KEY_HEADER, MAX_IDEMPOTENT_KEY_LENGTH));
+      return;
+    }
+
+    // The body is read once here for the hash, then read again from memory by the handler
+    final var cachedBodyRequest = new CachedBodyRequest(request);
+    final var requestHash = hashRequest(cachedBodyRequest);
+
+    final var cachedResponseOpt = idempotencyService.findCachedResponse(idempotentKey);
+    if (cachedResponseOpt.isPresent()) {
+      replayOrReject(cachedResponseOpt.get(), requestHash, idempotentKey, response);
+      return;
+    }
+
+    if (!idempotencyService.claim(idempotentKey, requestHash)) {
+      final var storedResponseOpt = idempotencyService.findStoredResponse(idempotentKey);
+      if (storedResponseOpt.isEmpty()) {
+        logger.warn("[doFilterInternal] Request with key [{}] is in progress", idempotentKey);
+        writeProblem(
+            response,
+            HttpStatus.CONFLICT,
+            String.format(
+                "Request with %s [%s] is in progress", IDEMPOTENT_KEY_HEADER, idempotentKey));
+        return;
+      }
+
+      replayOrReject(storedResponseOpt.get(), requestHash, idempotentKey, response);
+      return;
+    }
+
+    final var responseWrapper = new ContentCachingResponseWrapper(response);
+    try {
+      filterChain.doFilter(cachedBodyRequest, responseWrapper);
+    } catch (IOException | ServletException | RuntimeException ex) {
+      idempotencyService.release(idempotentKey);
+      throw ex;
+    }
+
+    completeOrRelease(idempotentKey, requestHash, responseWrapper);
+    responseWrapper.copyBodyToResponse();
+  }
+
+  private void completeOrRelease(
+      String idempotentKey, String requestHash, ContentCachingResponseWrapper responseWrapper) {
+
+    final var status = responseWrapper.getStatus();
+    try {
+      if (HttpStatus.valueOf(status).is2xxSuccessful()) {
+        idempotencyService.complete(
+            idempotentKey,
+            IdempotentResponse.of(
+                requestHash,
+                status,
+                responseWrapper.getContentType(),
+                responseWrapper.getContentAsByteArray()));
+      } else {
+        idempotencyService.release(idempotentKey);
+      }
+    } catch (RuntimeException ex) {
+      // The request is already done, so the client still gets its response
+      logger.error("[completeOrRelease] Failed to store key [{}]", idempotentKey, ex);
+    }
+  }
+
+  private void replayOrReject(
+      IdempotentResponse idempotentResponse,
+      String requestHash,
+      String idempotentKey,
+      HttpServletResponse response)
+      throws IOException {
+
+    if (!Objects.equals(idempotentResponse.requestHash(), requestHash)) {
+      logger.warn("[replayOrReject] Key [{}] is reused by another request", idempotentKey);
+      writeProblem(
+          response,
+          HttpStatus.UNPROCESSABLE_ENTITY,
+          String.format(
+              "%s [%s] is used by another request", IDEMPOTENT_KEY_HEADER, idempotentKey));
+      return;
+    }
+
+    logger.info("[replayOrReject] Replaying response of key [{}]", idempotentKey);
+    response.setStatus(idempotentResponse.status());
+    response.setHeader(IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString());
+    if (idempotentResponse.contentType() != null) {
+      response.setContentType(idempotentResponse.contentType());
+    }
+    if (idempotentResponse.body() != null) {
+      response.getOutputStream().write(idempotentResponse.body());
+    }
+  }
+
+  private void writeProblem(HttpServletResponse response, HttpStatus status, String detail)
+      throws IOException {
+
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(), ProblemDetail.forStatusAndDetail(status, detail));
+  }
+
+  /*
+   * A key belongs to one request of one user, so the same key on another endpoint, by another user
+   * or with another body is rejected instead of replaying the response of another request.
+   */
+  private String hashRequest(CachedBodyRequest request) {
+    final var principal = request.getUserPrincipal();
+    final var requestSignature =
+        String.join(
+            " ",
+            request.getMethod(),
+            request.getRequestURI(),
+            Objects.toString(request.getQueryString(), ""),
+            principal == null ? "" : principal.getName(),
+            sha256Hex(request.body()));
+
+    return sha256Hex(requestSignature.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String sha256Hex(byte[] content) {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+
+      return HexFormat.of().formatHex(digest.digest(content));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not supported", ex);
+    }
+  }
+
+  /** Keeps the request body in memory, so it can be hashed and still be read by the handler */
+  private static class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request) throws IOException {
+      super(request);
+      this.body = request.getInputStream().readAllBytes();
+    }
+
+    byte[] body() {
+      return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      final var bodyStream = new ByteArrayInputStream(body);
+
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return bodyStream.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new UnsupportedOperationException("The cached body is not read asynchronously");
+        }
+
+        @Override
+        public int read() {
+          return bodyStream.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return bodyStream.read(buffer, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      final var charset =
+          getCharacterEncoding() == null
+              ? StandardCharsets.UTF_8
+              : Charset.forName(getCharacterEncoding());
+
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package dev.fResult.goutTogether.idempotency;
+
+import dev.fResult.goutTogether.common.enumurations.IdempotencyKeyStatus;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("idempotency_keys")
+public record IdempotencyKey(
+    @Id Integer id,
+    String idempotentKey,
+    String requestHash,
+    IdempotencyKeyStatus status,
+    Integer responseStatus,
+    String responseContentType,
+    byte[] responseBody,
+    Instant createdAt,
+    Instant completedAt) {
+
+  public static IdempotencyKey of(
+      Integer id,
+      String idempotentKey,
+      String requestHash,
+      IdempotencyKeyStatus status,
+      Integer responseStatus,
+      String responseContentType,
+      byte[] responseBody,
+      Instant createdAt,
+      Instant completedAt) {
+
+    return new IdempotencyKey(
+        id,
+        idempotentKey,
+        requestHash,
+        status,
+        responseStatus,
+        responseContentType,
+        responseBody,
+        createdAt,
+        completedAt);
+  }
+}
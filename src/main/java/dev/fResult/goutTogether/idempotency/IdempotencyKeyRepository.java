@@ -0,0 +1,61 @@
+package dev.fResult.goutTogether.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.ListCrudRepository;
+
+public interface IdempotencyKeyRepository extends ListCrudRepository<IdempotencyKey, Integer> {
+  Optional<IdempotencyKey> findOneByIdempotentKey(String idempotentKey);
+
+  /**
+   * Claim the key for the current request. The unique index decides the winner of the concurrent
+   * retries, and a claim of the same request which is left in progress longer than the timeout
+   * (e.g. the instance crashed) is taken over.
+   *
+   * @return 1 when the key is claimed, 0 when it is already claimed or completed
+   */
+  @Modifying
+  @Query(
+      """
+      INSERT INTO idempotency_keys AS k (idempotent_key, request_hash, status, created_at)
+      VALUES (:idempotentKey, :requestHash, 'IN_PROGRESS', NOW())
+      ON CONFLICT (idempotent_key) DO UPDATE
+      SET created_at = NOW()
+      WHERE k.status = 'IN_PROGRESS'
+        AND k.request_hash = EXCLUDED.request_hash
+        AND k.created_at < NOW() - make_interval(secs => :inProgressTimeoutSeconds);
+      """)
+  int claim(String idempotentKey, String requestHash, long inProgressTimeoutSeconds);
+
+  @Modifying
+  @Query(
+      """
+      UPDATE idempotency_keys
+      SET status = 'COMPLETED',
+        response_status = :responseStatus,
+        response_content_type = :responseContentType,
+        response_body = :responseBody,
+        completed_at = NOW()
+      WHERE idempotent_key = :idempotentKey AND status = 'IN_PROGRESS';
+      """)
+  int complete(
+      String idempotentKey, int responseStatus, String responseContentType, byte[] responseBody);
+
+  @Modifying
+  @Query(
+      """
+      DELETE FROM idempotency_keys
+      WHERE idempotent_key = :idempotentKey AND status = 'IN_PROGRESS';
+      """)
+  int release(String idempotentKey);
+
+  @Modifying
+  @Query(
+      """
+      DELETE FROM idempotency_keys
+      WHERE created_at < :createdBefore;
+      """)
+  int deleteAllCreatedBefore(Instant createdBefore);
+}
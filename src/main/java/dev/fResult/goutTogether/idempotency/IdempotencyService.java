@@ -0,0 +1,102 @@
+package dev.fResult.goutTogether.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.IdempotencyKeyStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the idempotent keys in <code>idempotency_keys</code> with the snapshot of their completed
+ * responses. The recent completed responses are also cached in memory, so most retries are
+ * replayed without touching the database.
+ */
+@Service
+public class IdempotencyService {
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final Cache<String, IdempotentResponse> completedResponseByKey;
+  private final long keyExpiredInSeconds;
+  private final long inProgressTimeoutSeconds;
+
+  public IdempotencyService(
+      IdempotencyKeyRepository idempotencyKeyRepository, MyApplicationProperties myProps) {
+    final var idempotencyProps = myProps.getIdempotency();
+
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.completedResponseByKey =
+        Caffeine.newBuilder()
+            .maximumSize(idempotencyProps.getCacheMaximumSize())
+            .expireAfterWrite(Duration.ofSeconds(idempotencyProps.getCacheExpiredInSeconds()))
+            .build();
+    this.keyExpiredInSeconds = idempotencyProps.getKeyExpiredInSeconds();
+    this.inProgressTimeoutSeconds = idempotencyProps.getInProgressTimeoutSeconds();
+  }
+
+  public Optional<IdempotentResponse> findCachedResponse(String idempotentKey) {
+    return Optional.ofNullable(completedResponseByKey.getIfPresent(idempotentKey));
+  }
+
+  /**
+   * @return the response of the completed request, or empty when the request with this key is
+   *     still in progress
+   */
+  public Optional<IdempotentResponse> findStoredResponse(String idempotentKey) {
+    logger.debug(
+        "[findStoredResponse] Getting {} by key [{}]",
+        IdempotencyKey.class.getSimpleName(),
+        idempotentKey);
+
+    final var storedResponseOpt =
+        idempotencyKeyRepository
+            .findOneByIdempotentKey(idempotentKey)
+            .filter(idempotencyKey -> idempotencyKey.status() == IdempotencyKeyStatus.COMPLETED)
+            .map(IdempotentResponse::fromDao);
+    storedResponseOpt.ifPresent(response -> completedResponseByKey.put(idempotentKey, response));
+
+    return storedResponseOpt;
+  }
+
+  public boolean claim(String idempotentKey, String requestHash) {
+    return idempotencyKeyRepository.claim(idempotentKey, requestHash, inProgressTimeoutSeconds)
+        > 0;
+  }
+
+  public void complete(String idempotentKey, IdempotentResponse response) {
+    idempotencyKeyRepository.complete(
+        idempotentKey, response.status(), response.contentType(), response.body());
+    completedResponseByKey.put(idempotentKey, response);
+
+    logger.info(
+        "[complete] {} [{}] is completed with status [{}]",
+        IdempotencyKey.class.getSimpleName(),
+        idempotentKey,
+        response.status());
+  }
+
+  /** Gives the key back, so the client can retry the failed request with the same key. */
+  public void release(String idempotentKey) {
+    idempotencyKeyRepository.release(idempotentKey);
+
+    logger.info(
+        "[release] {} [{}] is released", IdempotencyKey.class.getSimpleName(), idempotentKey);
+  }
+
+  public int cleanupExpiredKeys() {
+    final var thresholdDateTime = Instant.now().minusSeconds(keyExpiredInSeconds);
+    final var deletedCount = idempotencyKeyRepository.deleteAllCreatedBefore(thresholdDateTime);
+
+    logger.info(
+        "[cleanupExpiredKeys] {} {} are deleted",
+        deletedCount,
+        IdempotencyKey.class.getSimpleName());
+
+    return deletedCount;
+  }
+}
@@ -0,0 +1,20 @@
+package dev.fResult.goutTogether.idempotency;
+
+/** Snapshot of a completed response, which is replayed to the retries with the same key. */
+public record IdempotentResponse(
+    String requestHash, int status, String contentType, byte[] body) {
+
+  public static IdempotentResponse of(
+      String requestHash, int status, String contentType, byte[] body) {
+
+    return new IdempotentResponse(requestHash, status, contentType, body);
+  }
+
+  public static IdempotentResponse fromDao(IdempotencyKey idempotencyKey) {
+    return new IdempotentResponse(
+        idempotencyKey.requestHash(),
+        idempotencyKey.responseStatus(),
+        idempotencyKey.responseContentType(),
+        idempotencyKey.responseBody());
+  }
+}
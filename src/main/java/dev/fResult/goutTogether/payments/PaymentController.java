@@ -4,13 +4,26 @@ import static dev.fResult.goutTogether.common.Constants.API_PAYMENT_PATH;
 
 import com.google.zxing.WriterException;
 import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+import dev.fResult.goutTogether.common.helpers.QrCodeHelper;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentRequest;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentResponse;
 import dev.fResult.goutTogether.payments.services.PaymentService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
-import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,21 +31,71 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping(API_PAYMENT_PATH)
 public class PaymentController {
+  private static final int MIN_QR_CODE_SIZE = 64;
+  private static final int MAX_QR_CODE_SIZE = 1_024;
+  private static final String IMAGE_SVG_VALUE = "image/svg+xml";
+  private static final String IMAGE_WEBP_VALUE = "image/webp";
+
   private final Logger logger = LoggerFactory.getLogger(PaymentController.class);
 
   private final PaymentService paymentService;
+  private final CacheControl qrCodeCacheControl;
 
-  public PaymentController(PaymentService paymentService) {
+  public PaymentController(PaymentService paymentService, MyApplicationProperties myProps) {
     this.paymentService = paymentService;
+    // The payment QR code belongs to the consumer, so only the client may keep it, not a CDN
+    this.qrCodeCacheControl =
+        CacheControl.maxAge(Duration.ofSeconds(myProps.getQrCodeCache().getMaxAgeInSeconds()))
+            .cachePrivate();
   }
 
-  @GetMapping(value = "/qr/{qrCodeRefId}", produces = MediaType.IMAGE_PNG_VALUE)
-  public ResponseEntity<BufferedImage> getQrCodeImageById(@PathVariable @Min(1) Integer qrCodeRefId)
-      throws WriterException {
+  /**
+   * The format is picked by the <code>format</code> query param, otherwise by the <code>Accept
+   * </code> header, PNG by default. A request with the current ETag in its <code>If-None-Match
+   * </code> gets 304 with no body.
+   */
+  @GetMapping(
+      value = "/qr/{qrCodeRefId}",
+      produces = {MediaType.IMAGE_PNG_VALUE, IMAGE_SVG_VALUE, IMAGE_WEBP_VALUE})
+  public ResponseEntity<byte[]> getQrCodeImageById(
+      @PathVariable @Min(1) Integer qrCodeRefId,
+      @RequestParam(required = false) String format,
+      @RequestParam(defaultValue = "" + QrCodeHelper.QR_CODE_SIZE)
+          @Min(MIN_QR_CODE_SIZE)
+          @Max(MAX_QR_CODE_SIZE)
+          Integer size,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+      throws WriterException, HttpMediaTypeNotAcceptableException {
+
+    logger.debug(
+        "[getQrCodeImageById] Getting QR code image by id [{}] with format [{}] and size [{}]",
+        qrCodeRefId,
+        format,
+        size);
+    final var qrCodeFormat =
+        format != null ? QrCodeFormat.fromFileExtension(format) : negotiateQrCodeFormat(accept);
+    if (!QrCodeHelper.isSupported(qrCodeFormat)) {
+      throw new HttpMediaTypeNotAcceptableException(supportedQrCodeMediaTypes());
+    }
+
+    final var qrCodeImage = paymentService.generatePaymentQr(qrCodeRefId, qrCodeFormat, size);
+
+    return ResponseEntity.ok()
+        .contentType(qrCodeImage.format().getMediaType())
+        .eTag(qrCodeImage.eTag())
+        .cacheControl(qrCodeCacheControl)
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(qrCodeImage.content());
+  }
+
+  @PostMapping("/batch")
+  public ResponseEntity<BatchPaymentResponse> payByBookingIds(
+      @RequestHeader("idempotent-key") String idempotentKey,
+      @Valid @RequestBody BatchPaymentRequest body) {
 
-    logger.debug("[getQrCodeImageById] Getting QR code image by id [{}]", qrCodeRefId);
+    logger.debug("[payByBookingIds] Paying by booking ids {}", body.bookingIds());
 
-    return ResponseEntity.ok(paymentService.generatePaymentQr(qrCodeRefId));
+    return ResponseEntity.ok(paymentService.payByBookingIds(body.bookingIds(), idempotentKey));
   }
 
   @PostMapping("/{bookingId}")
@@ -44,4 +107,27 @@ public class PaymentController {
 
     return ResponseEntity.ok(paymentService.payByBookingId(bookingId, idempotentKey));
   }
+
+  // The most preferred media type wins, a wildcard prefers PNG as the most compatible format
+  private static QrCodeFormat negotiateQrCodeFormat(String accept) {
+    if (accept == null) return QrCodeFormat.PNG;
+
+    final var acceptedMediaTypes = MediaType.parseMediaTypes(accept);
+    MimeTypeUtils.sortBySpecificity(acceptedMediaTypes);
+    for (final var acceptedMediaType : acceptedMediaTypes) {
+      for (final var qrCodeFormat : QrCodeFormat.values()) {
+        final var isAccepted = acceptedMediaType.includes(qrCodeFormat.getMediaType());
+        if (isAccepted && QrCodeHelper.isSupported(qrCodeFormat)) return qrCodeFormat;
+      }
+    }
+
+    return QrCodeFormat.PNG;
+  }
+
+  private static List<MediaType> supportedQrCodeMediaTypes() {
+    return Arrays.stream(QrCodeFormat.values())
+        .filter(QrCodeHelper::isSupported)
+        .map(QrCodeFormat::getMediaType)
+        .toList();
+  }
 }
@@ -0,0 +1,15 @@
+package dev.fResult.goutTogether.payments.dtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchPaymentRequest(
+    @NotEmpty @Size(max = 100) List<@NotNull @Min(1) Integer> bookingIds) {
+
+  public static BatchPaymentRequest of(List<Integer> bookingIds) {
+    return new BatchPaymentRequest(bookingIds);
+  }
+}
@@ -0,0 +1,13 @@
+package dev.fResult.goutTogether.payments.dtos;
+
+import dev.fResult.goutTogether.common.enumurations.BatchPaymentStatus;
+import java.util.List;
+
+public record BatchPaymentResponse(int paidCount, List<BatchPaymentResult> results) {
+  public static BatchPaymentResponse of(List<BatchPaymentResult> results) {
+    final var paidCount =
+        (int) results.stream().filter(result -> result.status() == BatchPaymentStatus.PAID).count();
+
+    return new BatchPaymentResponse(paidCount, results);
+  }
+}
@@ -0,0 +1,18 @@
+package dev.fResult.goutTogether.payments.dtos;
+
+import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
+import dev.fResult.goutTogether.common.enumurations.BatchPaymentStatus;
+
+public record BatchPaymentResult(
+    Integer bookingId, BatchPaymentStatus status, BookingInfoResponse booking) {
+
+  public static BatchPaymentResult of(
+      Integer bookingId, BatchPaymentStatus status, BookingInfoResponse booking) {
+
+    return new BatchPaymentResult(bookingId, status, booking);
+  }
+
+  public static BatchPaymentResult failed(Integer bookingId, BatchPaymentStatus status) {
+    return BatchPaymentResult.of(bookingId, status, null);
+  }
+}
@@ -3,12 +3,17 @@ package dev.fResult.goutTogether.payments.services;
 import com.google.zxing.WriterException;
 import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
 import dev.fResult.goutTogether.bookings.entities.Booking;
-import java.awt.image.BufferedImage;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentResponse;
+import dev.fResult.goutTogether.qrcodes.QrCodeImage;
+import java.util.List;
 
 public interface PaymentService {
-  BufferedImage generatePaymentQr(int id) throws WriterException;
+  QrCodeImage generatePaymentQr(int id, QrCodeFormat format, int size) throws WriterException;
 
   BookingInfoResponse payByBookingId(int bookingId, String idempotentKey);
 
+  BatchPaymentResponse payByBookingIds(List<Integer> bookingIds, String idempotentKey);
+
   boolean refundBooking(Booking booking, String idempotentKey);
 }
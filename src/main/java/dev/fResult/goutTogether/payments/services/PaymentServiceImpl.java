@@ -5,20 +5,38 @@ import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
 import dev.fResult.goutTogether.bookings.entities.Booking;
 import dev.fResult.goutTogether.bookings.repositories.BookingRepository;
 import dev.fResult.goutTogether.bookings.services.BookingService;
+import dev.fResult.goutTogether.common.enumurations.BatchPaymentStatus;
 import dev.fResult.goutTogether.common.enumurations.BookingStatus;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import dev.fResult.goutTogether.common.enumurations.QrCodeStatus;
 import dev.fResult.goutTogether.common.enumurations.TransactionType;
 import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.common.helpers.OptimisticLockRetrier;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentResponse;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentResult;
+import dev.fResult.goutTogether.qrcodes.QrCodeImage;
 import dev.fResult.goutTogether.qrcodes.QrCodeService;
 import dev.fResult.goutTogether.tours.services.TourCountService;
 import dev.fResult.goutTogether.transactions.Transaction;
 import dev.fResult.goutTogether.transactions.TransactionHelper;
 import dev.fResult.goutTogether.transactions.TransactionService;
+import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
+import dev.fResult.goutTogether.wallets.entities.UserWallet;
 import dev.fResult.goutTogether.wallets.services.WalletService;
-import java.awt.image.BufferedImage;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -39,6 +57,7 @@ public class PaymentServiceImpl implements PaymentService {
   private final WalletService walletService;
   private final TourCountService tourCountService;
   private final TransactionService transactionService;
+  private final OptimisticLockRetrier optimisticLockRetrier;
 
   public PaymentServiceImpl(
       @Value("${goutapp.booking.tour-price}") double tourPrice,
@@ -47,7 +66,8 @@ public class PaymentServiceImpl implements PaymentService {
       @Lazy BookingService bookingService,
       @Lazy WalletService walletService,
       TourCountService tourCountService,
-      TransactionService transactionService) {
+      TransactionService transactionService,
+      OptimisticLockRetrier optimisticLockRetrier) {
 
     this.qrCodeService = qrCodeService;
     this.bookingService = bookingService;
@@ -57,45 +77,51 @@ public class PaymentServiceImpl implements PaymentService {
     this.bookingRepository = bookingRepository;
     this.tourCountService = tourCountService;
     this.transactionService = transactionService;
+    this.optimisticLockRetrier = optimisticLockRetrier;
   }
 
   @Override
-  public BufferedImage generatePaymentQr(int id) throws WriterException {
-    return qrCodeService.generateQrCodeImageById(id);
+  public QrCodeImage generatePaymentQr(int id, QrCodeFormat format, int size)
+      throws WriterException {
+
+    return qrCodeService.generateQrCodeImageById(id, format, size);
   }
 
-  // TODO: Handle Idempotent Key
+  /*
+   * Runs again in a new transaction when the booking is updated concurrently, the booking which is
+   * completed by then is returned as it is, so it is never paid twice.
+   */
   @Override
-  @Transactional
   public BookingInfoResponse payByBookingId(int bookingId, String idempotentKey) {
+    return optimisticLockRetrier.executeInTransaction(
+        "payByBookingId", () -> payByBookingIdOnce(bookingId, idempotentKey));
+  }
+
+  private BookingInfoResponse payByBookingIdOnce(int bookingId, String idempotentKey) {
     final var booking =
         bookingService
             .findBookingById(bookingId)
             .orElseThrow(errorHelper.entityNotFound("payByBookingId", Booking.class, bookingId));
 
-    final var wallets = walletService.getConsumerAndTourCompanyWallets(booking);
-    final var userWallet = wallets.getFirst();
-    final var tourCompanyWallet = wallets.getSecond();
+    if (BookingStatus.COMPLETED.name().equals(booking.status())) {
+      logger.info(
+          "[payByBookingId] {} id [{}] is already completed",
+          Booking.class.getSimpleName(),
+          bookingId);
+
+      return BookingInfoResponse.fromDao(booking);
+    }
 
-    walletService.transferMoney(
-        userWallet, tourCompanyWallet, BigDecimal.valueOf(tourPrice), TransactionType.BOOKING);
+    final var transferResult =
+        walletService.transferMoney(
+            booking, BigDecimal.valueOf(tourPrice), TransactionType.BOOKING, idempotentKey);
     tourCountService.incrementTourCount(Objects.requireNonNull(booking.tourId().getId()));
     qrCodeService.updateQrCodeRefStatusByBookingId(bookingId, QrCodeStatus.EXPIRED);
 
-    final var transactionToCreate =
-        TransactionHelper.buildBookingTransaction(
-            idempotentKey,
-            userWallet.userId().getId(),
-            bookingId,
-            tourCompanyWallet.tourCompanyId().getId(),
-            BigDecimal.valueOf(tourPrice));
-
-    final var createdTransaction = transactionService.createTransaction(transactionToCreate);
-
     logger.info(
         "[payByBookingId] Created {} id [{}]",
         Transaction.class.getSimpleName(),
-        createdTransaction.id());
+        transferResult.transactionId());
 
     final var bookingToBeCompleted =
         Booking.of(
@@ -105,38 +131,204 @@ public class PaymentServiceImpl implements PaymentService {
             BookingStatus.COMPLETED.name(),
             booking.bookingDate(),
             Instant.now(),
-            idempotentKey);
+            idempotentKey,
+            booking.version());
 
     final var completedBooking = bookingRepository.save(bookingToBeCompleted);
 
     return BookingInfoResponse.fromDao(completedBooking);
   }
 
+  /*
+   * Settles all the bookings in one transaction, every wallet is locked once and the rows are
+   * written in bulk. A booking which cannot be paid is reported in its result instead of failing
+   * the others. The whole batch runs again when one of its bookings is updated concurrently.
+   */
   @Override
-  @Transactional
-  public boolean refundBooking(Booking booking, String idempotentKey) {
-    final var wallets = walletService.getConsumerAndTourCompanyWallets(booking);
-    final var userWallet = wallets.getFirst();
-    final var tourCompanyWallet = wallets.getSecond();
+  public BatchPaymentResponse payByBookingIds(List<Integer> bookingIds, String idempotentKey) {
+    return optimisticLockRetrier.executeInTransaction(
+        "payByBookingIds", () -> payByBookingIdsOnce(bookingIds, idempotentKey));
+  }
 
-    walletService.transferMoney(
-        userWallet, tourCompanyWallet, BigDecimal.valueOf(tourPrice), TransactionType.REFUND);
+  private BatchPaymentResponse payByBookingIdsOnce(List<Integer> bookingIds, String idempotentKey) {
+    logger.debug(
+        "[payByBookingIds] Paying {} ids {} with idempotentKey [{}]",
+        Booking.class.getSimpleName(),
+        bookingIds,
+        idempotentKey);
 
-    final var transactionToRefund =
-        TransactionHelper.buildRefundTransaction(
-            idempotentKey,
-            userWallet.userId().getId(),
-            booking.id(),
-            tourCompanyWallet.tourCompanyId().getId(),
-            BigDecimal.valueOf(tourPrice));
+    final var distinctBookingIds = new LinkedHashSet<>(bookingIds);
+    final var bookingById =
+        bookingRepository.findAllById(distinctBookingIds).stream()
+            .collect(Collectors.toMap(Booking::id, Function.identity()));
+
+    final var resultByBookingId = new LinkedHashMap<Integer, BatchPaymentResult>();
+    final var pendingBookings = new ArrayList<Booking>();
+    for (final var bookingId : distinctBookingIds) {
+      final var booking = bookingById.get(bookingId);
+      if (booking == null) {
+        resultByBookingId.put(
+            bookingId, BatchPaymentResult.failed(bookingId, BatchPaymentStatus.NOT_FOUND));
+      } else if (!BookingStatus.PENDING.name().equals(booking.status())) {
+        resultByBookingId.put(
+            bookingId, BatchPaymentResult.failed(bookingId, BatchPaymentStatus.ALREADY_PAID));
+      } else {
+        resultByBookingId.put(bookingId, null);
+        pendingBookings.add(booking);
+      }
+    }
 
-    final var refundedTransaction = transactionService.createTransaction(transactionToRefund);
+    if (!pendingBookings.isEmpty()) {
+      final var paidBookings =
+          payPendingBookings(pendingBookings, idempotentKey, resultByBookingId);
+      paidBookings.forEach(
+          paidBooking ->
+              resultByBookingId.put(
+                  paidBooking.id(),
+                  BatchPaymentResult.of(
+                      paidBooking.id(),
+                      BatchPaymentStatus.PAID,
+                      BookingInfoResponse.fromDao(paidBooking))));
+    }
+
+    final var response = BatchPaymentResponse.of(List.copyOf(resultByBookingId.values()));
+    logger.info(
+        "[payByBookingIds] Paid {} of {} {}",
+        response.paidCount(),
+        distinctBookingIds.size(),
+        Booking.class.getSimpleName());
+
+    return response;
+  }
+
+  @Override
+  @Transactional
+  public boolean refundBooking(Booking booking, String idempotentKey) {
+    final var transferResult =
+        walletService.transferMoney(
+            booking, BigDecimal.valueOf(tourPrice), TransactionType.REFUND, idempotentKey);
 
     logger.info(
         "[refundBookingByBookingId] Refunded {} id [{}]",
         Transaction.class.getSimpleName(),
-        refundedTransaction.id());
+        transferResult.transactionId());
 
     return true;
   }
+
+  private List<Booking> payPendingBookings(
+      List<Booking> pendingBookings,
+      String idempotentKey,
+      Map<Integer, BatchPaymentResult> resultByBookingId) {
+
+    final var price = BigDecimal.valueOf(tourPrice);
+    final var bookingWallets = walletService.getConsumerAndTourCompanyWallets(pendingBookings);
+    final var userWalletByUserId = bookingWallets.userWalletByUserId();
+    final var tourCompanyWalletByTourId = bookingWallets.tourCompanyWalletByTourId();
+
+    // Seat each tour's bookings first, as many as it has seats left, so a full tour neither fails
+    // the bookings which still fit nor holds the balance of the bookings which do not
+    final var pendingBookingsByTourId = new LinkedHashMap<Integer, List<Booking>>();
+    pendingBookings.forEach(
+        booking ->
+            pendingBookingsByTourId
+                .computeIfAbsent(booking.tourId().getId(), tourId -> new ArrayList<>())
+                .add(booking));
+
+    final var seatedBookingIds = new HashSet<Integer>();
+    pendingBookingsByTourId.forEach(
+        (tourId, tourBookings) -> {
+          final var reservedSeats =
+              tourCountService.incrementTourCountUpTo(tourId, tourBookings.size());
+          tourBookings
+              .subList(0, reservedSeats)
+              .forEach(booking -> seatedBookingIds.add(booking.id()));
+          tourBookings
+              .subList(reservedSeats, tourBookings.size())
+              .forEach(
+                  booking ->
+                      resultByBookingId.put(
+                          booking.id(),
+                          BatchPaymentResult.failed(
+                              booking.id(), BatchPaymentStatus.INSUFFICIENT_SEATS)));
+        });
+
+    // Then spend each user's balance on the seated bookings only, in the order of the request
+    final var remainingBalanceByUserId = new HashMap<Integer, BigDecimal>();
+    final var unpaidSeatsByTourId = new LinkedHashMap<Integer, Integer>();
+    final var bookingsToPay = new ArrayList<Booking>();
+    for (final var booking : pendingBookings) {
+      if (!seatedBookingIds.contains(booking.id())) continue;
+
+      final var userId = booking.userId().getId();
+      final var remainingBalance =
+          remainingBalanceByUserId.computeIfAbsent(
+              userId, id -> userWalletByUserId.get(id).balance());
+
+      if (remainingBalance.compareTo(price) < 0) {
+        resultByBookingId.put(
+            booking.id(),
+            BatchPaymentResult.failed(booking.id(), BatchPaymentStatus.INSUFFICIENT_BALANCE));
+        unpaidSeatsByTourId.merge(booking.tourId().getId(), 1, Integer::sum);
+        continue;
+      }
+
+      remainingBalanceByUserId.put(userId, remainingBalance.subtract(price));
+      bookingsToPay.add(booking);
+    }
+
+    unpaidSeatsByTourId.forEach(tourCountService::decrementTourCount);
+
+    if (bookingsToPay.isEmpty()) return List.of();
+
+    final var debitByUserWallet = new LinkedHashMap<UserWallet, BigDecimal>();
+    final var tourCompanyWallets = new LinkedHashSet<TourCompanyWallet>();
+    final var transactionsToCreate = new ArrayList<Transaction>();
+    final var bookingsToBeCompleted = new ArrayList<Booking>();
+    for (final var booking : bookingsToPay) {
+      final var userWallet = userWalletByUserId.get(booking.userId().getId());
+      final var tourCompanyWallet = tourCompanyWalletByTourId.get(booking.tourId().getId());
+      final var bookingIdempotentKey = buildBookingIdempotentKey(idempotentKey, booking.id());
+
+      debitByUserWallet.merge(userWallet, price, BigDecimal::add);
+      tourCompanyWallets.add(tourCompanyWallet);
+      transactionsToCreate.add(
+          TransactionHelper.buildBookingTransaction(
+              bookingIdempotentKey,
+              userWallet.userId().getId(),
+              booking.id(),
+              tourCompanyWallet.tourCompanyId().getId(),
+              price));
+      bookingsToBeCompleted.add(
+          Booking.of(
+              booking.id(),
+              booking.userId(),
+              booking.tourId(),
+              BookingStatus.COMPLETED.name(),
+              booking.bookingDate(),
+              Instant.now(),
+              bookingIdempotentKey,
+              booking.version()));
+    }
+
+    // The transactions go first, the tour companies are credited by them and the outbox credits
+    // refer to them
+    final var createdTransactions = transactionService.createTransactions(transactionsToCreate);
+    walletService.transferMoneyForBookings(
+        debitByUserWallet, tourCompanyWallets, createdTransactions);
+    qrCodeService.updateQrCodeRefStatusByBookingIds(
+        bookingsToPay.stream().map(Booking::id).toList(), QrCodeStatus.EXPIRED);
+
+    return bookingRepository.saveAll(bookingsToBeCompleted);
+  }
+
+  /*
+   * Every row of the batch needs its own idempotent key, so we derive it from the batch's key, the
+   * same batch request always derives the same keys.
+   */
+  private String buildBookingIdempotentKey(String idempotentKey, int bookingId) {
+    final var keySource = String.format("%s:%d", idempotentKey, bookingId);
+
+    return UUID.nameUUIDFromBytes(keySource.getBytes(StandardCharsets.UTF_8)).toString();
+  }
 }
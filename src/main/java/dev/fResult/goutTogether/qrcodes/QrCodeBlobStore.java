@@ -0,0 +1,82 @@
+package dev.fResult.goutTogether.qrcodes;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the encoded QR code images as files under the <code>goutapp.qr-code-cache.blob-directory
+ * </code>, one file per content hash, so an image which is rendered once is never rendered again,
+ * even after a restart.
+ *
+ * <p>A file is written to a temporary file first, then moved to its name atomically, so a reader
+ * never sees a half-written image.
+ */
+@Component
+public class QrCodeBlobStore {
+  private static final Logger logger = LoggerFactory.getLogger(QrCodeBlobStore.class);
+
+  private final Path blobDirectory;
+
+  public QrCodeBlobStore(MyApplicationProperties myProps) {
+    this.blobDirectory = Path.of(myProps.getQrCodeCache().getBlobDirectory());
+  }
+
+  public Optional<byte[]> read(String contentHash, QrCodeFormat format) {
+    try {
+      return Optional.of(Files.readAllBytes(toBlobPath(contentHash, format)));
+    } catch (NoSuchFileException ex) {
+      return Optional.empty();
+    } catch (IOException ex) {
+      logger.warn("[read] QR code image [{}] cannot be read: {}", contentHash, ex.getMessage());
+
+      return Optional.empty();
+    }
+  }
+
+  public boolean exists(String contentHash, QrCodeFormat format) {
+    return Files.exists(toBlobPath(contentHash, format));
+  }
+
+  /**
+   * @throws UncheckedIOException when the image cannot be written
+   */
+  public void write(String contentHash, QrCodeFormat format, byte[] content) {
+    final var blobPath = toBlobPath(contentHash, format);
+    try {
+      Files.createDirectories(blobPath.getParent());
+      final var tempPath = Files.createTempFile(blobPath.getParent(), contentHash, ".tmp");
+      try {
+        Files.write(tempPath, content);
+        Files.move(
+            tempPath,
+            blobPath,
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempPath);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(
+          String.format("QR code image [%s] cannot be written", contentHash), ex);
+    }
+
+    logger.debug("[write] QR code image [{}] is written to [{}]", contentHash, blobPath);
+  }
+
+  // Spread the files by the first 2 characters of their hash, so no directory grows too large
+  private Path toBlobPath(String contentHash, QrCodeFormat format) {
+    final var fileName = contentHash + "." + format.getFileExtension();
+
+    return blobDirectory.resolve(contentHash.substring(0, 2)).resolve(fileName);
+  }
+}
@@ -0,0 +1,14 @@
+package dev.fResult.goutTogether.qrcodes;
+
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+
+/**
+ * Encoded QR code image, which is written to the response as it is.
+ *
+ * @param eTag derived from the QR code content, so it is known without encoding the image again
+ */
+public record QrCodeImage(byte[] content, String eTag, QrCodeFormat format) {
+  public static QrCodeImage of(byte[] content, String eTag, QrCodeFormat format) {
+    return new QrCodeImage(content, eTag, format);
+  }
+}
@@ -0,0 +1,129 @@
+package dev.fResult.goutTogether.qrcodes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.zxing.WriterException;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+import dev.fResult.goutTogether.common.helpers.QrCodeHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory cache of the encoded QR code images, which {@link QrCodeService} reads through.
+ * An image is addressed by the hash of its content, format and size, so it never has to
+ * be evicted on a write. The least used images are evicted once the total size of the cached bytes
+ * is over <code>goutapp.qr-code-cache.maximum-size-in-bytes</code>.
+ *
+ * <p>A miss is looked up in the {@link QrCodeBlobStore} before it is rendered, and a rendered image
+ * is written there, so the images which are pre-rendered at booking time are served without any
+ * rendering.
+ *
+ * <p>The hits, the misses and the evictions are exposed as the <code>cache.*</code> metrics with
+ * the <code>cache=qrCodeImages</code> tag.
+ */
+@Component
+public class QrCodeImageCache {
+  private static final Logger logger = LoggerFactory.getLogger(QrCodeImageCache.class);
+
+  public static final String CACHE_NAME = "qrCodeImages";
+
+  // Bump it when the rendering is changed, so the clients do not keep the images of the old one
+  private static final String RENDERING_VERSION = "v1";
+
+  private final QrCodeBlobStore qrCodeBlobStore;
+  private final Cache<String, QrCodeImage> imageByContentHash;
+
+  public QrCodeImageCache(
+      QrCodeBlobStore qrCodeBlobStore,
+      MyApplicationProperties myProps,
+      MeterRegistry meterRegistry) {
+
+    final var qrCodeCacheProps = myProps.getQrCodeCache();
+
+    this.qrCodeBlobStore = qrCodeBlobStore;
+    this.imageByContentHash =
+        Caffeine.newBuilder()
+            .maximumWeight(qrCodeCacheProps.getMaximumSizeInBytes())
+            .weigher((String contentHash, QrCodeImage image) -> image.content().length)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, imageByContentHash, CACHE_NAME);
+  }
+
+  public QrCodeImage getOrRender(String qrCodeContent, QrCodeFormat format, int size)
+      throws WriterException {
+
+    final var contentHash = hash(qrCodeContent, format, size);
+    final var cachedImage = imageByContentHash.getIfPresent(contentHash);
+    if (cachedImage != null) return cachedImage;
+
+    final var storedContentOpt = qrCodeBlobStore.read(contentHash, format);
+    final var loadedImage =
+        storedContentOpt.isPresent()
+            ? QrCodeImage.of(storedContentOpt.get(), contentHash, format)
+            : renderToBlobStore(qrCodeContent, format, size, contentHash);
+    imageByContentHash.put(contentHash, loadedImage);
+
+    return loadedImage;
+  }
+
+  /**
+   * Renders the default PNG image to the {@link QrCodeBlobStore} ahead of its first request, the
+   * in-memory cache is left to the instances which serve it.
+   *
+   * @return <code>false</code> when the image is already in the blob store
+   */
+  public boolean prerender(String qrCodeContent) throws WriterException {
+    final var format = QrCodeFormat.PNG;
+    final var size = QrCodeHelper.QR_CODE_SIZE;
+    final var contentHash = hash(qrCodeContent, format, size);
+    if (qrCodeBlobStore.exists(contentHash, format)) return false;
+
+    renderToBlobStore(qrCodeContent, format, size, contentHash);
+
+    return true;
+  }
+
+  private QrCodeImage renderToBlobStore(
+      String qrCodeContent, QrCodeFormat format, int size, String contentHash)
+      throws WriterException {
+
+    final var renderedImage =
+        QrCodeImage.of(
+            QrCodeHelper.generateQrCode(qrCodeContent, format, size), contentHash, format);
+    try {
+      qrCodeBlobStore.write(contentHash, format, renderedImage.content());
+    } catch (UncheckedIOException ex) {
+      // The image is still served from the memory, it is rendered again after an eviction only
+      logger.warn("[renderToBlobStore] {}", ex.getMessage());
+    }
+
+    return renderedImage;
+  }
+
+  private static String hash(String qrCodeContent, QrCodeFormat format, int size) {
+    try {
+      // PNG of 300 px gives "png-300-v1", the input the images were hashed by before the formats,
+      // so the pre-rendered blobs and the ETags of the clients stay valid. Keep it as it is.
+      final var rendition =
+          String.format("%s-%d-%s", format.getFileExtension(), size, RENDERING_VERSION);
+      final var digest = MessageDigest.getInstance("SHA-256");
+      digest.update(rendition.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      final var contentHash = digest.digest(qrCodeContent.getBytes(StandardCharsets.UTF_8));
+
+      return HexFormat.of().formatHex(contentHash);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not supported by this JVM", ex);
+    }
+  }
+}
@@ -1,8 +1,20 @@
 package dev.fResult.goutTogether.qrcodes;
 
+import java.util.Collection;
 import java.util.Optional;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 
 public interface QrCodeReferenceRepository extends ListCrudRepository<QrCodeReference, Integer> {
   Optional<QrCodeReference> findOneByBookingId(int bookingId);
+
+  @Modifying
+  @Query(
+      """
+      UPDATE qr_code_references
+      SET status = :status
+      WHERE booking_id IN (:bookingIds);
+      """)
+  int updateStatusByBookingIds(Collection<Integer> bookingIds, String status);
 }
@@ -3,14 +3,18 @@ package dev.fResult.goutTogether.qrcodes;
 import static dev.fResult.goutTogether.common.Constants.API_PAYMENT_PATH;
 
 import com.google.zxing.WriterException;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import dev.fResult.goutTogether.common.enumurations.QrCodeStatus;
 import dev.fResult.goutTogether.common.helpers.ErrorHelper;
-import dev.fResult.goutTogether.common.helpers.QrCodeHelper;
-import java.awt.image.BufferedImage;
+import java.util.Collection;
 import java.util.Optional;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.scheduling.JobScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class QrCodeService {
@@ -18,23 +22,60 @@ public class QrCodeService {
   private final ErrorHelper errorHelper = new ErrorHelper(QrCodeService.class);
 
   private final QrCodeReferenceRepository qrCodeReferenceRepository;
+  private final QrCodeImageCache qrCodeImageCache;
+  private final JobScheduler jobScheduler;
+
+  public QrCodeService(
+      QrCodeReferenceRepository qrCodeReferenceRepository,
+      QrCodeImageCache qrCodeImageCache,
+      JobScheduler jobScheduler) {
 
-  public QrCodeService(QrCodeReferenceRepository qrCodeReferenceRepository) {
     this.qrCodeReferenceRepository = qrCodeReferenceRepository;
+    this.qrCodeImageCache = qrCodeImageCache;
+    this.jobScheduler = jobScheduler;
   }
 
-  public BufferedImage generateQrCodeImageById(int id) throws WriterException {
+  public QrCodeImage generateQrCodeImageById(int id, QrCodeFormat format, int size)
+      throws WriterException {
+
     logger.debug(
-        "[generateQrById] New {} is generating by id [{}]",
+        "[generateQrById] New {} is generating by id [{}] as {} of size [{}]",
         QrCodeReference.class.getSimpleName(),
-        id);
+        id,
+        format,
+        size);
 
     final var qrCodeRef =
         qrCodeReferenceRepository
             .findById(id)
             .orElseThrow(errorHelper.entityNotFound("generateQrById", QrCodeReference.class, id));
 
-    return QrCodeHelper.generateQrCodeImage(qrCodeRef.content());
+    return qrCodeImageCache.getOrRender(qrCodeRef.content(), format, size);
+  }
+
+  /**
+   * Renders the QR code image to the blob store ahead of its first request, so the checkout screen
+   * does not wait for it. The QR code reference may be deleted before the job runs, then there is
+   * nothing to render.
+   */
+  @Job(name = "Pre-render QR code image of QrCodeReference id [%0]", retries = 3)
+  public void prerenderQrCodeImageById(int id) throws WriterException {
+    final var qrCodeRefOpt = qrCodeReferenceRepository.findById(id);
+    if (qrCodeRefOpt.isEmpty()) {
+      logger.info(
+          "[prerenderQrCodeImageById] {} id [{}] is already deleted, skip it",
+          QrCodeReference.class.getSimpleName(),
+          id);
+
+      return;
+    }
+
+    final var isRendered = qrCodeImageCache.prerender(qrCodeRefOpt.get().content());
+    logger.debug(
+        "[prerenderQrCodeImageById] QR code image of {} id [{}] is {}",
+        QrCodeReference.class.getSimpleName(),
+        id,
+        isRendered ? "pre-rendered" : "already pre-rendered");
   }
 
   public QrCodeReference getQrCodeRefByBookingId(Integer bookingId) {
@@ -73,6 +114,8 @@ public class QrCodeService {
         QrCodeReference.class.getSimpleName(),
         createdQrCode);
 
+    enqueuePrerenderAfterCommit(createdQrCode.id());
+
     return createdQrCode;
   }
 
@@ -99,6 +142,25 @@ public class QrCodeService {
     return updatedQrCodeRef;
   }
 
+  public int updateQrCodeRefStatusByBookingIds(
+      Collection<Integer> bookingIds, QrCodeStatus statusToUpdate) {
+
+    logger.debug(
+        "[updateQrCodeRefStatusByBookingIds] {} by bookingIds {} are updating",
+        QrCodeReference.class.getSimpleName(),
+        bookingIds);
+
+    final var updatedCount =
+        qrCodeReferenceRepository.updateStatusByBookingIds(bookingIds, statusToUpdate.name());
+    logger.info(
+        "[updateQrCodeRefStatusByBookingIds] {} {} are updated to {}",
+        updatedCount,
+        QrCodeReference.class.getSimpleName(),
+        statusToUpdate);
+
+    return updatedCount;
+  }
+
   public boolean deleteQrCodeRefByBookingId(int bookingId) {
     logger.debug(
         "[deleteQrCodeRefByBookingId] {} by bookingId [{}] is deleting",
@@ -116,6 +178,36 @@ public class QrCodeService {
     return true;
   }
 
+  // The job runs on another connection, it cannot find a QR code reference which is not committed
+  private void enqueuePrerenderAfterCommit(int id) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      enqueuePrerender(id);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            enqueuePrerender(id);
+          }
+        });
+  }
+
+  private void enqueuePrerender(int id) {
+    try {
+      jobScheduler.<QrCodeService>enqueue(
+          qrCodeService -> qrCodeService.prerenderQrCodeImageById(id));
+    } catch (RuntimeException ex) {
+      // The image is still rendered on its first request
+      logger.warn(
+          "[enqueuePrerender] Pre-rendering of {} id [{}] cannot be enqueued: {}",
+          QrCodeReference.class.getSimpleName(),
+          id,
+          ex.getMessage());
+    }
+  }
+
   private Optional<QrCodeReference> findQrCodeRefByBookingId(Integer bookingId) {
     logger.debug(
         "[findQrByBookingId] Finding {} by bookingId [{}]",
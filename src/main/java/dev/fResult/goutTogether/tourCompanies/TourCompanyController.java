@@ -1,7 +1,6 @@
 package dev.fResult.goutTogether.tourCompanies;
 
-import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
-
+import dev.fResult.goutTogether.common.security.AuthenticatedPrincipal;
 import dev.fResult.goutTogether.common.utils.StringUtil;
 import dev.fResult.goutTogether.tourCompanies.dtos.TourCompanyRegistrationRequest;
 import dev.fResult.goutTogether.tourCompanies.dtos.TourCompanyResponse;
@@ -13,8 +12,6 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -46,17 +43,15 @@ public class TourCompanyController {
   }
 
   @GetMapping("/me")
-  public ResponseEntity<TourCompanyResponse> getMyTourCompany(Authentication authentication) {
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var tourCompanyId = jwt.getClaimAsString(RESOURCE_ID_CLAIM);
+  public ResponseEntity<TourCompanyResponse> getMyTourCompany(AuthenticatedPrincipal principal) {
+    final var tourCompanyId = principal.resourceId();
 
     logger.debug(
         "[getMyTourCompany] Getting {} auth of id [{}]",
         TourCompany.class.getSimpleName(),
         tourCompanyId);
 
-    return ResponseEntity.ok(
-        tourCompanyService.getTourCompanyById(Integer.parseInt(tourCompanyId)));
+    return ResponseEntity.ok(tourCompanyService.getTourCompanyById(tourCompanyId));
   }
 
   @PostMapping
@@ -4,6 +4,8 @@ import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import java.util.Optional;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,4 +15,9 @@ public interface TourCompanyLoginRepository extends CrudRepository<TourCompanyLo
 
   Optional<TourCompanyLogin> findOneByTourCompanyId(
       AggregateReference<TourCompany, Integer> tourCompanyId);
+
+  @Modifying
+  @Query(
+      "UPDATE tour_company_logins SET password = :password WHERE tour_company_id = :tourCompanyId;")
+  int updatePasswordByTourCompanyId(int tourCompanyId, String password);
 }
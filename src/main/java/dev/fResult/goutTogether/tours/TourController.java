@@ -1,9 +1,16 @@
 package dev.fResult.goutTogether.tours;
 
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import dev.fResult.goutTogether.common.models.CursorPage;
 import dev.fResult.goutTogether.tours.dtos.TourRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchResult;
 import dev.fResult.goutTogether.tours.entities.Tour;
 import dev.fResult.goutTogether.tours.services.TourService;
 import java.net.URI;
+import java.time.Instant;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -32,13 +39,44 @@ public class TourController {
       @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
     logger.debug("[getTours] Getting all {}", Tour.class.getSimpleName());
 
-    final var sort = Sort.by(direction, field);
+    final var sort = Sort.by(direction, TourSortField.fromProperty(field).property());
     final var pageable = PageRequest.of(page, size, sort);
     final var tours = tourService.getTours(pageable);
 
     return ResponseEntity.ok(tours);
   }
 
+  @GetMapping("/scroll")
+  public ResponseEntity<CursorPage<Tour>> scrollTours(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "id") String field,
+      @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+      @RequestParam(defaultValue = "false") boolean skipTotal) {
+    logger.debug("[scrollTours] Scrolling {} by cursor", Tour.class.getSimpleName());
+
+    final var sortField = TourSortField.fromProperty(field);
+    final var tours = tourService.getToursByCursor(sortField, direction, cursor, size, skipTotal);
+
+    return ResponseEntity.ok(tours);
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<List<TourSearchResult>> searchTours(
+      @RequestParam String keyword,
+      @RequestParam(required = false) TourStatus status,
+      @RequestParam(required = false) Instant activityDateFrom,
+      @RequestParam(required = false) Instant activityDateTo,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    logger.debug("[searchTours] Searching {} by keyword [{}]", Tour.class.getSimpleName(), keyword);
+
+    final var request =
+        TourSearchRequest.of(keyword, status, activityDateFrom, activityDateTo, page, size);
+
+    return ResponseEntity.ok(tourService.searchTours(request));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<Tour> byId(@PathVariable int id) {
     return ResponseEntity.ok(tourService.getTourById(id));
@@ -0,0 +1,28 @@
+package dev.fResult.goutTogether.tours.dtos;
+
+import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import java.time.Instant;
+
+/**
+ * @param status filter of the tour status, or <code>null</code> for every status
+ * @param activityDateFrom inclusive lower bound of the activity date, or <code>null</code>
+ * @param activityDateTo inclusive upper bound of the activity date, or <code>null</code>
+ */
+public record TourSearchRequest(
+    String keyword,
+    TourStatus status,
+    Instant activityDateFrom,
+    Instant activityDateTo,
+    int page,
+    int size) {
+
+  public static TourSearchRequest of(
+      String keyword,
+      TourStatus status,
+      Instant activityDateFrom,
+      Instant activityDateTo,
+      int page,
+      int size) {
+    return new TourSearchRequest(keyword, status, activityDateFrom, activityDateTo, page, size);
+  }
+}
@@ -0,0 +1,40 @@
+package dev.fResult.goutTogether.tours.dtos;
+
+import java.time.Instant;
+
+/**
+ * @param rank relevance of the tour to the keyword, the higher the more relevant
+ */
+public record TourSearchResult(
+    Integer id,
+    Integer tourCompanyId,
+    String title,
+    String description,
+    String location,
+    int numberOfPeople,
+    Instant activityDate,
+    String status,
+    double rank) {
+
+  public static TourSearchResult of(
+      Integer id,
+      Integer tourCompanyId,
+      String title,
+      String description,
+      String location,
+      int numberOfPeople,
+      Instant activityDate,
+      String status,
+      double rank) {
+    return new TourSearchResult(
+        id,
+        tourCompanyId,
+        title,
+        description,
+        location,
+        numberOfPeople,
+        activityDate,
+        status,
+        rank);
+  }
+}
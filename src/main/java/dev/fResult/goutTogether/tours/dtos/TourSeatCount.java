@@ -0,0 +1,11 @@
+package dev.fResult.goutTogether.tours.dtos;
+
+public record TourSeatCount(int tourId, int numberOfPeople, int amount) {
+  public static TourSeatCount of(int tourId, int numberOfPeople, int amount) {
+    return new TourSeatCount(tourId, numberOfPeople, amount);
+  }
+
+  public int remainingSeats() {
+    return numberOfPeople - amount;
+  }
+}
@@ -1,20 +1,33 @@
 package dev.fResult.goutTogether.tours.entities;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Table("tour_counts")
-public record TourCount(@Id Integer id, AggregateReference<Tour, Integer> tourId, int amount) {
+public record TourCount(
+    @Id Integer id,
+    AggregateReference<Tour, Integer> tourId,
+    int amount,
+    @Version Integer version) {
+
+  /** A tour count which is not versioned yet, the version is set when it is inserted. */
   public static TourCount of(Integer id, AggregateReference<Tour, Integer> tourId, int amount) {
-    return new TourCount(id, tourId, amount);
+    return new TourCount(id, tourId, amount, null);
+  }
+
+  public static TourCount of(
+      Integer id, AggregateReference<Tour, Integer> tourId, int amount, Integer version) {
+
+    return new TourCount(id, tourId, amount, version);
   }
 
   public TourCount increaseAmount(int amountToAdd) {
-    return new TourCount(id, tourId, amount + amountToAdd);
+    return new TourCount(id, tourId, amount + amountToAdd, version);
   }
 
   public TourCount decreaseAmount(int amountToSubtract) {
-    return new TourCount(id, tourId, amount - amountToSubtract);
+    return new TourCount(id, tourId, amount - amountToSubtract, version);
   }
 }
@@ -1,9 +1,12 @@
 package dev.fResult.goutTogether.tours.repositories;
 
+import dev.fResult.goutTogether.tours.dtos.TourSeatCount;
 import dev.fResult.goutTogether.tours.entities.Tour;
 import dev.fResult.goutTogether.tours.entities.TourCount;
 import java.util.Optional;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.relational.core.sql.LockMode;
 import org.springframework.data.relational.repository.Lock;
 import org.springframework.data.repository.CrudRepository;
@@ -12,4 +15,91 @@ public interface TourCountRepository extends CrudRepository<TourCount, Integer>
 
   @Lock(LockMode.PESSIMISTIC_WRITE)
   Optional<TourCount> findOneByTourId(AggregateReference<Tour, Integer> tourId);
+
+  boolean existsByTourId(AggregateReference<Tour, Integer> tourId);
+
+  /**
+   * Check the capacity and reserve the seats in one statement, the row lock is held only while
+   * this statement is running instead of the whole read-modify-write.
+   *
+   * @return the incremented {@link TourCount}, or empty when the tour is not found or it has not
+   *     enough seats left
+   */
+  @Query(
+      """
+      UPDATE tour_counts tc
+      SET amount = tc.amount + :amount, version = tc.version + 1
+      FROM tours t
+      WHERE tc.tour_id = :tourId
+        AND t.id = tc.tour_id
+        AND tc.amount + :amount <= t.number_of_people
+      RETURNING tc.*;
+      """)
+  Optional<TourCount> incrementAmountIfAvailable(int tourId, int amount);
+
+  /**
+   * Reserve the seats which are left, up to the amount, in one statement.
+   *
+   * @return the seats which are reserved, or empty when the tour count is not found or the tour is
+   *     full
+   */
+  @Query(
+      """
+      WITH available AS (
+        SELECT tc.id, LEAST(:amount, t.number_of_people - tc.amount) AS seats
+        FROM tour_counts tc
+        JOIN tours t ON t.id = tc.tour_id
+        WHERE tc.tour_id = :tourId
+        FOR UPDATE OF tc
+      )
+      UPDATE tour_counts tc
+      SET amount = tc.amount + a.seats, version = tc.version + 1
+      FROM available a
+      WHERE tc.id = a.id AND a.seats > 0
+      RETURNING a.seats;
+      """)
+  Optional<Integer> incrementAmountUpToAvailable(int tourId, int amount);
+
+  /**
+   * @return the decremented {@link TourCount}, or empty when the tour count is not found or its
+   *     amount would become negative
+   */
+  @Query(
+      """
+      UPDATE tour_counts
+      SET amount = amount - :amount, version = version + 1
+      WHERE tour_id = :tourId AND amount >= :amount
+      RETURNING *;
+      """)
+  Optional<TourCount> decrementAmountIfReserved(int tourId, int amount);
+
+  @Query(
+      """
+      SELECT t.id AS tour_id, t.number_of_people, tc.amount
+      FROM tours t
+      JOIN tour_counts tc ON tc.tour_id = t.id
+      WHERE t.id = :tourId;
+      """)
+  Optional<TourSeatCount> findSeatCountByTourId(int tourId);
+
+  /**
+   * Recompute every tour count from the completed bookings, which are the source of truth of the
+   * reserved seats.
+   *
+   * @return number of tour counts which are corrected
+   */
+  @Modifying
+  @Query(
+      """
+      UPDATE tour_counts tc
+      SET amount = paid.amount, version = tc.version + 1
+      FROM (
+        SELECT t.id AS tour_id, COUNT(b.id) AS amount
+        FROM tours t
+        LEFT JOIN bookings b ON b.tour_id = t.id AND b.state = 'COMPLETED'
+        GROUP BY t.id
+      ) paid
+      WHERE tc.tour_id = paid.tour_id AND tc.amount <> paid.amount;
+      """)
+  int reconcileAmountsWithCompletedBookings();
 }
@@ -0,0 +1,16 @@
+package dev.fResult.goutTogether.tours.repositories;
+
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+public interface TourKeysetRepository {
+  /**
+   * @param afterCursor position of the last tour of the previous page, or <code>null</code> for the
+   *     first page
+   */
+  List<Tour> findAllByKeyset(
+      TourSortField sortField, Sort.Direction direction, KeysetCursor afterCursor, int limit);
+}
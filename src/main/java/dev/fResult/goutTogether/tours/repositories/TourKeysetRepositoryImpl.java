@@ -0,0 +1,57 @@
+package dev.fResult.goutTogether.tours.repositories;
+
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.helpers.KeysetQueryHelper;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class TourKeysetRepositoryImpl implements TourKeysetRepository {
+  private static final String TABLE = "tours";
+
+  private static final RowMapper<Tour> TOUR_ROW_MAPPER =
+      (rs, rowNum) ->
+          Tour.of(
+              rs.getInt("id"),
+              AggregateReference.to(rs.getInt("tour_company_id")),
+              rs.getString("title"),
+              rs.getString("description"),
+              rs.getString("location"),
+              rs.getInt("number_of_people"),
+              rs.getObject("activity_date", OffsetDateTime.class).toInstant(),
+              rs.getString("status"));
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public TourKeysetRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public static String buildFindAllByKeysetSql(
+      TourSortField sortField, Sort.Direction direction, boolean afterCursor) {
+
+    return KeysetQueryHelper.buildSelectSql(TABLE, List.of(), sortField, direction, afterCursor);
+  }
+
+  @Override
+  public List<Tour> findAllByKeyset(
+      TourSortField sortField, Sort.Direction direction, KeysetCursor afterCursor, int limit) {
+
+    final var params = new MapSqlParameterSource("limit", limit);
+    if (afterCursor != null) {
+      params.addValue("lastId", afterCursor.lastId());
+      params.addValue("lastValue", afterCursor.lastValue());
+    }
+
+    return jdbcTemplate.query(
+        buildFindAllByKeysetSql(sortField, direction, afterCursor != null),
+        params,
+        TOUR_ROW_MAPPER);
+  }
+}
@@ -1,10 +1,49 @@
 package dev.fResult.goutTogether.tours.repositories;
 
+import dev.fResult.goutTogether.tours.dtos.TourSearchResult;
 import dev.fResult.goutTogether.tours.entities.Tour;
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.ListCrudRepository;
 
-public interface TourRepository extends CrudRepository<Tour, Integer> {
+public interface TourRepository extends ListCrudRepository<Tour, Integer>, TourKeysetRepository {
   Page<Tour> findAll(Pageable pageable);
+
+  /**
+   * Match the keyword with the full-text search on the title, the description and the location,
+   * and with the trigram word similarity on the title and the location for the partial words and
+   * the typos. Every match is ranked by both of them.
+   *
+   * @param status filter of the tour status, or <code>null</code> for every status
+   * @param activityDateFrom inclusive lower bound of the activity date, or <code>null</code>
+   * @param activityDateTo inclusive upper bound of the activity date, or <code>null</code>
+   */
+  @Query(
+      """
+      SELECT t.id, t.tour_company_id, t.title, t.description, t.location, t.number_of_people,
+        t.activity_date, t.status,
+        ts_rank_cd(t.search_vector, websearch_to_tsquery('english', :keyword))
+          + word_similarity(:keyword, t.title) AS rank
+      FROM tours t
+      WHERE (
+          t.search_vector @@ websearch_to_tsquery('english', :keyword)
+          OR :keyword <% t.title
+          OR :keyword <% t.location
+        )
+        AND (CAST(:status AS VARCHAR) IS NULL OR t.status = :status)
+        AND (CAST(:activityDateFrom AS TIMESTAMPTZ) IS NULL OR t.activity_date >= :activityDateFrom)
+        AND (CAST(:activityDateTo AS TIMESTAMPTZ) IS NULL OR t.activity_date <= :activityDateTo)
+      ORDER BY rank DESC, t.id
+      LIMIT :limit OFFSET :offset;
+      """)
+  List<TourSearchResult> searchTours(
+      String keyword,
+      String status,
+      Instant activityDateFrom,
+      Instant activityDateTo,
+      int limit,
+      long offset);
 }
@@ -0,0 +1,81 @@
+package dev.fResult.goutTogether.tours.services;
+
+import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.tours.entities.TourCount;
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(
+    prefix = "goutapp.inventory",
+    name = "mode",
+    havingValue = "database",
+    matchIfMissing = true)
+public class DatabaseTourSeatInventory implements TourSeatInventory {
+  private final Logger logger = LoggerFactory.getLogger(DatabaseTourSeatInventory.class);
+  private final ErrorHelper errorHelper = new ErrorHelper(DatabaseTourSeatInventory.class);
+
+  private final TourCountRepository tourCountRepository;
+  private final TourService tourService;
+
+  public DatabaseTourSeatInventory(
+      TourCountRepository tourCountRepository, @Lazy TourService tourService) {
+    this.tourCountRepository = tourCountRepository;
+    this.tourService = tourService;
+  }
+
+  @Override
+  public int reserve(int tourId, int amount) {
+    return tourCountRepository
+        .incrementAmountIfAvailable(tourId, amount)
+        .orElseThrow(() -> buildReserveFailure(tourId))
+        .amount();
+  }
+
+  @Override
+  public int reserveUpTo(int tourId, int amount) {
+    final var reservedSeatsOpt = tourCountRepository.incrementAmountUpToAvailable(tourId, amount);
+    if (reservedSeatsOpt.isEmpty()) throwExceptionIfTourCountNotFound("reserveUpTo", tourId);
+
+    return reservedSeatsOpt.orElse(0);
+  }
+
+  @Override
+  public void release(int tourId, int amount) {
+    final var decrementedTourCountOpt =
+        tourCountRepository.decrementAmountIfReserved(tourId, amount);
+
+    if (decrementedTourCountOpt.isEmpty()) {
+      throwExceptionIfTourCountNotFound("release", tourId);
+      logger.warn(
+          "[release] {} with tourId [{}] has no reserved amount to decrement",
+          TourCount.class.getSimpleName(),
+          tourId);
+    }
+  }
+
+  /*
+   * The conditional update does not tell why no row is updated, so we look into it only when the
+   * reservation is failed, to keep the happy path in one statement.
+   */
+  private RuntimeException buildReserveFailure(int tourId) {
+    final var tour = tourService.getTourById(tourId);
+    throwExceptionIfTourCountNotFound("reserve", tourId);
+
+    return errorHelper.insufficientTourCount("reserve", tour.numberOfPeople()).get();
+  }
+
+  private void throwExceptionIfTourCountNotFound(String methodName, int tourId) {
+    if (!tourCountRepository.existsByTourId(AggregateReference.to(tourId))) {
+      throw errorHelper
+          .entityWithSubResourceNotFound(
+              methodName, TourCount.class, "tourId", String.valueOf(tourId))
+          .get();
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package dev.fResult.goutTogether.tours.services;
+
+import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.tours.dtos.TourSeatCount;
+import dev.fResult.goutTogether.tours.entities.TourCount;
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Admits or rejects the reservations against the remaining seats in memory, then writes the
+ * committed changes behind to <code>tour_counts</code> in batches.
+ *
+ * <p>The remaining seats are only correct while this instance is the only writer of <code>
+ * tour_counts</code>, so this mode is meant for a single node serving a flash sale.
+ */
+@Service
+@ConditionalOnProperty(prefix = "goutapp.inventory", name = "mode", havingValue = "memory")
+public class InMemoryTourSeatInventory
+    implements TourSeatInventory, InitializingBean, DisposableBean {
+  private final Logger logger = LoggerFactory.getLogger(InMemoryTourSeatInventory.class);
+  private final ErrorHelper errorHelper = new ErrorHelper(InMemoryTourSeatInventory.class);
+
+  private static final String FLUSH_SQL =
+      "UPDATE tour_counts SET amount = amount + :delta, version = version + 1"
+          + " WHERE tour_id = :tourId";
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+  private final Map<Integer, TourSeats> tourSeatsByTourId = new ConcurrentHashMap<>();
+  private final Map<Integer, AtomicInteger> pendingDeltaByTourId = new ConcurrentHashMap<>();
+
+  private final TourCountRepository tourCountRepository;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TourService tourService;
+  private final long flushIntervalMillis;
+  private final ScheduledExecutorService flushScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofVirtual().name("tour-seat-inventory-flush").factory());
+
+  public InMemoryTourSeatInventory(
+      TourCountRepository tourCountRepository,
+      NamedParameterJdbcTemplate jdbcTemplate,
+      @Lazy TourService tourService,
+      @Value("${goutapp.inventory.flush-interval-millis}") long flushIntervalMillis) {
+    this.tourCountRepository = tourCountRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.tourService = tourService;
+    this.flushIntervalMillis = flushIntervalMillis;
+  }
+
+  /*
+   * The deltas which are not flushed before the last shutdown are lost from the memory, but their
+   * bookings are already committed, so we rebuild the tour counts from the bookings before any
+   * tour is seeded.
+   */
+  @Override
+  public void afterPropertiesSet() {
+    final var reconciledCount = tourCountRepository.reconcileAmountsWithCompletedBookings();
+    logger.info(
+        "[afterPropertiesSet] Reconciled {} {} with completed bookings",
+        reconciledCount,
+        TourCount.class.getSimpleName());
+
+    flushScheduler.scheduleWithFixedDelay(
+        this::flushPendingDeltasSafely,
+        flushIntervalMillis,
+        flushIntervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /* Waits for the running flush, so the final flush does not race with it on the same tours */
+  @Override
+  public void destroy() {
+    flushScheduler.shutdown();
+    try {
+      if (!flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.warn(
+            "[destroy] The running flush is not finished in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+
+    flushPendingDeltas();
+  }
+
+  @Override
+  public int reserve(int tourId, int amount) {
+    final var tourSeats = getOrSeedTourSeats(tourId);
+    if (!tourSeats.tryTake(amount)) {
+      throw errorHelper.insufficientTourCount("reserve", tourSeats.numberOfPeople()).get();
+    }
+
+    afterTransaction(
+        "reserve", tourId, () -> addPendingDelta(tourId, amount), () -> tourSeats.giveBack(amount));
+
+    return tourSeats.reservedSeats();
+  }
+
+  @Override
+  public int reserveUpTo(int tourId, int amount) {
+    final var tourSeats = getOrSeedTourSeats(tourId);
+    final var takenSeats = tourSeats.takeUpTo(amount);
+    if (takenSeats > 0) {
+      afterTransaction(
+          "reserveUpTo",
+          tourId,
+          () -> addPendingDelta(tourId, takenSeats),
+          () -> tourSeats.giveBack(takenSeats));
+    }
+
+    return takenSeats;
+  }
+
+  @Override
+  public void release(int tourId, int amount) {
+    final var tourSeats = getOrSeedTourSeats(tourId);
+
+    // The seats are not given back to the others until the cancellation is committed
+    afterTransaction(
+        "release",
+        tourId,
+        () -> {
+          if (!tourSeats.tryGiveBack(amount)) {
+            logger.warn(
+                "[release] {} with tourId [{}] has no reserved amount to decrement",
+                TourCount.class.getSimpleName(),
+                tourId);
+            return;
+          }
+          addPendingDelta(tourId, -amount);
+        },
+        () -> {});
+  }
+
+  /**
+   * Writes the committed deltas to <code>tour_counts</code> in one batch.
+   *
+   * @return number of tours which are flushed
+   */
+  public int flushPendingDeltas() {
+    final var tourIds = new ArrayList<Integer>();
+    final var deltas = new ArrayList<Integer>();
+    final var batchParams = new ArrayList<SqlParameterSource>();
+    pendingDeltaByTourId.forEach(
+        (tourId, pendingDelta) -> {
+          final var delta = pendingDelta.getAndSet(0);
+          if (delta == 0) return;
+
+          tourIds.add(tourId);
+          deltas.add(delta);
+          batchParams.add(
+              new MapSqlParameterSource().addValue("tourId", tourId).addValue("delta", delta));
+        });
+
+    if (batchParams.isEmpty()) return 0;
+
+    final int[] updatedRows;
+    try {
+      updatedRows =
+          jdbcTemplate.batchUpdate(FLUSH_SQL, batchParams.toArray(SqlParameterSource[]::new));
+    } catch (RuntimeException ex) {
+      // Put the deltas back, so the next flush can retry them
+      for (var idx = 0; idx < tourIds.size(); idx++) {
+        addPendingDelta(tourIds.get(idx), deltas.get(idx));
+      }
+      throw ex;
+    }
+
+    // A driver may report SUCCESS_NO_INFO instead of a row count, only 0 means nothing is updated
+    final var flushedCount = Arrays.stream(updatedRows).filter(rows -> rows != 0).count();
+    logger.debug("[flushPendingDeltas] Flushed {} of {} tours", flushedCount, tourIds.size());
+
+    return tourIds.size();
+  }
+
+  private void flushPendingDeltasSafely() {
+    try {
+      flushPendingDeltas();
+    } catch (RuntimeException ex) {
+      logger.error(
+          "[flushPendingDeltasSafely] Failed to flush {}, will retry on next interval",
+          TourCount.class.getSimpleName(),
+          ex);
+    }
+  }
+
+  private TourSeats getOrSeedTourSeats(int tourId) {
+    final var existingTourSeats = tourSeatsByTourId.get(tourId);
+    if (existingTourSeats != null) return existingTourSeats;
+
+    // Seeded outside of the map, a query inside computeIfAbsent would block the other tours of its
+    // bin, the first seed which is put wins when two requests seed the same tour at once
+    final var seededTourSeats =
+        tourCountRepository
+            .findSeatCountByTourId(tourId)
+            .map(TourSeats::from)
+            .orElseThrow(() -> buildSeedFailure(tourId));
+    final var racedTourSeats = tourSeatsByTourId.putIfAbsent(tourId, seededTourSeats);
+
+    return racedTourSeats != null ? racedTourSeats : seededTourSeats;
+  }
+
+  private RuntimeException buildSeedFailure(int tourId) {
+    tourService.getTourById(tourId);
+
+    return errorHelper
+        .entityWithSubResourceNotFound(
+            "getOrSeedTourSeats", TourCount.class, "tourId", String.valueOf(tourId))
+        .get();
+  }
+
+  private void addPendingDelta(int tourId, int delta) {
+    pendingDeltaByTourId.computeIfAbsent(tourId, id -> new AtomicInteger()).addAndGet(delta);
+  }
+
+  /*
+   * When the outcome of the transaction is unknown, neither the delta nor the seats are applied,
+   * the reserved seats stay taken in the memory so the tour is never oversold, and the tour counts
+   * are rebuilt from the committed bookings on the next start.
+   */
+  private void afterTransaction(
+      String methodName, int tourId, Runnable onCommit, Runnable onRollback) {
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      onCommit.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            switch (status) {
+              case STATUS_COMMITTED -> onCommit.run();
+              case STATUS_ROLLED_BACK -> onRollback.run();
+              default ->
+                  logger.warn(
+                      "[{}] Transaction outcome of {} with tourId [{}] is unknown,"
+                          + " it is reconciled with completed bookings on next start",
+                      methodName,
+                      TourCount.class.getSimpleName(),
+                      tourId);
+            }
+          }
+        });
+  }
+
+  private record TourSeats(int numberOfPeople, AtomicInteger remainingSeats) {
+    static TourSeats from(TourSeatCount seatCount) {
+      return new TourSeats(
+          seatCount.numberOfPeople(), new AtomicInteger(seatCount.remainingSeats()));
+    }
+
+    boolean tryTake(int amount) {
+      while (true) {
+        final var current = remainingSeats.get();
+        if (current < amount) return false;
+        if (remainingSeats.compareAndSet(current, current - amount)) return true;
+      }
+    }
+
+    int takeUpTo(int amount) {
+      while (true) {
+        final var current = remainingSeats.get();
+        final var taken = Math.min(amount, Math.max(current, 0));
+        if (taken == 0) return 0;
+        if (remainingSeats.compareAndSet(current, current - taken)) return taken;
+      }
+    }
+
+    boolean tryGiveBack(int amount) {
+      while (true) {
+        final var current = remainingSeats.get();
+        if (current + amount > numberOfPeople) return false;
+        if (remainingSeats.compareAndSet(current, current + amount)) return true;
+      }
+    }
+
+    void giveBack(int amount) {
+      remainingSeats.addAndGet(amount);
+    }
+
+    int reservedSeats() {
+      return numberOfPeople - remainingSeats.get();
+    }
+  }
+}
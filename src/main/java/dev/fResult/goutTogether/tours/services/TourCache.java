@@ -0,0 +1,84 @@
+package dev.fResult.goutTogether.tours.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-memory cache of the tours by id, which {@link TourServiceImpl} reads through. Tours
+ * are read on every booking but rarely change, so every write of a tour must evict its entry by
+ * {@link #evict(int)}.
+ *
+ * <p>The hits, the misses and the evictions are exposed as the <code>cache.*</code> metrics with
+ * the <code>cache=tours</code> tag.
+ */
+@Component
+public class TourCache {
+  private static final Logger logger = LoggerFactory.getLogger(TourCache.class);
+
+  public static final String CACHE_NAME = "tours";
+
+  private final Cache<Integer, Tour> tourById;
+
+  public TourCache(MyApplicationProperties myProps, MeterRegistry meterRegistry) {
+    final var tourCacheProps = myProps.getTourCache();
+
+    this.tourById =
+        Caffeine.newBuilder()
+            .maximumSize(tourCacheProps.getMaximumSize())
+            .expireAfterWrite(Duration.ofSeconds(tourCacheProps.getExpiredInSeconds()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, tourById, CACHE_NAME);
+  }
+
+  /**
+   * @param loader loads the tour on a miss, an empty result is not cached
+   */
+  public Optional<Tour> getOrLoad(int id, Function<Integer, Optional<Tour>> loader) {
+    return Optional.ofNullable(tourById.get(id, tourId -> loader.apply(tourId).orElse(null)));
+  }
+
+  /**
+   * @param loader loads all missing tours in one go, the tours which it does not find are left out
+   *     of the result
+   */
+  public Map<Integer, Tour> getAllOrLoad(
+      Collection<Integer> ids, Function<Set<Integer>, Map<Integer, Tour>> loader) {
+
+    return tourById.getAll(ids, missingIds -> loader.apply(Set.copyOf(missingIds)));
+  }
+
+  /**
+   * Evict the tour now, and again after the current transaction is committed, so a reader in
+   * between cannot keep the tour from before the write in the cache.
+   */
+  public void evict(int id) {
+    tourById.invalidate(id);
+    logger.debug("[evict] {} id [{}] is evicted", Tour.class.getSimpleName(), id);
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            tourById.invalidate(id);
+          }
+        });
+  }
+}
@@ -1,25 +1,22 @@
 package dev.fResult.goutTogether.tours.services;
 
-import dev.fResult.goutTogether.common.helpers.ErrorHelper;
 import dev.fResult.goutTogether.tours.entities.TourCount;
 import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TourCountService {
   private final Logger logger = LoggerFactory.getLogger(TourCountService.class);
-  private final ErrorHelper errorHelper = new ErrorHelper(TourCountService.class);
 
   private final TourCountRepository tourCountRepository;
-  private final TourService tourService;
+  private final TourSeatInventory tourSeatInventory;
 
-  public TourCountService(TourCountRepository tourCountRepository, @Lazy TourService tourService) {
+  public TourCountService(
+      TourCountRepository tourCountRepository, TourSeatInventory tourSeatInventory) {
     this.tourCountRepository = tourCountRepository;
-    this.tourService = tourService;
+    this.tourSeatInventory = tourSeatInventory;
   }
 
   public TourCount createTourCount(TourCount tourCount) {
@@ -32,58 +29,63 @@ public class TourCountService {
   }
 
   public void incrementTourCount(int tourId) {
+    incrementTourCount(tourId, 1);
+  }
+
+  public void incrementTourCount(int tourId, int tourCountAmount) {
     logger.debug(
-        "[incrementTourCount] Incrementing {} with tourId [{}]",
+        "[incrementTourCount] Incrementing {} with tourId [{}] by {}",
         TourCount.class.getSimpleName(),
-        tourId);
+        tourId,
+        tourCountAmount);
+
+    final var reservedSeats = tourSeatInventory.reserve(tourId, tourCountAmount);
 
-    final var tour = tourService.getTourById(tourId);
-    final var tourCount =
-        tourCountRepository
-            .findOneByTourId(AggregateReference.to(tourId))
-            .orElseThrow(
-                errorHelper.entityWithSubResourceNotFound(
-                    "incrementTourCount", TourCount.class, "tourId", String.valueOf(tourId)));
+    logger.info(
+        "[incrementTourCount] {} is incremented with tourId [{}] to {}",
+        TourCount.class.getSimpleName(),
+        tourId,
+        reservedSeats);
+  }
 
-    final var tourCountAmount = 1;
-    final var isInsufficient = tour.numberOfPeople() < tourCount.amount() + tourCountAmount;
-    if (isInsufficient) {
-      throw errorHelper.insufficientTourCount("incrementTourCount", tour.numberOfPeople()).get();
-    }
+  /**
+   * @return the seats which are reserved, fewer than the amount when the tour is almost full
+   */
+  public int incrementTourCountUpTo(int tourId, int tourCountAmount) {
+    logger.debug(
+        "[incrementTourCountUpTo] Incrementing {} with tourId [{}] by up to {}",
+        TourCount.class.getSimpleName(),
+        tourId,
+        tourCountAmount);
 
-    final var incrementedTourCountToUpdate = tourCount.increaseAmount(tourCountAmount);
-    tourCountRepository.save(incrementedTourCountToUpdate);
+    final var reservedSeats = tourSeatInventory.reserveUpTo(tourId, tourCountAmount);
 
     logger.info(
-        "[incrementTourCount] {} is incremented with tourId [{}] from {} to {}",
+        "[incrementTourCountUpTo] {} with tourId [{}] is incremented by {} of {}",
         TourCount.class.getSimpleName(),
         tourId,
-        tourCount.amount(),
-        incrementedTourCountToUpdate.amount());
+        reservedSeats,
+        tourCountAmount);
+
+    return reservedSeats;
   }
 
   public void decrementTourCount(int tourId) {
+    decrementTourCount(tourId, 1);
+  }
+
+  public void decrementTourCount(int tourId, int tourCountAmount) {
     logger.debug(
-        "[decrementTourCount] Decrementing {} with tourId [{}]",
+        "[decrementTourCount] Decrementing {} with tourId [{}] by {}",
         TourCount.class.getSimpleName(),
-        tourId);
-
-    final var tourCount =
-        tourCountRepository
-            .findOneByTourId(AggregateReference.to(tourId))
-            .orElseThrow(
-                errorHelper.entityWithSubResourceNotFound(
-                    "decrementTourCount", TourCount.class, "tourId", String.valueOf(tourId)));
+        tourId,
+        tourCountAmount);
 
-    final var tourCountAmount = 1;
-    final var decrementTourCountToUpdate = tourCount.decreaseAmount(tourCountAmount);
-    tourCountRepository.save(decrementTourCountToUpdate);
+    tourSeatInventory.release(tourId, tourCountAmount);
 
     logger.info(
-        "[decrementTourCount] {} is decremented tourId [{}] from {} to {}",
+        "[decrementTourCount] {} is decremented with tourId [{}]",
         TourCount.class.getSimpleName(),
-        tourId,
-        tourCount.amount(),
-        decrementTourCountToUpdate.amount());
+        tourId);
   }
 }
@@ -0,0 +1,34 @@
+package dev.fResult.goutTogether.tours.services;
+
+/**
+ * Keeps track of the reserved seats of each tour. The implementation is selected by the <code>
+ * goutapp.inventory.mode</code> property.
+ */
+public interface TourSeatInventory {
+  /**
+   * @return the reserved seats of the tour after the reservation
+   * @throws dev.fResult.goutTogether.common.exceptions.InsufficientTourCountException when the tour
+   *     has not enough seats left
+   * @throws dev.fResult.goutTogether.common.exceptions.EntityNotFoundException when the tour or its
+   *     tour count is not found
+   */
+  int reserve(int tourId, int amount);
+
+  /**
+   * Reserves as many of the seats as the tour has left, so a batch can seat a part of its bookings
+   * instead of none of them.
+   *
+   * @return the seats which are reserved, from 0 up to the amount
+   * @throws dev.fResult.goutTogether.common.exceptions.EntityNotFoundException when the tour count
+   *     is not found
+   */
+  int reserveUpTo(int tourId, int amount);
+
+  /**
+   * Gives the seats back to the tour, do nothing when the tour has no reserved seats to release.
+   *
+   * @throws dev.fResult.goutTogether.common.exceptions.EntityNotFoundException when the tour count
+   *     is not found
+   */
+  void release(int tourId, int amount);
+}
@@ -1,14 +1,32 @@
 package dev.fResult.goutTogether.tours.services;
 
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.models.CursorPage;
 import dev.fResult.goutTogether.tours.dtos.TourRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchResult;
 import dev.fResult.goutTogether.tours.entities.Tour;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface TourService {
   Page<Tour> getTours(Pageable pageable);
 
+  CursorPage<Tour> getToursByCursor(
+      TourSortField sortField,
+      Sort.Direction direction,
+      String cursor,
+      int size,
+      boolean skipTotal);
+
+  List<TourSearchResult> searchTours(TourSearchRequest request);
+
   Tour getTourById(Integer id);
 
+  List<Tour> getToursByIds(Collection<Integer> ids);
+
   Tour createTour(TourRequest body);
 }
@@ -1,17 +1,33 @@
 package dev.fResult.goutTogether.tours.services;
 
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
 import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
 import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.common.helpers.KeysetQueryHelper;
+import dev.fResult.goutTogether.common.models.CursorPage;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
 import dev.fResult.goutTogether.tourCompanies.services.TourCompanyService;
 import dev.fResult.goutTogether.tours.dtos.TourRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchResult;
 import dev.fResult.goutTogether.tours.entities.Tour;
 import dev.fResult.goutTogether.tours.entities.TourCount;
 import dev.fResult.goutTogether.tours.repositories.TourRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,15 +40,18 @@ public class TourServiceImpl implements TourService {
   private final TourRepository tourRepository;
   private final TourCompanyService tourCompanyService;
   private final TourCountService tourCountService;
+  private final TourCache tourCache;
 
   public TourServiceImpl(
       TourRepository tourRepository,
       TourCompanyService tourCompanyService,
-      @Lazy TourCountService tourCountService) {
+      @Lazy TourCountService tourCountService,
+      TourCache tourCache) {
 
     this.tourRepository = tourRepository;
     this.tourCompanyService = tourCompanyService;
     this.tourCountService = tourCountService;
+    this.tourCache = tourCache;
   }
 
   @Override
@@ -42,15 +61,73 @@ public class TourServiceImpl implements TourService {
     return tourRepository.findAll(pageable);
   }
 
+  @Override
+  public CursorPage<Tour> getToursByCursor(
+      TourSortField sortField,
+      Sort.Direction direction,
+      String cursor,
+      int size,
+      boolean skipTotal) {
+    logger.debug(
+        "[getToursByCursor] Getting {} sorted by [{} {}]",
+        Tour.class.getSimpleName(),
+        sortField.property(),
+        direction);
+    KeysetQueryHelper.validatePageSize(size);
+
+    final var afterCursor =
+        Optional.ofNullable(cursor)
+            .map(KeysetCursor::decode)
+            .map(decodedCursor -> decodedCursor.requireSameOrder(sortField, direction))
+            .orElse(null);
+    final var tours = tourRepository.findAllByKeyset(sortField, direction, afterCursor, size + 1);
+    final var totalElements = skipTotal ? null : tourRepository.count();
+
+    return CursorPage.fromRows(
+        tours, size, tour -> toKeysetCursor(tour, sortField, direction), totalElements);
+  }
+
+  @Override
+  public List<TourSearchResult> searchTours(TourSearchRequest request) {
+    logger.debug(
+        "[searchTours] Searching {} by keyword [{}]",
+        Tour.class.getSimpleName(),
+        request.keyword());
+    throwExceptionIfSearchRequestInvalid(request);
+
+    return tourRepository.searchTours(
+        request.keyword().strip(),
+        Optional.ofNullable(request.status()).map(TourStatus::name).orElse(null),
+        request.activityDateFrom(),
+        request.activityDateTo(),
+        request.size(),
+        (long) request.page() * request.size());
+  }
+
   @Override
   public Tour getTourById(Integer id) {
     logger.debug("[getTourById] Getting {} id [{}]", Tour.class.getSimpleName(), id);
 
-    return tourRepository
-        .findById(id)
+    return tourCache
+        .getOrLoad(id, tourRepository::findById)
         .orElseThrow(errorHelper.entityNotFound("getTourById", Tour.class, id));
   }
 
+  @Override
+  public List<Tour> getToursByIds(Collection<Integer> ids) {
+    logger.debug("[getToursByIds] Getting {} ids {}", Tour.class.getSimpleName(), ids);
+
+    final var uniqueIds = new HashSet<>(ids);
+    final var tourById = tourCache.getAllOrLoad(uniqueIds, this::findTourByIdMap);
+    if (tourById.size() < uniqueIds.size()) {
+      final var notFoundIds = uniqueIds.stream().filter(id -> !tourById.containsKey(id)).toList();
+
+      throw errorHelper.someEntitiesMissing("getToursByIds", Tour.class, notFoundIds).get();
+    }
+
+    return List.copyOf(tourById.values());
+  }
+
   @Override
   @Transactional
   public Tour createTour(TourRequest body) {
@@ -67,10 +144,49 @@ public class TourServiceImpl implements TourService {
             TourStatus.PENDING.name());
 
     final var createdTour = tourRepository.save(tourToCreate);
+    tourCache.evict(createdTour.id());
     logger.debug("[createTour] New {} is created: {}", Tour.class.getSimpleName(), createdTour);
     tourCountService.createTourCount(
         TourCount.of(null, AggregateReference.to(createdTour.id()), 0));
 
     return createdTour;
   }
+
+  private Map<Integer, Tour> findTourByIdMap(Set<Integer> ids) {
+    return tourRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(Tour::id, Function.identity()));
+  }
+
+  private void throwExceptionIfSearchRequestInvalid(TourSearchRequest request) {
+    if (request.keyword() == null || request.keyword().isBlank()) {
+      throw new ValidationException("Search keyword must not be blank");
+    }
+    if (request.page() < 0) {
+      throw new ValidationException(
+          String.format("Page [%d] must not be negative", request.page()));
+    }
+    KeysetQueryHelper.validatePageSize(request.size());
+
+    final var activityDateFrom = request.activityDateFrom();
+    final var activityDateTo = request.activityDateTo();
+    if (activityDateFrom != null
+        && activityDateTo != null
+        && activityDateFrom.isAfter(activityDateTo)) {
+      throw new ValidationException(
+          String.format(
+              "Activity date from [%s] must not be after activity date to [%s]",
+              activityDateFrom, activityDateTo));
+    }
+  }
+
+  private KeysetCursor toKeysetCursor(
+      Tour tour, TourSortField sortField, Sort.Direction direction) {
+    final var lastValue =
+        switch (sortField) {
+          case ID -> null;
+          case ACTIVITY_DATE -> tour.activityDate().toString();
+        };
+
+    return KeysetCursor.of(sortField, direction, tour.id(), lastValue);
+  }
 }
@@ -20,6 +20,20 @@ public class TransactionHelper {
         idempotentKey);
   }
 
+  public static Transaction buildWithdrawTransaction(
+      String idempotentKey, Integer tourCompanyId, BigDecimal amount) {
+
+    return Transaction.of(
+        null,
+        null,
+        AggregateReference.to(tourCompanyId),
+        null,
+        Instant.now(),
+        amount,
+        TransactionType.WITHDRAW,
+        idempotentKey);
+  }
+
   public static Transaction buildBookingTransaction(
       String idempotentKey,
       Integer userId,
@@ -1,5 +1,6 @@
 package dev.fResult.goutTogether.transactions;
 
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -25,4 +26,19 @@ public class TransactionService {
 
     return createdTransaction;
   }
+
+  public List<Transaction> createTransactions(List<Transaction> transactions) {
+    logger.debug(
+        "[createTransactions] Creating {} {}",
+        transactions.size(),
+        Transaction.class.getSimpleName());
+
+    final var createdTransactions = transactionRepository.saveAll(transactions);
+    logger.info(
+        "[createTransactions] New {} {} are created",
+        createdTransactions.size(),
+        Transaction.class.getSimpleName());
+
+    return createdTransactions;
+  }
 }
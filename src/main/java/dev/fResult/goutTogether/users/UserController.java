@@ -2,6 +2,8 @@ package dev.fResult.goutTogether.users;
 
 import dev.fResult.goutTogether.auths.dtos.UserChangePasswordRequest;
 import dev.fResult.goutTogether.common.enumurations.UpdatePasswordResult;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.common.models.CursorPage;
 import dev.fResult.goutTogether.users.dtos.UserInfoResponse;
 import dev.fResult.goutTogether.users.dtos.UserRegistrationRequest;
 import dev.fResult.goutTogether.users.dtos.UserUpdateRequest;
@@ -36,12 +38,30 @@ public class UserController {
       @RequestParam(defaultValue = "id") String field,
       @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
 
-    final var sort = Sort.by(direction, field);
+    final var sort = Sort.by(direction, UserSortField.fromProperty(field).property());
     final var pageable = PageRequest.of(page, size, sort);
 
     return ResponseEntity.ok(userService.getUsersByFirstName(keyword, pageable));
   }
 
+  @GetMapping("/scroll")
+  public ResponseEntity<CursorPage<UserInfoResponse>> scrollUsers(
+      @RequestParam(required = false, defaultValue = "") String keyword,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "id") String field,
+      @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+      @RequestParam(defaultValue = "false") boolean skipTotal) {
+    logger.debug("[scrollUsers] Scrolling {}s by cursor", User.class.getSimpleName());
+
+    final var sortField = UserSortField.fromProperty(field);
+    final var users =
+        userService.getUsersByFirstNameAndCursor(
+            keyword, sortField, direction, cursor, size, skipTotal);
+
+    return ResponseEntity.ok(users);
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<UserInfoResponse> getUserById(@PathVariable int id) {
     return ResponseEntity.ok(userService.getUserById(id));
@@ -1,9 +1,8 @@
 package dev.fResult.goutTogether.users;
 
-import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
-
 import dev.fResult.goutTogether.auths.dtos.UserChangePasswordRequest;
 import dev.fResult.goutTogether.common.enumurations.UpdatePasswordResult;
+import dev.fResult.goutTogether.common.security.AuthenticatedPrincipal;
 import dev.fResult.goutTogether.users.dtos.UserInfoResponse;
 import dev.fResult.goutTogether.users.dtos.UserUpdateRequest;
 import dev.fResult.goutTogether.users.entities.User;
@@ -11,8 +10,6 @@ import dev.fResult.goutTogether.users.services.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,17 +25,17 @@ public class UserSelfManagedController {
   }
 
   @GetMapping
-  public ResponseEntity<UserInfoResponse> getMyUser(Authentication authentication) {
-    final var userId = getMyId(authentication);
+  public ResponseEntity<UserInfoResponse> getMyUser(AuthenticatedPrincipal principal) {
+    final var userId = principal.resourceId();
 
-    return ResponseEntity.ok(userService.getUserById(Math.toIntExact(userId)));
+    return ResponseEntity.ok(userService.getUserById(userId));
   }
 
   @PatchMapping
   public ResponseEntity<UserInfoResponse> updateMyUser(
-      @Validated @RequestBody UserUpdateRequest body, Authentication authentication) {
+      @Validated @RequestBody UserUpdateRequest body, AuthenticatedPrincipal principal) {
 
-    final var userId = getMyId(authentication);
+    final var userId = principal.resourceId();
 
     logger.debug("[updateUserById] Updating {} by id [{}]", User.class.getSimpleName(), userId);
 
@@ -47,10 +44,9 @@ public class UserSelfManagedController {
 
   @PatchMapping("/password")
   public ResponseEntity<UpdatePasswordResult> changePassword(
-      @Validated @RequestBody UserChangePasswordRequest body, Authentication authentication) {
+      @Validated @RequestBody UserChangePasswordRequest body, AuthenticatedPrincipal principal) {
 
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var email = jwt.getClaimAsString("sub");
+    final var email = principal.email();
 
     logger.debug(
         "[changePassword] Changing {} password by email [{}]", User.class.getSimpleName(), email);
@@ -59,8 +55,8 @@ public class UserSelfManagedController {
   }
 
   @DeleteMapping
-  public ResponseEntity<String> deleteMyUser(Authentication authentication) {
-    final var userId = getMyId(authentication);
+  public ResponseEntity<String> deleteMyUser(AuthenticatedPrincipal principal) {
+    final var userId = principal.resourceId();
 
     logger.debug("[deleteMyUser] Deleting {} by id [{}]", User.class.getSimpleName(), userId);
     userService.deleteUserById(userId);
@@ -68,10 +64,4 @@ public class UserSelfManagedController {
     return ResponseEntity.ok(
         String.format("Delete %s by id [%d] successfully", User.class.getSimpleName(), userId));
   }
-
-  private int getMyId(Authentication authentication) {
-    final var jwt = (Jwt) authentication.getPrincipal();
-
-    return Integer.parseInt(jwt.getClaimAsString(RESOURCE_ID_CLAIM));
-  }
 }
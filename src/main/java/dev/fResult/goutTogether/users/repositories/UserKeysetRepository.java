@@ -0,0 +1,21 @@
+package dev.fResult.goutTogether.users.repositories;
+
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
+import dev.fResult.goutTogether.users.entities.User;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+public interface UserKeysetRepository {
+  /**
+   * @param firstNameKeyword part of the first name to filter, an empty keyword matches every user
+   * @param afterCursor position of the last user of the previous page, or <code>null</code> for the
+   *     first page
+   */
+  List<User> findAllByKeyset(
+      String firstNameKeyword,
+      UserSortField sortField,
+      Sort.Direction direction,
+      KeysetCursor afterCursor,
+      int limit);
+}
@@ -0,0 +1,69 @@
+package dev.fResult.goutTogether.users.repositories;
+
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.common.helpers.KeysetQueryHelper;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
+import dev.fResult.goutTogether.users.entities.User;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class UserKeysetRepositoryImpl implements UserKeysetRepository {
+  private static final String TABLE = "users";
+  private static final String FIRST_NAME_CONDITION = "first_name LIKE :firstNamePattern";
+
+  private static final RowMapper<User> USER_ROW_MAPPER =
+      (rs, rowNum) ->
+          User.of(
+              rs.getInt("id"),
+              rs.getString("first_name"),
+              rs.getString("last_name"),
+              rs.getString("phone_number"));
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public UserKeysetRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public static String buildFindAllByKeysetSql(
+      boolean withFirstNameKeyword,
+      UserSortField sortField,
+      Sort.Direction direction,
+      boolean afterCursor) {
+
+    final var conditions = withFirstNameKeyword ? List.of(FIRST_NAME_CONDITION) : List.<String>of();
+
+    return KeysetQueryHelper.buildSelectSql(TABLE, conditions, sortField, direction, afterCursor);
+  }
+
+  @Override
+  public List<User> findAllByKeyset(
+      String firstNameKeyword,
+      UserSortField sortField,
+      Sort.Direction direction,
+      KeysetCursor afterCursor,
+      int limit) {
+
+    final var withFirstNameKeyword = firstNameKeyword != null && !firstNameKeyword.isEmpty();
+    final var params = new MapSqlParameterSource("limit", limit);
+    if (withFirstNameKeyword) {
+      params.addValue("firstNamePattern", "%" + escapeLikePattern(firstNameKeyword) + "%");
+    }
+    if (afterCursor != null) {
+      params.addValue("lastId", afterCursor.lastId());
+      params.addValue("lastValue", afterCursor.lastValue());
+    }
+
+    return jdbcTemplate.query(
+        buildFindAllByKeysetSql(withFirstNameKeyword, sortField, direction, afterCursor != null),
+        params,
+        USER_ROW_MAPPER);
+  }
+
+  private static String escapeLikePattern(String keyword) {
+    return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -7,6 +7,8 @@ import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface UserRepository extends ListCrudRepository<User, Integer> {
+public interface UserRepository extends ListCrudRepository<User, Integer>, UserKeysetRepository {
   Page<User> findByFirstNameContaining(String firstName, Pageable pageable);
+
+  long countByFirstNameContaining(String firstName);
 }
@@ -1,5 +1,6 @@
 package dev.fResult.goutTogether.users.services;
 
+import dev.fResult.goutTogether.auths.services.PrincipalCache;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import dev.fResult.goutTogether.users.entities.Role;
 import dev.fResult.goutTogether.users.entities.UserRole;
@@ -17,10 +18,16 @@ public class RoleService {
 
   private final RoleRepository roleRepository;
   private final UserRoleRepository userRoleRepository;
+  private final PrincipalCache principalCache;
+
+  public RoleService(
+      RoleRepository roleRepository,
+      UserRoleRepository userRoleRepository,
+      PrincipalCache principalCache) {
 
-  public RoleService(RoleRepository roleRepository, UserRoleRepository userRoleRepository) {
     this.roleRepository = roleRepository;
     this.userRoleRepository = userRoleRepository;
+    this.principalCache = principalCache;
   }
 
   public List<Role> getRoles() {
@@ -36,6 +43,7 @@ public class RoleService {
         UserRole.of(null, AggregateReference.to(userId), AggregateReference.to(roleName.getId()));
 
     final var boundUserRole = userRoleRepository.save(userRoleToBind);
+    principalCache.evictUser(userId);
     logger.info(
         "[bindNewUser] New {} is registered: {}", UserRole.class.getSimpleName(), boundUserRole);
 
@@ -55,6 +63,7 @@ public class RoleService {
     }
 
     userRoleRepository.delete(userRoleToDelete.get());
+    principalCache.evictUser(userId);
 
     logger.info(
         "[deleteRoleByUserId] {} userId [{}] is deleted", Role.class.getSimpleName(), userId);
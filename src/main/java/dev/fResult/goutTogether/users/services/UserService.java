@@ -2,15 +2,26 @@ package dev.fResult.goutTogether.users.services;
 
 import dev.fResult.goutTogether.auths.dtos.UserChangePasswordRequest;
 import dev.fResult.goutTogether.common.enumurations.UpdatePasswordResult;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.common.models.CursorPage;
 import dev.fResult.goutTogether.users.dtos.UserInfoResponse;
 import dev.fResult.goutTogether.users.dtos.UserRegistrationRequest;
 import dev.fResult.goutTogether.users.dtos.UserUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 public interface UserService {
   Page<UserInfoResponse> getUsersByFirstName(String keyword, Pageable pageable);
 
+  CursorPage<UserInfoResponse> getUsersByFirstNameAndCursor(
+      String keyword,
+      UserSortField sortField,
+      Sort.Direction direction,
+      String cursor,
+      int size,
+      boolean skipTotal);
+
   UserInfoResponse getUserById(int id);
 
   UserInfoResponse registerUser(UserRegistrationRequest user);
@@ -5,15 +5,21 @@ import dev.fResult.goutTogether.auths.entities.UserLogin;
 import dev.fResult.goutTogether.auths.services.AuthService;
 import dev.fResult.goutTogether.common.enumurations.UpdatePasswordResult;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
 import dev.fResult.goutTogether.common.exceptions.CredentialExistsException;
 import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.common.helpers.KeysetQueryHelper;
+import dev.fResult.goutTogether.common.models.CursorPage;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
 import dev.fResult.goutTogether.users.dtos.UserInfoResponse;
 import dev.fResult.goutTogether.users.dtos.UserRegistrationRequest;
 import dev.fResult.goutTogether.users.dtos.UserUpdateRequest;
 import dev.fResult.goutTogether.users.entities.User;
 import dev.fResult.goutTogether.users.repositories.UserRepository;
 import dev.fResult.goutTogether.wallets.services.WalletService;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -22,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,13 +56,45 @@ public class UserServiceImpl implements UserService {
   public Page<UserInfoResponse> getUsersByFirstName(String keyword, Pageable pageable) {
     logger.debug("[getUsers] Getting all {}s", User.class.getSimpleName());
     final var userPage = userRepository.findByFirstNameContaining(keyword, pageable);
-    final var userIdToCredentialMap = buildUserIdToCredentialMap(userPage);
+    final var userIdToCredentialMap = buildUserIdToCredentialMap(userPage.getContent());
     final var toResponse = UserInfoResponse.fromUserDaoWithUserCredentialMap(userIdToCredentialMap);
     final var userInfos = userPage.stream().map(toResponse).toList();
 
     return new PageImpl<>(userInfos, pageable, userPage.getTotalElements());
   }
 
+  @Override
+  public CursorPage<UserInfoResponse> getUsersByFirstNameAndCursor(
+      String keyword,
+      UserSortField sortField,
+      Sort.Direction direction,
+      String cursor,
+      int size,
+      boolean skipTotal) {
+    logger.debug(
+        "[getUsersByFirstNameAndCursor] Getting {}s sorted by [{} {}]",
+        User.class.getSimpleName(),
+        sortField.property(),
+        direction);
+    KeysetQueryHelper.validatePageSize(size);
+
+    final var afterCursor =
+        Optional.ofNullable(cursor)
+            .map(KeysetCursor::decode)
+            .map(decodedCursor -> decodedCursor.requireSameOrder(sortField, direction))
+            .orElse(null);
+    final var users =
+        userRepository.findAllByKeyset(keyword, sortField, direction, afterCursor, size + 1);
+    final var totalElements = skipTotal ? null : userRepository.countByFirstNameContaining(keyword);
+    final var userPage =
+        CursorPage.fromRows(
+            users, size, user -> toKeysetCursor(user, sortField, direction), totalElements);
+
+    final var userIdToCredentialMap = buildUserIdToCredentialMap(userPage.content());
+
+    return userPage.map(UserInfoResponse.fromUserDaoWithUserCredentialMap(userIdToCredentialMap));
+  }
+
   @Override
   public UserInfoResponse getUserById(int id) {
     return userRepository
@@ -143,17 +182,28 @@ public class UserServiceImpl implements UserService {
     return true;
   }
 
-  private Set<Integer> buildUniqueUserIds(Page<User> userPage) {
-    return userPage.stream().map(User::id).collect(Collectors.toSet());
+  private Set<Integer> buildUniqueUserIds(Collection<User> users) {
+    return users.stream().map(User::id).collect(Collectors.toSet());
   }
 
-  private Map<Integer, UserLogin> buildUserIdToCredentialMap(Page<User> userPage) {
-    final var userIds = buildUniqueUserIds(userPage);
+  private Map<Integer, UserLogin> buildUserIdToCredentialMap(Collection<User> users) {
+    final var userIds = buildUniqueUserIds(users);
 
     return authService.getUserCredentialsByUserIds(userIds).stream()
         .collect(Collectors.toMap(cred -> cred.userId().getId(), Function.identity()));
   }
 
+  private KeysetCursor toKeysetCursor(
+      User user, UserSortField sortField, Sort.Direction direction) {
+    final var lastValue =
+        switch (sortField) {
+          case ID -> null;
+          case FIRST_NAME -> user.firstName();
+        };
+
+    return KeysetCursor.of(sortField, direction, user.id(), lastValue);
+  }
+
   private UserInfoResponse toResponseWithUserCredential(User user) {
     final var userCredential = authService.getUserCredentialByUserId(user.id());
 
@@ -1,8 +1,7 @@
 package dev.fResult.goutTogether.wallets;
 
-import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
-
 import dev.fResult.goutTogether.common.constraints.UUID;
+import dev.fResult.goutTogether.common.security.AuthenticatedPrincipal;
 import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletInfoResponse;
 import dev.fResult.goutTogether.wallets.dtos.UserWalletInfoResponse;
 import dev.fResult.goutTogether.wallets.dtos.WalletTopUpRequest;
@@ -12,8 +11,6 @@ import dev.fResult.goutTogether.wallets.services.WalletService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,11 +28,10 @@ public class WalletController {
 
   // User -> See own wallet
   @GetMapping("/me")
-  public ResponseEntity<UserWalletInfoResponse> getMyUserWallet(Authentication authentication) {
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var userId = jwt.getClaimAsString(RESOURCE_ID_CLAIM);
+  public ResponseEntity<UserWalletInfoResponse> getMyUserWallet(AuthenticatedPrincipal principal) {
+    final var userId = principal.resourceId();
 
-    return ResponseEntity.ok(walletService.getConsumerWalletInfoByUserId(Integer.parseInt(userId)));
+    return ResponseEntity.ok(walletService.getConsumerWalletInfoByUserId(userId));
   }
 
   // User -> Top-up (Assume doing via application, bank deduct in the background)
@@ -44,17 +40,16 @@ public class WalletController {
       @Validated @RequestBody WalletTopUpRequest body,
       @RequestHeader("idempotent-key") @UUID(message = "wrong format for headers `idempotent-key`")
           String idempotentKey,
-      Authentication authentication) {
+      AuthenticatedPrincipal principal) {
 
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var userId = jwt.getClaimAsString(RESOURCE_ID_CLAIM);
+    final var userId = principal.resourceId();
     logger.debug(
         "[topUpUserWallet] Topping up {} by user id [{}]",
         UserWallet.class.getSimpleName(),
         userId);
 
     final var toppedUpWallet =
-        walletService.topUpConsumerWallet(Integer.parseInt(userId), idempotentKey, body);
+        walletService.topUpConsumerWallet(userId, idempotentKey, body);
 
     return ResponseEntity.ok(toppedUpWallet);
   }
@@ -62,12 +57,10 @@ public class WalletController {
   // Company → See own wallet
   @GetMapping("/my-company")
   public ResponseEntity<TourCompanyWalletInfoResponse> getMyCompanyWallet(
-      Authentication authentication) {
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var companyId = jwt.getClaimAsString(RESOURCE_ID_CLAIM);
+      AuthenticatedPrincipal principal) {
+    final var companyId = principal.resourceId();
 
-    final var companyWalletInfo =
-        walletService.getTourCompanyWalletInfoByTourCompanyId(Integer.parseInt(companyId));
+    final var companyWalletInfo = walletService.getTourCompanyWalletInfoByTourCompanyId(companyId);
 
     return ResponseEntity.ok(companyWalletInfo);
   }
@@ -78,10 +71,9 @@ public class WalletController {
       @Validated @RequestBody WalletWithdrawRequest body,
       @RequestHeader("idempotent-key") @UUID(message = "wrong format for headers `idempotent-key`")
           String idempotentKey,
-      Authentication authentication) {
+      AuthenticatedPrincipal principal) {
 
-    final var jwt = (Jwt) authentication.getPrincipal();
-    final var companyId = jwt.getClaimAsString(RESOURCE_ID_CLAIM);
+    final var companyId = principal.resourceId();
 
     logger.info("Assume pay to bank");
     logger.debug(
@@ -90,7 +82,7 @@ public class WalletController {
         companyId);
 
     final var withdrewCompanyInfo =
-        walletService.withdrawTourCompanyWallet(Integer.parseInt(companyId), idempotentKey, body);
+        walletService.withdrawTourCompanyWallet(companyId, idempotentKey, body);
 
     return ResponseEntity.ok(withdrewCompanyInfo);
   }
@@ -0,0 +1,17 @@
+package dev.fResult.goutTogether.wallets.dtos;
+
+import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
+import dev.fResult.goutTogether.wallets.entities.UserWallet;
+import java.util.Map;
+
+public record BookingWallets(
+    Map<Integer, UserWallet> userWalletByUserId,
+    Map<Integer, TourCompanyWallet> tourCompanyWalletByTourId) {
+
+  public static BookingWallets of(
+      Map<Integer, UserWallet> userWalletByUserId,
+      Map<Integer, TourCompanyWallet> tourCompanyWalletByTourId) {
+
+    return new BookingWallets(userWalletByUserId, tourCompanyWalletByTourId);
+  }
+}
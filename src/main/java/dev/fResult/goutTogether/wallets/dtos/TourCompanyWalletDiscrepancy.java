@@ -0,0 +1,25 @@
+package dev.fResult.goutTogether.wallets.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * @param walletBalance balance of the main wallet row plus its shards
+ * @param pendingCreditBalance sum of the outbox credits which are not settled yet
+ * @param ledgerBalance balance computed from the <code>transactions</code> of the tour company
+ */
+public record TourCompanyWalletDiscrepancy(
+    Integer tourCompanyId,
+    BigDecimal walletBalance,
+    BigDecimal pendingCreditBalance,
+    BigDecimal ledgerBalance) {
+
+  public static TourCompanyWalletDiscrepancy of(
+      Integer tourCompanyId,
+      BigDecimal walletBalance,
+      BigDecimal pendingCreditBalance,
+      BigDecimal ledgerBalance) {
+
+    return new TourCompanyWalletDiscrepancy(
+        tourCompanyId, walletBalance, pendingCreditBalance, ledgerBalance);
+  }
+}
@@ -0,0 +1,36 @@
+package dev.fResult.goutTogether.wallets.dtos;
+
+import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
+import java.math.BigDecimal;
+import java.time.Instant;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+
+/**
+ * A tour company wallet row joined by one of the tours of its company.
+ *
+ * @param tourId the tour which the wallet is joined by, a wallet comes once per tour
+ */
+public record TourCompanyWalletOfTour(
+    Integer tourId,
+    Integer id,
+    Integer tourCompanyId,
+    Instant lastUpdated,
+    BigDecimal balance,
+    Integer version) {
+
+  public static TourCompanyWalletOfTour of(
+      Integer tourId,
+      Integer id,
+      Integer tourCompanyId,
+      Instant lastUpdated,
+      BigDecimal balance,
+      Integer version) {
+
+    return new TourCompanyWalletOfTour(tourId, id, tourCompanyId, lastUpdated, balance, version);
+  }
+
+  public TourCompanyWallet toTourCompanyWallet() {
+    return TourCompanyWallet.of(
+        id, AggregateReference.to(tourCompanyId), lastUpdated, balance, version);
+  }
+}
@@ -0,0 +1,13 @@
+package dev.fResult.goutTogether.wallets.dtos;
+
+import java.math.BigDecimal;
+
+public record WalletTransferResult(
+    Integer transactionId, BigDecimal userWalletBalance, BigDecimal tourCompanyWalletBalance) {
+
+  public static WalletTransferResult of(
+      Integer transactionId, BigDecimal userWalletBalance, BigDecimal tourCompanyWalletBalance) {
+
+    return new WalletTransferResult(transactionId, userWalletBalance, tourCompanyWalletBalance);
+  }
+}
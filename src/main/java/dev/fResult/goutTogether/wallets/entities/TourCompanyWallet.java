@@ -4,6 +4,7 @@ import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import java.math.BigDecimal;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -12,12 +13,23 @@ public record TourCompanyWallet(
     @Id Integer id,
     AggregateReference<TourCompany, Integer> tourCompanyId,
     Instant lastUpdated,
-    BigDecimal balance) {
+    BigDecimal balance,
+    @Version Integer version) {
+  /** A wallet which is not versioned yet, the version is set when it is inserted. */
   public static TourCompanyWallet of(
       Integer id,
       AggregateReference<TourCompany, Integer> tourCompanyId,
       Instant lastUpdated,
       BigDecimal balance) {
-    return new TourCompanyWallet(id, tourCompanyId, lastUpdated, balance);
+    return new TourCompanyWallet(id, tourCompanyId, lastUpdated, balance, null);
+  }
+
+  public static TourCompanyWallet of(
+      Integer id,
+      AggregateReference<TourCompany, Integer> tourCompanyId,
+      Instant lastUpdated,
+      BigDecimal balance,
+      Integer version) {
+    return new TourCompanyWallet(id, tourCompanyId, lastUpdated, balance, version);
   }
 }
@@ -4,6 +4,7 @@ import dev.fResult.goutTogether.users.entities.User;
 import java.math.BigDecimal;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -12,12 +13,23 @@ public record UserWallet(
     @Id Integer id,
     AggregateReference<User, Integer> userId,
     Instant lastUpdated,
-    BigDecimal balance) {
+    BigDecimal balance,
+    @Version Integer version) {
+  /** A wallet which is not versioned yet, the version is set when it is inserted. */
   public static UserWallet of(
       Integer id,
       AggregateReference<User, Integer> userId,
       Instant lastUpdated,
       BigDecimal balance) {
-    return new UserWallet(id, userId, lastUpdated, balance);
+    return new UserWallet(id, userId, lastUpdated, balance, null);
+  }
+
+  public static UserWallet of(
+      Integer id,
+      AggregateReference<User, Integer> userId,
+      Instant lastUpdated,
+      BigDecimal balance,
+      Integer version) {
+    return new UserWallet(id, userId, lastUpdated, balance, version);
   }
 }
@@ -1,17 +1,182 @@
 package dev.fResult.goutTogether.wallets.repositories;
 
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
+import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletDiscrepancy;
+import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletOfTour;
 import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.relational.core.sql.LockMode;
 import org.springframework.data.relational.repository.Lock;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TourCompanyWalletRepository extends CrudRepository<TourCompanyWallet, Integer> {
+public interface TourCompanyWalletRepository
+    extends ListCrudRepository<TourCompanyWallet, Integer> {
   @Lock(LockMode.PESSIMISTIC_WRITE)
   Optional<TourCompanyWallet> findOneByTourCompanyId(
       AggregateReference<TourCompany, Integer> tourCompanyId);
+
+  /**
+   * Lock the wallets of the tour companies which own the tours, without loading the tours first.
+   * They are locked in the order of id, so the concurrent batches cannot deadlock each other.
+   */
+  @Query(
+      """
+      SELECT t.id AS tour_id, tcw.* FROM tour_company_wallets tcw
+      JOIN tours t ON t.tour_company_id = tcw.tour_company_id
+      WHERE t.id IN (:tourIds)
+      ORDER BY tcw.id
+      FOR UPDATE OF tcw;
+      """)
+  List<TourCompanyWalletOfTour> findAllByTourIdsForUpdate(Collection<Integer> tourIds);
+
+  /** Same as {@link #findAllByTourIdsForUpdate}, for the wallets which are not credited in place */
+  @Query(
+      """
+      SELECT t.id AS tour_id, tcw.* FROM tour_company_wallets tcw
+      JOIN tours t ON t.tour_company_id = tcw.tour_company_id
+      WHERE t.id IN (:tourIds);
+      """)
+  List<TourCompanyWalletOfTour> findAllByTourIds(Collection<Integer> tourIds);
+
+  @Modifying
+  @Query(
+      """
+      INSERT INTO tour_company_wallet_shards AS s (
+        tour_company_id, shard_no, balance, last_updated
+      )
+      VALUES (:tourCompanyId, :shardNo, :amount, NOW())
+      ON CONFLICT (tour_company_id, shard_no)
+      DO UPDATE SET balance = s.balance + EXCLUDED.balance, last_updated = NOW();
+      """)
+  void creditShard(int tourCompanyId, int shardNo, BigDecimal amount);
+
+  /** Queue a credit of a booking, it is added to the tour company wallet by the settlement. */
+  @Modifying
+  @Query(
+      """
+      INSERT INTO tour_company_wallet_credits (
+        tour_company_id, booking_id, transaction_id, amount
+      )
+      VALUES (:tourCompanyId, :bookingId, :transactionId, :amount);
+      """)
+  void queueCredit(int tourCompanyId, int bookingId, int transactionId, BigDecimal amount);
+
+  @Query(
+      """
+      SELECT SUM(balance) FROM tour_company_wallet_shards
+      WHERE tour_company_id = :tourCompanyId;
+      """)
+  Optional<BigDecimal> findShardBalanceSumByTourCompanyId(int tourCompanyId);
+
+  /**
+   * Move the balance of every shard of the tour company back to zero.
+   *
+   * @return the total amount which is swept out of the shards, or empty when there is nothing to
+   *     sweep
+   */
+  @Query(
+      """
+      WITH swept AS (
+        UPDATE tour_company_wallet_shards s
+        SET balance = 0, last_updated = NOW()
+        FROM (
+          SELECT id, balance FROM tour_company_wallet_shards
+          WHERE tour_company_id = :tourCompanyId AND balance <> 0
+          FOR UPDATE
+        ) locked
+        WHERE s.id = locked.id
+        RETURNING locked.balance
+      )
+      SELECT SUM(balance) FROM swept;
+      """)
+  Optional<BigDecimal> sweepShardBalancesByTourCompanyId(int tourCompanyId);
+
+  /**
+   * Take the oldest pending outbox credits, then add them up and apply them with one update per
+   * tour company. The credits which are being settled by another run are skipped.
+   *
+   * @return number of outbox credits which are settled
+   */
+  @Query(
+      """
+      WITH batch AS (
+        SELECT id FROM tour_company_wallet_credits
+        WHERE settled_at IS NULL
+        ORDER BY id
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+      ), settled AS (
+        UPDATE tour_company_wallet_credits c
+        SET settled_at = NOW()
+        FROM batch b
+        WHERE c.id = b.id
+        RETURNING c.tour_company_id, c.amount
+      ), totals AS (
+        SELECT tour_company_id, SUM(amount) AS amount
+        FROM settled
+        GROUP BY tour_company_id
+      ), locked AS (
+        SELECT id, tour_company_id FROM tour_company_wallets
+        WHERE tour_company_id = ANY (ARRAY(SELECT tour_company_id FROM totals))
+        ORDER BY id
+        FOR UPDATE
+      ), credited AS (
+        UPDATE tour_company_wallets tcw
+        SET balance = tcw.balance + t.amount, last_updated = NOW(), version = tcw.version + 1
+        FROM totals t
+        JOIN locked l ON l.tour_company_id = t.tour_company_id
+        WHERE tcw.id = l.id
+        RETURNING tcw.id
+      )
+      SELECT COUNT(*)::INTEGER FROM settled;
+      """)
+  int settlePendingCredits(int batchSize);
+
+  /**
+   * Compare every tour company wallet, its shards and its pending outbox credits with the sum of
+   * its <code>transactions</code>.
+   *
+   * @return the tour companies whose balance does not match the ledger, empty when all are matched
+   */
+  @Query(
+      """
+      WITH ledger AS (
+        SELECT
+          tour_company_id,
+          SUM(CASE WHEN type = 'BOOKING' THEN amount ELSE -amount END) AS balance
+        FROM transactions
+        WHERE tour_company_id IS NOT NULL AND type IN ('BOOKING', 'REFUND', 'WITHDRAW')
+        GROUP BY tour_company_id
+      ), shards AS (
+        SELECT tour_company_id, SUM(balance) AS balance
+        FROM tour_company_wallet_shards
+        GROUP BY tour_company_id
+      ), pending AS (
+        SELECT tour_company_id, SUM(amount) AS balance
+        FROM tour_company_wallet_credits
+        WHERE settled_at IS NULL
+        GROUP BY tour_company_id
+      )
+      SELECT
+        tcw.tour_company_id,
+        tcw.balance + COALESCE(s.balance, 0) AS wallet_balance,
+        COALESCE(p.balance, 0) AS pending_credit_balance,
+        COALESCE(l.balance, 0) AS ledger_balance
+      FROM tour_company_wallets tcw
+      LEFT JOIN shards s ON s.tour_company_id = tcw.tour_company_id
+      LEFT JOIN pending p ON p.tour_company_id = tcw.tour_company_id
+      LEFT JOIN ledger l ON l.tour_company_id = tcw.tour_company_id
+      WHERE tcw.balance + COALESCE(s.balance, 0) + COALESCE(p.balance, 0)
+        <> COALESCE(l.balance, 0)
+      ORDER BY tcw.tour_company_id;
+      """)
+  List<TourCompanyWalletDiscrepancy> findDiscrepanciesWithLedger();
 }
@@ -2,13 +2,27 @@ package dev.fResult.goutTogether.wallets.repositories;
 
 import dev.fResult.goutTogether.users.entities.User;
 import dev.fResult.goutTogether.wallets.entities.UserWallet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
-import org.springframework.data.relational.core.sql.LockMode;
-import org.springframework.data.relational.repository.Lock;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListCrudRepository;
 
 public interface UserWalletRepository extends ListCrudRepository<UserWallet, Integer> {
-  @Lock(LockMode.PESSIMISTIC_WRITE)
+  /**
+   * Not locked, a user wallet is rarely updated by two requests at once, so a stale wallet fails
+   * its versioned save instead of every read paying the row lock.
+   */
   Optional<UserWallet> findOneByUserId(AggregateReference<User, Integer> userId);
+
+  /** Lock the wallets in the order of id, so the concurrent batches cannot deadlock each other. */
+  @Query(
+      """
+      SELECT * FROM user_wallets
+      WHERE user_id IN (:userIds)
+      ORDER BY id
+      FOR UPDATE;
+      """)
+  List<UserWallet> findAllByUserIdsForUpdate(Collection<Integer> userIds);
 }
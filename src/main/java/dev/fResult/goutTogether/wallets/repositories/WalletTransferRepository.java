@@ -0,0 +1,170 @@
+package dev.fResult.goutTogether.wallets.repositories;
+
+import dev.fResult.goutTogether.wallets.dtos.WalletTransferResult;
+import dev.fResult.goutTogether.wallets.entities.UserWallet;
+import java.math.BigDecimal;
+import java.util.Optional;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Moves the money between a user wallet and the wallet of the tour company which owns the tour,
+ * then records it into <code>transactions</code>, all in one statement.
+ *
+ * <p>Every step only runs when the previous one has updated its row, so an empty result means
+ * nothing is transferred by this statement. The caller must still roll back its transaction, as a
+ * debit might be done before a missing credit.
+ */
+public interface WalletTransferRepository extends Repository<UserWallet, Integer> {
+
+  @Query(
+      """
+      WITH tour AS (
+        SELECT tour_company_id FROM tours WHERE id = :tourId
+      ), debited AS (
+        UPDATE user_wallets
+        SET balance = balance - :amount, last_updated = NOW(), version = version + 1
+        WHERE user_id = :userId AND balance >= :amount AND EXISTS (SELECT 1 FROM tour)
+        RETURNING balance
+      ), credited AS (
+        UPDATE tour_company_wallets tcw
+        SET balance = tcw.balance + :amount, last_updated = NOW(), version = tcw.version + 1
+        FROM tour t
+        WHERE tcw.tour_company_id = t.tour_company_id AND EXISTS (SELECT 1 FROM debited)
+        RETURNING tcw.tour_company_id, tcw.balance
+      ), recorded AS (
+        INSERT INTO transactions (
+          user_id, tour_company_id, booking_id, type, amount, transaction_date, idempotent_key
+        )
+        SELECT :userId, c.tour_company_id, :bookingId, 'BOOKING', :amount, NOW(), :idempotentKey
+        FROM credited c
+        RETURNING id
+      )
+      SELECT
+        r.id AS transaction_id,
+        d.balance AS user_wallet_balance,
+        c.balance AS tour_company_wallet_balance
+      FROM recorded r, debited d, credited c;
+      """)
+  Optional<WalletTransferResult> transferForBooking(
+      int userId, int tourId, int bookingId, BigDecimal amount, String idempotentKey);
+
+  /**
+   * Same as {@link #transferForBooking}, but credits one shard of the tour company wallet, so the
+   * returned tour company balance is the balance of that shard.
+   */
+  @Query(
+      """
+      WITH tour AS (
+        SELECT t.tour_company_id
+        FROM tours t
+        JOIN tour_company_wallets tcw ON tcw.tour_company_id = t.tour_company_id
+        WHERE t.id = :tourId
+      ), debited AS (
+        UPDATE user_wallets
+        SET balance = balance - :amount, last_updated = NOW(), version = version + 1
+        WHERE user_id = :userId AND balance >= :amount AND EXISTS (SELECT 1 FROM tour)
+        RETURNING balance
+      ), credited AS (
+        INSERT INTO tour_company_wallet_shards AS s (
+          tour_company_id, shard_no, balance, last_updated
+        )
+        SELECT t.tour_company_id, :shardNo, :amount, NOW()
+        FROM tour t
+        WHERE EXISTS (SELECT 1 FROM debited)
+        ON CONFLICT (tour_company_id, shard_no)
+        DO UPDATE SET balance = s.balance + EXCLUDED.balance, last_updated = NOW()
+        RETURNING s.tour_company_id, s.balance
+      ), recorded AS (
+        INSERT INTO transactions (
+          user_id, tour_company_id, booking_id, type, amount, transaction_date, idempotent_key
+        )
+        SELECT :userId, c.tour_company_id, :bookingId, 'BOOKING', :amount, NOW(), :idempotentKey
+        FROM credited c
+        RETURNING id
+      )
+      SELECT
+        r.id AS transaction_id,
+        d.balance AS user_wallet_balance,
+        c.balance AS tour_company_wallet_balance
+      FROM recorded r, debited d, credited c;
+      """)
+  Optional<WalletTransferResult> transferForBookingToShard(
+      int userId, int tourId, int bookingId, BigDecimal amount, String idempotentKey, int shardNo);
+
+  /**
+   * Same as {@link #transferForBooking}, but queues the credit into <code>
+   * tour_company_wallet_credits</code> instead of updating the tour company wallet, so the returned
+   * tour company balance is always <code>null</code>.
+   */
+  @Query(
+      """
+      WITH tour AS (
+        SELECT t.tour_company_id
+        FROM tours t
+        JOIN tour_company_wallets tcw ON tcw.tour_company_id = t.tour_company_id
+        WHERE t.id = :tourId
+      ), debited AS (
+        UPDATE user_wallets
+        SET balance = balance - :amount, last_updated = NOW(), version = version + 1
+        WHERE user_id = :userId AND balance >= :amount AND EXISTS (SELECT 1 FROM tour)
+        RETURNING balance
+      ), recorded AS (
+        INSERT INTO transactions (
+          user_id, tour_company_id, booking_id, type, amount, transaction_date, idempotent_key
+        )
+        SELECT :userId, t.tour_company_id, :bookingId, 'BOOKING', :amount, NOW(), :idempotentKey
+        FROM tour t
+        WHERE EXISTS (SELECT 1 FROM debited)
+        RETURNING id, tour_company_id
+      ), queued AS (
+        INSERT INTO tour_company_wallet_credits (
+          tour_company_id, booking_id, transaction_id, amount
+        )
+        SELECT r.tour_company_id, :bookingId, r.id, :amount
+        FROM recorded r
+        RETURNING id
+      )
+      SELECT
+        r.id AS transaction_id,
+        d.balance AS user_wallet_balance,
+        NULL::NUMERIC AS tour_company_wallet_balance
+      FROM recorded r, debited d, queued q;
+      """)
+  Optional<WalletTransferResult> transferForBookingToOutbox(
+      int userId, int tourId, int bookingId, BigDecimal amount, String idempotentKey);
+
+  @Query(
+      """
+      WITH tour AS (
+        SELECT tour_company_id FROM tours WHERE id = :tourId
+      ), debited AS (
+        UPDATE tour_company_wallets tcw
+        SET balance = tcw.balance - :amount, last_updated = NOW(), version = tcw.version + 1
+        FROM tour t
+        WHERE tcw.tour_company_id = t.tour_company_id
+          AND EXISTS (SELECT 1 FROM user_wallets WHERE user_id = :userId)
+        RETURNING tcw.tour_company_id, tcw.balance
+      ), credited AS (
+        UPDATE user_wallets
+        SET balance = balance + :amount, last_updated = NOW(), version = version + 1
+        WHERE user_id = :userId AND EXISTS (SELECT 1 FROM debited)
+        RETURNING balance
+      ), recorded AS (
+        INSERT INTO transactions (
+          user_id, tour_company_id, booking_id, type, amount, transaction_date, idempotent_key
+        )
+        SELECT :userId, d.tour_company_id, :bookingId, 'REFUND', :amount, NOW(), :idempotentKey
+        FROM debited d
+        WHERE EXISTS (SELECT 1 FROM credited)
+        RETURNING id
+      )
+      SELECT
+        r.id AS transaction_id,
+        c.balance AS user_wallet_balance,
+        d.balance AS tour_company_wallet_balance
+      FROM recorded r, debited d, credited c;
+      """)
+  Optional<WalletTransferResult> transferForRefund(
+      int userId, int tourId, int bookingId, BigDecimal amount, String idempotentKey);
+}
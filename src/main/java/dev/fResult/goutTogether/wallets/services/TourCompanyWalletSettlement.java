@@ -0,0 +1,74 @@
+package dev.fResult.goutTogether.wallets.services;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.TourCompanyWalletMode;
+import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletDiscrepancy;
+import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
+import dev.fResult.goutTogether.wallets.repositories.TourCompanyWalletRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the credits of the tour companies in an outbox during the payment, then settles them into
+ * the tour company wallets later in batches, so the payment never waits for the tour company
+ * wallet lock.
+ */
+@Component
+public class TourCompanyWalletSettlement {
+  private final Logger logger = LoggerFactory.getLogger(TourCompanyWalletSettlement.class);
+
+  private final TourCompanyWalletRepository tourCompanyWalletRepository;
+  private final boolean enabled;
+  private final int batchSize;
+
+  public TourCompanyWalletSettlement(
+      TourCompanyWalletRepository tourCompanyWalletRepository, MyApplicationProperties myProps) {
+    final var walletProps = myProps.getWallet();
+
+    this.tourCompanyWalletRepository = tourCompanyWalletRepository;
+    this.enabled = walletProps.getTourCompanyMode() == TourCompanyWalletMode.OUTBOX;
+    this.batchSize = walletProps.getSettlementBatchSize();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Settles the pending credits batch by batch until a batch is not full. This also runs when the
+   * outbox is disabled, so the credits which are queued before switching the mode are not left.
+   *
+   * @return number of outbox credits which are settled
+   */
+  public int settlePendingCredits() {
+    var settledCount = 0;
+    int batchSettledCount;
+    do {
+      batchSettledCount = tourCompanyWalletRepository.settlePendingCredits(batchSize);
+      settledCount += batchSettledCount;
+    } while (batchSettledCount == batchSize);
+
+    if (settledCount > 0) {
+      logger.info(
+          "[settlePendingCredits] {} pending credits are settled into {}",
+          settledCount,
+          TourCompanyWallet.class.getSimpleName());
+    }
+
+    return settledCount;
+  }
+
+  public List<TourCompanyWalletDiscrepancy> reconcileWithLedger() {
+    final var discrepancies = tourCompanyWalletRepository.findDiscrepanciesWithLedger();
+    discrepancies.forEach(
+        discrepancy ->
+            logger.warn(
+                "[reconcileWithLedger] {} does not match the ledger: {}",
+                TourCompanyWallet.class.getSimpleName(),
+                discrepancy));
+
+    return discrepancies;
+  }
+}
@@ -0,0 +1,30 @@
+package dev.fResult.goutTogether.wallets.services;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.TourCompanyWalletMode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spreads the credits of a tour company over N sub-balance rows, so the payments to the same
+ * company do not wait for each other on one wallet row.
+ */
+@Component
+public class TourCompanyWalletShards {
+  private final boolean enabled;
+  private final int shardCount;
+
+  public TourCompanyWalletShards(MyApplicationProperties myProps) {
+    final var walletProps = myProps.getWallet();
+
+    this.enabled = walletProps.getTourCompanyMode() == TourCompanyWalletMode.SHARDED;
+    this.shardCount = walletProps.getShardCount();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int shardOf(int bookingId) {
+    return Math.floorMod(Integer.hashCode(bookingId), shardCount);
+  }
+}
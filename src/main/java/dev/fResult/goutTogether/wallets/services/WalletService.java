@@ -2,13 +2,19 @@ package dev.fResult.goutTogether.wallets.services;
 
 import dev.fResult.goutTogether.bookings.entities.Booking;
 import dev.fResult.goutTogether.common.enumurations.TransactionType;
+import dev.fResult.goutTogether.transactions.Transaction;
+import dev.fResult.goutTogether.wallets.dtos.BookingWallets;
 import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletInfoResponse;
 import dev.fResult.goutTogether.wallets.dtos.UserWalletInfoResponse;
 import dev.fResult.goutTogether.wallets.dtos.WalletTopUpRequest;
+import dev.fResult.goutTogether.wallets.dtos.WalletTransferResult;
 import dev.fResult.goutTogether.wallets.dtos.WalletWithdrawRequest;
 import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
 import dev.fResult.goutTogether.wallets.entities.UserWallet;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import kotlin.Pair;
 
 public interface WalletService {
@@ -28,11 +34,30 @@ public interface WalletService {
   TourCompanyWalletInfoResponse withdrawTourCompanyWallet(
       int tourCompanyId, String idempotentKey, WalletWithdrawRequest body);
 
-  Pair<UserWallet, TourCompanyWallet> getConsumerAndTourCompanyWallets(Booking booking);
-
-  Pair<UserWallet, TourCompanyWallet> transferMoney(
-      UserWallet userWallet,
-      TourCompanyWallet tourCompanyWallet,
-      BigDecimal amount,
-      TransactionType transactionType);
+  /**
+   * Transfer the money between the booking's user and tour company, then record the transaction.
+   *
+   * @return the new balances of both wallets and the id of the recorded transaction
+   */
+  WalletTransferResult transferMoney(
+      Booking booking, BigDecimal amount, TransactionType transactionType, String idempotentKey);
+
+  /**
+   * Lock every user wallet which is involved in the bookings once, and the tour company wallets
+   * too when they are credited in place.
+   */
+  BookingWallets getConsumerAndTourCompanyWallets(Collection<Booking> bookings);
+
+  /**
+   * Debit the user wallets, then credit the tour company of every booking transaction the same way
+   * {@link #transferMoney} does.
+   *
+   * @param bookingTransactions the recorded <code>BOOKING</code> transactions, one per booking
+   * @return the updated user wallets, and the updated tour company wallets when they are credited
+   *     in place
+   */
+  Pair<List<UserWallet>, List<TourCompanyWallet>> transferMoneyForBookings(
+      Map<UserWallet, BigDecimal> debitByUserWallet,
+      Collection<TourCompanyWallet> tourCompanyWallets,
+      List<Transaction> bookingTransactions);
 }
@@ -2,28 +2,37 @@ package dev.fResult.goutTogether.wallets.services;
 
 import dev.fResult.goutTogether.bookings.entities.Booking;
 import dev.fResult.goutTogether.common.enumurations.TransactionType;
-import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
 import dev.fResult.goutTogether.common.helpers.ErrorHelper;
+import dev.fResult.goutTogether.common.helpers.OptimisticLockRetrier;
 import dev.fResult.goutTogether.tours.services.TourService;
 import dev.fResult.goutTogether.transactions.Transaction;
 import dev.fResult.goutTogether.transactions.TransactionHelper;
 import dev.fResult.goutTogether.transactions.TransactionRepository;
 import dev.fResult.goutTogether.users.entities.User;
+import dev.fResult.goutTogether.wallets.dtos.BookingWallets;
 import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletInfoResponse;
+import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletOfTour;
 import dev.fResult.goutTogether.wallets.dtos.UserWalletInfoResponse;
 import dev.fResult.goutTogether.wallets.dtos.WalletTopUpRequest;
+import dev.fResult.goutTogether.wallets.dtos.WalletTransferResult;
 import dev.fResult.goutTogether.wallets.dtos.WalletWithdrawRequest;
 import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
 import dev.fResult.goutTogether.wallets.entities.UserWallet;
 import dev.fResult.goutTogether.wallets.repositories.TourCompanyWalletRepository;
 import dev.fResult.goutTogether.wallets.repositories.UserWalletRepository;
+import dev.fResult.goutTogether.wallets.repositories.WalletTransferRepository;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import kotlin.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,18 +49,30 @@ public class WalletServiceImpl implements WalletService {
   private final UserWalletRepository userWalletRepository;
   private final TourCompanyWalletRepository tourCompanyWalletRepository;
   private final TransactionRepository transactionRepository;
+  private final WalletTransferRepository walletTransferRepository;
+  private final TourCompanyWalletShards tourCompanyWalletShards;
+  private final TourCompanyWalletSettlement tourCompanyWalletSettlement;
   private final TourService tourService;
+  private final OptimisticLockRetrier optimisticLockRetrier;
 
   public WalletServiceImpl(
       UserWalletRepository userWalletRepository,
       TourCompanyWalletRepository tourCompanyWalletRepository,
       TransactionRepository transactionRepository,
-      @Lazy TourService tourService) {
+      WalletTransferRepository walletTransferRepository,
+      TourCompanyWalletShards tourCompanyWalletShards,
+      TourCompanyWalletSettlement tourCompanyWalletSettlement,
+      @Lazy TourService tourService,
+      OptimisticLockRetrier optimisticLockRetrier) {
 
     this.userWalletRepository = userWalletRepository;
     this.tourCompanyWalletRepository = tourCompanyWalletRepository;
     this.transactionRepository = transactionRepository;
+    this.walletTransferRepository = walletTransferRepository;
+    this.tourCompanyWalletShards = tourCompanyWalletShards;
+    this.tourCompanyWalletSettlement = tourCompanyWalletSettlement;
     this.tourService = tourService;
+    this.optimisticLockRetrier = optimisticLockRetrier;
   }
 
   @Override
@@ -80,24 +101,30 @@ public class WalletServiceImpl implements WalletService {
     return UserWalletInfoResponse.fromDao(getUserWalletByUserId(userId));
   }
 
+  /** Runs again in a new transaction when the wallet is updated concurrently before it is saved */
   @Override
-  @Transactional
   public UserWalletInfoResponse topUpConsumerWallet(
       int userId, String idempotentKey, WalletTopUpRequest body) {
 
+    return optimisticLockRetrier.executeInTransaction(
+        "topUpConsumerWallet", () -> topUpConsumerWalletOnce(userId, idempotentKey, body));
+  }
+
+  private UserWalletInfoResponse topUpConsumerWalletOnce(
+      int userId, String idempotentKey, WalletTopUpRequest body) {
+
     final var existsTransactionOpt = transactionRepository.findOneByIdempotentKey(idempotentKey);
 
     final var userWallet =
         userWalletRepository
             .findOneByUserId(AggregateReference.to(userId))
-            .map(UserWalletInfoResponse::fromDao)
             .orElseThrow(
                 errorHelper.entityWithSubResourceNotFound(
                     "topUpConsumerWallet", UserWallet.class, "userId", String.valueOf(userId)));
 
-    if (existsTransactionOpt.isPresent()) return userWallet;
+    if (existsTransactionOpt.isPresent()) return UserWalletInfoResponse.fromDao(userWallet);
 
-    final var userRef = AggregateReference.<User, Integer>to(userWallet.userId());
+    final var userRef = userWallet.userId();
     final var transactionToAdd = createTopUpTransaction(userRef, body.amount(), idempotentKey);
 
     transactionRepository.save(transactionToAdd);
@@ -108,7 +135,8 @@ public class WalletServiceImpl implements WalletService {
 
     final var balanceToUpdate = userWallet.balance().add(body.amount());
     final var userWalletToUpdate =
-        UserWallet.of(userWallet.id(), userRef, Instant.now(), balanceToUpdate);
+        UserWallet.of(
+            userWallet.id(), userRef, Instant.now(), balanceToUpdate, userWallet.version());
 
     final var updatedUserWallet = userWalletRepository.save(userWalletToUpdate);
     logger.info(
@@ -158,11 +186,19 @@ public class WalletServiceImpl implements WalletService {
         TourCompanyWallet.class.getSimpleName(),
         tourCompanyId);
     final var tourCompanyWallet = getTourCompanyWalletByTourCompanyId(tourCompanyId);
-
-    return TourCompanyWalletInfoResponse.fromDao(tourCompanyWallet);
+    final var shardBalanceSum =
+        tourCompanyWalletRepository
+            .findShardBalanceSumByTourCompanyId(tourCompanyId)
+            .orElse(BigDecimal.ZERO);
+
+    return TourCompanyWalletInfoResponse.of(
+        tourCompanyWallet.id(),
+        tourCompanyId,
+        tourCompanyWallet.balance().add(shardBalanceSum));
   }
 
   @Override
+  @Transactional
   public TourCompanyWalletInfoResponse withdrawTourCompanyWallet(
       int tourCompanyId, String idempotentKey, WalletWithdrawRequest body) {
 
@@ -171,11 +207,21 @@ public class WalletServiceImpl implements WalletService {
         TourCompanyWallet.class.getSimpleName(),
         tourCompanyId);
 
+    // Lock the wallet first, then drain its shards into it, so the whole balance can be withdrawn
     final var companyWallet = getTourCompanyWalletByTourCompanyId(tourCompanyId);
-    final var balanceToWithdraw = companyWallet.balance().subtract(body.amount());
+    final var sweptShardBalance =
+        tourCompanyWalletRepository
+            .sweepShardBalancesByTourCompanyId(tourCompanyId)
+            .orElse(BigDecimal.ZERO);
+    final var balanceToWithdraw =
+        companyWallet.balance().add(sweptShardBalance).subtract(body.amount());
     final var companyWalletToWithdraw =
         TourCompanyWallet.of(
-            companyWallet.id(), companyWallet.tourCompanyId(), Instant.now(), balanceToWithdraw);
+            companyWallet.id(),
+            companyWallet.tourCompanyId(),
+            Instant.now(),
+            balanceToWithdraw,
+            companyWallet.version());
     final var withdrewCompanyWallet = tourCompanyWalletRepository.save(companyWalletToWithdraw);
 
     logger.info(
@@ -183,162 +229,232 @@ public class WalletServiceImpl implements WalletService {
         TourCompanyWallet.class.getSimpleName(),
         withdrewCompanyWallet);
 
+    // Record the withdrawal in the ledger too, so the wallet can be reconciled with it
+    transactionRepository.save(
+        TransactionHelper.buildWithdrawTransaction(idempotentKey, tourCompanyId, body.amount()));
+
     return TourCompanyWalletInfoResponse.fromDao(withdrewCompanyWallet);
   }
 
   @Override
-  public Pair<UserWallet, TourCompanyWallet> getConsumerAndTourCompanyWallets(Booking booking) {
-    final var userRef = booking.userId();
-    final var tourRef = booking.tourId();
-    if (userRef == null || tourRef == null) {
-      logger.warn(
-          "[getConsumerAndTourCompanyWallets] {}'s userId or tourId must not be null null",
-          Booking.class.getSimpleName());
-      throw new EntityNotFoundException(
-          String.format(
-              "%s with userId [%s] tourId [%s] not found",
-              Booking.class.getSimpleName(), getIdOrNull(userRef), getIdOrNull(tourRef)));
-    }
+  @Transactional
+  public WalletTransferResult transferMoney(
+      Booking booking, BigDecimal amount, TransactionType transactionType, String idempotentKey) {
 
-    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-      final var userWalletFuture =
-          CompletableFuture.supplyAsync(
-              () -> getUserWalletByUserId(Objects.requireNonNull(userRef.getId())));
-      final var tourFuture =
-          CompletableFuture.supplyAsync(
-              () -> tourService.getTourById(Objects.requireNonNull(tourRef.getId())));
-
-      CompletableFuture.allOf(userWalletFuture, tourFuture).join();
-
-      final var userWallet = userWalletFuture.get();
-      final var tour = tourFuture.get();
-      final var tourCompanyWallet =
-          tourCompanyWalletRepository
-              .findOneByTourCompanyId(tour.tourCompanyId())
-              .orElseThrow(
-                  errorHelper.entityWithSubResourceNotFound(
-                      "getConsumerAndTourCompanyWallets",
-                      TourCompanyWallet.class,
-                      "tourCompanyId",
-                      String.valueOf(tour.tourCompanyId())));
-
-      return new Pair<>(userWallet, tourCompanyWallet);
-    } catch (CompletionException | ExecutionException ex) {
-      throw ErrorHelper.throwMatchedException(ex.getCause(), "Failed to get wallets");
-    } catch (InterruptedException ex) {
-      throw new RuntimeException("Task interrupted", ex);
-    }
-  }
+    final int userId = Objects.requireNonNull(booking.userId().getId());
+    final int tourId = Objects.requireNonNull(booking.tourId().getId());
+    logger.debug(
+        "[transferMoney] Transferring {} {} between {} of userId [{}] and {} of tourId [{}]",
+        transactionType,
+        amount,
+        UserWallet.class.getSimpleName(),
+        userId,
+        TourCompanyWallet.class.getSimpleName(),
+        tourId);
 
-  @Override
-  public Pair<UserWallet, TourCompanyWallet> transferMoney(
-      UserWallet userWallet,
-      TourCompanyWallet tourCompanyWallet,
-      BigDecimal amount,
-      TransactionType transactionType) {
+    final var transferResultOpt =
+        switch (transactionType) {
+          case BOOKING -> transferForBooking(userId, tourId, booking.id(), amount, idempotentKey);
+          case REFUND ->
+              walletTransferRepository.transferForRefund(
+                  userId, tourId, booking.id(), amount, idempotentKey);
+          default ->
+              throw errorHelper.unsupportedTransactionType("transferMoney", transactionType).get();
+        };
 
-    logger.debug(
-        "[transferMoney] Transferring {} {} from {} id [{}] to {} id [{}]",
+    final var transferResult =
+        transferResultOpt.orElseThrow(() -> buildTransferFailure(userId, tourId, amount));
+
+    logger.info(
+        "[transferMoney] {} {} between {} of userId [{}] and {} of tourId [{}] is transferred",
         transactionType,
         amount,
         UserWallet.class.getSimpleName(),
-        userWallet.id(),
+        userId,
         TourCompanyWallet.class.getSimpleName(),
-        tourCompanyWallet.id());
-
-    return switch (transactionType) {
-      case BOOKING -> transferMoneyForBooking(userWallet, tourCompanyWallet, amount);
-      case REFUND -> transferMoneyForRefund(userWallet, tourCompanyWallet, amount);
-      default ->
-          throw errorHelper.unsupportedTransactionType("transferMoney", transactionType).get();
-    };
-  }
+        tourId);
 
-  private Pair<UserWallet, TourCompanyWallet> transferMoneyForBooking(
-      UserWallet userWallet, TourCompanyWallet companyWallet, BigDecimal amount) {
-    final var userWalletBalance = userWallet.balance();
-    final var isInsufficientBalance = userWalletBalance.compareTo(amount) < 0;
-    if (isInsufficientBalance) {
-      throw errorHelper.insufficientBalance("transferMoney", userWalletBalance, amount).get();
-    }
+    return transferResult;
+  }
 
-    final var userWalletBalanceToUpdate = userWalletBalance.subtract(amount);
-    final var userWalletToUpdate =
-        UserWallet.of(
-            userWallet.id(), userWallet.userId(), Instant.now(), userWalletBalanceToUpdate);
+  @Override
+  public BookingWallets getConsumerAndTourCompanyWallets(Collection<Booking> bookings) {
+    final var userIds =
+        bookings.stream().map(booking -> booking.userId().getId()).collect(Collectors.toSet());
+    final var tourIds =
+        bookings.stream().map(booking -> booking.tourId().getId()).collect(Collectors.toSet());
+
+    // Always lock the user wallets before the tour company wallets, same as the single payment
+    final var userWalletByUserId =
+        userWalletRepository.findAllByUserIdsForUpdate(userIds).stream()
+            .collect(Collectors.toMap(wallet -> wallet.userId().getId(), Function.identity()));
+    throwExceptionIfWalletsMissing(UserWallet.class, "userId", userIds, userWalletByUserId);
+
+    // The tour company wallets are joined by the tours on the caller's connection, instead of
+    // loading the tours first in another round trip. Only the wallets which are credited in place
+    // are locked, the outbox and the shards keep the payers off the main wallet row.
+    final var tourCompanyWalletsOfTours =
+        isTourCompanyWalletCreditedInPlace()
+            ? tourCompanyWalletRepository.findAllByTourIdsForUpdate(tourIds)
+            : tourCompanyWalletRepository.findAllByTourIds(tourIds);
+    final var tourCompanyWalletByTourId =
+        tourCompanyWalletsOfTours.stream()
+            .collect(
+                Collectors.toMap(
+                    TourCompanyWalletOfTour::tourId, TourCompanyWalletOfTour::toTourCompanyWallet));
+    throwExceptionIfWalletsMissing(
+        TourCompanyWallet.class, "tourId", tourIds, tourCompanyWalletByTourId);
+
+    return BookingWallets.of(userWalletByUserId, tourCompanyWalletByTourId);
+  }
 
-    final var tourCompanyWalletBalance = companyWallet.balance();
-    final var tourCompanyWalletBalanceToUpdate = tourCompanyWalletBalance.add(amount);
-    final var tourCompanyWalletToUpdate =
-        TourCompanyWallet.of(
-            companyWallet.id(),
-            companyWallet.tourCompanyId(),
-            Instant.now(),
-            tourCompanyWalletBalanceToUpdate);
+  @Override
+  public Pair<List<UserWallet>, List<TourCompanyWallet>> transferMoneyForBookings(
+      Map<UserWallet, BigDecimal> debitByUserWallet,
+      Collection<TourCompanyWallet> tourCompanyWallets,
+      List<Transaction> bookingTransactions) {
 
-    final var updatedUserWallet = userWalletRepository.save(userWalletToUpdate);
-    final var updatedCompanyWallet = tourCompanyWalletRepository.save(tourCompanyWalletToUpdate);
+    logger.debug(
+        "[transferMoneyForBookings] Transferring {} from {} {} for {} {}",
+        TransactionType.BOOKING,
+        debitByUserWallet.size(),
+        UserWallet.class.getSimpleName(),
+        bookingTransactions.size(),
+        Transaction.class.getSimpleName());
+
+    final var userWalletsToUpdate = new ArrayList<UserWallet>();
+    debitByUserWallet.forEach(
+        (userWallet, amount) -> {
+          final var userWalletBalance = userWallet.balance();
+          if (userWalletBalance.compareTo(amount) < 0) {
+            throw errorHelper
+                .insufficientBalance("transferMoneyForBookings", userWalletBalance, amount)
+                .get();
+          }
+
+          userWalletsToUpdate.add(
+              UserWallet.of(
+                  userWallet.id(),
+                  userWallet.userId(),
+                  Instant.now(),
+                  userWalletBalance.subtract(amount),
+                  userWallet.version()));
+        });
+
+    final var updatedUserWallets = userWalletRepository.saveAll(userWalletsToUpdate);
+    final var updatedCompanyWallets =
+        creditTourCompaniesForBookings(tourCompanyWallets, bookingTransactions);
 
     logger.info(
-        "[transferMoney] {} {} from {} id [{}] to {} id [{}] is transferred",
+        "[transferMoneyForBookings] {} from {} {} for {} {} is transferred",
         TransactionType.BOOKING,
-        amount,
+        updatedUserWallets.size(),
         UserWallet.class.getSimpleName(),
-        userWallet.id(),
-        TourCompanyWallet.class.getSimpleName(),
-        companyWallet.id());
+        bookingTransactions.size(),
+        Transaction.class.getSimpleName());
 
-    return new Pair<>(updatedUserWallet, updatedCompanyWallet);
+    return new Pair<>(updatedUserWallets, updatedCompanyWallets);
   }
 
-  private Pair<UserWallet, TourCompanyWallet> transferMoneyForRefund(
-      UserWallet userWallet, TourCompanyWallet companyWallet, BigDecimal amount) {
+  /*
+   * Credits the tour companies the same way transferForBooking does. Only a wallet which is
+   * credited in place is updated here, it is locked by getConsumerAndTourCompanyWallets.
+   */
+  private List<TourCompanyWallet> creditTourCompaniesForBookings(
+      Collection<TourCompanyWallet> tourCompanyWallets, List<Transaction> bookingTransactions) {
+
+    if (tourCompanyWalletSettlement.isEnabled()) {
+      bookingTransactions.forEach(
+          transaction ->
+              tourCompanyWalletRepository.queueCredit(
+                  transaction.tourCompanyId().getId(),
+                  transaction.bookingId().getId(),
+                  transaction.id(),
+                  transaction.amount()));
+
+      return List.of();
+    }
 
-    final var companyWalletBalance = companyWallet.balance();
+    if (tourCompanyWalletShards.isEnabled()) {
+      // Every booking credits its own shard, in the order of the shard rows, so the concurrent
+      // batches cannot deadlock each other
+      bookingTransactions.stream()
+          .sorted(
+              Comparator.comparing((Transaction transaction) -> transaction.tourCompanyId().getId())
+                  .thenComparing(this::shardOf))
+          .forEach(
+              transaction ->
+                  tourCompanyWalletRepository.creditShard(
+                      transaction.tourCompanyId().getId(),
+                      shardOf(transaction),
+                      transaction.amount()));
+
+      return List.of();
+    }
 
-    final var companyWalletBalanceToUpdate = companyWalletBalance.subtract(amount);
-    final var companyWalletToUpdate =
-        TourCompanyWallet.of(
-            companyWallet.id(),
-            companyWallet.tourCompanyId(),
-            Instant.now(),
-            companyWalletBalanceToUpdate);
+    final var creditByTourCompanyId =
+        bookingTransactions.stream()
+            .collect(
+                Collectors.groupingBy(
+                    transaction -> transaction.tourCompanyId().getId(),
+                    Collectors.reducing(BigDecimal.ZERO, Transaction::amount, BigDecimal::add)));
+    final var tourCompanyWalletsToUpdate =
+        tourCompanyWallets.stream()
+            .filter(wallet -> creditByTourCompanyId.containsKey(wallet.tourCompanyId().getId()))
+            .map(
+                wallet -> {
+                  final var credit = creditByTourCompanyId.get(wallet.tourCompanyId().getId());
+
+                  return TourCompanyWallet.of(
+                      wallet.id(),
+                      wallet.tourCompanyId(),
+                      Instant.now(),
+                      wallet.balance().add(credit),
+                      wallet.version());
+                })
+            .toList();
+
+    return tourCompanyWalletRepository.saveAll(tourCompanyWalletsToUpdate);
+  }
 
-    final var userWalletBalance = userWallet.balance();
-    final var userWalletBalanceToUpdate = userWalletBalance.add(amount);
-    final var userWalletToUpdate =
-        UserWallet.of(
-            userWallet.id(), userWallet.userId(), Instant.now(), userWalletBalanceToUpdate);
-
-    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-      final var futureUpdatedUserWallet =
-          CompletableFuture.supplyAsync(
-              () -> userWalletRepository.save(userWalletToUpdate), executor);
-      final var futureUpdatedCompanyWallet =
-          CompletableFuture.supplyAsync(
-              () -> tourCompanyWalletRepository.save(companyWalletToUpdate), executor);
-
-      final var updatedUserWallet = futureUpdatedUserWallet.get();
-      final var updatedCompanyWallet = futureUpdatedCompanyWallet.get();
-
-      logger.info(
-          "[transferMoney] {} {} from {} id [{}] to {} id [{}] is transferred",
-          TransactionType.REFUND,
-          amount,
-          TourCompanyWallet.class.getSimpleName(),
-          companyWallet.id(),
-          UserWallet.class.getSimpleName(),
-          userWallet.id());
-
-      return new Pair<>(updatedUserWallet, updatedCompanyWallet);
-    } catch (ExecutionException | InterruptedException ex) {
-      final var errorMessage =
-          String.format(
-              "Failed to transfer money between %s and %s",
-              User.class.getSimpleName(), TourCompanyWallet.class.getSimpleName());
-
-      throw new RuntimeException(errorMessage, ex);
+  private int shardOf(Transaction bookingTransaction) {
+    return tourCompanyWalletShards.shardOf(bookingTransaction.bookingId().getId());
+  }
+
+  private boolean isTourCompanyWalletCreditedInPlace() {
+    return !tourCompanyWalletSettlement.isEnabled() && !tourCompanyWalletShards.isEnabled();
+  }
+
+  private Optional<WalletTransferResult> transferForBooking(
+      int userId, int tourId, int bookingId, BigDecimal amount, String idempotentKey) {
+
+    if (tourCompanyWalletSettlement.isEnabled()) {
+      return walletTransferRepository.transferForBookingToOutbox(
+          userId, tourId, bookingId, amount, idempotentKey);
+    }
+
+    if (tourCompanyWalletShards.isEnabled()) {
+      final var shardNo = tourCompanyWalletShards.shardOf(bookingId);
+
+      return walletTransferRepository.transferForBookingToShard(
+          userId, tourId, bookingId, amount, idempotentKey, shardNo);
     }
+
+    return walletTransferRepository.transferForBooking(
+        userId, tourId, bookingId, amount, idempotentKey);
+  }
+
+  /*
+   * The transfer statement does not tell which step is skipped, so we look into it only when the
+   * transfer is failed. Throwing from here also rolls back a debit which was done without a credit.
+   */
+  private RuntimeException buildTransferFailure(int userId, int tourId, BigDecimal amount) {
+    final var userWallet = getUserWalletByUserId(userId);
+    final var tour = tourService.getTourById(tourId);
+    final var tourCompanyId = Objects.requireNonNull(tour.tourCompanyId().getId());
+    getTourCompanyWalletByTourCompanyId(tourCompanyId);
+
+    return errorHelper.insufficientBalance("transferMoney", userWallet.balance(), amount).get();
   }
 
   private UserWallet getUserWalletByUserId(int userId) {
@@ -384,7 +500,20 @@ public class WalletServiceImpl implements WalletService {
                 String.valueOf(tourCompanyId)));
   }
 
-  private Integer getIdOrNull(AggregateReference<?, Integer> resourceRef) {
-    return resourceRef != null ? resourceRef.getId() : null;
+  private void throwExceptionIfWalletsMissing(
+      Class<?> walletClass,
+      String ownerIdName,
+      Set<Integer> ownerIds,
+      Map<Integer, ?> walletByOwnerId) {
+
+    final var missingOwnerIds =
+        ownerIds.stream().filter(ownerId -> !walletByOwnerId.containsKey(ownerId)).toList();
+    if (missingOwnerIds.isEmpty()) return;
+
+    final var ownerIdsToDisplay = missingOwnerIds.toString().replaceAll("[\\[\\]]", "");
+    throw errorHelper
+        .entityWithSubResourceNotFound(
+            "getConsumerAndTourCompanyWallets", walletClass, ownerIdName, ownerIdsToDisplay)
+        .get();
   }
 }
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS tour_company_wallet_shards (
+    id SERIAL PRIMARY KEY,
+    tour_company_id INTEGER NOT NULL REFERENCES tour_companies(id),
+    shard_no SMALLINT NOT NULL,
+    last_updated TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    balance NUMERIC(13, 2) NOT NULL DEFAULT 0,
+    UNIQUE (tour_company_id, shard_no)
+);
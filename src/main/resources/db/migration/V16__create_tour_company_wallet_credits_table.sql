@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS tour_company_wallet_credits (
+    id SERIAL PRIMARY KEY,
+    tour_company_id INTEGER NOT NULL REFERENCES tour_companies(id),
+    booking_id INTEGER NOT NULL,
+    transaction_id INTEGER NOT NULL REFERENCES transactions(id),
+    amount NUMERIC(13, 2) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    settled_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_tour_company_wallet_credits_pending
+    ON tour_company_wallet_credits (id)
+    WHERE settled_at IS NULL;
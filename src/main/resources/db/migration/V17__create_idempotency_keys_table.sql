@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id SERIAL PRIMARY KEY,
+    idempotent_key VARCHAR(64) NOT NULL UNIQUE,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(12) NOT NULL,
+    response_status SMALLINT,
+    response_content_type VARCHAR(255),
+    response_body BYTEA,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_idempotent_key ON transactions (idempotent_key);
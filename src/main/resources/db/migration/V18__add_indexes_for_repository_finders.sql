@@ -0,0 +1,51 @@
+-- A unique index fails on the rows which are already duplicated, so each of them is checked first
+-- and the migration stops with the table to clean up, instead of deleting any booking or token
+
+-- BookingRepository.findOneByUserIdAndTourId, a user has only one booking per tour
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM bookings GROUP BY user_id, tour_id HAVING COUNT(*) > 1) THEN
+        RAISE EXCEPTION
+            'bookings has duplicated (user_id, tour_id), remove them before the unique index';
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_bookings_user_id_tour_id
+    ON bookings (user_id, tour_id);
+
+-- QrCodeReferenceRepository.findOneByBookingId, a booking has only one QR code
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM qr_code_references GROUP BY booking_id HAVING COUNT(*) > 1) THEN
+        RAISE EXCEPTION
+            'qr_code_references has duplicated booking_id, remove them before the unique index';
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_qr_code_references_booking_id
+    ON qr_code_references (booking_id);
+
+-- RefreshTokenRepository.findOneByToken
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM refresh_tokens GROUP BY token HAVING COUNT(*) > 1) THEN
+        RAISE EXCEPTION
+            'refresh_tokens has duplicated token, remove them before the unique index';
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_refresh_tokens_token
+    ON refresh_tokens (token);
+
+-- RefreshTokenRepository.updateRefreshTokenByResource
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_usage_resource_id
+    ON refresh_tokens (usage, resource_id);
+
+-- RefreshTokenRepository.updateRefreshTokenThatExpired only looks for the tokens not expired yet
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_issued_date_not_expired
+    ON refresh_tokens (issued_date)
+    WHERE is_expired = false;
+
+-- Tours of a tour company, also the foreign key check when a tour company is deleted
+CREATE INDEX IF NOT EXISTS idx_tours_tour_company_id
+    ON tours (tour_company_id);
@@ -0,0 +1,7 @@
+-- TourRepository.findAllByKeyset, the id is the tiebreaker of the tours on the same activity date
+CREATE INDEX IF NOT EXISTS idx_tours_activity_date_id
+    ON tours (activity_date, id);
+
+-- UserRepository.findAllByKeyset, the id is the tiebreaker of the users with the same first name
+CREATE INDEX IF NOT EXISTS idx_users_first_name_id
+    ON users (first_name, id);
@@ -0,0 +1,24 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- TourRepository.searchTours, the title weighs the most in the rank, then the description and the location
+ALTER TABLE tours
+ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', title), 'A')
+        || setweight(to_tsvector('english', description), 'B')
+        || setweight(to_tsvector('english', location), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tours_search_vector
+    ON tours USING GIN (search_vector);
+
+-- TourRepository.searchTours, the partial words and the typos which the full-text search misses
+CREATE INDEX IF NOT EXISTS idx_tours_title_trgm
+    ON tours USING GIN (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_tours_location_trgm
+    ON tours USING GIN (location gin_trgm_ops);
+
+-- UserRepository.findByFirstNameContaining, which is a `LIKE '%...%'` query
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm
+    ON users USING GIN (first_name gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- The refresh tokens of a resource which are issued before its watermark are revoked
+CREATE TABLE IF NOT EXISTS refresh_token_watermarks (
+    usage VARCHAR(20) NOT NULL,
+    resource_id INTEGER NOT NULL,
+    revoked_before TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (usage, resource_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_watermarks_revoked_before
+    ON refresh_token_watermarks (revoked_before);
@@ -0,0 +1,61 @@
+-- Monthly range partitions of refresh_tokens by issued_date, so the cleanup job drops a whole month
+-- of expired refresh tokens instead of deleting them row by row. The rows issued before the current
+-- month go to the default partition, which is deleted in chunks. A deployment which cannot use the
+-- partitioning sets the spring.flyway.placeholders.refresh-token-partitioning to false, then its
+-- refresh_tokens stays as it is, and the cleanup job deletes it in chunks.
+DO $$
+DECLARE
+    current_month TIMESTAMP := date_trunc('month', NOW() AT TIME ZONE 'UTC');
+    partition_month TIMESTAMP;
+BEGIN
+    IF '${refresh-token-partitioning}' <> 'true' THEN
+        RETURN;
+    END IF;
+
+    CREATE TABLE refresh_tokens_partitioned (
+        id INTEGER NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+        token VARCHAR(50) NOT NULL,
+        issued_date TIMESTAMP WITH TIME ZONE NOT NULL,
+        usage VARCHAR(20) NOT NULL,
+        resource_id INTEGER NOT NULL,
+        is_expired BOOLEAN NOT NULL
+    ) PARTITION BY RANGE (issued_date);
+
+    CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens_partitioned DEFAULT;
+
+    -- The same as RefreshTokenPurger creates ahead, the current month and the next 2 months
+    FOR i IN 0..2 LOOP
+        partition_month := current_month + make_interval(months => i);
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'refresh_tokens_p' || to_char(partition_month, 'YYYYMM'),
+            partition_month AT TIME ZONE 'UTC',
+            (partition_month + INTERVAL '1 month') AT TIME ZONE 'UTC');
+    END LOOP;
+
+    INSERT INTO refresh_tokens_partitioned (id, token, issued_date, usage, resource_id, is_expired)
+    SELECT id, token, issued_date, usage, resource_id, is_expired FROM refresh_tokens;
+
+    -- Keep the id sequence, so the ids continue from the ones which are moved
+    ALTER SEQUENCE refresh_tokens_id_seq OWNED BY NONE;
+    DROP TABLE refresh_tokens;
+    ALTER TABLE refresh_tokens_partitioned RENAME TO refresh_tokens;
+    ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+    -- A unique index of a partitioned table must include its partition key
+    ALTER TABLE refresh_tokens ADD PRIMARY KEY (id, issued_date);
+
+    -- The token alone is no longer unique by the index, but it is a random UUIDv7 which is never
+    -- issued twice in practice, and RefreshTokenRepository.findOneByToken still relies on that
+    CREATE UNIQUE INDEX uq_refresh_tokens_token
+        ON refresh_tokens (token, issued_date);
+
+    CREATE INDEX idx_refresh_tokens_usage_resource_id
+        ON refresh_tokens (usage, resource_id);
+END $$;
+
+-- The cleanup job deletes by issued_date, whether the refresh token is marked as expired or not
+DROP INDEX IF EXISTS idx_refresh_tokens_issued_date_not_expired;
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_issued_date
+    ON refresh_tokens (issued_date);
@@ -0,0 +1,6 @@
+-- The rows which are updated by read-modify-write are versioned, so a concurrent write is detected
+-- instead of being overwritten. A constant default does not rewrite the tables.
+ALTER TABLE user_wallets ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tour_company_wallets ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tour_counts ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
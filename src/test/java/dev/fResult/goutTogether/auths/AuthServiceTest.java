@@ -9,9 +9,10 @@ import dev.fResult.goutTogether.auths.dtos.*;
 import dev.fResult.goutTogether.auths.entities.RefreshToken;
 import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
-import dev.fResult.goutTogether.auths.repositories.RefreshTokenRepository;
 import dev.fResult.goutTogether.auths.repositories.UserLoginRepository;
 import dev.fResult.goutTogether.auths.services.AuthServiceImpl;
+import dev.fResult.goutTogether.auths.services.PrincipalCache;
+import dev.fResult.goutTogether.auths.services.RefreshTokenStore;
 import dev.fResult.goutTogether.auths.services.TokenService;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
@@ -64,7 +65,8 @@ class AuthServiceTest {
   @Mock private AuthenticationManager authenticationManager;
   @Mock private TourCompanyLoginRepository tourCompanyLoginRepository;
   @Mock private PasswordEncoder passwordEncoder;
-  @Mock private RefreshTokenRepository refreshTokenRepository;
+  @Mock private RefreshTokenStore refreshTokenStore;
+  @Mock private PrincipalCache principalCache;
 
   private UserLogin buildUserLogin(int id, int userId) {
     return UserLogin.of(id, AggregateReference.to(userId), TARGET_EMAIL, ENCRYPTED_PASSWORD);
@@ -268,6 +270,7 @@ class AuthServiceTest {
       // Assert
       assertEquals(ENCRYPTED_PASSWORD, mockUserLoginToUpdate.password());
       assertEquals(mockUserLoginToUpdate, actualUpdatedUserLogin);
+      verify(principalCache, times(1)).evictUser(USER_ID_1);
     }
 
     @Test
@@ -330,6 +333,7 @@ class AuthServiceTest {
 
       // Assert
       assertEquals(expectedUpdatedUserLogin, actualUpdatedUserLogin);
+      verify(principalCache, times(1)).evictUser(USER_ID_1);
     }
 
     @Test
@@ -368,6 +372,7 @@ class AuthServiceTest {
 
       // Assert
       verify(userLoginRepository, times(1)).delete(mockCredentialToDelete);
+      verify(principalCache, times(1)).evictUser(USER_ID_1);
       assertTrue(actualDeleteResult);
     }
 
@@ -511,6 +516,7 @@ class AuthServiceTest {
 
       // Assert
       verify(tourCompanyLoginRepository, times(1)).delete(mockCompanyLoginToDelete);
+      verify(principalCache, times(1)).evictTourCompany(TOUR_COMPANY_ID);
       assertTrue(actualDeleteResult);
     }
 
@@ -555,8 +561,6 @@ class AuthServiceTest {
     final var mockAuthentication =
         new UsernamePasswordAuthenticationToken(authenticatedUser, PASSWORD);
     final var mockUserLogin = buildUserLogin(1, USER_ID_1);
-    final var mockRefreshToken =
-        RefreshToken.of(1, refreshToken, Instant.now(), ROLE, USER_ID_1, false);
     final var expectedLoggedInResp =
         LoginResponse.of(USER_ID_1, TOKEN_TYPE, accessToken, refreshToken);
 
@@ -564,9 +568,8 @@ class AuthServiceTest {
         .thenReturn(mockAuthentication);
     when(tokenService.issueAccessToken(any(AuthenticatedUser.class), any(Instant.class)))
         .thenReturn(accessToken);
-    when(tokenService.issueRefreshToken()).thenReturn(refreshToken);
-    doReturn(true).when(authService).logout(any(AuthenticatedUser.class));
-    when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(mockRefreshToken);
+    when(refreshTokenStore.issue(eq(ROLE), eq(USER_ID_1), any(Instant.class)))
+        .thenReturn(refreshToken);
 
     // Actual
     final var actualLoginResponse = authService.login(body);
@@ -578,23 +581,8 @@ class AuthServiceTest {
 
   @Nested
   class RefreshTokenTest {
-    private final int REFRESH_TOKEN_ID = 1;
     private final String REFRESH_TOKEN = UUIDV7.randomUUID().toString();
 
-    private RefreshToken buildCurrentRefreshToken(
-        String refreshToken, UserRoleName role, int resourceId) {
-
-      return RefreshToken.of(
-          REFRESH_TOKEN_ID, refreshToken, Instant.now().minusSeconds(90), role, resourceId, false);
-    }
-
-    private RefreshToken buildRotatedRefreshToken(
-        String refreshToken, UserRoleName role, int resourceId) {
-
-      return RefreshToken.of(
-          REFRESH_TOKEN_ID, refreshToken, Instant.now(), role, resourceId, false);
-    }
-
     @Test
     void ofConsumerAndTokenIsRotated_ThenSuccess() {
       // Arrange
@@ -602,23 +590,13 @@ class AuthServiceTest {
       final var ROTATED_REFRESH_TOKEN = UUIDV7.randomUUID().toString();
       final var NEW_ACCESS_TOKEN = "new_access_token";
       final var body = RefreshTokenRequest.of(ROLE, USER_ID_1, REFRESH_TOKEN);
-      final var mockCurrentRefreshToken = buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, USER_ID_1);
-      final var mockRotatedRefreshToken =
-          buildRotatedRefreshToken(ROTATED_REFRESH_TOKEN, ROLE, USER_ID_1);
-      final var mockUserLogin = buildUserLogin(1, USER_ID_1);
+      final var mockRefreshedToken = RefreshedToken.of(ROLE, USER_ID_1, ROTATED_REFRESH_TOKEN);
       final var expectedLoggedInResp =
           LoginResponse.of(USER_ID_1, TOKEN_TYPE, NEW_ACCESS_TOKEN, ROTATED_REFRESH_TOKEN);
 
-      when(refreshTokenRepository.findOneByToken(anyString()))
-          .thenReturn(Optional.of(mockCurrentRefreshToken));
-      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(false);
-      doReturn(mockUserLogin).when(authService).getUserCredentialByUserId(anyInt());
-      when(tokenService.issueAccessToken(any(UserLogin.class), any(Instant.class)))
+      when(refreshTokenStore.refresh(body)).thenReturn(mockRefreshedToken);
+      when(tokenService.issueAccessToken(eq(ROLE), eq(USER_ID_1), any(Instant.class)))
           .thenReturn(NEW_ACCESS_TOKEN);
-      when(refreshTokenRepository.save(any(RefreshToken.class)))
-          .thenReturn(mockRotatedRefreshToken);
-      when(tokenService.rotateRefreshTokenIfNeed(any(RefreshToken.class)))
-          .thenReturn(ROTATED_REFRESH_TOKEN);
 
       // Actual
       final var actualRefreshedToken = authService.refreshToken(body);
@@ -633,19 +611,13 @@ class AuthServiceTest {
       final var ROLE = UserRoleName.CONSUMER;
       final var NEW_ACCESS_TOKEN = "new_access_token";
       final var body = RefreshTokenRequest.of(ROLE, USER_ID_1, REFRESH_TOKEN);
-      final var mockRefreshToken = buildRotatedRefreshToken(REFRESH_TOKEN, ROLE, USER_ID_1);
-      final var mockUserLogin = buildUserLogin(2, USER_ID_2);
+      final var mockRefreshedToken = RefreshedToken.of(ROLE, USER_ID_1, REFRESH_TOKEN);
       final var expectedLoggedInResp =
           LoginResponse.of(USER_ID_1, TOKEN_TYPE, NEW_ACCESS_TOKEN, REFRESH_TOKEN);
 
-      when(refreshTokenRepository.findOneByToken(anyString()))
-          .thenReturn(Optional.of(mockRefreshToken));
-      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(false);
-      doReturn(mockUserLogin).when(authService).getUserCredentialByUserId(anyInt());
-      when(tokenService.issueAccessToken(any(UserLogin.class), any(Instant.class)))
+      when(refreshTokenStore.refresh(body)).thenReturn(mockRefreshedToken);
+      when(tokenService.issueAccessToken(eq(ROLE), eq(USER_ID_1), any(Instant.class)))
           .thenReturn(NEW_ACCESS_TOKEN);
-      when(tokenService.rotateRefreshTokenIfNeed(any(RefreshToken.class)))
-          .thenReturn(REFRESH_TOKEN);
 
       // Actual
       final var actualRefreshedToken = authService.refreshToken(body);
@@ -659,15 +631,12 @@ class AuthServiceTest {
       // Arrange
       final var ROLE = UserRoleName.CONSUMER;
       final var body = RefreshTokenRequest.of(ROLE, USER_ID_1, REFRESH_TOKEN);
-      final var mockRefreshToken = buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, USER_ID_1);
       final var expectedErrorMessage =
           String.format(
               "%s is already expired, please re-login", RefreshToken.class.getSimpleName());
 
-      when(refreshTokenRepository.findOneByToken(anyString()))
-          .thenReturn(Optional.of(mockRefreshToken));
-      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(true);
-      doReturn(true).when(authService).logout(any(LogoutInfo.class));
+      when(refreshTokenStore.refresh(body))
+          .thenThrow(new RefreshTokenExpiredException(expectedErrorMessage));
 
       // Actual
       final Executable actualExecutable = () -> authService.refreshToken(body);
@@ -676,6 +645,7 @@ class AuthServiceTest {
       final var exception =
           assertThrowsExactly(RefreshTokenExpiredException.class, actualExecutable);
       assertEquals(expectedErrorMessage, exception.getMessage());
+      verify(tokenService, never()).issueAccessToken(any(UserRoleName.class), anyInt(), any());
     }
 
     @Test
@@ -685,26 +655,14 @@ class AuthServiceTest {
       final var ROTATED_REFRESH_TOKEN = UUIDV7.randomUUID().toString();
       final var NEW_ACCESS_TOKEN = "new_access_token";
       final var body = RefreshTokenRequest.of(ROLE, TOUR_COMPANY_ID, REFRESH_TOKEN);
-      final var mockCurrentRefreshToken =
-          buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, TOUR_COMPANY_ID);
-      final var mockRotatedRefreshToken =
-          buildRotatedRefreshToken(ROTATED_REFRESH_TOKEN, ROLE, TOUR_COMPANY_ID);
-      final var mockTourCompanyLogin = buildTourCompanyLogin(1, TOUR_COMPANY_ID);
+      final var mockRefreshedToken =
+          RefreshedToken.of(ROLE, TOUR_COMPANY_ID, ROTATED_REFRESH_TOKEN);
       final var expectedLoggedInResp =
           LoginResponse.of(TOUR_COMPANY_ID, TOKEN_TYPE, NEW_ACCESS_TOKEN, ROTATED_REFRESH_TOKEN);
 
-      when(refreshTokenRepository.findOneByToken(anyString()))
-          .thenReturn(Optional.of(mockCurrentRefreshToken));
-      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(false);
-      doReturn(mockTourCompanyLogin)
-          .when(authService)
-          .findTourCompanyCredentialByTourCompanyId(anyInt());
-      when(tokenService.issueAccessToken(any(TourCompanyLogin.class), any(Instant.class)))
+      when(refreshTokenStore.refresh(body)).thenReturn(mockRefreshedToken);
+      when(tokenService.issueAccessToken(eq(ROLE), eq(TOUR_COMPANY_ID), any(Instant.class)))
           .thenReturn(NEW_ACCESS_TOKEN);
-      when(refreshTokenRepository.save(any(RefreshToken.class)))
-          .thenReturn(mockRotatedRefreshToken);
-      when(tokenService.rotateRefreshTokenIfNeed(any(RefreshToken.class)))
-          .thenReturn(ROTATED_REFRESH_TOKEN);
 
       // Actual
       final var actualRefreshedToken = authService.refreshToken(body);
@@ -724,7 +682,8 @@ class AuthServiceTest {
               "%s with %s [%s] not found",
               RefreshToken.class.getSimpleName(), "token", NOT_FOUND_REFRESH_TOKEN);
 
-      when(refreshTokenRepository.findOneByToken(anyString())).thenReturn(Optional.empty());
+      when(refreshTokenStore.refresh(body))
+          .thenThrow(new EntityNotFoundException(expectedErrorMessage));
 
       // Actual
       final Executable actualExecutable = () -> authService.refreshToken(body);
@@ -739,11 +698,6 @@ class AuthServiceTest {
   class LogoutTest {
     @Test
     void byAuthenticatedUser_ThenSuccess() {
-      // Arrange
-      doNothing()
-          .when(refreshTokenRepository)
-          .updateRefreshTokenByResource(any(UserRoleName.class), anyInt(), eq(true));
-
       // Actual
       final var actualLogoutResult =
           authService.logout(
@@ -751,6 +705,7 @@ class AuthServiceTest {
 
       // Assert
       assertTrue(actualLogoutResult);
+      verify(refreshTokenStore).revokeAll(UserRoleName.ADMIN, USER_ID_1);
     }
 
     @Test
@@ -758,15 +713,12 @@ class AuthServiceTest {
       // Arrange
       final var logoutInfoInput = LogoutInfo.of(USER_ID_1, UserRoleName.ADMIN.name());
 
-      doNothing()
-          .when(refreshTokenRepository)
-          .updateRefreshTokenByResource(any(UserRoleName.class), anyInt(), eq(true));
-
       // Actual
       final var actualLogoutResult = authService.logout(logoutInfoInput);
 
       // Assert
       assertTrue(actualLogoutResult);
+      verify(refreshTokenStore).revokeAll(UserRoleName.ADMIN, USER_ID_1);
     }
   }
 }
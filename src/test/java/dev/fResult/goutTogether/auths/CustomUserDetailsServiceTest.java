@@ -2,29 +2,34 @@ package dev.fResult.goutTogether.auths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import dev.fResult.goutTogether.auths.dtos.AuthenticatedUser;
+import dev.fResult.goutTogether.auths.dtos.UserPrincipal;
 import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
 import dev.fResult.goutTogether.auths.repositories.UserLoginRepository;
 import dev.fResult.goutTogether.auths.services.CustomUserDetailsService;
+import dev.fResult.goutTogether.auths.services.PrincipalCache;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import dev.fResult.goutTogether.tourCompanies.repositories.TourCompanyLoginRepository;
-import dev.fResult.goutTogether.users.entities.Role;
-import dev.fResult.goutTogether.users.entities.User;
-import dev.fResult.goutTogether.users.entities.UserRole;
-import dev.fResult.goutTogether.users.repositories.UserRoleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,26 +37,25 @@ class CustomUserDetailsServiceTest {
   private final String EMAIL = "user1@example.com";
 
   @InjectMocks private CustomUserDetailsService customUserDetailsService;
-  @Mock private UserRoleRepository userRoleRepository;
   @Mock private UserLoginRepository userLoginRepository;
   @Mock private TourCompanyLoginRepository tourCompanyLoginRepository;
 
+  @Spy
+  private PrincipalCache principalCache =
+      new PrincipalCache(new MyApplicationProperties(), new SimpleMeterRegistry());
+
   @Test
   void whenLoadUserAdminDetailsByEmail_ThenSuccess() {
     // Arrange
     final var USER_ID = 1;
     final var ROLE = UserRoleName.ADMIN;
     final var HASHED_PASSWORD = "H@shedP@ssw0rd";
-    final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-    final var roleRef = AggregateReference.<Role, Integer>to(ROLE.getId());
-    final var mockUserLogin = UserLogin.of(1, userRef, EMAIL, HASHED_PASSWORD);
-    final var mockUserRole = UserRole.of(1, userRef, roleRef);
+    final var mockUserPrincipal = UserPrincipal.of(USER_ID, EMAIL, HASHED_PASSWORD, ROLE.getId());
     final var expectedAuthenticatedUser =
         AuthenticatedUser.of(USER_ID, EMAIL, HASHED_PASSWORD, ROLE);
 
-    when(userLoginRepository.findOneByEmail(anyString())).thenReturn(Optional.of(mockUserLogin));
-    when(userRoleRepository.findOneByUserId(mockUserLogin.userId()))
-        .thenReturn(Optional.of(mockUserRole));
+    when(userLoginRepository.findPrincipalByEmail(anyString()))
+        .thenReturn(Optional.of(mockUserPrincipal));
 
     // Actual
     final var actualLoadedUserDetails = customUserDetailsService.loadUserByUsername(EMAIL);
@@ -66,16 +70,12 @@ class CustomUserDetailsServiceTest {
     final var USER_ID = 2;
     final var ROLE = UserRoleName.CONSUMER;
     final var HASHED_PASSWORD = "H@shedP@ssw0rd";
-    final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-    final var roleRef = AggregateReference.<Role, Integer>to(ROLE.getId());
-    final var mockUserLogin = UserLogin.of(2, userRef, EMAIL, HASHED_PASSWORD);
-    final var mockUserRole = UserRole.of(2, userRef, roleRef);
+    final var mockUserPrincipal = UserPrincipal.of(USER_ID, EMAIL, HASHED_PASSWORD, ROLE.getId());
     final var expectedAuthenticatedUser =
         AuthenticatedUser.of(USER_ID, EMAIL, HASHED_PASSWORD, ROLE);
 
-    when(userLoginRepository.findOneByEmail(anyString())).thenReturn(Optional.of(mockUserLogin));
-    when(userRoleRepository.findOneByUserId(mockUserLogin.userId()))
-        .thenReturn(Optional.of(mockUserRole));
+    when(userLoginRepository.findPrincipalByEmail(anyString()))
+        .thenReturn(Optional.of(mockUserPrincipal));
 
     // Actual
     final var actualLoadedUserDetails = customUserDetailsService.loadUserByUsername(EMAIL);
@@ -91,7 +91,7 @@ class CustomUserDetailsServiceTest {
     final var expectedErrorMessage =
         String.format(
             "%s with email [%s] not found", UserLogin.class.getSimpleName(), NOT_FOUND_EMAIL);
-    when(userLoginRepository.findOneByEmail(anyString())).thenReturn(Optional.empty());
+    when(userLoginRepository.findPrincipalByEmail(anyString())).thenReturn(Optional.empty());
 
     // Actual
     final Executable actualLoadedUserDetails =
@@ -111,17 +111,18 @@ class CustomUserDetailsServiceTest {
         String.format(
             "%s with userId [%d] not found", UserLogin.class.getSimpleName(), NOT_FOUND_USER_ID);
     final var HASHED_PASSWORD = "H@shedP@ssw0rd";
-    final var userRef = AggregateReference.<User, Integer>to(NOT_FOUND_USER_ID);
-    final var mockUserLogin = UserLogin.of(1, userRef, EMAIL, HASHED_PASSWORD);
+    final var mockUserPrincipal = UserPrincipal.of(NOT_FOUND_USER_ID, EMAIL, HASHED_PASSWORD, null);
 
-    when(userLoginRepository.findOneByEmail(anyString())).thenReturn(Optional.of(mockUserLogin));
-    when(userRoleRepository.findOneByUserId(mockUserLogin.userId())).thenReturn(Optional.empty());
+    when(userLoginRepository.findPrincipalByEmail(anyString()))
+        .thenReturn(Optional.of(mockUserPrincipal));
 
     // Actual
-    final Executable actualLoadedUserDetails = () -> customUserDetailsService.loadUserByUsername(EMAIL);
+    final Executable actualLoadedUserDetails =
+        () -> customUserDetailsService.loadUserByUsername(EMAIL);
 
     // Assert
-    final var exception = assertThrowsExactly(EntityNotFoundException.class, actualLoadedUserDetails);
+    final var exception =
+        assertThrowsExactly(EntityNotFoundException.class, actualLoadedUserDetails);
     assertEquals(expectedErrorMessage, exception.getMessage());
   }
 
@@ -163,7 +164,181 @@ class CustomUserDetailsServiceTest {
         () -> customUserDetailsService.loadUserByUsername(NOT_FOUND_USERNAME);
 
     // Assert
-    final var exception = assertThrowsExactly(EntityNotFoundException.class, actualLoadedCompanyDetails);
+    final var exception =
+        assertThrowsExactly(EntityNotFoundException.class, actualLoadedCompanyDetails);
     assertEquals(expectedErrorMessage, exception.getMessage());
   }
+
+  @Test
+  void whenLoadUserDetailsByUsernameTwice_ThenLoadFromRepositoryOnce() {
+    // Arrange
+    final var USER_ID = 1;
+    final var mockUserPrincipal =
+        UserPrincipal.of(USER_ID, EMAIL, "H@shedP@ssw0rd", UserRoleName.CONSUMER.getId());
+
+    when(userLoginRepository.findPrincipalByEmail(EMAIL))
+        .thenReturn(Optional.of(mockUserPrincipal));
+
+    // Actual
+    final var actualFirstLoaded = customUserDetailsService.loadUserByUsername(EMAIL);
+    final var actualSecondLoaded = customUserDetailsService.loadUserByUsername(EMAIL);
+    final var actualLoadedByResource =
+        customUserDetailsService.loadUserByResource(UserRoleName.CONSUMER, USER_ID);
+
+    // Assert
+    assertEquals(actualFirstLoaded, actualSecondLoaded);
+    assertEquals(actualFirstLoaded, actualLoadedByResource);
+    verify(userLoginRepository, times(1)).findPrincipalByEmail(EMAIL);
+  }
+
+  @Test
+  void whenLoadUserDetailsAfterEvicted_ThenLoadFromRepositoryAgain() {
+    // Arrange
+    final var USER_ID = 1;
+    final var mockUserPrincipal =
+        UserPrincipal.of(USER_ID, EMAIL, "H@shedP@ssw0rd", UserRoleName.CONSUMER.getId());
+    final var mockUpdatedUserPrincipal =
+        UserPrincipal.of(USER_ID, EMAIL, "N3wH@shedP@ssw0rd", UserRoleName.CONSUMER.getId());
+    final var expectedAuthenticatedUser =
+        AuthenticatedUser.of(USER_ID, EMAIL, "N3wH@shedP@ssw0rd", UserRoleName.CONSUMER);
+
+    when(userLoginRepository.findPrincipalByEmail(EMAIL))
+        .thenReturn(Optional.of(mockUserPrincipal))
+        .thenReturn(Optional.of(mockUpdatedUserPrincipal));
+
+    // Actual
+    customUserDetailsService.loadUserByUsername(EMAIL);
+    principalCache.evictUser(USER_ID);
+    final var actualLoadedUserDetails = customUserDetailsService.loadUserByUsername(EMAIL);
+
+    // Assert
+    assertEquals(expectedAuthenticatedUser, actualLoadedUserDetails);
+    verify(userLoginRepository, times(2)).findPrincipalByEmail(EMAIL);
+  }
+
+  @Test
+  void whenLoadUserDetailsByUserId_ThenSuccess() {
+    // Arrange
+    final var USER_ID = 1;
+    final var ROLE = UserRoleName.ADMIN;
+    final var HASHED_PASSWORD = "H@shedP@ssw0rd";
+    final var mockUserPrincipal = UserPrincipal.of(USER_ID, EMAIL, HASHED_PASSWORD, ROLE.getId());
+    final var expectedAuthenticatedUser =
+        AuthenticatedUser.of(USER_ID, EMAIL, HASHED_PASSWORD, ROLE);
+
+    when(userLoginRepository.findPrincipalByUserId(USER_ID))
+        .thenReturn(Optional.of(mockUserPrincipal));
+
+    // Actual
+    final var actualLoadedUserDetails =
+        customUserDetailsService.loadUserByResource(UserRoleName.ADMIN, USER_ID);
+
+    // Assert
+    assertEquals(expectedAuthenticatedUser, actualLoadedUserDetails);
+  }
+
+  @Test
+  void whenLoadUserDetailsByUserId_ButUserNotFound_ThenThrowException() {
+    // Arrange
+    final var NOT_FOUND_USER_ID = 99999;
+    final var expectedErrorMessage =
+        String.format(
+            "%s with userId [%d] not found", UserLogin.class.getSimpleName(), NOT_FOUND_USER_ID);
+
+    when(userLoginRepository.findPrincipalByUserId(NOT_FOUND_USER_ID))
+        .thenReturn(Optional.empty());
+
+    // Actual
+    final Executable actualLoadedUserDetails =
+        () -> customUserDetailsService.loadUserByResource(UserRoleName.CONSUMER, NOT_FOUND_USER_ID);
+
+    // Assert
+    final var exception =
+        assertThrowsExactly(EntityNotFoundException.class, actualLoadedUserDetails);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenLoadCompanyDetailsByTourCompanyId_ThenSuccess() {
+    // Arrange
+    final var TOUR_COMPANY_ID = 2;
+    final var HASHED_PASSWORD = "H@shedP@ssw0rd";
+    final var tourCompanyRef = AggregateReference.<TourCompany, Integer>to(TOUR_COMPANY_ID);
+    final var mockTourCompanyLogin =
+        TourCompanyLogin.of(1, tourCompanyRef, "DisasterTour", HASHED_PASSWORD);
+    final var expectedAuthenticatedUser =
+        AuthenticatedUser.of(
+            TOUR_COMPANY_ID, "DisasterTour", HASHED_PASSWORD, UserRoleName.COMPANY);
+
+    when(tourCompanyLoginRepository.findOneByTourCompanyId(tourCompanyRef))
+        .thenReturn(Optional.of(mockTourCompanyLogin));
+
+    // Actual
+    final var actualLoadedCompanyDetails =
+        customUserDetailsService.loadUserByResource(UserRoleName.COMPANY, TOUR_COMPANY_ID);
+
+    // Assert
+    assertEquals(expectedAuthenticatedUser, actualLoadedCompanyDetails);
+  }
+
+  @Test
+  void whenUpdatePasswordOfUser_ThenStoreRehashedPasswordAndEvict() {
+    // Arrange
+    final var USER_ID = 1;
+    final var REHASHED_PASSWORD = "Reh@shedP@ssw0rd";
+    final var authenticatedUser =
+        AuthenticatedUser.of(USER_ID, EMAIL, "H@shedP@ssw0rd", UserRoleName.CONSUMER);
+    final var expectedAuthenticatedUser =
+        AuthenticatedUser.of(USER_ID, EMAIL, REHASHED_PASSWORD, UserRoleName.CONSUMER);
+
+    when(userLoginRepository.updatePasswordByUserId(USER_ID, REHASHED_PASSWORD)).thenReturn(1);
+
+    // Actual
+    final var actualUpdatedUserDetails =
+        customUserDetailsService.updatePassword(authenticatedUser, REHASHED_PASSWORD);
+
+    // Assert
+    assertEquals(expectedAuthenticatedUser, actualUpdatedUserDetails);
+    verify(principalCache, times(1)).evictUser(USER_ID);
+  }
+
+  @Test
+  void whenUpdatePasswordOfTourCompany_ThenStoreRehashedPasswordAndEvict() {
+    // Arrange
+    final var TOUR_COMPANY_ID = 1;
+    final var REHASHED_PASSWORD = "Reh@shedP@ssw0rd";
+    final var authenticatedUser =
+        AuthenticatedUser.of(
+            TOUR_COMPANY_ID, "DisasterTour", "H@shedP@ssw0rd", UserRoleName.COMPANY);
+
+    when(tourCompanyLoginRepository.updatePasswordByTourCompanyId(
+            TOUR_COMPANY_ID, REHASHED_PASSWORD))
+        .thenReturn(1);
+
+    // Actual
+    final var actualUpdatedUserDetails =
+        customUserDetailsService.updatePassword(authenticatedUser, REHASHED_PASSWORD);
+
+    // Assert
+    assertEquals(REHASHED_PASSWORD, actualUpdatedUserDetails.getPassword());
+    verify(principalCache, times(1)).evictTourCompany(TOUR_COMPANY_ID);
+  }
+
+  @Test
+  void whenUpdatePassword_ButDatabaseFailed_ThenKeepCurrentPassword() {
+    // Arrange
+    final var USER_ID = 1;
+    final var authenticatedUser =
+        AuthenticatedUser.of(USER_ID, EMAIL, "H@shedP@ssw0rd", UserRoleName.CONSUMER);
+
+    when(userLoginRepository.updatePasswordByUserId(anyInt(), anyString()))
+        .thenThrow(new QueryTimeoutException("Timed out"));
+
+    // Actual
+    final var actualUpdatedUserDetails =
+        customUserDetailsService.updatePassword(authenticatedUser, "Reh@shedP@ssw0rd");
+
+    // Assert
+    assertEquals(authenticatedUser, actualUpdatedUserDetails);
+  }
 }
@@ -0,0 +1,247 @@
+package dev.fResult.goutTogether.auths;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
+import dev.fResult.goutTogether.auths.dtos.RefreshedToken;
+import dev.fResult.goutTogether.auths.entities.RefreshToken;
+import dev.fResult.goutTogether.auths.repositories.RefreshTokenRepository;
+import dev.fResult.goutTogether.auths.services.DatabaseRefreshTokenStore;
+import dev.fResult.goutTogether.auths.services.RefreshTokenPurger;
+import dev.fResult.goutTogether.auths.services.TokenService;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.exceptions.RefreshTokenExpiredException;
+import dev.fResult.goutTogether.common.utils.UUIDV7;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseRefreshTokenStoreTest {
+  private final int USER_ID = 1;
+  private final int TOUR_COMPANY_ID = 1;
+  private final int REFRESH_TOKEN_ID = 1;
+  private final String REFRESH_TOKEN = UUIDV7.randomUUID().toString();
+
+  @InjectMocks private DatabaseRefreshTokenStore refreshTokenStore;
+  @Mock private RefreshTokenRepository refreshTokenRepository;
+  @Mock private TokenService tokenService;
+  @Mock private RefreshTokenPurger refreshTokenPurger;
+
+  private RefreshToken buildCurrentRefreshToken(
+      String refreshToken, UserRoleName role, int resourceId) {
+
+    return RefreshToken.of(
+        REFRESH_TOKEN_ID, refreshToken, Instant.now().minusSeconds(90), role, resourceId, false);
+  }
+
+  private RefreshToken buildRotatedRefreshToken(
+      String refreshToken, UserRoleName role, int resourceId) {
+
+    return RefreshToken.of(REFRESH_TOKEN_ID, refreshToken, Instant.now(), role, resourceId, false);
+  }
+
+  @Test
+  void whenIssue_ThenRevokeAllAndSaveNewRefreshToken() {
+    // Arrange
+    final var ROLE = UserRoleName.CONSUMER;
+    final var issuedAt = Instant.now();
+    final var mockRefreshToken =
+        RefreshToken.of(REFRESH_TOKEN_ID, REFRESH_TOKEN, issuedAt, ROLE, USER_ID, false);
+
+    when(tokenService.issueRefreshToken()).thenReturn(REFRESH_TOKEN);
+    when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(mockRefreshToken);
+
+    // Actual
+    final var actualRefreshToken = refreshTokenStore.issue(ROLE, USER_ID, issuedAt);
+
+    // Assert
+    assertEquals(REFRESH_TOKEN, actualRefreshToken);
+    verify(refreshTokenRepository).updateRefreshTokenByResource(ROLE, USER_ID, true);
+    verify(refreshTokenRepository)
+        .save(RefreshToken.of(null, REFRESH_TOKEN, issuedAt, ROLE, USER_ID, false));
+  }
+
+  @Test
+  void whenCleanupExpired_ThenPurgeExpiredRefreshTokens() {
+    // Actual
+    refreshTokenStore.cleanupExpired();
+
+    // Assert
+    verify(refreshTokenPurger, times(1)).purgeExpired();
+  }
+
+  @Nested
+  class RefreshTest {
+    @Test
+    void ofConsumerAndTokenIsRotated_ThenSuccess() {
+      // Arrange
+      final var ROLE = UserRoleName.CONSUMER;
+      final var ROTATED_REFRESH_TOKEN = UUIDV7.randomUUID().toString();
+      final var body = RefreshTokenRequest.of(ROLE, USER_ID, REFRESH_TOKEN);
+      final var mockCurrentRefreshToken = buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, USER_ID);
+      final var mockRotatedRefreshToken =
+          buildRotatedRefreshToken(ROTATED_REFRESH_TOKEN, ROLE, USER_ID);
+      final var expectedRefreshedToken = RefreshedToken.of(ROLE, USER_ID, ROTATED_REFRESH_TOKEN);
+
+      when(refreshTokenRepository.findOneByToken(anyString()))
+          .thenReturn(Optional.of(mockCurrentRefreshToken));
+      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(false);
+      when(refreshTokenRepository.save(any(RefreshToken.class)))
+          .thenReturn(mockRotatedRefreshToken);
+      when(tokenService.rotateRefreshTokenIfNeed(any(RefreshToken.class)))
+          .thenReturn(ROTATED_REFRESH_TOKEN);
+
+      // Actual
+      final var actualRefreshedToken = refreshTokenStore.refresh(body);
+
+      // Assert
+      assertEquals(expectedRefreshedToken, actualRefreshedToken);
+    }
+
+    @Test
+    void ofConsumer_ThenReturnCurrentRefreshToken() {
+      // Arrange
+      final var ROLE = UserRoleName.CONSUMER;
+      final var body = RefreshTokenRequest.of(ROLE, USER_ID, REFRESH_TOKEN);
+      final var mockRefreshToken = buildRotatedRefreshToken(REFRESH_TOKEN, ROLE, USER_ID);
+      final var expectedRefreshedToken = RefreshedToken.of(ROLE, USER_ID, REFRESH_TOKEN);
+
+      when(refreshTokenRepository.findOneByToken(anyString()))
+          .thenReturn(Optional.of(mockRefreshToken));
+      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(false);
+      when(tokenService.rotateRefreshTokenIfNeed(any(RefreshToken.class)))
+          .thenReturn(REFRESH_TOKEN);
+
+      // Actual
+      final var actualRefreshedToken = refreshTokenStore.refresh(body);
+
+      // Assert
+      assertEquals(expectedRefreshedToken, actualRefreshedToken);
+      verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void ofConsumer_ButRefreshTokenAlreadyExpired_ThenThrowException() {
+      // Arrange
+      final var ROLE = UserRoleName.CONSUMER;
+      final var body = RefreshTokenRequest.of(ROLE, USER_ID, REFRESH_TOKEN);
+      final var mockRefreshToken = buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, USER_ID);
+      final var expectedErrorMessage =
+          String.format(
+              "%s is already expired, please re-login", RefreshToken.class.getSimpleName());
+
+      when(refreshTokenRepository.findOneByToken(anyString()))
+          .thenReturn(Optional.of(mockRefreshToken));
+      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(true);
+
+      // Actual
+      final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+      // Assert
+      final var exception =
+          assertThrowsExactly(RefreshTokenExpiredException.class, actualExecutable);
+      assertEquals(expectedErrorMessage, exception.getMessage());
+      verify(refreshTokenRepository).updateRefreshTokenByResource(ROLE, USER_ID, true);
+    }
+
+    @Test
+    void ofConsumer_ButRefreshTokenIsRevoked_ThenThrowException() {
+      // Arrange
+      final var ROLE = UserRoleName.CONSUMER;
+      final var body = RefreshTokenRequest.of(ROLE, USER_ID, REFRESH_TOKEN);
+      final var mockRevokedRefreshToken =
+          RefreshToken.of(REFRESH_TOKEN_ID, REFRESH_TOKEN, Instant.now(), ROLE, USER_ID, true);
+
+      when(refreshTokenRepository.findOneByToken(anyString()))
+          .thenReturn(Optional.of(mockRevokedRefreshToken));
+
+      // Actual
+      final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+      // Assert
+      assertThrowsExactly(RefreshTokenExpiredException.class, actualExecutable);
+      verify(tokenService, never()).rotateRefreshTokenIfNeed(any(RefreshToken.class));
+    }
+
+    @Test
+    void ofTourCompanyAndTokenIsRotated_ThenSuccess() {
+      // Arrange
+      final var ROLE = UserRoleName.COMPANY;
+      final var ROTATED_REFRESH_TOKEN = UUIDV7.randomUUID().toString();
+      final var body = RefreshTokenRequest.of(ROLE, TOUR_COMPANY_ID, REFRESH_TOKEN);
+      final var mockCurrentRefreshToken =
+          buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, TOUR_COMPANY_ID);
+      final var mockRotatedRefreshToken =
+          buildRotatedRefreshToken(ROTATED_REFRESH_TOKEN, ROLE, TOUR_COMPANY_ID);
+      final var expectedRefreshedToken =
+          RefreshedToken.of(ROLE, TOUR_COMPANY_ID, ROTATED_REFRESH_TOKEN);
+
+      when(refreshTokenRepository.findOneByToken(anyString()))
+          .thenReturn(Optional.of(mockCurrentRefreshToken));
+      when(tokenService.isRefreshTokenExpired(any(RefreshToken.class))).thenReturn(false);
+      when(refreshTokenRepository.save(any(RefreshToken.class)))
+          .thenReturn(mockRotatedRefreshToken);
+      when(tokenService.rotateRefreshTokenIfNeed(any(RefreshToken.class)))
+          .thenReturn(ROTATED_REFRESH_TOKEN);
+
+      // Actual
+      final var actualRefreshedToken = refreshTokenStore.refresh(body);
+
+      // Assert
+      assertEquals(expectedRefreshedToken, actualRefreshedToken);
+    }
+
+    @Test
+    void butIssuedForAnotherResource_ThenThrowException() {
+      // Arrange
+      final var ROLE = UserRoleName.CONSUMER;
+      final var ANOTHER_USER_ID = 99999;
+      final var body = RefreshTokenRequest.of(ROLE, ANOTHER_USER_ID, REFRESH_TOKEN);
+      final var mockRefreshToken = buildCurrentRefreshToken(REFRESH_TOKEN, ROLE, USER_ID);
+      final var expectedErrorMessage =
+          String.format(
+              "%s with %s [%s] not found",
+              RefreshToken.class.getSimpleName(), "token", REFRESH_TOKEN);
+
+      when(refreshTokenRepository.findOneByToken(anyString()))
+          .thenReturn(Optional.of(mockRefreshToken));
+
+      // Actual
+      final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+      // Assert
+      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
+      assertEquals(expectedErrorMessage, exception.getMessage());
+    }
+
+    @Test
+    void butNotFound_ThenThrowException() {
+      // Arrange
+      final var ROLE = UserRoleName.CONSUMER;
+      final var NOT_FOUND_REFRESH_TOKEN = "NOT_FOUND_TOKEN";
+      final var body = RefreshTokenRequest.of(ROLE, USER_ID, NOT_FOUND_REFRESH_TOKEN);
+      final var expectedErrorMessage =
+          String.format(
+              "%s with %s [%s] not found",
+              RefreshToken.class.getSimpleName(), "token", NOT_FOUND_REFRESH_TOKEN);
+
+      when(refreshTokenRepository.findOneByToken(anyString())).thenReturn(Optional.empty());
+
+      // Actual
+      final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+      // Assert
+      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
+      assertEquals(expectedErrorMessage, exception.getMessage());
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package dev.fResult.goutTogether.auths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.fResult.goutTogether.auths.services.RefreshTokenPurger;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgerTest {
+  private final int PURGE_CHUNK_SIZE = 2;
+  private final YearMonth CURRENT_MONTH = YearMonth.now(ZoneOffset.UTC);
+
+  private SimpleMeterRegistry meterRegistry;
+  private RefreshTokenPurger refreshTokenPurger;
+
+  @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    final var myProps = new MyApplicationProperties();
+    myProps.getToken().setPurgeChunkSize(PURGE_CHUNK_SIZE);
+    myProps.getToken().setPartitionMonthsAhead(2);
+
+    meterRegistry = new SimpleMeterRegistry();
+    refreshTokenPurger = new RefreshTokenPurger(jdbcTemplate, myProps, meterRegistry);
+  }
+
+  private String toPartitionName(YearMonth partitionMonth) {
+    return RefreshTokenPurger.PARTITION_NAME_PREFIX
+        + partitionMonth.format(DateTimeFormatter.ofPattern("yyyyMM"));
+  }
+
+  private String startsWithCreatePartition(YearMonth partitionMonth) {
+    return startsWith("CREATE TABLE IF NOT EXISTS " + toPartitionName(partitionMonth));
+  }
+
+  private double getPurgedRows(String strategy) {
+    return meterRegistry
+        .get(RefreshTokenPurger.METRIC_PREFIX + ".rows")
+        .tag("strategy", strategy)
+        .counter()
+        .count();
+  }
+
+  private void mockPartitioned(boolean isPartitioned) {
+    when(jdbcTemplate.queryForObject(anyString(), anyMap(), eq(Boolean.class)))
+        .thenReturn(isPartitioned);
+  }
+
+  @Test
+  void whenPurgeExpired_AndNotPartitioned_ThenDeleteInChunks() {
+    // Arrange
+    mockPartitioned(false);
+    when(jdbcTemplate.update(contains("DELETE FROM refresh_tokens"), any(SqlParameterSource.class)))
+        .thenReturn(PURGE_CHUNK_SIZE, PURGE_CHUNK_SIZE, 1);
+
+    // Actual
+    final var actualPurgedCount = refreshTokenPurger.purgeExpired();
+
+    // Assert
+    assertEquals(5, actualPurgedCount);
+    assertEquals(5, getPurgedRows("chunked_delete"));
+    assertEquals(
+        1, meterRegistry.get(RefreshTokenPurger.METRIC_PREFIX + ".duration").timer().count());
+    verify(jdbcTemplate, times(3)).update(anyString(), any(SqlParameterSource.class));
+  }
+
+  @Test
+  void whenPurgeExpired_AndPartitioned_ThenDropExpiredPartitionsOnly() {
+    // Arrange
+    final var expiredPartitionName = toPartitionName(CURRENT_MONTH.minusMonths(3));
+    final var currentPartitionName = toPartitionName(CURRENT_MONTH);
+    mockPartitioned(true);
+    when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+        .thenReturn(
+            List.of(
+                expiredPartitionName,
+                currentPartitionName,
+                RefreshTokenPurger.DEFAULT_PARTITION_NAME));
+    when(jdbcTemplate.queryForObject(
+            eq("SELECT COUNT(*) FROM " + expiredPartitionName), anyMap(), eq(Integer.class)))
+        .thenReturn(42);
+    when(jdbcTemplate.update(
+            contains("DELETE FROM " + RefreshTokenPurger.DEFAULT_PARTITION_NAME),
+            any(SqlParameterSource.class)))
+        .thenReturn(1);
+
+    // Actual
+    final var actualPurgedCount = refreshTokenPurger.purgeExpired();
+
+    // Assert
+    assertEquals(43, actualPurgedCount);
+    assertEquals(42, getPurgedRows("partition_drop"));
+    assertEquals(1, getPurgedRows("chunked_delete"));
+    verify(jdbcTemplate).update(eq("DROP TABLE IF EXISTS " + expiredPartitionName), anyMap());
+    verify(jdbcTemplate, never())
+        .update(eq("DROP TABLE IF EXISTS " + currentPartitionName), anyMap());
+  }
+
+  @Test
+  void whenCreateUpcomingPartitions_ThenCreateMissingMonthsOnly() {
+    // Arrange
+    mockPartitioned(true);
+    when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+        .thenReturn(List.of(toPartitionName(CURRENT_MONTH)));
+
+    // Actual
+    final var actualCreatedCount = refreshTokenPurger.createUpcomingPartitions();
+
+    // Assert
+    assertEquals(2, actualCreatedCount);
+    verify(jdbcTemplate).update(startsWithCreatePartition(CURRENT_MONTH.plusMonths(1)), anyMap());
+    verify(jdbcTemplate).update(startsWithCreatePartition(CURRENT_MONTH.plusMonths(2)), anyMap());
+  }
+
+  @Test
+  void whenCreateUpcomingPartitions_ButDefaultPartitionHoldsTheMonth_ThenSkipIt() {
+    // Arrange
+    mockPartitioned(true);
+    when(jdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+        .thenReturn(List.of(toPartitionName(CURRENT_MONTH)));
+    when(jdbcTemplate.update(startsWithCreatePartition(CURRENT_MONTH.plusMonths(1)), anyMap()))
+        .thenThrow(new DataIntegrityViolationException("partition constraint is violated"));
+
+    // Actual
+    final var actualCreatedCount = refreshTokenPurger.createUpcomingPartitions();
+
+    // Assert
+    assertEquals(1, actualCreatedCount);
+    assertEquals(1, meterRegistry.get("refresh_tokens.partitions.created").counter().count());
+  }
+
+  @Test
+  void whenCreateUpcomingPartitions_ButNotPartitioned_ThenDoNothing() {
+    // Arrange
+    mockPartitioned(false);
+
+    // Actual
+    final var actualCreatedCount = refreshTokenPurger.createUpcomingPartitions();
+
+    // Assert
+    assertEquals(0, actualCreatedCount);
+    verify(jdbcTemplate, never()).update(anyString(), anyMap());
+  }
+}
@@ -0,0 +1,203 @@
+package dev.fResult.goutTogether.auths;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+import dev.fResult.goutTogether.auths.dtos.RefreshTokenRequest;
+import dev.fResult.goutTogether.auths.dtos.RefreshedToken;
+import dev.fResult.goutTogether.auths.entities.RefreshToken;
+import dev.fResult.goutTogether.auths.services.StatelessRefreshTokenStore;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.exceptions.RefreshTokenExpiredException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class StatelessRefreshTokenStoreTest {
+  private final int USER_ID = 1;
+  private final int TOUR_COMPANY_ID = 1;
+  private final String REFRESH_TOKEN_SECRET =
+      Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+  private StatelessRefreshTokenStore refreshTokenStore;
+
+  @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    refreshTokenStore = buildRefreshTokenStore(3600);
+  }
+
+  @AfterEach
+  void tearDown() {
+    refreshTokenStore.destroy();
+  }
+
+  private StatelessRefreshTokenStore buildRefreshTokenStore(int refreshTokenExpiredInSeconds) {
+    final var myProps = new MyApplicationProperties();
+    myProps.getToken().setRefreshTokenSecret(REFRESH_TOKEN_SECRET);
+    myProps.getToken().setRefreshTokenExpiredInSeconds(refreshTokenExpiredInSeconds);
+
+    return new StatelessRefreshTokenStore(jdbcTemplate, myProps);
+  }
+
+  private String readPayload(String refreshToken) {
+    final var payload = refreshToken.split("\\.")[1];
+
+    return new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+  }
+
+  private String buildNotFoundMessage(String refreshToken) {
+    return String.format(
+        "%s with %s [%s] not found", RefreshToken.class.getSimpleName(), "token", refreshToken);
+  }
+
+  @Test
+  void whenIssueThenRefresh_ThenReturnCurrentRefreshToken() {
+    // Arrange
+    final var ROLE = UserRoleName.CONSUMER;
+    final var refreshToken = refreshTokenStore.issue(ROLE, USER_ID, Instant.now());
+    final var body = RefreshTokenRequest.of(ROLE, USER_ID, refreshToken);
+    final var expectedRefreshedToken = RefreshedToken.of(ROLE, USER_ID, refreshToken);
+
+    // Actual
+    final var actualRefreshedToken = refreshTokenStore.refresh(body);
+
+    // Assert
+    assertEquals(expectedRefreshedToken, actualRefreshedToken);
+  }
+
+  @Test
+  void whenRefreshNearExpiration_ThenRotateAndRevokeRotatedToken() {
+    // Arrange
+    refreshTokenStore.destroy();
+    refreshTokenStore = buildRefreshTokenStore(60);
+    final var ROLE = UserRoleName.COMPANY;
+    final var refreshToken =
+        refreshTokenStore.issue(ROLE, TOUR_COMPANY_ID, Instant.now().minusSeconds(10));
+    final var body = RefreshTokenRequest.of(ROLE, TOUR_COMPANY_ID, refreshToken);
+
+    // Actual
+    final var actualRefreshedToken = refreshTokenStore.refresh(body);
+    final Executable refreshRotatedToken = () -> refreshTokenStore.refresh(body);
+
+    // Assert
+    assertNotEquals(refreshToken, actualRefreshedToken.refreshToken());
+    assertTrue(readPayload(refreshToken).contains("\"rotation\":0"));
+    assertTrue(readPayload(actualRefreshedToken.refreshToken()).contains("\"rotation\":1"));
+    assertThrowsExactly(RefreshTokenExpiredException.class, refreshRotatedToken);
+  }
+
+  @Test
+  void whenRevokeAll_ThenRefreshTokenIsRevoked() {
+    // Arrange
+    final var ROLE = UserRoleName.CONSUMER;
+    final var refreshToken =
+        refreshTokenStore.issue(ROLE, USER_ID, Instant.now().minusSeconds(10));
+    final var body = RefreshTokenRequest.of(ROLE, USER_ID, refreshToken);
+    final var expectedErrorMessage =
+        String.format("%s is already revoked, please re-login", RefreshToken.class.getSimpleName());
+
+    // Actual
+    refreshTokenStore.revokeAll(UserRoleName.ADMIN, USER_ID);
+    final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+    // Assert
+    final var exception = assertThrowsExactly(RefreshTokenExpiredException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenRefreshExpiredToken_ThenThrowException() {
+    // Arrange
+    final var ROLE = UserRoleName.CONSUMER;
+    final var refreshToken =
+        refreshTokenStore.issue(ROLE, USER_ID, Instant.now().minusSeconds(7200));
+    final var body = RefreshTokenRequest.of(ROLE, USER_ID, refreshToken);
+    final var expectedErrorMessage =
+        String.format("%s is already expired, please re-login", RefreshToken.class.getSimpleName());
+
+    // Actual
+    final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+    // Assert
+    final var exception = assertThrowsExactly(RefreshTokenExpiredException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenRefreshTamperedToken_ThenThrowException() {
+    // Arrange
+    final var ROLE = UserRoleName.CONSUMER;
+    final var refreshToken = refreshTokenStore.issue(ROLE, USER_ID, Instant.now());
+    final var tokenParts = refreshToken.split("\\.");
+    final var tamperedSignature =
+        (tokenParts[2].charAt(0) == 'A' ? "B" : "A") + tokenParts[2].substring(1);
+    final var tamperedRefreshToken = tokenParts[0] + "." + tokenParts[1] + "." + tamperedSignature;
+    final var body = RefreshTokenRequest.of(ROLE, USER_ID, tamperedRefreshToken);
+
+    // Actual
+    final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+    // Assert
+    final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
+    assertEquals(buildNotFoundMessage(tamperedRefreshToken), exception.getMessage());
+  }
+
+  @Test
+  void whenRefreshTokenOfAnotherResource_ThenThrowException() {
+    // Arrange
+    final var refreshToken = refreshTokenStore.issue(UserRoleName.COMPANY, USER_ID, Instant.now());
+    final var body = RefreshTokenRequest.of(UserRoleName.CONSUMER, USER_ID, refreshToken);
+
+    // Actual
+    final Executable actualExecutable = () -> refreshTokenStore.refresh(body);
+
+    // Assert
+    final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
+    assertEquals(buildNotFoundMessage(refreshToken), exception.getMessage());
+  }
+
+  @Test
+  void whenFlushWatermarks_ThenWriteMovedWatermarksInOneBatch() {
+    // Arrange
+    refreshTokenStore.revokeAll(UserRoleName.CONSUMER, USER_ID);
+    refreshTokenStore.revokeAll(UserRoleName.COMPANY, TOUR_COMPANY_ID);
+
+    // Actual
+    final var actualFlushedCount = refreshTokenStore.flushWatermarks();
+    final var actualFlushedAgainCount = refreshTokenStore.flushWatermarks();
+
+    // Assert
+    assertEquals(2, actualFlushedCount);
+    assertEquals(0, actualFlushedAgainCount);
+    verify(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class));
+  }
+
+  @Test
+  void whenSecretIsTooShort_ThenThrowException() {
+    // Arrange
+    final var myProps = new MyApplicationProperties();
+    myProps.getToken().setRefreshTokenSecret(Base64.getEncoder().encodeToString(new byte[16]));
+
+    // Actual
+    final Executable actualExecutable = () -> new StatelessRefreshTokenStore(jdbcTemplate, myProps);
+
+    // Assert
+    assertThrowsExactly(IllegalStateException.class, actualExecutable);
+  }
+}
@@ -8,7 +8,6 @@ import dev.fResult.goutTogether.auths.dtos.AuthenticatedUser;
 import dev.fResult.goutTogether.auths.entities.RefreshToken;
 import dev.fResult.goutTogether.auths.entities.TourCompanyLogin;
 import dev.fResult.goutTogether.auths.entities.UserLogin;
-import dev.fResult.goutTogether.auths.repositories.RefreshTokenRepository;
 import dev.fResult.goutTogether.auths.services.CustomUserDetailsService;
 import dev.fResult.goutTogether.auths.services.TokenService;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
@@ -32,7 +31,6 @@ class TokenServiceTest {
   private final long ACCESS_TOKEN_EXPIRED_IN_120_SECONDS = 120;
   private final long REFRESH_TOKEN_EXPIRED_IN_600_SECONDS = 600;
 
-  @Mock private RefreshTokenRepository refreshTokenRepository;
   @Mock private CustomUserDetailsService userDetailsService;
   @Mock private JwtEncoder jwtEncoder;
 
@@ -43,7 +41,6 @@ class TokenServiceTest {
     tokenService =
         spy(
             new TokenService(
-                refreshTokenRepository,
                 userDetailsService,
                 ACCESS_TOKEN_EXPIRED_IN_120_SECONDS,
                 REFRESH_TOKEN_EXPIRED_IN_600_SECONDS,
@@ -79,7 +76,8 @@ class TokenServiceTest {
               USER_ID, userLogin.email(), userLogin.password(), UserRoleName.ADMIN);
       final var mockIssuedAccessToken = "token";
 
-      when(userDetailsService.loadUserByUsername(userLogin.email())).thenReturn(authenticatedUser);
+      when(userDetailsService.loadUserByResource(UserRoleName.CONSUMER, USER_ID))
+          .thenReturn(authenticatedUser);
       doReturn(mockIssuedAccessToken).when(tokenService).encodeClaimToJwt(any(JwtClaimsSet.class));
 
       // Actual
@@ -103,7 +101,7 @@ class TokenServiceTest {
               UserRoleName.ADMIN);
       final var expectedIssuedAccessToken = "token";
 
-      when(userDetailsService.loadUserByUsername(tourCompanyLogin.username()))
+      when(userDetailsService.loadUserByResource(UserRoleName.COMPANY, TOUR_COMPANY_ID))
           .thenReturn(authenticatedUser);
       doReturn(expectedIssuedAccessToken)
           .when(tokenService)
@@ -222,14 +220,4 @@ class TokenServiceTest {
       assertEquals(OLD_TOKEN, actualNewToken);
     }
   }
-
-  @Test
-  void cleanupExpiredRefreshToken() {
-    // Actual
-    tokenService.cleanupExpiredRefreshToken();
-
-    // Assert
-    verify(refreshTokenRepository, times(1))
-        .updateRefreshTokenThatExpired(eq(true), any(Instant.class));
-  }
 }
@@ -0,0 +1,340 @@
+package dev.fResult.goutTogether.common;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.configs.AbstractIntegrationTest;
+import dev.fResult.goutTogether.tours.repositories.TourKeysetRepositoryImpl;
+import dev.fResult.goutTogether.users.repositories.UserKeysetRepositoryImpl;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs <code>EXPLAIN</code> for the query of every repository method on a seeded dataset, and fails
+ * when any of them plans a sequential scan. A new repository method fails this test until it has
+ * its case here.
+ *
+ * <p>The queries of <code>@Query</code> are read from the annotation, so only the derived queries
+ * are written by hand, the same as the SQL which Spring Data JDBC generates for them. The keyset
+ * repository fragments build their queries at runtime, so every sort field and direction of them
+ * is explained as its own case.
+ */
+class RepositoryQueryPlanIT extends AbstractIntegrationTest {
+  private static final String BASE_PACKAGE = "dev.fResult.goutTogether";
+  private static final Pattern NAMED_PARAMETER_PATTERN = Pattern.compile("(?<![:\\w]):(\\w+)");
+
+  // Far from the ids of the other integration tests, so the seeded rows never collide with them
+  private static final int SEED_ID = 1_000_000;
+
+  private static final Map<String, String> DERIVED_QUERY_BY_METHOD =
+      Map.ofEntries(
+          entry(
+              "BookingRepository.findOneByUserIdAndTourId",
+              "SELECT * FROM bookings WHERE user_id = 1000001 AND tour_id = 1000001"),
+          entry(
+              "IdempotencyKeyRepository.findOneByIdempotentKey",
+              "SELECT * FROM idempotency_keys WHERE idempotent_key = 'key-42'"),
+          entry(
+              "QrCodeReferenceRepository.findOneByBookingId",
+              "SELECT * FROM qr_code_references WHERE booking_id = 1000001"),
+          entry(
+              "RefreshTokenRepository.findOneByToken",
+              "SELECT * FROM refresh_tokens WHERE token = 'token-42'"),
+          entry(
+              "TourCompanyLoginRepository.findOneByUsername",
+              "SELECT * FROM tour_company_logins WHERE username = 'company42'"),
+          entry(
+              "TourCompanyLoginRepository.findOneByTourCompanyId",
+              "SELECT * FROM tour_company_logins WHERE tour_company_id = 1000001"),
+          entry(
+              "TourCompanyWalletRepository.findOneByTourCompanyId",
+              "SELECT * FROM tour_company_wallets WHERE tour_company_id = 1000001 FOR UPDATE"),
+          entry(
+              "TourCountRepository.findOneByTourId",
+              "SELECT * FROM tour_counts WHERE tour_id = 1000001 FOR UPDATE"),
+          entry(
+              "TourCountRepository.existsByTourId",
+              "SELECT id FROM tour_counts WHERE tour_id = 1000001 LIMIT 1"),
+          entry(
+              "TransactionRepository.findOneByIdempotentKey",
+              "SELECT * FROM transactions WHERE idempotent_key = 'key-42'"),
+          entry(
+              "UserLoginRepository.findByUserIdIn",
+              "SELECT * FROM user_logins WHERE user_id IN (1000001, 1000002, 1000003)"),
+          entry(
+              "UserLoginRepository.findOneByEmail",
+              "SELECT * FROM user_logins WHERE email = 'user42@seed.gout'"),
+          entry(
+              "UserLoginRepository.findOneByUserId",
+              "SELECT * FROM user_logins WHERE user_id = 1000001"),
+          entry(
+              "UserLoginRepository.findOneByEmailAndPassword",
+              "SELECT * FROM user_logins WHERE email = 'user42@seed.gout' AND password = 'x'"),
+          entry(
+              "UserRepository.findByFirstNameContaining",
+              "SELECT * FROM users WHERE first_name LIKE '%First4242%' LIMIT 20 OFFSET 0"),
+          entry(
+              "UserRepository.countByFirstNameContaining",
+              "SELECT COUNT(*) FROM users WHERE first_name LIKE '%First4242%'"),
+          entry(
+              "UserRoleRepository.findOneByUserId",
+              "SELECT * FROM user_roles WHERE user_id = 1000001"),
+          entry(
+              "UserRoleRepository.deleteByUserId",
+              "DELETE FROM user_roles WHERE user_id = 1000001"),
+          entry(
+              "UserWalletRepository.findOneByUserId",
+              "SELECT * FROM user_wallets WHERE user_id = 1000001 FOR UPDATE"));
+
+  // These read every row of their tables by design, so a sequential scan is the right plan
+  private static final Set<String> FULL_SCAN_METHODS =
+      Set.of(
+          "TourCompanyWalletRepository.findDiscrepanciesWithLedger",
+          "TourCountRepository.reconcileAmountsWithCompletedBookings",
+          "TourRepository.findAll");
+
+  private static final Map<String, String> SAMPLE_VALUE_BY_PARAMETER =
+      Map.ofEntries(
+          entry("activityDateFrom", "'2000-01-01 00:00:00+00'"),
+          entry("activityDateTo", "'3000-01-01 00:00:00+00'"),
+          entry("amount", "100"),
+          entry("batchSize", "500"),
+          entry("bookingId", "1000001"),
+          entry("bookingIds", "1000001, 1000002, 1000003"),
+          entry("createdBefore", "'2000-01-01 00:00:00+00'"),
+          entry("email", "'user42@seed.gout'"),
+          entry("firstNamePattern", "'%First4242%'"),
+          entry("idempotentKey", "'key-42'"),
+          entry("inProgressTimeoutSeconds", "60"),
+          entry("isExpired", "true"),
+          entry("keyword", "'Tour 4242'"),
+          entry("lastId", "1010000"),
+          // Casts to both the TIMESTAMPTZ and the VARCHAR sort columns
+          entry("lastValue", "'2000-01-01 00:00:00+00'"),
+          entry("limit", "21"),
+          entry("offset", "0"),
+          entry("password", "'x'"),
+          entry("requestHash", "'hash-42'"),
+          entry("resourceId", "1000001"),
+          entry("responseBody", "NULL"),
+          entry("responseContentType", "'application/json'"),
+          entry("responseStatus", "200"),
+          entry("shardNo", "1"),
+          entry("status", "'COMPLETED'"),
+          entry("thresholdDate", "'2000-01-01 00:00:00+00'"),
+          entry("tourCompanyId", "1000001"),
+          entry("tourCompanyIds", "1000001, 1000002, 1000003"),
+          entry("tourId", "1000001"),
+          entry("usage", "'CONSUMER'"),
+          entry("userId", "1000001"),
+          entry("userIds", "1000001, 1000002, 1000003"));
+
+  private static final String SEED_SQL =
+      """
+      INSERT INTO users (id, first_name, last_name)
+      SELECT :seedId + i, 'First' || i, 'Last' || i FROM generate_series(1, 50000) i;
+
+      INSERT INTO user_roles (user_id, role_id)
+      SELECT :seedId + i, 2 FROM generate_series(1, 50000) i;
+
+      INSERT INTO user_logins (user_id, email, password)
+      SELECT :seedId + i, 'user' || i || '@seed.gout', 'x' FROM generate_series(1, 50000) i;
+
+      INSERT INTO user_wallets (user_id, balance)
+      SELECT :seedId + i, 1000 FROM generate_series(1, 50000) i;
+
+      INSERT INTO tour_companies (id, name, status)
+      SELECT :seedId + i, 'Company ' || i, 'APPROVED' FROM generate_series(1, 10000) i;
+
+      INSERT INTO tour_company_logins (tour_company_id, username, password)
+      SELECT :seedId + i, 'company' || i, 'x' FROM generate_series(1, 10000) i;
+
+      INSERT INTO tour_company_wallets (tour_company_id, balance)
+      SELECT :seedId + i, 0 FROM generate_series(1, 10000) i;
+
+      INSERT INTO tour_company_wallet_shards (tour_company_id, shard_no, balance)
+      SELECT :seedId + i, s, 0 FROM generate_series(1, 10000) i, generate_series(0, 7) s;
+
+      INSERT INTO tours (
+        id, tour_company_id, title, description, location, number_of_people, activity_date, status
+      )
+      SELECT :seedId + i, :seedId + (i % 10000) + 1, 'Tour ' || i, 'Seeded tour', 'Thailand', 50,
+        NOW() + INTERVAL '30 days', 'APPROVED'
+      FROM generate_series(1, 20000) i;
+
+      INSERT INTO tour_counts (tour_id, amount)
+      SELECT :seedId + i, 0 FROM generate_series(1, 20000) i;
+
+      INSERT INTO bookings (id, user_id, tour_id, state, booking_date, idempotent_key)
+      SELECT :seedId + i, :seedId + (i % 50000) + 1, :seedId + ((i * 7919) % 20000) + 1,
+        CASE WHEN i % 10 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END, NOW(), md5(i::TEXT)
+      FROM generate_series(0, 99999) i;
+
+      INSERT INTO qr_code_references (booking_id, content, status)
+      SELECT :seedId + i, '/api/v1/payments/' || i, 'PAID' FROM generate_series(0, 99999) i;
+
+      INSERT INTO transactions (
+        id, user_id, tour_company_id, booking_id, type, amount, transaction_date, idempotent_key
+      )
+      SELECT :seedId + i, :seedId + (i % 50000) + 1, :seedId + (i % 10000) + 1, :seedId + i,
+        'BOOKING', 100, NOW(), md5(i::TEXT)
+      FROM generate_series(0, 99999) i;
+
+      INSERT INTO tour_company_wallet_credits (
+        tour_company_id, booking_id, transaction_id, amount, settled_at
+      )
+      SELECT :seedId + (i % 10000) + 1, :seedId + i, :seedId + i, 100,
+        CASE WHEN i % 100 = 0 THEN NULL ELSE NOW() END
+      FROM generate_series(0, 49999) i;
+
+      -- Spread over the upcoming monthly partitions too, so none of them is explained empty
+      INSERT INTO refresh_tokens (token, issued_date, usage, resource_id, is_expired)
+      SELECT md5(i::TEXT), NOW() + ((i - 50000) * 3 || ' minutes')::INTERVAL, 'CONSUMER',
+        :seedId + (i % 50000) + 1, i % 20 <> 0
+      FROM generate_series(0, 99999) i;
+
+      INSERT INTO idempotency_keys (idempotent_key, request_hash, status, created_at)
+      SELECT md5(i::TEXT), md5(i::TEXT), 'COMPLETED', NOW() - (i || ' seconds')::INTERVAL
+      FROM generate_series(0, 49999) i;
+
+      ANALYZE;
+      """;
+
+  @Autowired private ApplicationContext applicationContext;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Map<String, Method> findRepositoryMethods() {
+    return applicationContext.getBeansOfType(Repository.class).values().stream()
+        .flatMap(repository -> Arrays.stream(AopProxyUtils.proxiedUserInterfaces(repository)))
+        .filter(repositoryInterface -> repositoryInterface.getName().startsWith(BASE_PACKAGE))
+        .flatMap(repositoryInterface -> Arrays.stream(repositoryInterface.getDeclaredMethods()))
+        .filter(method -> !method.isDefault() && !method.isSynthetic())
+        .collect(
+            Collectors.toMap(
+                method -> method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                method -> method,
+                (method, overloadedMethod) -> method,
+                TreeMap::new));
+  }
+
+  private String findSql(String methodName, Method method) {
+    final var queryAnnotation = method.getAnnotation(Query.class);
+
+    return queryAnnotation == null
+        ? DERIVED_QUERY_BY_METHOD.get(methodName)
+        : queryAnnotation.value();
+  }
+
+  private Map<String, String> buildKeysetSqlByCaseName() {
+    final var sqlByCaseName = new TreeMap<String, String>();
+    for (final var direction : Sort.Direction.values()) {
+      for (final var afterCursor : List.of(false, true)) {
+        for (final var sortField : TourSortField.values()) {
+          sqlByCaseName.put(
+              String.format(
+                  "TourRepository.findAllByKeyset[%s %s, afterCursor=%s]",
+                  sortField, direction, afterCursor),
+              TourKeysetRepositoryImpl.buildFindAllByKeysetSql(sortField, direction, afterCursor));
+        }
+        for (final var sortField : UserSortField.values()) {
+          for (final var withKeyword : List.of(false, true)) {
+            sqlByCaseName.put(
+                String.format(
+                    "UserRepository.findAllByKeyset[%s %s, afterCursor=%s, withKeyword=%s]",
+                    sortField, direction, afterCursor, withKeyword),
+                UserKeysetRepositoryImpl.buildFindAllByKeysetSql(
+                    withKeyword, sortField, direction, afterCursor));
+          }
+        }
+      }
+    }
+
+    return sqlByCaseName;
+  }
+
+  private String toExplainableSql(String caseName, String sql) {
+    return NAMED_PARAMETER_PATTERN
+        .matcher(sql.strip().replaceAll(";$", ""))
+        .replaceAll(
+            matchResult -> {
+              final var parameterName = matchResult.group(1);
+              final var sampleValue = SAMPLE_VALUE_BY_PARAMETER.get(parameterName);
+              assertNotNull(
+                  sampleValue,
+                  String.format("Add a sample value of [%s] for %s", parameterName, caseName));
+
+              return Matcher.quoteReplacement(sampleValue);
+            });
+  }
+
+  @Test
+  void whenRepositoryMethodAdded_ThenItMustHaveQueryPlanCase() {
+    // Actual
+    final var repositoryMethods = findRepositoryMethods();
+
+    // Assert
+    final var methodNamesWithoutCase =
+        repositoryMethods.entrySet().stream()
+            .filter(entry -> entry.getValue().getAnnotation(Query.class) == null)
+            .map(Map.Entry::getKey)
+            .filter(methodName -> !DERIVED_QUERY_BY_METHOD.containsKey(methodName))
+            .filter(methodName -> !FULL_SCAN_METHODS.contains(methodName))
+            .toList();
+    assertTrue(
+        methodNamesWithoutCase.isEmpty(),
+        "Repository methods without query plan case: " + methodNamesWithoutCase);
+  }
+
+  @Test
+  @Transactional
+  void whenExplainEveryRepositoryQuery_ThenNoSequentialScan() {
+    // Arrange
+    jdbcTemplate.execute(SEED_SQL.replace(":seedId", String.valueOf(SEED_ID)));
+    final var repositoryMethods = findRepositoryMethods();
+    repositoryMethods.keySet().removeAll(FULL_SCAN_METHODS);
+    final var sqlByCaseName = new TreeMap<String, String>();
+    repositoryMethods.forEach(
+        (methodName, method) -> sqlByCaseName.put(methodName, findSql(methodName, method)));
+    sqlByCaseName.putAll(buildKeysetSqlByCaseName());
+
+    // Actual
+    final var planByMethodName = new TreeMap<String, String>();
+    sqlByCaseName.forEach(
+        (caseName, sql) -> {
+          final var planLines =
+              jdbcTemplate.queryForList("EXPLAIN " + toExplainableSql(caseName, sql), String.class);
+          planByMethodName.put(caseName, String.join("\n", planLines));
+        });
+
+    // Assert
+    assertAll(
+        planByMethodName.entrySet().stream()
+            .map(entry -> assertNoSequentialScan(entry.getKey(), entry.getValue())));
+  }
+
+  private Executable assertNoSequentialScan(String methodName, String plan) {
+    return () ->
+        assertFalse(
+            plan.contains("Seq Scan"),
+            () -> String.format("%s plans a sequential scan:%n%s", methodName, plan));
+  }
+}
@@ -0,0 +1,95 @@
+package dev.fResult.goutTogether.common.helpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.data.domain.Sort;
+
+class KeysetQueryHelperTest {
+  @Test
+  void whenBuildFirstPageSql_ThenOrderBySortFieldAndId() {
+    // Arrange
+    final var expectedSql =
+        """
+        SELECT * FROM tours
+        ORDER BY activity_date DESC, id DESC
+        LIMIT :limit;""";
+
+    // Actual
+    final var actualSql =
+        KeysetQueryHelper.buildSelectSql(
+            "tours", List.of(), TourSortField.ACTIVITY_DATE, Sort.Direction.DESC, false);
+
+    // Assert
+    assertEquals(expectedSql, actualSql);
+  }
+
+  @Test
+  void whenBuildNextPageSql_ThenSeekAfterLastSortValueAndId() {
+    // Arrange
+    final var expectedSql =
+        """
+        SELECT * FROM users
+        WHERE first_name LIKE :firstNamePattern \
+        AND (first_name, id) > (CAST(:lastValue AS VARCHAR), :lastId)
+        ORDER BY first_name ASC, id ASC
+        LIMIT :limit;""";
+
+    // Actual
+    final var actualSql =
+        KeysetQueryHelper.buildSelectSql(
+            "users",
+            List.of("first_name LIKE :firstNamePattern"),
+            UserSortField.FIRST_NAME,
+            Sort.Direction.ASC,
+            true);
+
+    // Assert
+    assertEquals(expectedSql, actualSql);
+  }
+
+  @Test
+  void whenBuildNextPageSqlSortedById_ThenSeekAfterLastId() {
+    // Arrange
+    final var expectedSql =
+        """
+        SELECT * FROM tours
+        WHERE id < :lastId
+        ORDER BY id DESC
+        LIMIT :limit;""";
+
+    // Actual
+    final var actualSql =
+        KeysetQueryHelper.buildSelectSql(
+            "tours", List.of(), TourSortField.ID, Sort.Direction.DESC, true);
+
+    // Assert
+    assertEquals(expectedSql, actualSql);
+  }
+
+  @Test
+  void whenPageSizeIsOutOfRange_ThenThrowValidationException() {
+    // Actual
+    final Executable actualZeroSize = () -> KeysetQueryHelper.validatePageSize(0);
+    final Executable actualTooLargeSize =
+        () -> KeysetQueryHelper.validatePageSize(KeysetQueryHelper.MAX_PAGE_SIZE + 1);
+
+    // Assert
+    assertThrows(ValidationException.class, actualZeroSize);
+    assertThrows(ValidationException.class, actualTooLargeSize);
+  }
+
+  @Test
+  void whenSortFieldIsNotAllowed_ThenThrowValidationException() {
+    // Actual
+    final Executable actualExecutable = () -> TourSortField.fromProperty("description");
+
+    // Assert
+    assertThrows(ValidationException.class, actualExecutable);
+  }
+}
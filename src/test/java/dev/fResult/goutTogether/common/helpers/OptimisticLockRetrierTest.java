@@ -0,0 +1,120 @@
+package dev.fResult.goutTogether.common.helpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticLockRetrierTest {
+  private final String OPERATION = "topUpConsumerWallet";
+  private final int MAX_ATTEMPTS = 3;
+
+  private SimpleMeterRegistry meterRegistry;
+  private OptimisticLockRetrier optimisticLockRetrier;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    final var myProps = new MyApplicationProperties();
+    myProps.getOptimisticLock().setMaxAttempts(MAX_ATTEMPTS);
+    myProps.getOptimisticLock().setInitialBackoffMillis(1);
+    myProps.getOptimisticLock().setMaxBackoffMillis(2);
+
+    meterRegistry = new SimpleMeterRegistry();
+    optimisticLockRetrier = new OptimisticLockRetrier(transactionManager, myProps, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  private double getCount(String outcome) {
+    final var counter =
+        meterRegistry
+            .find(OptimisticLockRetrier.METRIC_PREFIX + "." + outcome)
+            .tag("operation", OPERATION)
+            .counter();
+
+    return counter == null ? 0 : counter.count();
+  }
+
+  private int conflictTimes(AtomicInteger attempts, int conflictCount) {
+    if (attempts.incrementAndGet() <= conflictCount) {
+      throw new OptimisticLockingFailureException("The wallet is updated concurrently");
+    }
+
+    return attempts.get();
+  }
+
+  @Test
+  void whenExecuteInTransaction_AndConflictOnce_ThenRetryInNewTransaction() {
+    // Arrange
+    final var attempts = new AtomicInteger();
+
+    // Actual
+    final var actualAttempts =
+        optimisticLockRetrier.executeInTransaction(OPERATION, () -> conflictTimes(attempts, 1));
+
+    // Assert
+    assertEquals(2, actualAttempts);
+    assertEquals(1, getCount("retries"));
+    assertEquals(0, getCount("exhausted"));
+    verify(transactionManager, times(2)).getTransaction(any(TransactionDefinition.class));
+  }
+
+  @Test
+  void whenExecuteInTransaction_ButConflictOnEveryAttempt_ThenThrowException() {
+    // Arrange
+    final var attempts = new AtomicInteger();
+
+    // Actual
+    final Executable actualExecutable =
+        () ->
+            optimisticLockRetrier.executeInTransaction(
+                OPERATION, () -> conflictTimes(attempts, Integer.MAX_VALUE));
+
+    // Assert
+    assertThrows(OptimisticLockingFailureException.class, actualExecutable);
+    assertEquals(MAX_ATTEMPTS, attempts.get());
+    assertEquals(MAX_ATTEMPTS - 1, getCount("retries"));
+    assertEquals(1, getCount("exhausted"));
+  }
+
+  @Test
+  void whenExecuteInTransaction_AndTransactionIsActive_ThenNotRetry() {
+    // Arrange
+    final var attempts = new AtomicInteger();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    // Actual
+    final Executable actualExecutable =
+        () ->
+            optimisticLockRetrier.executeInTransaction(
+                OPERATION, () -> conflictTimes(attempts, 1));
+
+    // Assert
+    assertThrows(OptimisticLockingFailureException.class, actualExecutable);
+    assertEquals(1, attempts.get());
+    assertEquals(0, getCount("retries"));
+    verify(transactionManager, never()).getTransaction(any(TransactionDefinition.class));
+  }
+}
@@ -1,13 +1,20 @@
 package dev.fResult.goutTogether.common.helpers;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -46,4 +53,55 @@ class QrCodeHelperTest {
       assertEquals(expectedQrCodeImage, actualQrCodeImage);
     }
   }
+
+  @Test
+  void whenGenerateQrCodePng_ThenReturnPngBytes() throws Exception {
+    // Arrange
+    final var barcodeTextInput = "Hello, World!";
+    final var pngSignature = new byte[] {(byte) 0x89, 'P', 'N', 'G'};
+
+    // Actual
+    final var actualQrCodePng = QrCodeHelper.generateQrCodePng(barcodeTextInput);
+
+    // Assert
+    assertArrayEquals(pngSignature, Arrays.copyOf(actualQrCodePng, pngSignature.length));
+    final var actualQrCodeImage = ImageIO.read(new ByteArrayInputStream(actualQrCodePng));
+    assertEquals(QrCodeHelper.QR_CODE_SIZE, actualQrCodeImage.getWidth());
+    assertEquals(QrCodeHelper.QR_CODE_SIZE, actualQrCodeImage.getHeight());
+  }
+
+  @Test
+  void whenGenerateQrCodeAsSvg_ThenReturnSvgOfRequestedSize() throws Exception {
+    // Arrange
+    final var barcodeTextInput = "Hello, World!";
+    final var SIZE = 600;
+
+    // Actual
+    final var actualQrCodeSvg =
+        new String(
+            QrCodeHelper.generateQrCode(barcodeTextInput, QrCodeFormat.SVG, SIZE),
+            StandardCharsets.UTF_8);
+
+    // Assert
+    assertTrue(actualQrCodeSvg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\""));
+    assertTrue(actualQrCodeSvg.contains(" width=\"600\" height=\"600\""));
+    assertTrue(actualQrCodeSvg.contains("<path fill=\"#000\" d=\"M"));
+    assertTrue(actualQrCodeSvg.endsWith("\"/></svg>"));
+  }
+
+  @Test
+  void whenGenerateQrCodeAsPng_ThenReturnPngOfRequestedSize() throws Exception {
+    // Arrange
+    final var barcodeTextInput = "Hello, World!";
+    final var SIZE = 600;
+
+    // Actual
+    final var actualQrCodePng =
+        QrCodeHelper.generateQrCode(barcodeTextInput, QrCodeFormat.PNG, SIZE);
+
+    // Assert
+    final var actualQrCodeImage = ImageIO.read(new ByteArrayInputStream(actualQrCodePng));
+    assertEquals(SIZE, actualQrCodeImage.getWidth());
+    assertEquals(SIZE, actualQrCodeImage.getHeight());
+  }
 }
@@ -0,0 +1,112 @@
+package dev.fResult.goutTogether.common.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.data.domain.Sort;
+
+class KeysetCursorTest {
+  @Nested
+  class EncodeAndDecodeTest {
+    @Test
+    void whenDecodeEncodedCursor_ThenReturnSameCursor() {
+      // Arrange
+      final var cursor =
+          KeysetCursor.of(
+              TourSortField.ACTIVITY_DATE, Sort.Direction.DESC, 42, "2024-01-01T10:15:30Z");
+
+      // Actual
+      final var actualCursor = KeysetCursor.decode(cursor.encode());
+
+      // Assert
+      assertEquals(cursor, actualCursor);
+    }
+
+    @Test
+    void whenSortById_ThenDropLastValue() {
+      // Arrange
+      final var cursor = KeysetCursor.of(UserSortField.ID, Sort.Direction.ASC, 42, "John");
+
+      // Actual
+      final var actualCursor = KeysetCursor.decode(cursor.encode());
+
+      // Assert
+      assertNull(actualCursor.lastValue());
+      assertEquals(42, actualCursor.lastId());
+    }
+
+    @Test
+    void whenLastValueContainsDelimiter_ThenKeepWholeLastValue() {
+      // Arrange
+      final var cursor =
+          KeysetCursor.of(UserSortField.FIRST_NAME, Sort.Direction.ASC, 42, "Jo:hn:");
+
+      // Actual
+      final var actualCursor = KeysetCursor.decode(cursor.encode());
+
+      // Assert
+      assertEquals("Jo:hn:", actualCursor.lastValue());
+    }
+
+    @Test
+    void whenDecodeMalformedCursor_ThenThrowValidationException() {
+      // Actual
+      final Executable actualExecutable = () -> KeysetCursor.decode("not a cursor");
+
+      // Assert
+      assertThrows(ValidationException.class, actualExecutable);
+    }
+  }
+
+  @Nested
+  class RequireSameOrderTest {
+    @Test
+    void whenSortOrderIsSame_ThenReturnCursor() {
+      // Arrange
+      final var cursor =
+          KeysetCursor.of(UserSortField.FIRST_NAME, Sort.Direction.ASC, 42, "John");
+
+      // Actual
+      final var actualCursor =
+          cursor.requireSameOrder(UserSortField.FIRST_NAME, Sort.Direction.ASC);
+
+      // Assert
+      assertSame(cursor, actualCursor);
+    }
+
+    @Test
+    void whenSortOrderIsDifferent_ThenThrowValidationException() {
+      // Arrange
+      final var cursor =
+          KeysetCursor.of(UserSortField.FIRST_NAME, Sort.Direction.ASC, 42, "John");
+
+      // Actual
+      final Executable actualExecutable =
+          () -> cursor.requireSameOrder(UserSortField.FIRST_NAME, Sort.Direction.DESC);
+
+      // Assert
+      assertThrows(ValidationException.class, actualExecutable);
+    }
+
+    @Test
+    void whenLastValueIsNotOfSortFieldType_ThenThrowValidationException() {
+      // Arrange
+      final var tamperedCursor =
+          KeysetCursor.decode(
+              KeysetCursor.of(TourSortField.ACTIVITY_DATE, Sort.Direction.ASC, 42, "not a date")
+                  .encode());
+
+      // Actual
+      final Executable actualExecutable =
+          () -> tamperedCursor.requireSameOrder(TourSortField.ACTIVITY_DATE, Sort.Direction.ASC);
+
+      // Assert
+      assertThrows(ValidationException.class, actualExecutable);
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package dev.fResult.goutTogether.common.security;
+
+import static dev.fResult.goutTogether.common.Constants.RESOURCE_ID_CLAIM;
+import static dev.fResult.goutTogether.common.Constants.ROLES_CLAIM;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class AuthenticatedPrincipalArgumentResolverTest {
+  private final int RESOURCE_ID = 1;
+  private final String EMAIL = "john.wick@example.com";
+
+  private AuthenticatedPrincipalArgumentResolver argumentResolver;
+  private MockHttpServletRequest request;
+
+  @BeforeEach
+  void setup() {
+    argumentResolver = new AuthenticatedPrincipalArgumentResolver();
+    request = new MockHttpServletRequest();
+  }
+
+  @SuppressWarnings("unused")
+  private void handle(AuthenticatedPrincipal principal, String email) {}
+
+  private MethodParameter buildHandlerParameter(int parameterIndex) throws NoSuchMethodException {
+    final var handlerMethod =
+        getClass().getDeclaredMethod("handle", AuthenticatedPrincipal.class, String.class);
+
+    return new MethodParameter(handlerMethod, parameterIndex);
+  }
+
+  private JwtAuthenticationToken buildAuthentication(Object resourceId, String roles) {
+    final var jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(EMAIL)
+            .claim(RESOURCE_ID_CLAIM, resourceId)
+            .claim(ROLES_CLAIM, roles)
+            .build();
+
+    return new JwtAuthenticationToken(jwt);
+  }
+
+  @Test
+  void whenSupportsParameter_ThenOnlyAcceptAuthenticatedPrincipal() throws Exception {
+    // Actual
+    final var actualPrincipalSupported =
+        argumentResolver.supportsParameter(buildHandlerParameter(0));
+    final var actualStringSupported = argumentResolver.supportsParameter(buildHandlerParameter(1));
+
+    // Assert
+    assertTrue(actualPrincipalSupported);
+    assertFalse(actualStringSupported);
+  }
+
+  @Test
+  void whenResolveArgument_ThenReturnPrincipalFromAccessToken() {
+    // Arrange
+    request.setUserPrincipal(buildAuthentication(RESOURCE_ID, UserRoleName.COMPANY.name()));
+    final var expectedPrincipal =
+        AuthenticatedPrincipal.of(RESOURCE_ID, UserRoleName.COMPANY, EMAIL);
+
+    // Actual
+    final var actualPrincipal =
+        argumentResolver.resolveArgument(null, null, new ServletWebRequest(request), null);
+
+    // Assert
+    assertEquals(expectedPrincipal, actualPrincipal);
+  }
+
+  @Test
+  void whenResolveArgument_AndRoleHasAuthorityPrefix_ThenStripThePrefix() {
+    // Arrange
+    request.setUserPrincipal(
+        buildAuthentication(String.valueOf(RESOURCE_ID), "ROLE_" + UserRoleName.CONSUMER.name()));
+
+    // Actual
+    final var actualPrincipal =
+        argumentResolver.resolveArgument(null, null, new ServletWebRequest(request), null);
+
+    // Assert
+    assertEquals(RESOURCE_ID, actualPrincipal.resourceId());
+    assertEquals(UserRoleName.CONSUMER, actualPrincipal.role());
+  }
+
+  @Test
+  void whenResolveArgumentTwiceInSameRequest_ThenParseClaimsOnce() {
+    // Arrange
+    request.setUserPrincipal(buildAuthentication(RESOURCE_ID, UserRoleName.CONSUMER.name()));
+    final var webRequest = new ServletWebRequest(request);
+
+    // Actual
+    final var actualFirstPrincipal = argumentResolver.resolveArgument(null, null, webRequest, null);
+    final var actualSecondPrincipal =
+        argumentResolver.resolveArgument(null, null, webRequest, null);
+
+    // Assert
+    assertSame(actualFirstPrincipal, actualSecondPrincipal);
+  }
+
+  @Test
+  void whenResolveArgument_ButNoAccessToken_ThenThrowException() {
+    // Actual
+    final Executable actualExecutable =
+        () -> argumentResolver.resolveArgument(null, null, new ServletWebRequest(request), null);
+
+    // Assert
+    assertThrowsExactly(AuthenticationCredentialsNotFoundException.class, actualExecutable);
+  }
+}
@@ -0,0 +1,217 @@
+package dev.fResult.goutTogether.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.fResult.goutTogether.common.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+  private static final String RAW_PASSWORD = "P@$$w0rd";
+  private static final String ENCODED_PASSWORD = "$argon2id$encoded";
+
+  private SimpleMeterRegistry meterRegistry;
+  private PasswordEncoder delegate;
+  private BoundedPasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    delegate = mock(PasswordEncoder.class);
+    passwordEncoder =
+        new BoundedPasswordEncoder(delegate, 1, Duration.ofMillis(50), meterRegistry);
+  }
+
+  private double getRejectedCount() {
+    return meterRegistry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".rejected").counter().count();
+  }
+
+  private double getSkippedUpgradeCount() {
+    return meterRegistry
+        .get(BoundedPasswordEncoder.METRIC_PREFIX + ".upgrades.skipped")
+        .counter()
+        .count();
+  }
+
+  private double getQueuedCount() {
+    return meterRegistry.get(BoundedPasswordEncoder.METRIC_PREFIX + ".queued").gauge().value();
+  }
+
+  @Test
+  void whenEncodeAndMatches_ThenDelegate() {
+    // Arrange
+    when(delegate.encode(RAW_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+    when(delegate.matches(RAW_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+
+    // Actual
+    final var actualEncodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+    final var actualMatched = passwordEncoder.matches(RAW_PASSWORD, ENCODED_PASSWORD);
+
+    // Assert
+    assertEquals(ENCODED_PASSWORD, actualEncodedPassword);
+    assertTrue(actualMatched);
+    assertEquals(0, getRejectedCount());
+  }
+
+  @Test
+  void whenAllPermitsAreInUse_ThenShedWithException() throws Exception {
+    // Arrange
+    final var hashingStarted = new CountDownLatch(1);
+    final var releaseHashing = new CountDownLatch(1);
+    when(delegate.matches(any(), anyString()))
+        .thenAnswer(
+            invocation -> {
+              hashingStarted.countDown();
+              return releaseHashing.await(5, TimeUnit.SECONDS);
+            });
+
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final var runningHashing =
+          executor.submit(() -> passwordEncoder.matches(RAW_PASSWORD, ENCODED_PASSWORD));
+      assertTrue(hashingStarted.await(5, TimeUnit.SECONDS));
+
+      // Actual
+      final Executable actualExecutable = () -> passwordEncoder.encode(RAW_PASSWORD);
+
+      // Assert
+      assertThrowsExactly(PasswordHashingBusyException.class, actualExecutable);
+      assertEquals(1, getRejectedCount());
+
+      releaseHashing.countDown();
+      assertTrue(runningHashing.get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void whenPermitIsReleased_ThenNextHashingCanRun() {
+    // Arrange
+    when(delegate.matches(RAW_PASSWORD, ENCODED_PASSWORD)).thenThrow(new IllegalStateException());
+    when(delegate.encode(RAW_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+
+    // Actual
+    assertThrows(
+        IllegalStateException.class, () -> passwordEncoder.matches(RAW_PASSWORD, ENCODED_PASSWORD));
+    final var actualEncodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+
+    // Assert
+    assertEquals(ENCODED_PASSWORD, actualEncodedPassword);
+  }
+
+  @Test
+  void whenUpgradeEncoding_ThenDelegate() {
+    // Arrange
+    when(delegate.upgradeEncoding(ENCODED_PASSWORD)).thenReturn(true);
+
+    // Actual
+    final var actualUpgradeEncoding = passwordEncoder.upgradeEncoding(ENCODED_PASSWORD);
+
+    // Assert
+    assertTrue(actualUpgradeEncoding);
+  }
+
+  @Test
+  void whenLoginNeedsUpgrade_ButAllPermitsAreInUse_ThenLoginWithoutRehash() throws Exception {
+    // Arrange
+    final var waitingPasswordEncoder =
+        new BoundedPasswordEncoder(delegate, 1, Duration.ofSeconds(5), meterRegistry);
+    final var userDetailsService = mock(UserDetailsService.class);
+    final var userDetailsPasswordService = mock(UserDetailsPasswordService.class);
+    final var authenticationProvider = new DaoAuthenticationProvider(waitingPasswordEncoder);
+    authenticationProvider.setUserDetailsService(userDetailsService);
+    authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+
+    final var otherHashingStarted = new CountDownLatch(1);
+    final var releaseOtherHashing = new CountDownLatch(1);
+    when(userDetailsService.loadUserByUsername("user"))
+        .thenReturn(User.withUsername("user").password(ENCODED_PASSWORD).roles("USER").build());
+    when(delegate.upgradeEncoding(ENCODED_PASSWORD)).thenReturn(true);
+    when(delegate.encode(any()))
+        .thenAnswer(
+            invocation -> {
+              if (!"other".contentEquals(invocation.<CharSequence>getArgument(0))) return "unused";
+
+              otherHashingStarted.countDown();
+              releaseOtherHashing.await(5, TimeUnit.SECONDS);
+              return ENCODED_PASSWORD;
+            });
+
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      // Another hashing queues for the permit while the login is matching its password
+      when(delegate.matches(RAW_PASSWORD, ENCODED_PASSWORD))
+          .thenAnswer(
+              invocation -> {
+                executor.submit(() -> waitingPasswordEncoder.encode("other"));
+                while (getQueuedCount() < 1) Thread.onSpinWait();
+                return true;
+              });
+
+      // Actual
+      final var actualAuthentication =
+          authenticationProvider.authenticate(
+              UsernamePasswordAuthenticationToken.unauthenticated("user", RAW_PASSWORD));
+
+      // Assert
+      assertTrue(actualAuthentication.isAuthenticated());
+      assertTrue(otherHashingStarted.await(5, TimeUnit.SECONDS));
+      assertEquals(1, getSkippedUpgradeCount());
+      assertEquals(0, getRejectedCount());
+      verify(userDetailsPasswordService, never()).updatePassword(any(), anyString());
+
+      releaseOtherHashing.countDown();
+    }
+  }
+
+  @Test
+  void whenRehashAfterUpgradeEncoding_ButPermitIsTaken_ThenReturnOldHashWithoutWaiting()
+      throws Exception {
+
+    // Arrange
+    final var hashingStarted = new CountDownLatch(1);
+    final var releaseHashing = new CountDownLatch(1);
+    when(delegate.upgradeEncoding(ENCODED_PASSWORD)).thenReturn(true);
+    when(delegate.matches(any(), anyString()))
+        .thenAnswer(
+            invocation -> {
+              hashingStarted.countDown();
+              return releaseHashing.await(5, TimeUnit.SECONDS);
+            });
+    final var actualUpgradeEncoding = passwordEncoder.upgradeEncoding(ENCODED_PASSWORD);
+
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final var runningHashing =
+          executor.submit(() -> passwordEncoder.matches(RAW_PASSWORD, ENCODED_PASSWORD));
+      assertTrue(hashingStarted.await(5, TimeUnit.SECONDS));
+
+      // Actual
+      final var actualEncodedPassword = passwordEncoder.encode(RAW_PASSWORD);
+
+      // Assert
+      assertTrue(actualUpgradeEncoding);
+      assertEquals(ENCODED_PASSWORD, actualEncodedPassword);
+      assertEquals(1, getSkippedUpgradeCount());
+      assertEquals(0, getRejectedCount());
+      verify(delegate, never()).encode(any());
+
+      releaseHashing.countDown();
+      assertTrue(runningHashing.get(5, TimeUnit.SECONDS));
+    }
+  }
+}
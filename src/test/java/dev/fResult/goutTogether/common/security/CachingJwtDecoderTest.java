@@ -0,0 +1,131 @@
+package dev.fResult.goutTogether.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+  private static final String TOKEN = "header.payload.signature";
+
+  private SimpleMeterRegistry meterRegistry;
+  private JwtDecoder delegate;
+  private CachingJwtDecoder jwtDecoder;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    delegate = mock(JwtDecoder.class);
+    jwtDecoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry);
+  }
+
+  private Jwt buildJwt(String token, Instant expiresAt) {
+    return Jwt.withTokenValue(token)
+        .header("alg", "RS256")
+        .subject("john.wick@example.com")
+        .issuedAt(Instant.now().minusSeconds(60))
+        .expiresAt(expiresAt)
+        .build();
+  }
+
+  @Test
+  void whenDecodeSameTokenTwice_ThenVerifyItOnce() {
+    // Arrange
+    final var expectedJwt = buildJwt(TOKEN, Instant.now().plusSeconds(3600));
+    when(delegate.decode(TOKEN)).thenReturn(expectedJwt);
+
+    // Actual
+    final var actualFirstJwt = jwtDecoder.decode(TOKEN);
+    final var actualSecondJwt = jwtDecoder.decode(TOKEN);
+
+    // Assert
+    assertSame(expectedJwt, actualFirstJwt);
+    assertSame(expectedJwt, actualSecondJwt);
+    verify(delegate, times(1)).decode(TOKEN);
+    assertEquals(
+        1,
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", CachingJwtDecoder.CACHE_NAME)
+            .tag("result", "hit")
+            .functionCounter()
+            .count());
+  }
+
+  @Test
+  void whenDecodeDifferentTokens_ThenVerifyEachOfThem() {
+    // Arrange
+    final var ANOTHER_TOKEN = "header.another-payload.signature";
+    final var expiresAt = Instant.now().plusSeconds(3600);
+    when(delegate.decode(TOKEN)).thenReturn(buildJwt(TOKEN, expiresAt));
+    when(delegate.decode(ANOTHER_TOKEN)).thenReturn(buildJwt(ANOTHER_TOKEN, expiresAt));
+
+    // Actual
+    final var actualJwt = jwtDecoder.decode(TOKEN);
+    final var actualAnotherJwt = jwtDecoder.decode(ANOTHER_TOKEN);
+
+    // Assert
+    assertEquals(TOKEN, actualJwt.getTokenValue());
+    assertEquals(ANOTHER_TOKEN, actualAnotherJwt.getTokenValue());
+  }
+
+  @Test
+  void whenDecodeTokensDifferingOnlyInNonAsciiCharacter_ThenVerifyEachOfThem() {
+    // Arrange
+    final var NON_ASCII_TOKEN = "header.payload-\u00e9.signature";
+    final var ANOTHER_NON_ASCII_TOKEN = "header.payload-\u00fc.signature";
+    final var expiresAt = Instant.now().plusSeconds(3600);
+    when(delegate.decode(NON_ASCII_TOKEN)).thenReturn(buildJwt(NON_ASCII_TOKEN, expiresAt));
+    when(delegate.decode(ANOTHER_NON_ASCII_TOKEN))
+        .thenThrow(new BadJwtException("Signed JWT rejected: Invalid signature"));
+
+    // Actual
+    jwtDecoder.decode(NON_ASCII_TOKEN);
+    final Executable actualExecutable = () -> jwtDecoder.decode(ANOTHER_NON_ASCII_TOKEN);
+
+    // Assert
+    assertThrowsExactly(BadJwtException.class, actualExecutable);
+    verify(delegate, times(1)).decode(ANOTHER_NON_ASCII_TOKEN);
+  }
+
+  @Test
+  void whenDecodeAlreadyExpiredToken_ThenNotCacheIt() {
+    // Arrange
+    when(delegate.decode(TOKEN)).thenReturn(buildJwt(TOKEN, Instant.now().minusSeconds(1)));
+
+    // Actual
+    jwtDecoder.decode(TOKEN);
+    jwtDecoder.decode(TOKEN);
+
+    // Assert
+    verify(delegate, times(2)).decode(TOKEN);
+  }
+
+  @Test
+  void whenDecodeInvalidToken_ThenThrowAndNotCacheIt() {
+    // Arrange
+    final var expectedJwt = buildJwt(TOKEN, Instant.now().plusSeconds(3600));
+    when(delegate.decode(TOKEN))
+        .thenThrow(new BadJwtException("Signed JWT rejected: Invalid signature"))
+        .thenReturn(expectedJwt);
+
+    // Actual
+    final Executable actualExecutable = () -> jwtDecoder.decode(TOKEN);
+
+    // Assert
+    assertThrowsExactly(BadJwtException.class, actualExecutable);
+    assertSame(expectedJwt, jwtDecoder.decode(TOKEN));
+    verify(delegate, times(2)).decode(TOKEN);
+  }
+}
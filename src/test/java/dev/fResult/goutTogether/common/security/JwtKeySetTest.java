@@ -0,0 +1,151 @@
+package dev.fResult.goutTogether.common.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.configs.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+class JwtKeySetTest {
+  private static final String RSA_KEY_ID = "rs256-1";
+  private static final String EC_KEY_ID = "es256-1";
+
+  private MyApplicationProperties myProps;
+
+  @BeforeEach
+  void setup() throws Exception {
+    final var rsaKeyPair = generateKeyPair("RSA");
+    final var ecKeyPair = generateKeyPair("EC");
+
+    myProps = new MyApplicationProperties();
+    final var oauthProps = myProps.getOauth();
+    oauthProps.setKeyId(RSA_KEY_ID);
+    oauthProps.setPrivateKey(toBase64Pem("PRIVATE KEY", rsaKeyPair.getPrivate().getEncoded()));
+    oauthProps.setPublicKey(toBase64Pem("PUBLIC KEY", rsaKeyPair.getPublic().getEncoded()));
+    oauthProps.setKeys(List.of(buildKey(EC_KEY_ID, SignatureAlgorithm.ES256, ecKeyPair)));
+  }
+
+  private static KeyPair generateKeyPair(String algorithm) throws Exception {
+    final var keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+    if (algorithm.equals("EC")) {
+      keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+    } else {
+      keyPairGenerator.initialize(2048);
+    }
+
+    return keyPairGenerator.generateKeyPair();
+  }
+
+  private static String toBase64Pem(String type, byte[] encodedKey) {
+    final var pem =
+        String.format(
+            "-----BEGIN %s-----\n%s\n-----END %s-----",
+            type, Base64.getMimeEncoder().encodeToString(encodedKey), type);
+
+    return Base64.getEncoder().encodeToString(pem.getBytes());
+  }
+
+  private static MyApplicationProperties.OAuth.Key buildKey(
+      String keyId, SignatureAlgorithm algorithm, KeyPair keyPair) {
+
+    final var key = new MyApplicationProperties.OAuth.Key();
+    key.setKeyId(keyId);
+    key.setAlgorithm(algorithm);
+    key.setPrivateKey(toBase64Pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+    key.setPublicKey(toBase64Pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+    return key;
+  }
+
+  private static JwtClaimsSet buildClaims() {
+    return JwtClaimsSet.builder()
+        .issuer("gout-together")
+        .subject("john.wick@example.com")
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(60))
+        .build();
+  }
+
+  @Test
+  void whenSigningKeyIdIsNotSet_ThenSignByRsaKey() throws Exception {
+    // Actual
+    final var actualJwtKeySet = JwtKeySet.from(myProps.getOauth());
+
+    // Assert
+    assertEquals(SignatureAlgorithm.RS256, actualJwtKeySet.signingHeader().getAlgorithm());
+    assertEquals(RSA_KEY_ID, actualJwtKeySet.signingHeader().getKeyId());
+    assertEquals(2, actualJwtKeySet.publicJwkSet().getKeys().size());
+    assertFalse(actualJwtKeySet.publicJwkSet().getKeys().getFirst().isPrivate());
+  }
+
+  @Test
+  void whenRotateToEcKey_ThenStillVerifyTokenOfRsaKey() throws Exception {
+    // Arrange
+    final var securityConfig = new SecurityConfig(myProps);
+    final var rsaJwtKeySet = JwtKeySet.from(myProps.getOauth());
+    final var rsaSignedToken =
+        securityConfig
+            .jwtEncoder(rsaJwtKeySet)
+            .encode(JwtEncoderParameters.from(buildClaims()))
+            .getTokenValue();
+    myProps.getOauth().setSigningKeyId(EC_KEY_ID);
+    final var ecJwtKeySet = JwtKeySet.from(myProps.getOauth());
+    final var jwtDecoder = securityConfig.jwtDecoder(ecJwtKeySet, new SimpleMeterRegistry());
+
+    // Actual
+    final var actualEcSignedJwt =
+        securityConfig.jwtEncoder(ecJwtKeySet).encode(JwtEncoderParameters.from(buildClaims()));
+    final var actualRsaSignedJwt = jwtDecoder.decode(rsaSignedToken);
+
+    // Assert
+    final var actualEcVerifiedJwt = jwtDecoder.decode(actualEcSignedJwt.getTokenValue());
+    assertEquals("ES256", String.valueOf(actualEcVerifiedJwt.getHeaders().get("alg")));
+    assertEquals(EC_KEY_ID, actualEcVerifiedJwt.getHeaders().get("kid"));
+    assertEquals("RS256", String.valueOf(actualRsaSignedJwt.getHeaders().get("alg")));
+    assertEquals(RSA_KEY_ID, actualRsaSignedJwt.getHeaders().get("kid"));
+  }
+
+  @Test
+  void whenSigningKeyHasNoPrivateKey_ThenThrowException() {
+    // Arrange
+    final var oauthProps = myProps.getOauth();
+    oauthProps.getKeys().getFirst().setPrivateKey(null);
+    oauthProps.setSigningKeyId(EC_KEY_ID);
+
+    // Actual
+    final Executable actualExecutable = () -> JwtKeySet.from(oauthProps);
+
+    // Assert
+    final var exception = assertThrowsExactly(IllegalStateException.class, actualExecutable);
+    assertEquals(
+        String.format("JWT signing key [%s] is not found or has no private key", EC_KEY_ID),
+        exception.getMessage());
+  }
+
+  @Test
+  void whenKeyIdIsDuplicated_ThenThrowException() {
+    // Arrange
+    final var oauthProps = myProps.getOauth();
+    oauthProps.getKeys().getFirst().setKeyId(RSA_KEY_ID);
+
+    // Actual
+    final Executable actualExecutable = () -> JwtKeySet.from(oauthProps);
+
+    // Assert
+    final var exception = assertThrowsExactly(IllegalStateException.class, actualExecutable);
+    assertEquals(
+        String.format("JWT key id [%s] is duplicated", RSA_KEY_ID), exception.getMessage());
+  }
+}
@@ -1,8 +1,39 @@
 package dev.fResult.goutTogether.configs;
 
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Import(TestContainerConfig.class)
-public class AbstractIntegrationTest {}
+public class AbstractIntegrationTest {
+
+  // NOTE: The application context cannot be started with the `DUMMY` keys from `application.yml`
+  @DynamicPropertySource
+  static void registerOAuthKeys(DynamicPropertyRegistry registry)
+      throws NoSuchAlgorithmException {
+
+    final var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    final var keyPair = keyPairGenerator.generateKeyPair();
+
+    final var privateKeyBase64 = toBase64Pem("PRIVATE KEY", keyPair.getPrivate().getEncoded());
+    final var publicKeyBase64 = toBase64Pem("PUBLIC KEY", keyPair.getPublic().getEncoded());
+
+    registry.add("goutapp.oauth.private-key", () -> privateKeyBase64);
+    registry.add("goutapp.oauth.public-key", () -> publicKeyBase64);
+  }
+
+  private static String toBase64Pem(String type, byte[] encodedKey) {
+    final var pem =
+        String.format(
+            "-----BEGIN %s-----\n%s\n-----END %s-----",
+            type, Base64.getEncoder().encodeToString(encodedKey), type);
+
+    return Base64.getEncoder().encodeToString(pem.getBytes());
+  }
+}
@@ -0,0 +1,220 @@
+package dev.fResult.goutTogether.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.fResult.goutTogether.common.utils.UUIDV7;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+  private static final String IDEMPOTENCY_KEY = UUIDV7.randomUUID().toString();
+  private static final String PAYMENT_PATH = "/api/v1/payments/1";
+  private static final String RESPONSE_BODY = "{\"id\":1}";
+
+  @Mock private IdempotencyService idempotencyService;
+
+  private IdempotencyFilter idempotencyFilter;
+
+  @BeforeEach
+  void setUp() {
+    idempotencyFilter = new IdempotencyFilter(idempotencyService, new ObjectMapper());
+  }
+
+  private MockHttpServletRequest buildMockRequest() {
+    final var request = new MockHttpServletRequest("POST", PAYMENT_PATH);
+    request.addHeader(IdempotencyFilter.IDEMPOTENT_KEY_HEADER, IDEMPOTENCY_KEY);
+
+    return request;
+  }
+
+  private FilterChain buildMockFilterChain(int status) {
+    return (request, response) -> {
+      final var httpResponse = (HttpServletResponse) response;
+      httpResponse.setStatus(status);
+      httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      httpResponse.getWriter().write(RESPONSE_BODY);
+    };
+  }
+
+  /* Completes a first request, so the hash of the same request can be captured for the replays */
+  private IdempotentResponse completeFirstRequest() throws Exception {
+    when(idempotencyService.claim(eq(IDEMPOTENCY_KEY), anyString())).thenReturn(true);
+    idempotencyFilter.doFilter(
+        buildMockRequest(), new MockHttpServletResponse(), buildMockFilterChain(201));
+
+    final var responseCaptor = ArgumentCaptor.forClass(IdempotentResponse.class);
+    verify(idempotencyService).complete(eq(IDEMPOTENCY_KEY), responseCaptor.capture());
+
+    return responseCaptor.getValue();
+  }
+
+  @Test
+  void whenFirstRequest_ThenRunRequestAndStoreResponse() throws Exception {
+    // Actual
+    final var actualStoredResponse = completeFirstRequest();
+
+    // Assert
+    assertEquals(201, actualStoredResponse.status());
+    assertEquals(RESPONSE_BODY, new String(actualStoredResponse.body(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void whenRequestFailed_ThenReleaseKey() throws Exception {
+    // Arrange
+    final var response = new MockHttpServletResponse();
+    when(idempotencyService.claim(eq(IDEMPOTENCY_KEY), anyString())).thenReturn(true);
+
+    // Actual
+    idempotencyFilter.doFilter(buildMockRequest(), response, buildMockFilterChain(422));
+
+    // Assert
+    assertEquals(422, response.getStatus());
+    verify(idempotencyService).release(IDEMPOTENCY_KEY);
+    verify(idempotencyService, never()).complete(anyString(), any());
+  }
+
+  @Test
+  void whenRetryWithCachedResponse_ThenReplayWithoutRunningRequest() throws Exception {
+    // Arrange
+    final var storedResponse = completeFirstRequest();
+    final var response = new MockHttpServletResponse();
+    final var filterChain = new MockFilterChain();
+    when(idempotencyService.findCachedResponse(IDEMPOTENCY_KEY))
+        .thenReturn(Optional.of(storedResponse));
+
+    // Actual
+    idempotencyFilter.doFilter(buildMockRequest(), response, filterChain);
+
+    // Assert
+    assertEquals(201, response.getStatus());
+    assertEquals(RESPONSE_BODY, response.getContentAsString());
+    assertEquals("true", response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER));
+    assertNull(filterChain.getRequest());
+  }
+
+  @Test
+  void whenRetryWhileInProgress_ThenReturnConflict() throws Exception {
+    // Arrange
+    final var response = new MockHttpServletResponse();
+    final var filterChain = new MockFilterChain();
+    when(idempotencyService.claim(eq(IDEMPOTENCY_KEY), anyString())).thenReturn(false);
+    when(idempotencyService.findStoredResponse(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+
+    // Actual
+    idempotencyFilter.doFilter(buildMockRequest(), response, filterChain);
+
+    // Assert
+    assertEquals(HttpStatus.CONFLICT.value(), response.getStatus());
+    assertNull(filterChain.getRequest());
+  }
+
+  @Test
+  void whenKeyReusedByAnotherRequest_ThenReturnUnprocessableEntity() throws Exception {
+    // Arrange
+    final var storedResponse = completeFirstRequest();
+    final var anotherRequest = new MockHttpServletRequest("POST", "/api/v1/payments/2");
+    anotherRequest.addHeader(IdempotencyFilter.IDEMPOTENT_KEY_HEADER, IDEMPOTENCY_KEY);
+    final var response = new MockHttpServletResponse();
+    final var filterChain = new MockFilterChain();
+    when(idempotencyService.findCachedResponse(IDEMPOTENCY_KEY))
+        .thenReturn(Optional.of(storedResponse));
+
+    // Actual
+    idempotencyFilter.doFilter(anotherRequest, response, filterChain);
+
+    // Assert
+    assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), response.getStatus());
+    assertNull(filterChain.getRequest());
+  }
+
+  @Test
+  void whenKeyReusedWithAnotherBody_ThenReturnUnprocessableEntity() throws Exception {
+    // Arrange
+    final var storedResponse = completeFirstRequest();
+    final var anotherRequest = buildMockRequest();
+    anotherRequest.setContent("{\"bookingIds\":[3]}".getBytes(StandardCharsets.UTF_8));
+    final var response = new MockHttpServletResponse();
+    final var filterChain = new MockFilterChain();
+    when(idempotencyService.findCachedResponse(IDEMPOTENCY_KEY))
+        .thenReturn(Optional.of(storedResponse));
+
+    // Actual
+    idempotencyFilter.doFilter(anotherRequest, response, filterChain);
+
+    // Assert
+    assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), response.getStatus());
+    assertNull(filterChain.getRequest());
+  }
+
+  @Test
+  void whenRequestHasBody_ThenPassSameBodyToHandler() throws Exception {
+    // Arrange
+    final var requestBody = "{\"bookingIds\":[1,2]}";
+    final var request = buildMockRequest();
+    request.setContent(requestBody.getBytes(StandardCharsets.UTF_8));
+    final var actualBodyHolder = new String[1];
+    final FilterChain filterChain =
+        (chainRequest, chainResponse) -> {
+          actualBodyHolder[0] =
+              new String(chainRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+          buildMockFilterChain(201).doFilter(chainRequest, chainResponse);
+        };
+    when(idempotencyService.claim(eq(IDEMPOTENCY_KEY), anyString())).thenReturn(true);
+
+    // Actual
+    idempotencyFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+    // Assert
+    assertEquals(requestBody, actualBodyHolder[0]);
+  }
+
+  @Test
+  void whenKeyTooLong_ThenReturnBadRequest() throws Exception {
+    // Arrange
+    final var request = new MockHttpServletRequest("POST", PAYMENT_PATH);
+    request.addHeader(IdempotencyFilter.IDEMPOTENT_KEY_HEADER, "k".repeat(41));
+    final var response = new MockHttpServletResponse();
+    final var filterChain = new MockFilterChain();
+
+    // Actual
+    idempotencyFilter.doFilter(request, response, filterChain);
+
+    // Assert
+    assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+    assertNull(filterChain.getRequest());
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void whenNoIdempotentKey_ThenSkipFilter() throws Exception {
+    // Arrange
+    final var request = new MockHttpServletRequest("POST", PAYMENT_PATH);
+    final var filterChain = new MockFilterChain();
+
+    // Actual
+    idempotencyFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+    // Assert
+    assertNotNull(filterChain.getRequest());
+    verifyNoInteractions(idempotencyService);
+  }
+}
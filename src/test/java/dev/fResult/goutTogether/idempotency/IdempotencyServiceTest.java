@@ -0,0 +1,113 @@
+package dev.fResult.goutTogether.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.IdempotencyKeyStatus;
+import dev.fResult.goutTogether.common.utils.UUIDV7;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+  private static final String IDEMPOTENCY_KEY = UUIDV7.randomUUID().toString();
+  private static final String REQUEST_HASH = "request-hash";
+  private static final long IN_PROGRESS_TIMEOUT_SECONDS = 60;
+
+  @Mock private IdempotencyKeyRepository idempotencyKeyRepository;
+
+  private IdempotencyService idempotencyService;
+
+  @BeforeEach
+  void setUp() {
+    final var myProps = new MyApplicationProperties();
+    myProps.getIdempotency().setInProgressTimeoutSeconds(IN_PROGRESS_TIMEOUT_SECONDS);
+
+    idempotencyService = new IdempotencyService(idempotencyKeyRepository, myProps);
+  }
+
+  private IdempotentResponse buildMockResponse() {
+    return IdempotentResponse.of(
+        REQUEST_HASH, 200, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+  }
+
+  private IdempotencyKey buildMockIdempotencyKey(IdempotencyKeyStatus status) {
+    final var response = buildMockResponse();
+
+    return IdempotencyKey.of(
+        1,
+        IDEMPOTENCY_KEY,
+        REQUEST_HASH,
+        status,
+        response.status(),
+        response.contentType(),
+        response.body(),
+        Instant.now(),
+        Instant.now());
+  }
+
+  @Test
+  void whenClaim_ButAlreadyClaimed_ThenReturnFalse() {
+    // Arrange
+    when(idempotencyKeyRepository.claim(IDEMPOTENCY_KEY, REQUEST_HASH, IN_PROGRESS_TIMEOUT_SECONDS))
+        .thenReturn(0);
+
+    // Actual
+    final var actualClaimed = idempotencyService.claim(IDEMPOTENCY_KEY, REQUEST_HASH);
+
+    // Assert
+    assertFalse(actualClaimed);
+  }
+
+  @Test
+  void whenComplete_ThenReplayFromCacheWithoutDatabase() {
+    // Arrange
+    final var response = buildMockResponse();
+
+    // Actual
+    idempotencyService.complete(IDEMPOTENCY_KEY, response);
+    final var actualCachedResponse = idempotencyService.findCachedResponse(IDEMPOTENCY_KEY);
+
+    // Assert
+    assertEquals(Optional.of(response), actualCachedResponse);
+    verify(idempotencyKeyRepository)
+        .complete(IDEMPOTENCY_KEY, response.status(), response.contentType(), response.body());
+    verify(idempotencyKeyRepository, never()).findOneByIdempotentKey(any());
+  }
+
+  @Test
+  void whenFindStoredResponse_ThenCacheCompletedResponse() {
+    // Arrange
+    when(idempotencyKeyRepository.findOneByIdempotentKey(IDEMPOTENCY_KEY))
+        .thenReturn(Optional.of(buildMockIdempotencyKey(IdempotencyKeyStatus.COMPLETED)));
+
+    // Actual
+    final var actualStoredResponse = idempotencyService.findStoredResponse(IDEMPOTENCY_KEY);
+
+    // Assert
+    assertTrue(actualStoredResponse.isPresent());
+    assertEquals(actualStoredResponse, idempotencyService.findCachedResponse(IDEMPOTENCY_KEY));
+  }
+
+  @Test
+  void whenFindStoredResponse_ButStillInProgress_ThenReturnEmpty() {
+    // Arrange
+    when(idempotencyKeyRepository.findOneByIdempotentKey(IDEMPOTENCY_KEY))
+        .thenReturn(Optional.of(buildMockIdempotencyKey(IdempotencyKeyStatus.IN_PROGRESS)));
+
+    // Actual
+    final var actualStoredResponse = idempotencyService.findStoredResponse(IDEMPOTENCY_KEY);
+
+    // Assert
+    assertTrue(actualStoredResponse.isEmpty());
+    assertTrue(idempotencyService.findCachedResponse(IDEMPOTENCY_KEY).isEmpty());
+  }
+}
@@ -1,22 +1,37 @@
 package dev.fResult.goutTogether.payments;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
+import dev.fResult.goutTogether.common.enumurations.BatchPaymentStatus;
 import dev.fResult.goutTogether.common.enumurations.BookingStatus;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import dev.fResult.goutTogether.common.utils.UUIDV7;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentRequest;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentResponse;
+import dev.fResult.goutTogether.payments.dtos.BatchPaymentResult;
 import dev.fResult.goutTogether.payments.services.PaymentService;
-import java.awt.image.BufferedImage;
+import dev.fResult.goutTogether.qrcodes.QrCodeImage;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -26,8 +41,10 @@ import org.springframework.web.context.WebApplicationContext;
 class PaymentControllerTest {
   private final String PAYMENT_API = "/api/v1/payments";
   private final int QR_CODE_REF_ID = 1;
+  private final String QR_CODE_CONTENT_HASH = "content-hash";
 
   @Autowired private WebApplicationContext webApplicationContext;
+  @Autowired private ObjectMapper objectMapper;
 
   @MockitoBean private PaymentService paymentService;
 
@@ -41,15 +58,108 @@ class PaymentControllerTest {
   @Test
   void getQrCodeImageById_ThenSuccess() throws Exception {
     // Arrange
-    final var mockQrCodeImage = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
-    when(paymentService.generatePaymentQr(anyInt())).thenReturn(mockQrCodeImage);
+    final var mockQrCodeImage =
+        QrCodeImage.of(new byte[] {1, 2, 3}, QR_CODE_CONTENT_HASH, QrCodeFormat.PNG);
+    when(paymentService.generatePaymentQr(anyInt(), any(QrCodeFormat.class), anyInt()))
+        .thenReturn(mockQrCodeImage);
 
     // Actual
     final var resultActions =
         mockMvc.perform(get(PAYMENT_API + "/qr/{qrCodeRefId}", QR_CODE_REF_ID));
 
     // Assert
-    resultActions.andExpect(status().isOk()).andExpect(jsonPath("$").exists());
+    resultActions
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.IMAGE_PNG))
+        .andExpect(content().bytes(mockQrCodeImage.content()))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + QR_CODE_CONTENT_HASH + "\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    verify(paymentService).generatePaymentQr(QR_CODE_REF_ID, QrCodeFormat.PNG, 300);
+  }
+
+  @Test
+  void getQrCodeImageById_AndAcceptSvg_ThenReturnSvg() throws Exception {
+    // Arrange
+    final var mockQrCodeImage =
+        QrCodeImage.of(new byte[] {1, 2, 3}, QR_CODE_CONTENT_HASH, QrCodeFormat.SVG);
+    when(paymentService.generatePaymentQr(anyInt(), any(QrCodeFormat.class), anyInt()))
+        .thenReturn(mockQrCodeImage);
+
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            get(PAYMENT_API + "/qr/{qrCodeRefId}", QR_CODE_REF_ID)
+                .header(HttpHeaders.ACCEPT, "image/png;q=0.8, image/svg+xml"));
+
+    // Assert
+    resultActions
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(QrCodeFormat.SVG.getMediaType()));
+    verify(paymentService).generatePaymentQr(QR_CODE_REF_ID, QrCodeFormat.SVG, 300);
+  }
+
+  @Test
+  void getQrCodeImageById_WithFormatAndSize_ThenRenderAsRequested() throws Exception {
+    // Arrange
+    final var SIZE = 600;
+    final var mockQrCodeImage =
+        QrCodeImage.of(new byte[] {1, 2, 3}, QR_CODE_CONTENT_HASH, QrCodeFormat.SVG);
+    when(paymentService.generatePaymentQr(anyInt(), any(QrCodeFormat.class), anyInt()))
+        .thenReturn(mockQrCodeImage);
+
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            get(PAYMENT_API + "/qr/{qrCodeRefId}", QR_CODE_REF_ID)
+                .param("format", "svg")
+                .param("size", String.valueOf(SIZE)));
+
+    // Assert
+    resultActions.andExpect(status().isOk());
+    verify(paymentService).generatePaymentQr(QR_CODE_REF_ID, QrCodeFormat.SVG, SIZE);
+  }
+
+  @Test
+  void getQrCodeImageById_ButFormatIsNotSupported_ThenReturn422() throws Exception {
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            get(PAYMENT_API + "/qr/{qrCodeRefId}", QR_CODE_REF_ID).param("format", "gif"));
+
+    // Assert
+    resultActions.andExpect(status().isUnprocessableEntity());
+    verify(paymentService, never()).generatePaymentQr(anyInt(), any(QrCodeFormat.class), anyInt());
+  }
+
+  @Test
+  void getQrCodeImageById_ButSizeIsTooLarge_ThenReturn400() throws Exception {
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            get(PAYMENT_API + "/qr/{qrCodeRefId}", QR_CODE_REF_ID).param("size", "4096"));
+
+    // Assert
+    resultActions.andExpect(status().isBadRequest());
+    verify(paymentService, never()).generatePaymentQr(anyInt(), any(QrCodeFormat.class), anyInt());
+  }
+
+  @Test
+  void getQrCodeImageById_AndETagIsNotChanged_ThenNotModified() throws Exception {
+    // Arrange
+    final var mockQrCodeImage =
+        QrCodeImage.of(new byte[] {1, 2, 3}, QR_CODE_CONTENT_HASH, QrCodeFormat.PNG);
+    when(paymentService.generatePaymentQr(anyInt(), any(QrCodeFormat.class), anyInt()))
+        .thenReturn(mockQrCodeImage);
+
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            get(PAYMENT_API + "/qr/{qrCodeRefId}", QR_CODE_REF_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + QR_CODE_CONTENT_HASH + "\""));
+
+    // Assert
+    resultActions.andExpect(status().isNotModified()).andExpect(content().bytes(new byte[0]));
   }
 
   @Test
@@ -71,4 +181,52 @@ class PaymentControllerTest {
     // Assert
     resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.id").value(BOOKING_ID));
   }
+
+  @Test
+  void payByBookingIds_ThenSuccess() throws Exception {
+    // Arrange
+    final var IDEMPOTENT_KEY = UUIDV7.randomUUID().toString();
+    final var body = BatchPaymentRequest.of(List.of(1, 2));
+    final var mockResponse =
+        BatchPaymentResponse.of(
+            List.of(
+                BatchPaymentResult.of(
+                    1,
+                    BatchPaymentStatus.PAID,
+                    BookingInfoResponse.of(1, 1, 1, BookingStatus.COMPLETED, null)),
+                BatchPaymentResult.failed(2, BatchPaymentStatus.NOT_FOUND)));
+
+    when(paymentService.payByBookingIds(anyList(), anyString())).thenReturn(mockResponse);
+
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            post(PAYMENT_API + "/batch")
+                .header("idempotent-key", IDEMPOTENT_KEY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+
+    // Assert
+    resultActions
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.paidCount").value(1))
+        .andExpect(jsonPath("$.results[1].status").value(BatchPaymentStatus.NOT_FOUND.name()));
+  }
+
+  @Test
+  void payByBookingIds_ButBookingIdsIsEmpty_Then400() throws Exception {
+    // Arrange
+    final var body = BatchPaymentRequest.of(List.of());
+
+    // Actual
+    final var resultActions =
+        mockMvc.perform(
+            post(PAYMENT_API + "/batch")
+                .header("idempotent-key", UUIDV7.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+
+    // Assert
+    resultActions.andExpect(status().isBadRequest());
+  }
 }
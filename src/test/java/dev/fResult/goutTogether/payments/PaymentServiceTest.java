@@ -4,6 +4,8 @@ import static dev.fResult.goutTogether.common.Constants.API_PAYMENT_PATH;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.zxing.WriterException;
@@ -11,29 +13,36 @@ import dev.fResult.goutTogether.bookings.dtos.BookingInfoResponse;
 import dev.fResult.goutTogether.bookings.entities.Booking;
 import dev.fResult.goutTogether.bookings.repositories.BookingRepository;
 import dev.fResult.goutTogether.bookings.services.BookingService;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.BatchPaymentStatus;
 import dev.fResult.goutTogether.common.enumurations.BookingStatus;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import dev.fResult.goutTogether.common.enumurations.QrCodeStatus;
 import dev.fResult.goutTogether.common.enumurations.TransactionType;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.helpers.OptimisticLockRetrier;
 import dev.fResult.goutTogether.common.utils.UUIDV7;
 import dev.fResult.goutTogether.payments.services.PaymentServiceImpl;
+import dev.fResult.goutTogether.qrcodes.QrCodeImage;
 import dev.fResult.goutTogether.qrcodes.QrCodeReference;
 import dev.fResult.goutTogether.qrcodes.QrCodeService;
-import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import dev.fResult.goutTogether.tours.services.TourCountService;
 import dev.fResult.goutTogether.transactions.Transaction;
 import dev.fResult.goutTogether.transactions.TransactionService;
-import dev.fResult.goutTogether.users.entities.User;
+import dev.fResult.goutTogether.wallets.dtos.BookingWallets;
+import dev.fResult.goutTogether.wallets.dtos.WalletTransferResult;
 import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
 import dev.fResult.goutTogether.wallets.entities.UserWallet;
 import dev.fResult.goutTogether.wallets.services.WalletService;
-import java.awt.image.BufferedImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import kotlin.Pair;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
@@ -41,6 +50,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceTest {
@@ -68,6 +78,7 @@ class PaymentServiceTest {
   @Mock private WalletService walletService;
   @Mock private TourCountService tourCountService;
   @Mock private TransactionService transactionService;
+  @Mock private PlatformTransactionManager transactionManager;
 
   @BeforeEach
   void setUp() {
@@ -79,7 +90,9 @@ class PaymentServiceTest {
             bookingService,
             walletService,
             tourCountService,
-            transactionService);
+            transactionService,
+            new OptimisticLockRetrier(
+                transactionManager, new MyApplicationProperties(), new SimpleMeterRegistry()));
   }
 
   private UserWallet buildUserWallet(int id, int userId, BigDecimal balance) {
@@ -88,7 +101,7 @@ class PaymentServiceTest {
   }
 
   private TourCompanyWallet buildTourCompanyWallet(int id, int tourCompanyId, BigDecimal balance) {
-    return new TourCompanyWallet(
+    return TourCompanyWallet.of(
         id,
         AggregateReference.to(tourCompanyId),
         Instant.now().minus(12, ChronoUnit.MINUTES),
@@ -124,12 +137,15 @@ class PaymentServiceTest {
   @Test
   void whenGenerateQrCode_ThenSuccess() throws WriterException {
     // Arrange
-    final var mockQrCodeImage = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
+    final var mockQrCodeImage =
+        QrCodeImage.of(new byte[] {1, 2, 3}, "content-hash", QrCodeFormat.PNG);
 
-    when(qrCodeService.generateQrCodeImageById(anyInt())).thenReturn(mockQrCodeImage);
+    when(qrCodeService.generateQrCodeImageById(anyInt(), any(QrCodeFormat.class), anyInt()))
+        .thenReturn(mockQrCodeImage);
 
     // Actual
-    final var qrCodeImage = paymentService.generatePaymentQr(QR_CODE_REF_ID);
+    final var qrCodeImage =
+        paymentService.generatePaymentQr(QR_CODE_REF_ID, QrCodeFormat.PNG, 300);
 
     // Assert
     assertEquals(mockQrCodeImage, qrCodeImage);
@@ -139,54 +155,27 @@ class PaymentServiceTest {
   void whenPayByBookingId_ThenSuccess() {
     // Arrange
     final var TOUR_ID = 1;
-    final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-    final var tourCompanyRef = AggregateReference.<TourCompany, Integer>to(TOUR_ID);
-    final var bookingRef = AggregateReference.<Booking, Integer>to(BOOKING_ID);
     final var mockBooking = buildPendingBooking(BOOKING_ID, USER_ID, TOUR_ID);
-    final var USER_WALLET_BALANCE_AFTER_TRANSFER = USER_WALLET_BALANCE.subtract(TOUR_PRICE);
-    final var COMPANY_WALLET_BALANCE_AFTER_TRANSFER = COMPANY_WALLET_BALANCE.add(TOUR_PRICE);
     final var qrCodeContent = buildQrCodeContent(BOOKING_ID);
-    final var mockUserWallet = buildUserWallet(USER_WALLET_ID, USER_ID, USER_WALLET_BALANCE);
-    final var mockTourCompanyWallet =
-        buildTourCompanyWallet(COMPANY_WALLET_ID, TOUR_COMPANY_ID, COMPANY_WALLET_BALANCE);
-    final var mockUserWalletAfterTransfer =
-        UserWallet.of(USER_ID, userRef, Instant.now(), USER_WALLET_BALANCE_AFTER_TRANSFER);
-    final var mockTourCompanyWalletAfterTransfer =
-        TourCompanyWallet.of(
-            COMPANY_WALLET_ID,
-            tourCompanyRef,
-            Instant.now(),
-            COMPANY_WALLET_BALANCE_AFTER_TRANSFER);
+    final var mockTransferResult =
+        WalletTransferResult.of(
+            1, USER_WALLET_BALANCE.subtract(TOUR_PRICE), COMPANY_WALLET_BALANCE.add(TOUR_PRICE));
     final var mockQrCodeRef =
         QrCodeReference.of(QR_CODE_REF_ID, BOOKING_ID, qrCodeContent, QrCodeStatus.EXPIRED);
-    final var mockTransaction =
-        Transaction.of(
-            1,
-            userRef,
-            tourCompanyRef,
-            bookingRef,
-            Instant.now(),
-            TOUR_PRICE,
-            TransactionType.BOOKING,
-            IDEMPOTENT_KEY);
     final var mockBookingToBeCompleted = buildCompletedBooking(BOOKING_ID, USER_ID, TOUR_ID);
     final var expectedBookingInfo =
         BookingInfoResponse.of(BOOKING_ID, USER_ID, TOUR_ID, BookingStatus.COMPLETED, null);
 
     when(bookingService.findBookingById(anyInt())).thenReturn(Optional.of(mockBooking));
-    when(walletService.getConsumerAndTourCompanyWallets(any(Booking.class)))
-        .thenReturn(new Pair<>(mockUserWallet, mockTourCompanyWallet));
     when(walletService.transferMoney(
-            any(UserWallet.class),
-            any(TourCompanyWallet.class),
+            eq(mockBooking),
             any(BigDecimal.class),
-            eq(TransactionType.BOOKING)))
-        .thenReturn(new Pair<>(mockUserWalletAfterTransfer, mockTourCompanyWalletAfterTransfer));
-    when(transactionService.createTransaction(any())).thenReturn(null);
+            eq(TransactionType.BOOKING),
+            eq(IDEMPOTENT_KEY)))
+        .thenReturn(mockTransferResult);
     doNothing().when(tourCountService).incrementTourCount(anyInt());
     when(qrCodeService.updateQrCodeRefStatusByBookingId(anyInt(), any(QrCodeStatus.class)))
         .thenReturn(mockQrCodeRef);
-    when(transactionService.createTransaction(any(Transaction.class))).thenReturn(mockTransaction);
     when(bookingRepository.save(any(Booking.class))).thenReturn(mockBookingToBeCompleted);
 
     // Actual
@@ -194,6 +183,7 @@ class PaymentServiceTest {
 
     // Assert
     assertEquals(expectedBookingInfo, actualPaidBookingInfo);
+    verify(transactionService, never()).createTransaction(any(Transaction.class));
   }
 
   @Test
@@ -211,46 +201,38 @@ class PaymentServiceTest {
     assertEquals(expectedErrorMessage, exception.getMessage());
   }
 
+  @Test
+  void whenPayByBookingId_ButBookingAlreadyCompleted_ThenReturnItWithoutTransfer() {
+    // Arrange
+    final var TOUR_ID = 1;
+    final var mockCompletedBooking = buildCompletedBooking(BOOKING_ID, USER_ID, TOUR_ID);
+    final var expectedBookingInfo =
+        BookingInfoResponse.of(BOOKING_ID, USER_ID, TOUR_ID, BookingStatus.COMPLETED, null);
+    when(bookingService.findBookingById(anyInt())).thenReturn(Optional.of(mockCompletedBooking));
+
+    // Actual
+    final var actualPaidBookingInfo = paymentService.payByBookingId(BOOKING_ID, IDEMPOTENT_KEY);
+
+    // Assert
+    assertEquals(expectedBookingInfo, actualPaidBookingInfo);
+    verify(walletService, never()).transferMoney(any(), any(), any(), anyString());
+    verify(bookingRepository, never()).save(any(Booking.class));
+  }
+
   @Test
   void whenRefundBooking_ThenSuccess() {
     // Arrange
-    final var bookingRef = AggregateReference.<Booking, Integer>to(BOOKING_ID);
-    final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-    final var tourCompanyRef = AggregateReference.<TourCompany, Integer>to(TOUR_COMPANY_ID);
     final var completedBookingInput = buildCompletedBooking(BOOKING_ID, USER_ID, TOUR_COMPANY_ID);
-    final var mockUserWallet = buildUserWallet(USER_WALLET_ID, USER_ID, USER_WALLET_BALANCE);
-    final var mockTourCompanyWallet =
-        buildTourCompanyWallet(COMPANY_WALLET_ID, TOUR_COMPANY_ID, COMPANY_WALLET_BALANCE);
-    final var USER_WALLET_BALANCE_AFTER_TRANSFER = USER_WALLET_BALANCE.add(TOUR_PRICE);
-    final var COMPANY_WALLET_BALANCE_AFTER_TRANSFER = COMPANY_WALLET_BALANCE.subtract(TOUR_PRICE);
-    final var mockUserWalletAfterTransfer =
-        UserWallet.of(USER_WALLET_ID, userRef, Instant.now(), USER_WALLET_BALANCE_AFTER_TRANSFER);
-    final var mockTourCompanyWalletAfterTransfer =
-        TourCompanyWallet.of(
-            COMPANY_WALLET_ID,
-            tourCompanyRef,
-            Instant.now(),
-            COMPANY_WALLET_BALANCE_AFTER_TRANSFER);
-    final var mockTransaction =
-        Transaction.of(
-            1,
-            userRef,
-            tourCompanyRef,
-            bookingRef,
-            Instant.now(),
-            TOUR_PRICE,
-            TransactionType.REFUND,
-            null);
-
-    when(walletService.getConsumerAndTourCompanyWallets(any(Booking.class)))
-        .thenReturn(new Pair<>(mockUserWallet, mockTourCompanyWallet));
+    final var mockTransferResult =
+        WalletTransferResult.of(
+            1, USER_WALLET_BALANCE.add(TOUR_PRICE), COMPANY_WALLET_BALANCE.subtract(TOUR_PRICE));
+
     when(walletService.transferMoney(
-            any(UserWallet.class),
-            any(TourCompanyWallet.class),
+            eq(completedBookingInput),
             any(BigDecimal.class),
-            eq(TransactionType.REFUND)))
-        .thenReturn(new Pair<>(mockUserWalletAfterTransfer, mockTourCompanyWalletAfterTransfer));
-    when(transactionService.createTransaction(any(Transaction.class))).thenReturn(mockTransaction);
+            eq(TransactionType.REFUND),
+            eq(IDEMPOTENT_KEY)))
+        .thenReturn(mockTransferResult);
 
     // Actual
     final var actualResult = paymentService.refundBooking(completedBookingInput, IDEMPOTENT_KEY);
@@ -258,4 +240,131 @@ class PaymentServiceTest {
     // Assert
     assertTrue(actualResult);
   }
+
+  @Nested
+  class PayByBookingIdsTest {
+    private final int TOUR_ID = 1;
+    private final int PENDING_BOOKING_ID = 1;
+    private final int COMPLETED_BOOKING_ID = 2;
+    private final int NOT_FOUND_BOOKING_ID = 3;
+
+    private void arrangeBookingsAndWallets() {
+      final var mockPendingBooking = buildPendingBooking(PENDING_BOOKING_ID, USER_ID, TOUR_ID);
+      final var mockCompletedBooking =
+          buildCompletedBooking(COMPLETED_BOOKING_ID, USER_ID, TOUR_ID);
+      final var mockUserWallet = buildUserWallet(USER_WALLET_ID, USER_ID, USER_WALLET_BALANCE);
+      final var mockTourCompanyWallet =
+          buildTourCompanyWallet(COMPANY_WALLET_ID, TOUR_COMPANY_ID, COMPANY_WALLET_BALANCE);
+
+      when(bookingRepository.findAllById(anyIterable()))
+          .thenReturn(List.of(mockPendingBooking, mockCompletedBooking));
+      when(walletService.getConsumerAndTourCompanyWallets(anyCollection()))
+          .thenReturn(
+              BookingWallets.of(
+                  Map.of(USER_ID, mockUserWallet), Map.of(TOUR_ID, mockTourCompanyWallet)));
+    }
+
+    @Test
+    void thenPayPendingBookingsAndReportTheOthers() {
+      // Arrange
+      arrangeBookingsAndWallets();
+      final var mockPaidBooking = buildCompletedBooking(PENDING_BOOKING_ID, USER_ID, TOUR_ID);
+      when(tourCountService.incrementTourCountUpTo(TOUR_ID, 1)).thenReturn(1);
+      when(transactionService.createTransactions(anyList())).thenReturn(List.of());
+      when(qrCodeService.updateQrCodeRefStatusByBookingIds(
+              anyCollection(), eq(QrCodeStatus.EXPIRED)))
+          .thenReturn(1);
+      when(bookingRepository.saveAll(anyList())).thenReturn(List.of(mockPaidBooking));
+
+      // Actual
+      final var actualResponse =
+          paymentService.payByBookingIds(
+              List.of(PENDING_BOOKING_ID, COMPLETED_BOOKING_ID, NOT_FOUND_BOOKING_ID),
+              IDEMPOTENT_KEY);
+
+      // Assert
+      final var actualResults = actualResponse.results();
+      assertEquals(1, actualResponse.paidCount());
+      assertEquals(BatchPaymentStatus.PAID, actualResults.get(0).status());
+      assertEquals(BatchPaymentStatus.ALREADY_PAID, actualResults.get(1).status());
+      assertEquals(BatchPaymentStatus.NOT_FOUND, actualResults.get(2).status());
+      verify(tourCountService).incrementTourCountUpTo(TOUR_ID, 1);
+      verify(walletService).transferMoneyForBookings(anyMap(), anyCollection(), anyList());
+    }
+
+    @Test
+    void butInsufficientSeats_ThenReportWithoutTransferMoney() {
+      // Arrange
+      arrangeBookingsAndWallets();
+      when(tourCountService.incrementTourCountUpTo(TOUR_ID, 1)).thenReturn(0);
+
+      // Actual
+      final var actualResponse =
+          paymentService.payByBookingIds(List.of(PENDING_BOOKING_ID), IDEMPOTENT_KEY);
+
+      // Assert
+      assertEquals(0, actualResponse.paidCount());
+      assertEquals(
+          BatchPaymentStatus.INSUFFICIENT_SEATS, actualResponse.results().getFirst().status());
+      verify(walletService, never())
+          .transferMoneyForBookings(anyMap(), anyCollection(), anyList());
+      verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void butOneTourIsFull_ThenSpendBalanceOnBookingOfOpenTourOnly() {
+      // Arrange
+      final var FULL_TOUR_ID = 2;
+      final var FULL_TOUR_BOOKING_ID = 4;
+      final var OPEN_TOUR_BOOKING_ID = 5;
+      final var price = BigDecimal.valueOf(100);
+      final var pricedPaymentService =
+          new PaymentServiceImpl(
+              price.doubleValue(),
+              bookingRepository,
+              qrCodeService,
+              bookingService,
+              walletService,
+              tourCountService,
+              transactionService,
+              new OptimisticLockRetrier(
+                  transactionManager, new MyApplicationProperties(), new SimpleMeterRegistry()));
+      final var mockFullTourBooking =
+          buildPendingBooking(FULL_TOUR_BOOKING_ID, USER_ID, FULL_TOUR_ID);
+      final var mockOpenTourBooking = buildPendingBooking(OPEN_TOUR_BOOKING_ID, USER_ID, TOUR_ID);
+      final var mockUserWallet = buildUserWallet(USER_WALLET_ID, USER_ID, price);
+      final var mockTourCompanyWallet =
+          buildTourCompanyWallet(COMPANY_WALLET_ID, TOUR_COMPANY_ID, COMPANY_WALLET_BALANCE);
+      final var mockPaidBooking = buildCompletedBooking(OPEN_TOUR_BOOKING_ID, USER_ID, TOUR_ID);
+
+      when(bookingRepository.findAllById(anyIterable()))
+          .thenReturn(List.of(mockFullTourBooking, mockOpenTourBooking));
+      when(walletService.getConsumerAndTourCompanyWallets(anyCollection()))
+          .thenReturn(
+              BookingWallets.of(
+                  Map.of(USER_ID, mockUserWallet),
+                  Map.of(FULL_TOUR_ID, mockTourCompanyWallet, TOUR_ID, mockTourCompanyWallet)));
+      when(tourCountService.incrementTourCountUpTo(FULL_TOUR_ID, 1)).thenReturn(0);
+      when(tourCountService.incrementTourCountUpTo(TOUR_ID, 1)).thenReturn(1);
+      when(transactionService.createTransactions(anyList())).thenReturn(List.of());
+      when(qrCodeService.updateQrCodeRefStatusByBookingIds(
+              anyCollection(), eq(QrCodeStatus.EXPIRED)))
+          .thenReturn(1);
+      when(bookingRepository.saveAll(anyList())).thenReturn(List.of(mockPaidBooking));
+
+      // Actual
+      final var actualResponse =
+          pricedPaymentService.payByBookingIds(
+              List.of(FULL_TOUR_BOOKING_ID, OPEN_TOUR_BOOKING_ID), IDEMPOTENT_KEY);
+
+      // Assert
+      final var actualResults = actualResponse.results();
+      assertEquals(1, actualResponse.paidCount());
+      assertEquals(BatchPaymentStatus.INSUFFICIENT_SEATS, actualResults.get(0).status());
+      assertEquals(BatchPaymentStatus.PAID, actualResults.get(1).status());
+      verify(walletService).transferMoneyForBookings(
+          eq(Map.of(mockUserWallet, price)), anyCollection(), anyList());
+      verify(tourCountService, never()).decrementTourCount(anyInt(), anyInt());
+    }
+  }
 }
@@ -0,0 +1,151 @@
+package dev.fResult.goutTogether.qrcodes;
+
+import static dev.fResult.goutTogether.common.Constants.API_PAYMENT_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.google.zxing.WriterException;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
+import dev.fResult.goutTogether.common.helpers.QrCodeHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QrCodeImageCacheTest {
+  private final String QR_CODE_CONTENT = API_PAYMENT_PATH + "/1";
+
+  @TempDir private Path blobDirectory;
+
+  private MyApplicationProperties myProps;
+  private QrCodeImageCache qrCodeImageCache;
+
+  @BeforeEach
+  void setup() {
+    myProps = new MyApplicationProperties();
+    myProps.getQrCodeCache().setBlobDirectory(blobDirectory.toString());
+
+    qrCodeImageCache = buildQrCodeImageCache();
+  }
+
+  private QrCodeImageCache buildQrCodeImageCache() {
+    return new QrCodeImageCache(new QrCodeBlobStore(myProps), myProps, new SimpleMeterRegistry());
+  }
+
+  private QrCodeImage getOrRenderPng(QrCodeImageCache qrCodeImageCache, String qrCodeContent)
+      throws WriterException {
+
+    return qrCodeImageCache.getOrRender(qrCodeContent, QrCodeFormat.PNG, QrCodeHelper.QR_CODE_SIZE);
+  }
+
+  @Test
+  void whenGetOrRenderSameContentTwice_ThenRenderItOnce() throws WriterException {
+    try (final var mockedQrCodeHelper = mockStatic(QrCodeHelper.class)) {
+      // Arrange
+      final var expectedPng = new byte[] {1, 2, 3};
+      mockedQrCodeHelper
+          .when(() -> QrCodeHelper.generateQrCode(anyString(), any(QrCodeFormat.class), anyInt()))
+          .thenReturn(expectedPng);
+
+      // Actual
+      final var actualFirstImage = getOrRenderPng(qrCodeImageCache, QR_CODE_CONTENT);
+      final var actualSecondImage = getOrRenderPng(qrCodeImageCache, QR_CODE_CONTENT);
+
+      // Assert
+      assertArrayEquals(expectedPng, actualFirstImage.content());
+      assertSame(actualFirstImage, actualSecondImage);
+      mockedQrCodeHelper.verify(
+          () -> QrCodeHelper.generateQrCode(anyString(), any(QrCodeFormat.class), anyInt()),
+          times(1));
+    }
+  }
+
+  @Test
+  void whenGetOrRenderDifferentContents_ThenETagsAreDifferent() throws WriterException {
+    // Actual
+    final var actualImage = getOrRenderPng(qrCodeImageCache, QR_CODE_CONTENT);
+    final var actualAnotherImage = getOrRenderPng(qrCodeImageCache, API_PAYMENT_PATH + "/2");
+
+    // Assert
+    assertEquals(64, actualImage.eTag().length());
+    assertNotEquals(actualImage.eTag(), actualAnotherImage.eTag());
+  }
+
+  @Test
+  void whenGetOrRenderSameContentInDifferentFormats_ThenETagsAreDifferent()
+      throws WriterException {
+
+    // Actual
+    final var actualPngImage = qrCodeImageCache.getOrRender(QR_CODE_CONTENT, QrCodeFormat.PNG, 300);
+    final var actualSvgImage = qrCodeImageCache.getOrRender(QR_CODE_CONTENT, QrCodeFormat.SVG, 300);
+    final var actualLargePngImage =
+        qrCodeImageCache.getOrRender(QR_CODE_CONTENT, QrCodeFormat.PNG, 600);
+
+    // Assert
+    assertEquals(QrCodeFormat.SVG, actualSvgImage.format());
+    assertNotEquals(actualPngImage.eTag(), actualSvgImage.eTag());
+    assertNotEquals(actualPngImage.eTag(), actualLargePngImage.eTag());
+  }
+
+  @Test
+  void whenGetOrRenderDefaultPng_ThenETagIsSameAsBeforeFormats() throws WriterException {
+    // Arrange
+    final var expectedETag = "99690e7c8b06a6fe4993ba59d2adc3d8086410d5e2d8c2c81927df0eb4f65000";
+
+    // Actual
+    final var actualImage = getOrRenderPng(qrCodeImageCache, "/api/v1/payments/1");
+
+    // Assert
+    assertEquals(expectedETag, actualImage.eTag());
+  }
+
+  @Test
+  void whenGetOrRenderInNewCache_ThenReadItFromBlobStore() throws WriterException {
+    // Arrange
+    final var expectedImage = getOrRenderPng(qrCodeImageCache, QR_CODE_CONTENT);
+    final var anotherQrCodeImageCache = buildQrCodeImageCache();
+
+    try (final var mockedQrCodeHelper = mockStatic(QrCodeHelper.class)) {
+      // Actual
+      final var actualImage = getOrRenderPng(anotherQrCodeImageCache, QR_CODE_CONTENT);
+
+      // Assert
+      assertEquals(expectedImage.eTag(), actualImage.eTag());
+      assertArrayEquals(expectedImage.content(), actualImage.content());
+      mockedQrCodeHelper.verifyNoInteractions();
+    }
+  }
+
+  @Test
+  void whenPrerender_ThenGetOrRenderWithoutRendering() throws WriterException {
+    // Arrange
+    final var actualIsRendered = qrCodeImageCache.prerender(QR_CODE_CONTENT);
+
+    try (final var mockedQrCodeHelper = mockStatic(QrCodeHelper.class)) {
+      // Actual
+      final var actualImage = getOrRenderPng(qrCodeImageCache, QR_CODE_CONTENT);
+
+      // Assert
+      assertTrue(actualIsRendered);
+      assertTrue(actualImage.content().length > 0);
+      mockedQrCodeHelper.verifyNoInteractions();
+    }
+  }
+
+  @Test
+  void whenPrerender_ButAlreadyPrerendered_ThenSkipIt() throws WriterException {
+    // Arrange
+    qrCodeImageCache.prerender(QR_CODE_CONTENT);
+
+    // Actual
+    final var actualIsRendered = qrCodeImageCache.prerender(QR_CODE_CONTENT);
+
+    // Assert
+    assertFalse(actualIsRendered);
+  }
+}
@@ -6,11 +6,12 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import com.google.zxing.WriterException;
+import dev.fResult.goutTogether.common.enumurations.QrCodeFormat;
 import dev.fResult.goutTogether.common.enumurations.QrCodeStatus;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
-import dev.fResult.goutTogether.common.helpers.QrCodeHelper;
-import java.awt.image.BufferedImage;
 import java.util.Optional;
+import org.jobrunr.jobs.lambdas.IocJobLambda;
+import org.jobrunr.scheduling.JobScheduler;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
@@ -27,6 +28,8 @@ class QrCodeServiceTest {
   @InjectMocks private QrCodeService qrCodeService;
 
   @Mock private QrCodeReferenceRepository qrCodeReferenceRepository;
+  @Mock private QrCodeImageCache qrCodeImageCache;
+  @Mock private JobScheduler jobScheduler;
 
   private QrCodeReference buildQrCodeReference(int id, int bookingId, QrCodeStatus status) {
     final var qrCodeContent = String.format("%s/%d", API_PAYMENT_PATH, bookingId);
@@ -37,23 +40,22 @@ class QrCodeServiceTest {
   @Test
   void whenGenerateQrCodeImage_thenSuccess() throws WriterException {
     // Arrange
-    try (final var mockedQrCodeHelper = mockStatic(QrCodeHelper.class)) {
-      final var mockQrCodeReference =
-          buildQrCodeReference(QR_CODE_REF_ID, BOOKING_ID, QrCodeStatus.ACTIVATED);
-      final var expectedQrCodeImage = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
-
-      when(qrCodeReferenceRepository.findById(anyInt()))
-          .thenReturn(Optional.of(mockQrCodeReference));
-      mockedQrCodeHelper
-          .when(() -> QrCodeHelper.generateQrCodeImage(anyString()))
-          .thenReturn(expectedQrCodeImage);
-
-      // Actual
-      final var actualGeneratedQrCodeImage = qrCodeService.generateQrCodeImageById(QR_CODE_REF_ID);
-
-      // Assert
-      assertEquals(expectedQrCodeImage, actualGeneratedQrCodeImage);
-    }
+    final var mockQrCodeReference =
+        buildQrCodeReference(QR_CODE_REF_ID, BOOKING_ID, QrCodeStatus.ACTIVATED);
+    final var expectedQrCodeImage =
+        QrCodeImage.of(new byte[] {1, 2, 3}, "content-hash", QrCodeFormat.SVG);
+
+    when(qrCodeReferenceRepository.findById(anyInt()))
+        .thenReturn(Optional.of(mockQrCodeReference));
+    when(qrCodeImageCache.getOrRender(mockQrCodeReference.content(), QrCodeFormat.SVG, 300))
+        .thenReturn(expectedQrCodeImage);
+
+    // Actual
+    final var actualGeneratedQrCodeImage =
+        qrCodeService.generateQrCodeImageById(QR_CODE_REF_ID, QrCodeFormat.SVG, 300);
+
+    // Assert
+    assertEquals(expectedQrCodeImage, actualGeneratedQrCodeImage);
   }
 
   @Test
@@ -106,6 +108,7 @@ class QrCodeServiceTest {
 
     // Assert
     assertEquals(mockCreatedQrCodeReference, actualQrCodeReference);
+    verify(jobScheduler, times(1)).enqueue(any(IocJobLambda.class));
   }
 
   @Test
@@ -123,6 +126,36 @@ class QrCodeServiceTest {
     // Assert
     assertEquals(mockExistingQrCodeReference, actualQrCodeReference);
     verify(qrCodeReferenceRepository, never()).save(any(QrCodeReference.class));
+    verify(jobScheduler, never()).enqueue(any(IocJobLambda.class));
+  }
+
+  @Test
+  void whenPrerenderQrCodeImage_ThenPrerenderItsContent() throws WriterException {
+    // Arrange
+    final var mockQrCodeReference =
+        buildQrCodeReference(QR_CODE_REF_ID, BOOKING_ID, QrCodeStatus.ACTIVATED);
+
+    when(qrCodeReferenceRepository.findById(anyInt()))
+        .thenReturn(Optional.of(mockQrCodeReference));
+    when(qrCodeImageCache.prerender(anyString())).thenReturn(true);
+
+    // Actual
+    qrCodeService.prerenderQrCodeImageById(QR_CODE_REF_ID);
+
+    // Assert
+    verify(qrCodeImageCache, times(1)).prerender(mockQrCodeReference.content());
+  }
+
+  @Test
+  void whenPrerenderQrCodeImage_ButAlreadyDeleted_ThenSkipIt() throws WriterException {
+    // Arrange
+    when(qrCodeReferenceRepository.findById(anyInt())).thenReturn(Optional.empty());
+
+    // Actual
+    qrCodeService.prerenderQrCodeImageById(QR_CODE_REF_ID);
+
+    // Assert
+    verify(qrCodeImageCache, never()).prerender(anyString());
   }
 
   @Test
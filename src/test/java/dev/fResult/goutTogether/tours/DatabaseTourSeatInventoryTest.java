@@ -0,0 +1,196 @@
+package dev.fResult.goutTogether.tours;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.exceptions.InsufficientTourCountException;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import dev.fResult.goutTogether.tours.entities.TourCount;
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import dev.fResult.goutTogether.tours.services.DatabaseTourSeatInventory;
+import dev.fResult.goutTogether.tours.services.TourService;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseTourSeatInventoryTest {
+  private final int TOUR_ID = 1;
+  private final int NOT_FOUND_TOUR_ID = 99999;
+
+  @InjectMocks private DatabaseTourSeatInventory tourSeatInventory;
+
+  @Mock private TourCountRepository tourCountRepository;
+  @Mock private TourService tourService;
+
+  @Test
+  void whenReserve_ThenSuccess() {
+    // Arrange
+    final var TOUR_COUNT_ID = 3;
+    final var tourRef = AggregateReference.<Tour, Integer>to(TOUR_ID);
+    final var mockIncrementedTourCount = TourCount.of(TOUR_COUNT_ID, tourRef, 6);
+
+    when(tourCountRepository.incrementAmountIfAvailable(TOUR_ID, 1))
+        .thenReturn(Optional.of(mockIncrementedTourCount));
+
+    // Actual
+    final var actualReservedSeats = tourSeatInventory.reserve(TOUR_ID, 1);
+
+    // Assert
+    assertEquals(6, actualReservedSeats);
+    verify(tourCountRepository, times(1)).incrementAmountIfAvailable(TOUR_ID, 1);
+    verify(tourService, never()).getTourById(anyInt());
+    verify(tourCountRepository, never()).findOneByTourId(any());
+  }
+
+  @Test
+  void whenReserveUpTo_ButTourFull_ThenReserveNothing() {
+    // Arrange
+    when(tourCountRepository.incrementAmountUpToAvailable(TOUR_ID, 3)).thenReturn(Optional.empty());
+    when(tourCountRepository.existsByTourId(AggregateReference.to(TOUR_ID))).thenReturn(true);
+
+    // Actual
+    final var actualReservedSeats = tourSeatInventory.reserveUpTo(TOUR_ID, 3);
+
+    // Assert
+    assertEquals(0, actualReservedSeats);
+    verify(tourService, never()).getTourById(anyInt());
+  }
+
+  @Test
+  void whenReserve_ButTourNotFound_ThenThrowException() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format("%s with id [%d] not found", Tour.class.getSimpleName(), NOT_FOUND_TOUR_ID);
+    when(tourCountRepository.incrementAmountIfAvailable(NOT_FOUND_TOUR_ID, 1))
+        .thenReturn(Optional.empty());
+    when(tourService.getTourById(NOT_FOUND_TOUR_ID))
+        .thenThrow(new EntityNotFoundException(expectedErrorMessage));
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.reserve(NOT_FOUND_TOUR_ID, 1);
+
+    // Assert
+    final var exception = assertThrows(EntityNotFoundException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenReserve_ButTourCountNotFound_ThenThrowException() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format(
+            "%s with tourId [%d] not found", TourCount.class.getSimpleName(), NOT_FOUND_TOUR_ID);
+
+    when(tourCountRepository.incrementAmountIfAvailable(NOT_FOUND_TOUR_ID, 1))
+        .thenReturn(Optional.empty());
+    when(tourService.getTourById(NOT_FOUND_TOUR_ID)).thenReturn(buildTour(NOT_FOUND_TOUR_ID, 5));
+    when(tourCountRepository.existsByTourId(AggregateReference.to(NOT_FOUND_TOUR_ID)))
+        .thenReturn(false);
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.reserve(NOT_FOUND_TOUR_ID, 1);
+
+    // Assert
+    final var exception = assertThrows(EntityNotFoundException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenReserve_ButTourAmountExceededLimit_ThenThrowException() {
+    // Arrange
+    final var TOUR_AMOUNT_LIMIT = 5;
+    final var expectedErrorMessage =
+        String.format(
+            "%s amount is insufficient for this operation", TourCount.class.getSimpleName());
+
+    when(tourCountRepository.incrementAmountIfAvailable(TOUR_ID, 1)).thenReturn(Optional.empty());
+    when(tourService.getTourById(TOUR_ID)).thenReturn(buildTour(TOUR_ID, TOUR_AMOUNT_LIMIT));
+    when(tourCountRepository.existsByTourId(AggregateReference.to(TOUR_ID))).thenReturn(true);
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.reserve(TOUR_ID, 1);
+
+    // Assert
+    final var exception = assertThrows(InsufficientTourCountException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenRelease_ThenSuccess() {
+    // Arrange
+    final var tourRef = AggregateReference.<Tour, Integer>to(TOUR_ID);
+    final var mockDecrementedTourCount = TourCount.of(1, tourRef, 4);
+
+    when(tourCountRepository.decrementAmountIfReserved(TOUR_ID, 1))
+        .thenReturn(Optional.of(mockDecrementedTourCount));
+
+    // Actual
+    tourSeatInventory.release(TOUR_ID, 1);
+
+    // Assert
+    verify(tourCountRepository, times(1)).decrementAmountIfReserved(TOUR_ID, 1);
+    verify(tourCountRepository, never()).existsByTourId(any());
+  }
+
+  @Test
+  void whenRelease_ButNoReservedAmount_ThenDoNothing() {
+    // Arrange
+    when(tourCountRepository.decrementAmountIfReserved(TOUR_ID, 1)).thenReturn(Optional.empty());
+    when(tourCountRepository.existsByTourId(AggregateReference.to(TOUR_ID))).thenReturn(true);
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.release(TOUR_ID, 1);
+
+    // Assert
+    assertDoesNotThrow(actualExecutable);
+    verify(tourCountRepository, never()).save(any(TourCount.class));
+  }
+
+  @Test
+  void whenRelease_ButTourCountNotFound_ThenThrowException() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format(
+            "%s with tourId [%d] not found", TourCount.class.getSimpleName(), NOT_FOUND_TOUR_ID);
+    when(tourCountRepository.decrementAmountIfReserved(NOT_FOUND_TOUR_ID, 1))
+        .thenReturn(Optional.empty());
+    when(tourCountRepository.existsByTourId(AggregateReference.to(NOT_FOUND_TOUR_ID)))
+        .thenReturn(false);
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.release(NOT_FOUND_TOUR_ID, 1);
+
+    // Assert
+    final var exception = assertThrows(EntityNotFoundException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  private Tour buildTour(int tourId, int numberOfPeople) {
+    return Tour.of(
+        tourId,
+        AggregateReference.to(1),
+        "Hanoi City 3 days",
+        "Camping in Hanoi",
+        "Hanoi, Vietnam",
+        numberOfPeople,
+        Instant.now().plus(45, ChronoUnit.DAYS),
+        TourStatus.APPROVED.name());
+  }
+}
@@ -0,0 +1,204 @@
+package dev.fResult.goutTogether.tours;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.exceptions.InsufficientTourCountException;
+import dev.fResult.goutTogether.tours.dtos.TourSeatCount;
+import dev.fResult.goutTogether.tours.entities.TourCount;
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import dev.fResult.goutTogether.tours.services.InMemoryTourSeatInventory;
+import dev.fResult.goutTogether.tours.services.TourService;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTourSeatInventoryTest {
+  private final int TOUR_ID = 1;
+  private final int NOT_FOUND_TOUR_ID = 99999;
+
+  private InMemoryTourSeatInventory tourSeatInventory;
+
+  @Mock private TourCountRepository tourCountRepository;
+  @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+  @Mock private TourService tourService;
+
+  @BeforeEach
+  void setUp() {
+    tourSeatInventory =
+        new InMemoryTourSeatInventory(tourCountRepository, jdbcTemplate, tourService, 500);
+  }
+
+  @Test
+  void whenReserve_ThenSeedOnceAndSuccess() {
+    // Arrange
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 3)));
+
+    // Actual
+    final var firstReservedSeats = tourSeatInventory.reserve(TOUR_ID, 1);
+    final var secondReservedSeats = tourSeatInventory.reserve(TOUR_ID, 1);
+
+    // Assert
+    assertEquals(4, firstReservedSeats);
+    assertEquals(5, secondReservedSeats);
+    verify(tourCountRepository, times(1)).findSeatCountByTourId(TOUR_ID);
+  }
+
+  @Test
+  void whenReserveUpTo_ButTourAlmostFull_ThenReserveRemainingSeatsOnly() {
+    // Arrange
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 3)));
+
+    // Actual
+    final var firstReservedSeats = tourSeatInventory.reserveUpTo(TOUR_ID, 4);
+    final var secondReservedSeats = tourSeatInventory.reserveUpTo(TOUR_ID, 4);
+
+    // Assert
+    assertEquals(2, firstReservedSeats);
+    assertEquals(0, secondReservedSeats);
+  }
+
+  @Test
+  void whenReserve_ButTourAmountExceededLimit_ThenThrowException() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format(
+            "%s amount is insufficient for this operation", TourCount.class.getSimpleName());
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 5)));
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.reserve(TOUR_ID, 1);
+
+    // Assert
+    final var exception = assertThrows(InsufficientTourCountException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenReserve_ButTourCountNotFound_ThenThrowException() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format(
+            "%s with tourId [%d] not found", TourCount.class.getSimpleName(), NOT_FOUND_TOUR_ID);
+    when(tourCountRepository.findSeatCountByTourId(NOT_FOUND_TOUR_ID))
+        .thenReturn(Optional.empty());
+
+    // Actual
+    final Executable actualExecutable = () -> tourSeatInventory.reserve(NOT_FOUND_TOUR_ID, 1);
+
+    // Assert
+    final var exception = assertThrows(EntityNotFoundException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  @Test
+  void whenRelease_ButNoReservedAmount_ThenDoNothing() {
+    // Arrange
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 0)));
+
+    // Actual
+    tourSeatInventory.release(TOUR_ID, 1);
+    final var actualFlushedTours = tourSeatInventory.flushPendingDeltas();
+
+    // Assert
+    assertEquals(0, actualFlushedTours);
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+  }
+
+  @Test
+  void whenFlushPendingDeltas_ThenWriteNetDeltaInOneBatch() {
+    // Arrange
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 0)));
+    tourSeatInventory.reserve(TOUR_ID, 1);
+    tourSeatInventory.reserve(TOUR_ID, 1);
+    tourSeatInventory.release(TOUR_ID, 1);
+    when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+        .thenReturn(new int[] {1});
+    final var batchParamsCaptor = ArgumentCaptor.forClass(SqlParameterSource[].class);
+
+    // Actual
+    final var actualFlushedTours = tourSeatInventory.flushPendingDeltas();
+    final var actualFlushedAgainTours = tourSeatInventory.flushPendingDeltas();
+
+    // Assert
+    assertEquals(1, actualFlushedTours);
+    assertEquals(0, actualFlushedAgainTours);
+    verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batchParamsCaptor.capture());
+    final var batchParams = batchParamsCaptor.getValue();
+    assertEquals(1, batchParams.length);
+    assertEquals(TOUR_ID, batchParams[0].getValue("tourId"));
+    assertEquals(1, batchParams[0].getValue("delta"));
+  }
+
+  @Test
+  void whenReserve_ButTransactionRolledBack_ThenGiveSeatsBackWithoutDelta() {
+    // Arrange
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 4)));
+
+    // Actual
+    final var firstReservedSeats =
+        reserveInTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+    final var secondReservedSeats = tourSeatInventory.reserve(TOUR_ID, 1);
+
+    // Assert
+    assertEquals(5, firstReservedSeats);
+    assertEquals(5, secondReservedSeats);
+  }
+
+  @Test
+  void whenReserve_ButTransactionOutcomeUnknown_ThenKeepSeatsTakenWithoutDelta() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format(
+            "%s amount is insufficient for this operation", TourCount.class.getSimpleName());
+    when(tourCountRepository.findSeatCountByTourId(TOUR_ID))
+        .thenReturn(Optional.of(TourSeatCount.of(TOUR_ID, 5, 4)));
+
+    // Actual
+    reserveInTransaction(TransactionSynchronization.STATUS_UNKNOWN);
+    final var actualFlushedTours = tourSeatInventory.flushPendingDeltas();
+    final Executable actualExecutable = () -> tourSeatInventory.reserve(TOUR_ID, 1);
+
+    // Assert
+    assertEquals(0, actualFlushedTours);
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    final var exception = assertThrows(InsufficientTourCountException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
+  private int reserveInTransaction(int completionStatus) {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      final var reservedSeats = tourSeatInventory.reserve(TOUR_ID, 1);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(completionStatus));
+
+      return reservedSeats;
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+}
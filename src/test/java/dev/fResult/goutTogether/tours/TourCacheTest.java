@@ -0,0 +1,111 @@
+package dev.fResult.goutTogether.tours;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import dev.fResult.goutTogether.tours.services.TourCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+
+class TourCacheTest {
+  private static final int TOUR_ID = 1;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TourCache tourCache;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    tourCache = new TourCache(new MyApplicationProperties(), meterRegistry);
+  }
+
+  private Tour buildTour() {
+    return Tour.of(
+        TOUR_ID,
+        AggregateReference.to(1),
+        "Kunlun 7 days",
+        "Go 12 places around Kunlun",
+        "Kunlun, China",
+        20,
+        Instant.now(),
+        TourStatus.APPROVED.name());
+  }
+
+  private double getCacheGets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", TourCache.CACHE_NAME)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  @Test
+  void whenGetOrLoadTwice_ThenRecordMissAndHit() {
+    // Arrange
+    final var loadCount = new AtomicInteger();
+    final var tour = buildTour();
+
+    // Actual
+    tourCache.getOrLoad(TOUR_ID, id -> Optional.of(tour));
+    final var actualTour =
+        tourCache.getOrLoad(
+            TOUR_ID,
+            id -> {
+              loadCount.incrementAndGet();
+              return Optional.of(tour);
+            });
+
+    // Assert
+    assertEquals(Optional.of(tour), actualTour);
+    assertEquals(0, loadCount.get());
+    assertEquals(1, getCacheGets("miss"));
+    assertEquals(1, getCacheGets("hit"));
+  }
+
+  @Test
+  void whenTourNotFound_ThenDoNotCacheIt() {
+    // Arrange
+    final var loadCount = new AtomicInteger();
+
+    // Actual
+    tourCache.getOrLoad(
+        TOUR_ID,
+        id -> {
+          loadCount.incrementAndGet();
+          return Optional.empty();
+        });
+    final var actualTour = tourCache.getOrLoad(TOUR_ID, id -> Optional.of(buildTour()));
+
+    // Assert
+    assertEquals(1, loadCount.get());
+    assertTrue(actualTour.isPresent());
+  }
+
+  @Test
+  void whenEvict_ThenLoadTourAgain() {
+    // Arrange
+    final var loadCount = new AtomicInteger();
+    final var tour = buildTour();
+    tourCache.getOrLoad(TOUR_ID, id -> Optional.of(tour));
+
+    // Actual
+    tourCache.evict(TOUR_ID);
+    tourCache.getOrLoad(
+        TOUR_ID,
+        id -> {
+          loadCount.incrementAndGet();
+          return Optional.of(tour);
+        });
+
+    // Assert
+    assertEquals(1, loadCount.get());
+  }
+}
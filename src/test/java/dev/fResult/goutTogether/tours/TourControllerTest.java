@@ -9,9 +9,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dockerjava.api.exception.InternalServerErrorException;
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
 import dev.fResult.goutTogether.common.enumurations.TourStatus;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.models.CursorPage;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
 import dev.fResult.goutTogether.tours.dtos.TourRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchResult;
 import dev.fResult.goutTogether.tours.entities.Tour;
 import dev.fResult.goutTogether.tours.services.TourService;
 import java.time.Duration;
@@ -24,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -92,6 +98,96 @@ class TourControllerTest {
     actualResults.andExpect(status().isBadRequest());
   }
 
+  @Test
+  void whenGetTours_ButSortFieldIsNotAllowed_ThenReturn422() throws Exception {
+    // Arrange
+    final var params =
+        new LinkedMultiValueMap<>(
+            Map.of("page", List.of("0"), "size", List.of("10"), "field", List.of("description")));
+
+    // Actual
+    final var actualResults = mockMvc.perform(get(TOUR_API).params(params));
+
+    // Assert
+    actualResults.andExpect(status().isUnprocessableEntity());
+  }
+
+  @Test
+  void whenScrollTours_ThenSuccess() throws Exception {
+    // Arrange
+    final var params =
+        new LinkedMultiValueMap<>(
+            Map.of(
+                "size",
+                List.of("1"),
+                "field",
+                List.of("activityDate"),
+                "skipTotal",
+                List.of("true")));
+    final var tour =
+        Tour.of(
+            TOUR_ID,
+            AggregateReference.to(1),
+            "Kunlun 7 days",
+            "Go 12 places around Kunlun",
+            "Kunlun, China",
+            20,
+            Instant.now().plus(Duration.ofDays(45)),
+            TourStatus.APPROVED.name());
+    final var nextCursor =
+        KeysetCursor.of(
+                TourSortField.ACTIVITY_DATE,
+                Sort.Direction.ASC,
+                TOUR_ID,
+                tour.activityDate().toString())
+            .encode();
+
+    when(tourService.getToursByCursor(
+            TourSortField.ACTIVITY_DATE, Sort.Direction.ASC, null, 1, true))
+        .thenReturn(CursorPage.of(List.of(tour), nextCursor, null));
+
+    // Actual
+    final var actualResults = mockMvc.perform(get(TOUR_API + "/scroll").params(params));
+
+    // Assert
+    actualResults
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(TOUR_ID))
+        .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+  }
+
+  @Test
+  void whenSearchTours_ThenSuccess() throws Exception {
+    // Arrange
+    final var params =
+        new LinkedMultiValueMap<>(
+            Map.of("keyword", List.of("Kunlun"), "status", List.of("APPROVED")));
+    final var searchResult =
+        TourSearchResult.of(
+            TOUR_ID,
+            1,
+            "Kunlun 7 days",
+            "Go 12 places around Kunlun",
+            "Kunlun, China",
+            20,
+            Instant.now().plus(Duration.ofDays(45)),
+            TourStatus.APPROVED.name(),
+            0.8);
+
+    when(tourService.searchTours(
+            TourSearchRequest.of("Kunlun", TourStatus.APPROVED, null, null, 0, 20)))
+        .thenReturn(List.of(searchResult));
+
+    // Actual
+    final var actualResults = mockMvc.perform(get(TOUR_API + "/search").params(params));
+
+    // Assert
+    actualResults
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(TOUR_ID))
+        .andExpect(jsonPath("$[0].rank").value(0.8));
+  }
+
   @Test
   void whenGetTourById_ThenSuccess() throws Exception {
     // Arrange
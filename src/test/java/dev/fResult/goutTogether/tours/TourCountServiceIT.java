@@ -0,0 +1,119 @@
+package dev.fResult.goutTogether.tours;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.fResult.goutTogether.common.enumurations.TourCompanyStatus;
+import dev.fResult.goutTogether.common.enumurations.TourStatus;
+import dev.fResult.goutTogether.common.exceptions.InsufficientTourCountException;
+import dev.fResult.goutTogether.configs.AbstractIntegrationTest;
+import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
+import dev.fResult.goutTogether.tourCompanies.repositories.TourCompanyRepository;
+import dev.fResult.goutTogether.tours.entities.Tour;
+import dev.fResult.goutTogether.tours.entities.TourCount;
+import dev.fResult.goutTogether.tours.repositories.TourCountRepository;
+import dev.fResult.goutTogether.tours.repositories.TourRepository;
+import dev.fResult.goutTogether.tours.services.TourCountService;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jdbc.core.mapping.AggregateReference;
+
+// NOTE: `IT` suffix stands for Integration Test
+class TourCountServiceIT extends AbstractIntegrationTest {
+  private final int NUMBER_OF_PEOPLE = 50;
+  private final int CONCURRENT_PAYERS = 500;
+
+  @Autowired private TourCountService tourCountService;
+  @Autowired private TourCompanyRepository tourCompanyRepository;
+  @Autowired private TourRepository tourRepository;
+  @Autowired private TourCountRepository tourCountRepository;
+
+  private Tour createTourWithTourCount(int numberOfPeople) {
+    final var tourCompany =
+        tourCompanyRepository.save(
+            TourCompany.of(null, "Flash Sale Company", TourCompanyStatus.APPROVED.name()));
+    final var tour =
+        tourRepository.save(
+            Tour.of(
+                null,
+                AggregateReference.to(tourCompany.id()),
+                "Chiang Mai 2 days",
+                "Flash sale tour",
+                "Chiang Mai, Thailand",
+                numberOfPeople,
+                Instant.now().plus(30, ChronoUnit.DAYS),
+                TourStatus.APPROVED.name()));
+    tourCountRepository.save(TourCount.of(null, AggregateReference.to(tour.id()), 0));
+
+    return tour;
+  }
+
+  @Test
+  void whenIncrementTourCountConcurrently_ThenNeverExceedNumberOfPeople() {
+    // Arrange
+    final var tour = createTourWithTourCount(NUMBER_OF_PEOPLE);
+    final var reservedCount = new AtomicInteger();
+    final var rejectedCount = new AtomicInteger();
+    final var startGate = new CountDownLatch(1);
+
+    // Actual
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var i = 0; i < CONCURRENT_PAYERS; i++) {
+        executor.submit(
+            () -> {
+              startGate.await();
+              try {
+                tourCountService.incrementTourCount(tour.id());
+                reservedCount.incrementAndGet();
+              } catch (InsufficientTourCountException ex) {
+                rejectedCount.incrementAndGet();
+              }
+
+              return null;
+            });
+      }
+
+      startGate.countDown();
+    }
+
+    // Assert
+    final var actualTourCount =
+        tourCountRepository.findOneByTourId(AggregateReference.to(tour.id())).orElseThrow();
+    assertEquals(NUMBER_OF_PEOPLE, actualTourCount.amount());
+    assertEquals(NUMBER_OF_PEOPLE, reservedCount.get());
+    assertEquals(CONCURRENT_PAYERS - NUMBER_OF_PEOPLE, rejectedCount.get());
+  }
+
+  @Test
+  void whenDecrementTourCountConcurrently_ThenNeverBelowZero() {
+    // Arrange
+    final var RESERVED_AMOUNT = 10;
+    final var tour = createTourWithTourCount(NUMBER_OF_PEOPLE);
+    for (var i = 0; i < RESERVED_AMOUNT; i++) tourCountService.incrementTourCount(tour.id());
+    final var startGate = new CountDownLatch(1);
+
+    // Actual
+    try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var i = 0; i < CONCURRENT_PAYERS; i++) {
+        executor.submit(
+            () -> {
+              startGate.await();
+              tourCountService.decrementTourCount(tour.id());
+
+              return null;
+            });
+      }
+
+      startGate.countDown();
+    }
+
+    // Assert
+    final var actualTourCount =
+        tourCountRepository.findOneByTourId(AggregateReference.to(tour.id())).orElseThrow();
+    assertEquals(0, actualTourCount.amount());
+  }
+}
@@ -0,0 +1,140 @@
+package dev.fResult.goutTogether.tours;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.fResult.goutTogether.configs.AbstractIntegrationTest;
+import dev.fResult.goutTogether.tours.repositories.TourRepository;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares {@link TourRepository#searchTours} with the <code>LIKE '%...%'</code> scan which the
+ * tours are searched by without the search indexes, on 1M tours. It seeds the whole table, so it
+ * only runs with <code>GOUT_BENCHMARK=true</code>.
+ */
+@EnabledIfEnvironmentVariable(named = "GOUT_BENCHMARK", matches = "true")
+class TourSearchBenchmarkIT extends AbstractIntegrationTest {
+  private final Logger logger = LoggerFactory.getLogger(TourSearchBenchmarkIT.class);
+
+  private static final int SEED_ID = 2_000_000;
+  private static final int TOUR_COUNT = 1_000_000;
+  private static final int RUN_COUNT = 11;
+  private static final String KEYWORD = "Tour 424242";
+
+  private static final Pattern NAMED_PARAMETER_PATTERN = Pattern.compile("(?<![:\\w]):(\\w+)");
+  private static final Pattern EXECUTION_TIME_PATTERN =
+      Pattern.compile("Execution Time: ([\\d.]+) ms");
+
+  private static final String SEED_SQL =
+      """
+      INSERT INTO tour_companies (id, name, status)
+      SELECT :seedId + i, 'Company ' || i, 'APPROVED' FROM generate_series(1, 1000) i;
+
+      INSERT INTO tours (
+        id, tour_company_id, title, description, location, number_of_people, activity_date, status
+      )
+      SELECT :seedId + i, :seedId + (i % 1000) + 1, 'Tour ' || i,
+        'Visit the ' || (ARRAY['temple', 'beach', 'mountain', 'market', 'island'])[i % 5 + 1]
+          || ' with a local guide',
+        (ARRAY['Chiang Mai', 'Phuket', 'Krabi', 'Bangkok', 'Kunlun'])[i % 5 + 1], 20,
+        NOW() + (i % 365 || ' days')::INTERVAL, 'APPROVED'
+      FROM generate_series(1, :tourCount) i;
+
+      ANALYZE tours;
+      """;
+
+  // The only way to search the tours before the search indexes, which reads every tour
+  private static final String LIKE_SQL =
+      """
+      SELECT * FROM tours
+      WHERE title LIKE '%' || :keyword || '%'
+        OR description LIKE '%' || :keyword || '%'
+        OR location LIKE '%' || :keyword || '%'
+      ORDER BY id
+      LIMIT :limit OFFSET :offset
+      """;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @Transactional
+  void whenSearchToursOnMillionTours_ThenFasterThanLikeScan() throws NoSuchMethodException {
+    // Arrange
+    jdbcTemplate.execute(
+        SEED_SQL
+            .replace(":seedId", String.valueOf(SEED_ID))
+            .replace(":tourCount", String.valueOf(TOUR_COUNT)));
+    final var searchSql =
+        TourRepository.class
+            .getMethod(
+                "searchTours",
+                String.class,
+                String.class,
+                Instant.class,
+                Instant.class,
+                int.class,
+                long.class)
+            .getAnnotation(Query.class)
+            .value();
+    final var sampleValueByParameter =
+        Map.of(
+            "keyword", "'" + KEYWORD + "'",
+            "status", "'APPROVED'",
+            "activityDateFrom", "NULL",
+            "activityDateTo", "NULL",
+            "limit", "20",
+            "offset", "0");
+
+    // Actual
+    final var searchMillis =
+        measureMedianExecutionMillis(bindSampleValues(searchSql, sampleValueByParameter));
+    // The same as no search indexes at all, only for the rest of this transaction
+    jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+    final var likeMillis =
+        measureMedianExecutionMillis(bindSampleValues(LIKE_SQL, sampleValueByParameter));
+
+    // Assert
+    logger.info(
+        "[whenSearchToursOnMillionTours] searchTours: {} ms, LIKE scan: {} ms on {} tours",
+        searchMillis,
+        likeMillis,
+        TOUR_COUNT);
+    assertTrue(
+        searchMillis < likeMillis,
+        String.format(
+            "searchTours [%s ms] is not faster than LIKE [%s ms]", searchMillis, likeMillis));
+  }
+
+  private double measureMedianExecutionMillis(String sql) {
+    final var executionMillis = new double[RUN_COUNT];
+    for (var run = 0; run < RUN_COUNT; run++) {
+      final var explainSql = "EXPLAIN (ANALYZE) " + sql.strip().replaceAll(";$", "");
+      final var planLines = jdbcTemplate.queryForList(explainSql, String.class);
+      final var matcher = EXECUTION_TIME_PATTERN.matcher(planLines.getLast());
+      assertTrue(matcher.find(), "No execution time in the plan: " + planLines.getLast());
+      executionMillis[run] = Double.parseDouble(matcher.group(1));
+    }
+    Arrays.sort(executionMillis);
+
+    return executionMillis[RUN_COUNT / 2];
+  }
+
+  private String bindSampleValues(String sql, Map<String, String> sampleValueByParameter) {
+    return NAMED_PARAMETER_PATTERN
+        .matcher(sql)
+        .replaceAll(
+            matchResult ->
+                Matcher.quoteReplacement(sampleValueByParameter.get(matchResult.group(1))));
+  }
+}
@@ -3,33 +3,47 @@ package dev.fResult.goutTogether.tours;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
 import dev.fResult.goutTogether.common.enumurations.TourCompanyStatus;
+import dev.fResult.goutTogether.common.enumurations.TourSortField;
 import dev.fResult.goutTogether.common.enumurations.TourStatus;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.exceptions.ValidationException;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
 import dev.fResult.goutTogether.tourCompanies.dtos.TourCompanyResponse;
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import dev.fResult.goutTogether.tourCompanies.services.TourCompanyService;
 import dev.fResult.goutTogether.tours.dtos.TourRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchRequest;
+import dev.fResult.goutTogether.tours.dtos.TourSearchResult;
 import dev.fResult.goutTogether.tours.entities.Tour;
 import dev.fResult.goutTogether.tours.entities.TourCount;
 import dev.fResult.goutTogether.tours.repositories.TourRepository;
+import dev.fResult.goutTogether.tours.services.TourCache;
 import dev.fResult.goutTogether.tours.services.TourCountService;
 import dev.fResult.goutTogether.tours.services.TourServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +54,10 @@ class TourServiceTest {
   @Mock private TourCompanyService tourCompanyService;
   @Mock private TourCountService tourCountService;
 
+  @Spy
+  private TourCache tourCache =
+      new TourCache(new MyApplicationProperties(), new SimpleMeterRegistry());
+
   @Test
   void whenGetTours_ThenSuccess() {
     // Arrange
@@ -64,6 +82,141 @@ class TourServiceTest {
     assertEquals(pageTours, actualTours);
   }
 
+  @Test
+  void whenGetToursByCursor_ThenReturnNextCursorOfLastTour() {
+    // Arrange
+    final var activityDate = Instant.parse("2024-01-01T10:15:30Z");
+    final var tours =
+        List.of(
+            buildTour(1, activityDate),
+            buildTour(2, activityDate.plus(Duration.ofDays(1))),
+            buildTour(3, activityDate.plus(Duration.ofDays(2))));
+    final var expectedNextCursor =
+        KeysetCursor.of(
+            TourSortField.ACTIVITY_DATE, Sort.Direction.ASC, 2, "2024-01-02T10:15:30Z");
+
+    when(tourRepository.findAllByKeyset(TourSortField.ACTIVITY_DATE, Sort.Direction.ASC, null, 3))
+        .thenReturn(tours);
+    when(tourRepository.count()).thenReturn(30L);
+
+    // Actual
+    final var actualPage =
+        tourService.getToursByCursor(
+            TourSortField.ACTIVITY_DATE, Sort.Direction.ASC, null, 2, false);
+
+    // Assert
+    assertEquals(tours.subList(0, 2), actualPage.content());
+    assertEquals(expectedNextCursor, KeysetCursor.decode(actualPage.nextCursor()));
+    assertEquals(30L, actualPage.totalElements());
+  }
+
+  @Test
+  void whenGetToursByCursor_OnLastPageAndSkipTotal_ThenReturnNoNextCursorAndNoTotal() {
+    // Arrange
+    final var cursor = KeysetCursor.of(TourSortField.ID, Sort.Direction.ASC, 2, null);
+    final var tours = List.of(buildTour(3, Instant.now()));
+
+    when(tourRepository.findAllByKeyset(TourSortField.ID, Sort.Direction.ASC, cursor, 3))
+        .thenReturn(tours);
+
+    // Actual
+    final var actualPage =
+        tourService.getToursByCursor(
+            TourSortField.ID, Sort.Direction.ASC, cursor.encode(), 2, true);
+
+    // Assert
+    assertEquals(tours, actualPage.content());
+    assertNull(actualPage.nextCursor());
+    assertNull(actualPage.totalElements());
+    verify(tourRepository, never()).count();
+  }
+
+  @Test
+  void whenGetToursByCursor_ButCursorIsIssuedForAnotherSort_ThenThrowValidationException() {
+    // Arrange
+    final var cursor =
+        KeysetCursor.of(
+            TourSortField.ACTIVITY_DATE, Sort.Direction.ASC, 2, "2024-01-02T10:15:30Z");
+
+    // Actual
+    final Executable actualExecutable =
+        () ->
+            tourService.getToursByCursor(
+                TourSortField.ACTIVITY_DATE, Sort.Direction.DESC, cursor.encode(), 2, false);
+
+    // Assert
+    assertThrowsExactly(ValidationException.class, actualExecutable);
+  }
+
+  @Test
+  void whenSearchTours_ThenSearchByStrippedKeywordAndPageOffset() {
+    // Arrange
+    final var activityDateFrom = Instant.parse("2024-01-01T00:00:00Z");
+    final var request =
+        TourSearchRequest.of("  Kunlun ", TourStatus.APPROVED, activityDateFrom, null, 2, 10);
+    final var searchResults =
+        List.of(
+            TourSearchResult.of(
+                1,
+                1,
+                "Kunlun 7 days",
+                "Go 12 places around Kunlun",
+                "Kunlun, China",
+                20,
+                activityDateFrom.plus(Duration.ofDays(45)),
+                TourStatus.APPROVED.name(),
+                0.8));
+
+    when(tourRepository.searchTours(
+            "Kunlun", TourStatus.APPROVED.name(), activityDateFrom, null, 10, 20L))
+        .thenReturn(searchResults);
+
+    // Actual
+    final var actualResults = tourService.searchTours(request);
+
+    // Assert
+    assertEquals(searchResults, actualResults);
+  }
+
+  @Test
+  void whenSearchTours_ButKeywordIsBlank_ThenThrowValidationException() {
+    // Arrange
+    final var request = TourSearchRequest.of(" ", null, null, null, 0, 10);
+
+    // Actual
+    final Executable actualExecutable = () -> tourService.searchTours(request);
+
+    // Assert
+    assertThrowsExactly(ValidationException.class, actualExecutable);
+  }
+
+  @Test
+  void whenSearchTours_ButActivityDateRangeIsReversed_ThenThrowValidationException() {
+    // Arrange
+    final var activityDateTo = Instant.parse("2024-01-01T00:00:00Z");
+    final var request =
+        TourSearchRequest.of(
+            "Kunlun", null, activityDateTo.plus(Duration.ofDays(1)), activityDateTo, 0, 10);
+
+    // Actual
+    final Executable actualExecutable = () -> tourService.searchTours(request);
+
+    // Assert
+    assertThrowsExactly(ValidationException.class, actualExecutable);
+  }
+
+  private Tour buildTour(int id, Instant activityDate) {
+    return Tour.of(
+        id,
+        AggregateReference.to(1),
+        "Kunlun 7 days",
+        "Go 12 places around Kunlun",
+        "Kunlun, China",
+        20,
+        activityDate,
+        TourStatus.APPROVED.name());
+  }
+
   @Test
   void whenGetTourById_ThenSuccess() {
     // Arrange
@@ -87,6 +240,55 @@ class TourServiceTest {
     assertEquals(mockTour, actualTour);
   }
 
+  @Test
+  void whenGetTourByIdTwice_ThenLoadTourFromDatabaseOnce() {
+    // Arrange
+    final var TOUR_ID = 1;
+    final var mockTour = buildTour(TOUR_ID, Instant.now().plus(Duration.ofDays(45)));
+    when(tourRepository.findById(TOUR_ID)).thenReturn(Optional.of(mockTour));
+
+    // Actual
+    tourService.getTourById(TOUR_ID);
+    final var actualTour = tourService.getTourById(TOUR_ID);
+
+    // Assert
+    assertEquals(mockTour, actualTour);
+    verify(tourRepository, times(1)).findById(TOUR_ID);
+  }
+
+  @Test
+  void whenGetToursByIds_ThenLoadOnlyToursNotCachedYet() {
+    // Arrange
+    final var activityDate = Instant.now().plus(Duration.ofDays(45));
+    final var cachedTour = buildTour(1, activityDate);
+    final var notCachedTour = buildTour(2, activityDate);
+    when(tourRepository.findById(1)).thenReturn(Optional.of(cachedTour));
+    when(tourRepository.findAllById(Set.of(2))).thenReturn(List.of(notCachedTour));
+    tourService.getTourById(1);
+
+    // Actual
+    final var actualTours = tourService.getToursByIds(List.of(1, 2, 2));
+
+    // Assert
+    assertEquals(Set.of(cachedTour, notCachedTour), Set.copyOf(actualTours));
+  }
+
+  @Test
+  void whenGetToursByIds_ButSomeToursNotFound_ThenThrowEntityNotFoundException() {
+    // Arrange
+    final var expectedErrorMessage =
+        String.format("%s ids [%d] not found", Tour.class.getSimpleName(), 2);
+    when(tourRepository.findAllById(Set.of(1, 2)))
+        .thenReturn(List.of(buildTour(1, Instant.now().plus(Duration.ofDays(45)))));
+
+    // Actual
+    final Executable actualExecutable = () -> tourService.getToursByIds(List.of(1, 2));
+
+    // Assert
+    final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
+    assertEquals(expectedErrorMessage, exception.getMessage());
+  }
+
   @Test
   void whenGetTourById_ButTourNotFound_ThenThrowEntityNotfoundException() {
     // Arrange
@@ -142,6 +344,7 @@ class TourServiceTest {
     // Assert
     assertEquals(mockCreatedTour, actualCreatedTour);
     assertNotNull(actualCreatedTourCount);
+    verify(tourCache).evict(mockCreatedTour.id());
   }
 
   @Test
@@ -3,8 +3,10 @@ package dev.fResult.goutTogether.users;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.fResult.goutTogether.auths.services.PrincipalCache;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
 import dev.fResult.goutTogether.users.entities.Role;
 import dev.fResult.goutTogether.users.entities.User;
@@ -27,6 +29,7 @@ class RoleServiceTest {
 
   @Mock private RoleRepository roleRepository;
   @Mock private UserRoleRepository userRoleRepository;
+  @Mock private PrincipalCache principalCache;
 
   @Test
   void shouldReturnRoles() {
@@ -57,6 +60,7 @@ class RoleServiceTest {
 
     // Assert
     assertEquals(mockUserRole, actualUserRole);
+    verify(principalCache).evictUser(USER_ID);
   }
 
   @Test
@@ -74,6 +78,7 @@ class RoleServiceTest {
 
     // Assert
     assertTrue(actualDeleteResult);
+    verify(principalCache).evictUser(USER_ID);
   }
 
   @Test
@@ -9,8 +9,10 @@ import dev.fResult.goutTogether.auths.entities.UserLogin;
 import dev.fResult.goutTogether.auths.services.AuthService;
 import dev.fResult.goutTogether.common.enumurations.UpdatePasswordResult;
 import dev.fResult.goutTogether.common.enumurations.UserRoleName;
+import dev.fResult.goutTogether.common.enumurations.UserSortField;
 import dev.fResult.goutTogether.common.exceptions.CredentialExistsException;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
+import dev.fResult.goutTogether.common.models.KeysetCursor;
 import dev.fResult.goutTogether.users.dtos.UserInfoResponse;
 import dev.fResult.goutTogether.users.dtos.UserRegistrationRequest;
 import dev.fResult.goutTogether.users.dtos.UserUpdateRequest;
@@ -26,6 +28,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
@@ -35,6 +38,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
 
 @ExtendWith(MockitoExtension.class)
@@ -102,6 +106,41 @@ class UserServiceTest {
     assertEquals(expectedUserInfoPage.getContent(), actualUsersResp.getContent());
   }
 
+  @Test
+  void whenGetUsersByFirstNameAndCursor_ThenReturnNextCursorOfLastUser() {
+    // Arrange
+    final var ANOTHER_USER_ID = 2;
+    final var mockUser1 = User.of(USER_ID, "John", "Wick", "0999999999");
+    final var mockUser2 = User.of(ANOTHER_USER_ID, "Johnny", "English", "0666666666");
+    final var mockCredential1 = buildUserCredential(USER_ID, "john.w@example.com");
+    final var expectedUserInfo =
+        UserInfoResponse.of(
+            USER_ID,
+            mockUser1.firstName(),
+            mockUser1.lastName(),
+            mockCredential1.email(),
+            mockUser1.phoneNumber());
+    final var expectedNextCursor =
+        KeysetCursor.of(UserSortField.FIRST_NAME, Sort.Direction.ASC, USER_ID, "John");
+
+    when(userRepository.findAllByKeyset(
+            "Jo", UserSortField.FIRST_NAME, Sort.Direction.ASC, null, 2))
+        .thenReturn(List.of(mockUser1, mockUser2));
+    when(authService.getUserCredentialsByUserIds(Set.of(USER_ID)))
+        .thenReturn(List.of(mockCredential1));
+
+    // Actual
+    final var actualUserPage =
+        userService.getUsersByFirstNameAndCursor(
+            "Jo", UserSortField.FIRST_NAME, Sort.Direction.ASC, null, 1, true);
+
+    // Assert
+    assertEquals(List.of(expectedUserInfo), actualUserPage.content());
+    assertEquals(expectedNextCursor, KeysetCursor.decode(actualUserPage.nextCursor()));
+    assertNull(actualUserPage.totalElements());
+    verify(userRepository, never()).countByFirstNameContaining(anyString());
+  }
+
   @Test
   void whenGetUserById_ThenSuccess() {
     // Arrange
@@ -0,0 +1,89 @@
+package dev.fResult.goutTogether.wallets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
+import dev.fResult.goutTogether.common.enumurations.TourCompanyWalletMode;
+import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletDiscrepancy;
+import dev.fResult.goutTogether.wallets.repositories.TourCompanyWalletRepository;
+import dev.fResult.goutTogether.wallets.services.TourCompanyWalletSettlement;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TourCompanyWalletSettlementTest {
+  private static final int BATCH_SIZE = 2;
+
+  @Mock private TourCompanyWalletRepository tourCompanyWalletRepository;
+
+  private TourCompanyWalletSettlement tourCompanyWalletSettlement;
+
+  @BeforeEach
+  void setUp() {
+    final var myProps = new MyApplicationProperties();
+    myProps.getWallet().setTourCompanyMode(TourCompanyWalletMode.OUTBOX);
+    myProps.getWallet().setSettlementBatchSize(BATCH_SIZE);
+
+    tourCompanyWalletSettlement =
+        new TourCompanyWalletSettlement(tourCompanyWalletRepository, myProps);
+  }
+
+  @Test
+  void whenOutboxMode_ThenEnabled() {
+    // Actual
+    final var actualEnabled = tourCompanyWalletSettlement.isEnabled();
+
+    // Assert
+    assertTrue(actualEnabled);
+  }
+
+  @Test
+  void whenSettlePendingCredits_ThenSettleUntilBatchIsNotFull() {
+    // Arrange
+    final var expectedSettledCount = 5;
+    when(tourCompanyWalletRepository.settlePendingCredits(BATCH_SIZE)).thenReturn(2, 2, 1);
+
+    // Actual
+    final var actualSettledCount = tourCompanyWalletSettlement.settlePendingCredits();
+
+    // Assert
+    assertEquals(expectedSettledCount, actualSettledCount);
+    verify(tourCompanyWalletRepository, times(3)).settlePendingCredits(BATCH_SIZE);
+  }
+
+  @Test
+  void whenNoPendingCredits_ThenSettleNothing() {
+    // Arrange
+    when(tourCompanyWalletRepository.settlePendingCredits(BATCH_SIZE)).thenReturn(0);
+
+    // Actual
+    final var actualSettledCount = tourCompanyWalletSettlement.settlePendingCredits();
+
+    // Assert
+    assertEquals(0, actualSettledCount);
+    verify(tourCompanyWalletRepository, times(1)).settlePendingCredits(BATCH_SIZE);
+  }
+
+  @Test
+  void whenReconcileWithLedger_ThenReturnDiscrepancies() {
+    // Arrange
+    final var expectedDiscrepancies =
+        List.of(
+            TourCompanyWalletDiscrepancy.of(
+                1, BigDecimal.valueOf(100), BigDecimal.ZERO, BigDecimal.valueOf(200)));
+    when(tourCompanyWalletRepository.findDiscrepanciesWithLedger())
+        .thenReturn(expectedDiscrepancies);
+
+    // Actual
+    final var actualDiscrepancies = tourCompanyWalletSettlement.reconcileWithLedger();
+
+    // Assert
+    assertEquals(expectedDiscrepancies, actualDiscrepancies);
+  }
+}
@@ -2,15 +2,19 @@ package dev.fResult.goutTogether.wallets;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 import dev.fResult.goutTogether.bookings.entities.Booking;
+import dev.fResult.goutTogether.common.configs.MyApplicationProperties;
 import dev.fResult.goutTogether.common.enumurations.BookingStatus;
 import dev.fResult.goutTogether.common.enumurations.TourStatus;
 import dev.fResult.goutTogether.common.enumurations.TransactionType;
 import dev.fResult.goutTogether.common.exceptions.EntityNotFoundException;
 import dev.fResult.goutTogether.common.exceptions.InsufficientBalanceException;
 import dev.fResult.goutTogether.common.exceptions.UnsupportedTransactionTypeException;
+import dev.fResult.goutTogether.common.helpers.OptimisticLockRetrier;
 import dev.fResult.goutTogether.common.utils.UUIDV7;
 import dev.fResult.goutTogether.tourCompanies.entities.TourCompany;
 import dev.fResult.goutTogether.tours.entities.Tour;
@@ -19,26 +23,37 @@ import dev.fResult.goutTogether.transactions.Transaction;
 import dev.fResult.goutTogether.transactions.TransactionRepository;
 import dev.fResult.goutTogether.users.entities.User;
 import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletInfoResponse;
+import dev.fResult.goutTogether.wallets.dtos.TourCompanyWalletOfTour;
 import dev.fResult.goutTogether.wallets.dtos.UserWalletInfoResponse;
 import dev.fResult.goutTogether.wallets.dtos.WalletTopUpRequest;
+import dev.fResult.goutTogether.wallets.dtos.WalletTransferResult;
 import dev.fResult.goutTogether.wallets.dtos.WalletWithdrawRequest;
 import dev.fResult.goutTogether.wallets.entities.TourCompanyWallet;
 import dev.fResult.goutTogether.wallets.entities.UserWallet;
 import dev.fResult.goutTogether.wallets.repositories.TourCompanyWalletRepository;
 import dev.fResult.goutTogether.wallets.repositories.UserWalletRepository;
+import dev.fResult.goutTogether.wallets.repositories.WalletTransferRepository;
+import dev.fResult.goutTogether.wallets.services.TourCompanyWalletSettlement;
+import dev.fResult.goutTogether.wallets.services.TourCompanyWalletShards;
 import dev.fResult.goutTogether.wallets.services.WalletServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jdbc.core.mapping.AggregateReference;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class WalletServiceTest {
@@ -53,6 +68,16 @@ class WalletServiceTest {
   @Mock TourCompanyWalletRepository tourCompanyWalletRepository;
   @Mock TourService tourService;
   @Mock TransactionRepository transactionRepository;
+  @Mock WalletTransferRepository walletTransferRepository;
+  @Mock TourCompanyWalletShards tourCompanyWalletShards;
+  @Mock TourCompanyWalletSettlement tourCompanyWalletSettlement;
+
+  @Spy
+  OptimisticLockRetrier optimisticLockRetrier =
+      new OptimisticLockRetrier(
+          mock(PlatformTransactionManager.class),
+          new MyApplicationProperties(),
+          new SimpleMeterRegistry());
 
   private UserWallet buildMockUserWallet(int userId, BigDecimal balance) {
     return UserWallet.of(USER_WALLET_ID, AggregateReference.to(userId), Instant.now(), balance);
@@ -271,6 +296,29 @@ class WalletServiceTest {
     assertEquals(expectedFoundCompanyWalletInfo, actualFoundWallet);
   }
 
+  @Test
+  void whenGetCompanyWallet_WithShards_ThenSumShardBalances() {
+    // Arrange
+    final var TOUR_COMPANY_ID = 1;
+    final var companyRef = AggregateReference.<TourCompany, Integer>to(TOUR_COMPANY_ID);
+    final var mockCompanyWallet = buildMockCompanyWallet(TOUR_COMPANY_ID, BigDecimal.valueOf(100));
+    final var expectedFoundCompanyWalletInfo =
+        TourCompanyWalletInfoResponse.of(
+            TOUR_COMPANY_WALLET_ID, TOUR_COMPANY_ID, BigDecimal.valueOf(350));
+
+    when(tourCompanyWalletRepository.findOneByTourCompanyId(companyRef))
+        .thenReturn(Optional.of(mockCompanyWallet));
+    when(tourCompanyWalletRepository.findShardBalanceSumByTourCompanyId(TOUR_COMPANY_ID))
+        .thenReturn(Optional.of(BigDecimal.valueOf(250)));
+
+    // Actual
+    final var actualFoundWallet =
+        walletService.getTourCompanyWalletInfoByTourCompanyId(TOUR_COMPANY_ID);
+
+    // Assert
+    assertEquals(expectedFoundCompanyWalletInfo, actualFoundWallet);
+  }
+
   @Test
   void whenGetCompanyWallet_ButNotFound_ThenThrowEntityNotFoundException() {
     // Arrange
@@ -291,137 +339,117 @@ class WalletServiceTest {
   }
 
   @Nested
-  class GetConsumerAndCompanyWalletsTest {
+  class GetConsumerAndCompanyWalletsOfBookingsTest {
     private final int USER_ID = 1;
-    private final int TOUR_ID = 1;
-    private final int COMPANY_WALLET_ID = 12;
-
-    private Booking buildMockBooking(
-        AggregateReference<User, Integer> userRef, AggregateReference<Tour, Integer> tourRef) {
+    private final int TOUR_COMPANY_ID = 3;
 
+    private Booking buildMockBooking(int bookingId, int tourId) {
       return Booking.of(
-          1,
-          userRef,
-          tourRef,
+          bookingId,
+          AggregateReference.to(USER_ID),
+          AggregateReference.to(tourId),
           BookingStatus.PENDING.name(),
           Instant.now(),
           Instant.now(),
           IDEMPOTENCY_KEY);
     }
 
-    private UserWallet buildMockUserWallet(AggregateReference<User, Integer> userRef) {
-      return UserWallet.of(USER_WALLET_ID, userRef, Instant.now(), BigDecimal.ZERO);
+    private TourCompanyWalletOfTour buildMockCompanyWalletOfTour(int tourId) {
+      return TourCompanyWalletOfTour.of(
+          tourId, TOUR_COMPANY_WALLET_ID, TOUR_COMPANY_ID, Instant.now(), BigDecimal.ZERO, 0);
     }
 
     @Test
-    void thenSuccess() {
+    void whenToursOfSameCompany_ThenJoinCompanyWalletByEveryTour() {
       // Arrange
-      final var userRef = AggregateReference.<User, Integer>to(1);
-      final var tourRef = AggregateReference.<Tour, Integer>to(1);
-      final var tourCompanyRef = AggregateReference.<TourCompany, Integer>to(1);
-      final var mockBooking = buildMockBooking(userRef, tourRef);
-      final var mockTour =
-          Tour.of(
-              TOUR_ID,
-              tourCompanyRef,
-              "",
-              "Camping in Bangkok",
-              "Bangkok, Thailand",
-              10,
-              Instant.now().plus(45, ChronoUnit.DAYS),
-              TourStatus.APPROVED.name());
-      final var mockUserWallet =
-          UserWallet.of(USER_WALLET_ID, userRef, Instant.now(), BigDecimal.ZERO);
-      final var mockTourCompanyWallet =
-          TourCompanyWallet.of(COMPANY_WALLET_ID, tourCompanyRef, Instant.now(), BigDecimal.ZERO);
+      final var bookings = List.of(buildMockBooking(1, 1), buildMockBooking(2, 2));
+      final var mockUserWallet = buildMockUserWallet(USER_ID, BigDecimal.TEN);
+      final var mockCompanyWalletOfFirstTour = buildMockCompanyWalletOfTour(1);
+      final var mockCompanyWalletOfSecondTour = buildMockCompanyWalletOfTour(2);
+      final var expectedCompanyWallet = mockCompanyWalletOfFirstTour.toTourCompanyWallet();
 
-      when(userWalletRepository.findOneByUserId(userRef)).thenReturn(Optional.of(mockUserWallet));
-      when(tourService.getTourById(anyInt())).thenReturn(mockTour);
-      when(tourCompanyWalletRepository.findOneByTourCompanyId(tourCompanyRef))
-          .thenReturn(Optional.of(mockTourCompanyWallet));
+      when(userWalletRepository.findAllByUserIdsForUpdate(Set.of(USER_ID)))
+          .thenReturn(List.of(mockUserWallet));
+      when(tourCompanyWalletRepository.findAllByTourIdsForUpdate(Set.of(1, 2)))
+          .thenReturn(List.of(mockCompanyWalletOfFirstTour, mockCompanyWalletOfSecondTour));
 
       // Actual
-      final var actualUserWallet = walletService.getConsumerAndTourCompanyWallets(mockBooking);
+      final var actualBookingWallets = walletService.getConsumerAndTourCompanyWallets(bookings);
 
       // Assert
-      assertEquals(mockUserWallet, actualUserWallet.getFirst());
-      assertEquals(mockTourCompanyWallet, actualUserWallet.getSecond());
+      assertEquals(mockUserWallet, actualBookingWallets.userWalletByUserId().get(USER_ID));
+      assertEquals(
+          Map.of(1, expectedCompanyWallet, 2, expectedCompanyWallet),
+          actualBookingWallets.tourCompanyWalletByTourId());
+      verifyNoInteractions(tourService);
     }
 
     @Test
-    void butUserIdIsNull_ThenThrowException() {
+    void whenShardsEnabled_ThenJoinCompanyWalletsWithoutLock() {
       // Arrange
-      final AggregateReference<User, Integer> userIdRef = null;
-      final var expectedErrorMessage =
-          String.format(
-              "%s with userId [%s] tourId [%s] not found",
-              Booking.class.getSimpleName(), null, TOUR_ID);
-
-      final var mockBooking =
-          Booking.of(
-              1,
-              null,
-              AggregateReference.<Tour, Integer>to(TOUR_ID),
-              BookingStatus.PENDING.name(),
-              Instant.now(),
-              Instant.now(),
-              IDEMPOTENCY_KEY);
+      final var bookings = List.of(buildMockBooking(1, 1));
+      final var mockCompanyWalletOfTour = buildMockCompanyWalletOfTour(1);
+
+      when(tourCompanyWalletShards.isEnabled()).thenReturn(true);
+      when(userWalletRepository.findAllByUserIdsForUpdate(Set.of(USER_ID)))
+          .thenReturn(List.of(buildMockUserWallet(USER_ID, BigDecimal.TEN)));
+      when(tourCompanyWalletRepository.findAllByTourIds(Set.of(1)))
+          .thenReturn(List.of(mockCompanyWalletOfTour));
 
       // Actual
-      final Executable actualUserWallet =
-          () -> walletService.getConsumerAndTourCompanyWallets(mockBooking);
+      final var actualBookingWallets = walletService.getConsumerAndTourCompanyWallets(bookings);
 
       // Assert
-      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualUserWallet);
-      assertEquals(expectedErrorMessage, exception.getMessage());
+      assertEquals(
+          Map.of(1, mockCompanyWalletOfTour.toTourCompanyWallet()),
+          actualBookingWallets.tourCompanyWalletByTourId());
+      verify(tourCompanyWalletRepository, never()).findAllByTourIdsForUpdate(anyCollection());
     }
 
     @Test
-    void butTourCompanyIdIsNull_ThenThrowException() {
+    void whenOutboxEnabled_ThenJoinCompanyWalletsWithoutLock() {
       // Arrange
-      final var expectedErrorMessage =
-          String.format(
-              "%s with userId [%s] tourId [%s] not found",
-              Booking.class.getSimpleName(), USER_ID, null);
-      final var mockBooking =
-          Booking.of(
-              1,
-              AggregateReference.<User, Integer>to(USER_ID),
-              null,
-              BookingStatus.PENDING.name(),
-              Instant.now(),
-              Instant.now(),
-              IDEMPOTENCY_KEY);
+      final var bookings = List.of(buildMockBooking(1, 1));
+      final var mockCompanyWalletOfTour = buildMockCompanyWalletOfTour(1);
+
+      when(tourCompanyWalletSettlement.isEnabled()).thenReturn(true);
+      when(userWalletRepository.findAllByUserIdsForUpdate(Set.of(USER_ID)))
+          .thenReturn(List.of(buildMockUserWallet(USER_ID, BigDecimal.TEN)));
+      when(tourCompanyWalletRepository.findAllByTourIds(Set.of(1)))
+          .thenReturn(List.of(mockCompanyWalletOfTour));
 
       // Actual
-      final Executable actualUserWallet =
-          () -> walletService.getConsumerAndTourCompanyWallets(mockBooking);
+      final var actualBookingWallets = walletService.getConsumerAndTourCompanyWallets(bookings);
 
       // Assert
-      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualUserWallet);
-      assertEquals(expectedErrorMessage, exception.getMessage());
+      assertEquals(
+          Map.of(1, mockCompanyWalletOfTour.toTourCompanyWallet()),
+          actualBookingWallets.tourCompanyWalletByTourId());
+      verify(tourCompanyWalletRepository, never()).findAllByTourIdsForUpdate(anyCollection());
     }
 
     @Test
-    void butTourNotFound_ThenThrowException() {
+    void butCompanyWalletOfTourNotFound_ThenThrowException() {
       // Arrange
+      final var NOT_FOUND_TOUR_ID = 2;
       final var expectedErrorMessage =
-          String.format("%s id [%d] not found", Tour.class.getSimpleName(), TOUR_ID);
-      final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-      final var tourRef = AggregateReference.<Tour, Integer>to(TOUR_ID);
-      final var mockBooking = buildMockBooking(userRef, tourRef);
-      final var mockUserWallet = buildMockUserWallet(userRef);
+          String.format(
+              "%s with tourId [%d] not found",
+              TourCompanyWallet.class.getSimpleName(), NOT_FOUND_TOUR_ID);
+      final var bookings =
+          List.of(buildMockBooking(1, 1), buildMockBooking(2, NOT_FOUND_TOUR_ID));
 
-      when(userWalletRepository.findOneByUserId(userRef)).thenReturn(Optional.of(mockUserWallet));
-      when(tourService.getTourById(TOUR_ID))
-          .thenThrow(new EntityNotFoundException(expectedErrorMessage));
+      when(userWalletRepository.findAllByUserIdsForUpdate(Set.of(USER_ID)))
+          .thenReturn(List.of(buildMockUserWallet(USER_ID, BigDecimal.TEN)));
+      when(tourCompanyWalletRepository.findAllByTourIdsForUpdate(Set.of(1, NOT_FOUND_TOUR_ID)))
+          .thenReturn(List.of(buildMockCompanyWalletOfTour(1)));
 
       // Actual
-      final Executable actualUserWallet =
-          () -> walletService.getConsumerAndTourCompanyWallets(mockBooking);
+      final Executable actualExecutable =
+          () -> walletService.getConsumerAndTourCompanyWallets(bookings);
 
       // Assert
-      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualUserWallet);
+      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
       assertEquals(expectedErrorMessage, exception.getMessage());
     }
   }
@@ -457,6 +485,32 @@ class WalletServiceTest {
 
       // Assert
       assertEquals(expectedCompanyWalletInfo, actualWithdrewWallet);
+      verify(transactionRepository).save(any(Transaction.class));
+    }
+
+    @Test
+    void withShards_ThenDrainShardsBeforeWithdraw() {
+      // Arrange
+      final var AMOUNT_TO_WITHDRAW = BigDecimal.valueOf(300);
+      final var CURRENT_BALANCE = BigDecimal.valueOf(100);
+      final var SHARD_BALANCE_SUM = BigDecimal.valueOf(250);
+      final var BALANCE_AFTER_WITHDRAW = BigDecimal.valueOf(50);
+      final var body = WalletWithdrawRequest.of(AMOUNT_TO_WITHDRAW);
+      final var tourCompanyRef = AggregateReference.<TourCompany, Integer>to(TOUR_COMPANY_ID);
+
+      when(tourCompanyWalletRepository.findOneByTourCompanyId(tourCompanyRef))
+          .thenReturn(Optional.of(buildMockCompanyWallet(TOUR_COMPANY_ID, CURRENT_BALANCE)));
+      when(tourCompanyWalletRepository.sweepShardBalancesByTourCompanyId(TOUR_COMPANY_ID))
+          .thenReturn(Optional.of(SHARD_BALANCE_SUM));
+      when(tourCompanyWalletRepository.save(any(TourCompanyWallet.class)))
+          .thenAnswer(invocation -> invocation.getArgument(0));
+
+      // Actual
+      final var actualWithdrewWallet =
+          walletService.withdrawTourCompanyWallet(TOUR_COMPANY_ID, IDEMPOTENCY_KEY, body);
+
+      // Assert
+      assertEquals(BALANCE_AFTER_WITHDRAW, actualWithdrewWallet.balance());
     }
 
     @Test
@@ -488,125 +542,201 @@ class WalletServiceTest {
 
   @Nested
   class TransferMoneyTest {
-    @Nested
-    class TransferMoneyForBookingTest {
-      private final int USER_ID = 1;
-      private final int COMPANY_ID = 2;
-      private final BigDecimal AMOUNT_TO_TRANSFER = BigDecimal.valueOf(100);
-      private final BigDecimal AMOUNT_OVER_USER_BALANCE = BigDecimal.valueOf(201);
-      private final BigDecimal CURRENT_USER_BALANCE = BigDecimal.valueOf(200);
-      private final BigDecimal CURRENT_COMPANY_BALANCE = BigDecimal.valueOf(300);
-      private final BigDecimal USER_BALANCE_AFTER_TRANSFER =
-          CURRENT_USER_BALANCE.subtract(AMOUNT_TO_TRANSFER);
-      private final BigDecimal COMPANY_BALANCE_AFTER_TRANSFER =
-          CURRENT_COMPANY_BALANCE.add(AMOUNT_TO_TRANSFER);
-
-      @Test
-      void thenSuccess() {
-        // Arrange
-        final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-        final var companyRef = AggregateReference.<TourCompany, Integer>to(COMPANY_ID);
-        final var userWalletInput = buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE);
-        final var companyWalletInput = buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
-        final var expectedUserWallet =
-            UserWallet.of(USER_WALLET_ID, userRef, Instant.now(), USER_BALANCE_AFTER_TRANSFER);
-        final var expectedCompanyWallet =
-            TourCompanyWallet.of(1, companyRef, Instant.now(), COMPANY_BALANCE_AFTER_TRANSFER);
-
-        when(userWalletRepository.save(any(UserWallet.class))).thenReturn(expectedUserWallet);
-        when(tourCompanyWalletRepository.save(any(TourCompanyWallet.class)))
-            .thenReturn(expectedCompanyWallet);
-
-        // Actual
-        final var actualWallets =
-            walletService.transferMoney(
-                userWalletInput, companyWalletInput, AMOUNT_TO_TRANSFER, TransactionType.BOOKING);
-
-        // Assert
-        assertEquals(expectedUserWallet, actualWallets.getFirst());
-        assertEquals(expectedCompanyWallet, actualWallets.getSecond());
-      }
-
-      @Test
-      void butInsufficientBalance_ThenThrowException() {
-        // Arrange
-        final var expectedErrorMessage =
-            String.format(
-                "%s balance is insufficient for this operation", UserWallet.class.getSimpleName());
-        final var userWalletInput = buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE);
-        final var tourCompanyWalletInput =
-            buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
-
-        // Actual
-        final Executable actualExecutable =
-            () ->
-                walletService.transferMoney(
-                    userWalletInput,
-                    tourCompanyWalletInput,
-                    AMOUNT_OVER_USER_BALANCE,
-                    TransactionType.BOOKING);
-
-        // Assert
-        final var exception = assertThrowsExactly(InsufficientBalanceException.class, actualExecutable);
-        assertEquals(expectedErrorMessage, exception.getMessage());
-      }
+    private final int BOOKING_ID = 1;
+    private final int USER_ID = 1;
+    private final int TOUR_ID = 3;
+    private final int COMPANY_ID = 2;
+    private final int TRANSACTION_ID = 5;
+    private final BigDecimal AMOUNT_TO_TRANSFER = BigDecimal.valueOf(100);
+    private final BigDecimal CURRENT_USER_BALANCE = BigDecimal.valueOf(200);
+    private final BigDecimal CURRENT_COMPANY_BALANCE = BigDecimal.valueOf(300);
+
+    private Booking buildMockBooking() {
+      return Booking.of(
+          BOOKING_ID,
+          AggregateReference.to(USER_ID),
+          AggregateReference.to(TOUR_ID),
+          BookingStatus.PENDING.name(),
+          Instant.now(),
+          Instant.now(),
+          IDEMPOTENCY_KEY);
+    }
+
+    private Tour buildMockTour() {
+      return Tour.of(
+          TOUR_ID,
+          AggregateReference.to(COMPANY_ID),
+          "Bangkok 2 days",
+          "Camping in Bangkok",
+          "Bangkok, Thailand",
+          10,
+          Instant.now().plus(45, ChronoUnit.DAYS),
+          TourStatus.APPROVED.name());
+    }
+
+    @Test
+    void forBooking_ThenTransferInOneStatement() {
+      // Arrange
+      final var expectedTransferResult =
+          WalletTransferResult.of(
+              TRANSACTION_ID,
+              CURRENT_USER_BALANCE.subtract(AMOUNT_TO_TRANSFER),
+              CURRENT_COMPANY_BALANCE.add(AMOUNT_TO_TRANSFER));
+      when(walletTransferRepository.transferForBooking(
+              USER_ID, TOUR_ID, BOOKING_ID, AMOUNT_TO_TRANSFER, IDEMPOTENCY_KEY))
+          .thenReturn(Optional.of(expectedTransferResult));
+
+      // Actual
+      final var actualTransferResult =
+          walletService.transferMoney(
+              buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.BOOKING, IDEMPOTENCY_KEY);
+
+      // Assert
+      assertEquals(expectedTransferResult, actualTransferResult);
+      verify(userWalletRepository, never()).save(any(UserWallet.class));
+      verify(tourCompanyWalletRepository, never()).save(any(TourCompanyWallet.class));
     }
 
-    @Nested
-    class TransferMoneyForRefundTest {
-      private final int COMPANY_ID = 2;
-      private final int USER_ID = 1;
-      private final BigDecimal AMOUNT_TO_TRANSFER = BigDecimal.valueOf(100);
-      private final BigDecimal CURRENT_COMPANY_BALANCE = BigDecimal.valueOf(300);
-      private final BigDecimal CURRENT_USER_BALANCE = BigDecimal.valueOf(200);
-      private final BigDecimal COMPANY_BALANCE_AFTER_TRANSFER =
-          CURRENT_COMPANY_BALANCE.subtract(AMOUNT_TO_TRANSFER);
-      private final BigDecimal USER_BALANCE_AFTER_TRANSFER =
-          CURRENT_USER_BALANCE.add(AMOUNT_TO_TRANSFER);
-
-      @Test
-      void thenSuccess() {
-        // Arrange
-        final var userWalletInput = buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE);
-        final var companyWalletInput = buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
-        final var userRef = AggregateReference.<User, Integer>to(USER_ID);
-        final var companyRef = AggregateReference.<TourCompany, Integer>to(COMPANY_ID);
-        final var expectedUserWallet =
-            UserWallet.of(USER_WALLET_ID, userRef, Instant.now(), USER_BALANCE_AFTER_TRANSFER);
-        final var expectedCompanyWallet =
-            TourCompanyWallet.of(1, companyRef, Instant.now(), COMPANY_BALANCE_AFTER_TRANSFER);
-
-        when(userWalletRepository.save(any(UserWallet.class))).thenReturn(expectedUserWallet);
-        when(tourCompanyWalletRepository.save(any(TourCompanyWallet.class)))
-            .thenReturn(expectedCompanyWallet);
-
-        // Actual
-        final var actualTransferredWallets =
-            walletService.transferMoney(
-                userWalletInput, companyWalletInput, AMOUNT_TO_TRANSFER, TransactionType.REFUND);
-
-        // Assert
-        assertEquals(expectedUserWallet, actualTransferredWallets.getFirst());
-        assertEquals(expectedCompanyWallet, actualTransferredWallets.getSecond());
-      }
+    @Test
+    void forBooking_ButInsufficientBalance_ThenThrowException() {
+      // Arrange
+      final var expectedErrorMessage =
+          String.format(
+              "%s balance is insufficient for this operation", UserWallet.class.getSimpleName());
+      final var userRef = AggregateReference.<User, Integer>to(USER_ID);
+      final var companyRef = AggregateReference.<TourCompany, Integer>to(COMPANY_ID);
+      when(walletTransferRepository.transferForBooking(
+              USER_ID, TOUR_ID, BOOKING_ID, AMOUNT_TO_TRANSFER, IDEMPOTENCY_KEY))
+          .thenReturn(Optional.empty());
+      when(userWalletRepository.findOneByUserId(userRef))
+          .thenReturn(Optional.of(buildMockUserWallet(USER_ID, BigDecimal.valueOf(99))));
+      when(tourService.getTourById(TOUR_ID)).thenReturn(buildMockTour());
+      when(tourCompanyWalletRepository.findOneByTourCompanyId(companyRef))
+          .thenReturn(Optional.of(buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE)));
+
+      // Actual
+      final Executable actualExecutable =
+          () ->
+              walletService.transferMoney(
+                  buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.BOOKING, IDEMPOTENCY_KEY);
+
+      // Assert
+      final var exception =
+          assertThrowsExactly(InsufficientBalanceException.class, actualExecutable);
+      assertEquals(expectedErrorMessage, exception.getMessage());
+    }
+
+    @Test
+    void forBooking_ButTourCompanyWalletNotFound_ThenThrowException() {
+      // Arrange
+      final var expectedErrorMessage =
+          String.format(
+              "%s with tourCompanyId [%d] not found",
+              TourCompanyWallet.class.getSimpleName(), COMPANY_ID);
+      final var userRef = AggregateReference.<User, Integer>to(USER_ID);
+      final var companyRef = AggregateReference.<TourCompany, Integer>to(COMPANY_ID);
+      when(walletTransferRepository.transferForBooking(
+              USER_ID, TOUR_ID, BOOKING_ID, AMOUNT_TO_TRANSFER, IDEMPOTENCY_KEY))
+          .thenReturn(Optional.empty());
+      when(userWalletRepository.findOneByUserId(userRef))
+          .thenReturn(Optional.of(buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE)));
+      when(tourService.getTourById(TOUR_ID)).thenReturn(buildMockTour());
+      when(tourCompanyWalletRepository.findOneByTourCompanyId(companyRef))
+          .thenReturn(Optional.empty());
+
+      // Actual
+      final Executable actualExecutable =
+          () ->
+              walletService.transferMoney(
+                  buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.BOOKING, IDEMPOTENCY_KEY);
+
+      // Assert
+      final var exception = assertThrowsExactly(EntityNotFoundException.class, actualExecutable);
+      assertEquals(expectedErrorMessage, exception.getMessage());
+    }
+
+    @Test
+    void forBooking_WithShards_ThenCreditShardOfBooking() {
+      // Arrange
+      final var SHARD_NO = 1;
+      final var expectedTransferResult =
+          WalletTransferResult.of(
+              TRANSACTION_ID,
+              CURRENT_USER_BALANCE.subtract(AMOUNT_TO_TRANSFER),
+              AMOUNT_TO_TRANSFER);
+      when(tourCompanyWalletShards.isEnabled()).thenReturn(true);
+      when(tourCompanyWalletShards.shardOf(BOOKING_ID)).thenReturn(SHARD_NO);
+      when(walletTransferRepository.transferForBookingToShard(
+              USER_ID, TOUR_ID, BOOKING_ID, AMOUNT_TO_TRANSFER, IDEMPOTENCY_KEY, SHARD_NO))
+          .thenReturn(Optional.of(expectedTransferResult));
+
+      // Actual
+      final var actualTransferResult =
+          walletService.transferMoney(
+              buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.BOOKING, IDEMPOTENCY_KEY);
+
+      // Assert
+      assertEquals(expectedTransferResult, actualTransferResult);
+      verify(walletTransferRepository, never())
+          .transferForBooking(anyInt(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void forBooking_WithOutbox_ThenQueueTourCompanyCredit() {
+      // Arrange
+      final var expectedTransferResult =
+          WalletTransferResult.of(
+              TRANSACTION_ID, CURRENT_USER_BALANCE.subtract(AMOUNT_TO_TRANSFER), null);
+      when(tourCompanyWalletSettlement.isEnabled()).thenReturn(true);
+      when(walletTransferRepository.transferForBookingToOutbox(
+              USER_ID, TOUR_ID, BOOKING_ID, AMOUNT_TO_TRANSFER, IDEMPOTENCY_KEY))
+          .thenReturn(Optional.of(expectedTransferResult));
+
+      // Actual
+      final var actualTransferResult =
+          walletService.transferMoney(
+              buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.BOOKING, IDEMPOTENCY_KEY);
+
+      // Assert
+      assertEquals(expectedTransferResult, actualTransferResult);
+      verify(walletTransferRepository, never())
+          .transferForBooking(anyInt(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void forRefund_ThenTransferInOneStatement() {
+      // Arrange
+      final var expectedTransferResult =
+          WalletTransferResult.of(
+              TRANSACTION_ID,
+              CURRENT_USER_BALANCE.add(AMOUNT_TO_TRANSFER),
+              CURRENT_COMPANY_BALANCE.subtract(AMOUNT_TO_TRANSFER));
+      when(walletTransferRepository.transferForRefund(
+              USER_ID, TOUR_ID, BOOKING_ID, AMOUNT_TO_TRANSFER, IDEMPOTENCY_KEY))
+          .thenReturn(Optional.of(expectedTransferResult));
+
+      // Actual
+      final var actualTransferResult =
+          walletService.transferMoney(
+              buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.REFUND, IDEMPOTENCY_KEY);
+
+      // Assert
+      assertEquals(expectedTransferResult, actualTransferResult);
     }
 
     @Test
     void forTopUp_ButUnsupported_ThenThrowError() {
       // Arrange
-      final var AMOUNT_TO_TRANSFER = BigDecimal.valueOf(200);
       final var expectedErrorMessage =
           String.format(
               "Transaction type [%s] is not supported for this transferring method",
               TransactionType.TOP_UP);
-      final var userWalletInput = buildMockUserWallet(1, BigDecimal.ZERO);
-      final var companyWalletInput = buildMockCompanyWallet(2, BigDecimal.ZERO);
 
       // Actual
       final Executable actualExecutable =
           () ->
               walletService.transferMoney(
-                  userWalletInput, companyWalletInput, AMOUNT_TO_TRANSFER, TransactionType.TOP_UP);
+                  buildMockBooking(), AMOUNT_TO_TRANSFER, TransactionType.TOP_UP, IDEMPOTENCY_KEY);
 
       // Assert
       final var exception =
@@ -617,22 +747,19 @@ class WalletServiceTest {
     @Test
     void forWithdraw_ButUnsupported_ThenThrowError() {
       // Arrange
-      final var AMOUNT_TO_TRANSFER = BigDecimal.valueOf(200);
       final var expectedErrorMessage =
           String.format(
               "Transaction type [%s] is not supported for this transferring method",
               TransactionType.WITHDRAW);
-      final var userWalletInput = buildMockUserWallet(1, BigDecimal.ZERO);
-      final var companyWalletInput = buildMockCompanyWallet(2, BigDecimal.ZERO);
 
       // Actual
       final Executable actualExecutable =
           () ->
               walletService.transferMoney(
-                  userWalletInput,
-                  companyWalletInput,
+                  buildMockBooking(),
                   AMOUNT_TO_TRANSFER,
-                  TransactionType.WITHDRAW);
+                  TransactionType.WITHDRAW,
+                  IDEMPOTENCY_KEY);
 
       // Assert
       final var exception =
@@ -640,4 +767,143 @@ class WalletServiceTest {
       assertEquals(expectedErrorMessage, exception.getMessage());
     }
   }
+
+  @Nested
+  class TransferMoneyForBookingsTest {
+    private final int USER_ID = 1;
+    private final int COMPANY_ID = 2;
+    private final BigDecimal AMOUNT_TO_TRANSFER = BigDecimal.valueOf(300);
+    private final BigDecimal CURRENT_USER_BALANCE = BigDecimal.valueOf(800);
+    private final BigDecimal CURRENT_COMPANY_BALANCE = BigDecimal.valueOf(100);
+
+    private Transaction buildBookingTransaction(int transactionId, int bookingId) {
+      return Transaction.of(
+          transactionId,
+          AggregateReference.to(USER_ID),
+          AggregateReference.to(COMPANY_ID),
+          AggregateReference.to(bookingId),
+          Instant.now(),
+          AMOUNT_TO_TRANSFER,
+          TransactionType.BOOKING,
+          IDEMPOTENCY_KEY);
+    }
+
+    @Test
+    void thenSaveEveryWalletOnce() {
+      // Arrange
+      final var totalAmount = AMOUNT_TO_TRANSFER.add(AMOUNT_TO_TRANSFER);
+      final var userWalletInput = buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE);
+      final var companyWalletInput = buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
+      final var bookingTransactions =
+          List.of(buildBookingTransaction(1, 1), buildBookingTransaction(2, 2));
+      final var expectedUserWallet =
+          buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE.subtract(totalAmount));
+      final var expectedCompanyWallet =
+          buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE.add(totalAmount));
+
+      when(userWalletRepository.saveAll(anyList())).thenReturn(List.of(expectedUserWallet));
+      when(tourCompanyWalletRepository.saveAll(anyList()))
+          .thenReturn(List.of(expectedCompanyWallet));
+
+      // Actual
+      final var actualWallets =
+          walletService.transferMoneyForBookings(
+              Map.of(userWalletInput, totalAmount),
+              List.of(companyWalletInput),
+              bookingTransactions);
+
+      // Assert
+      assertEquals(List.of(expectedUserWallet), actualWallets.getFirst());
+      assertEquals(List.of(expectedCompanyWallet), actualWallets.getSecond());
+      verify(userWalletRepository, never()).save(any(UserWallet.class));
+      verify(tourCompanyWalletRepository, never()).save(any(TourCompanyWallet.class));
+      verify(tourCompanyWalletRepository, never()).creditShard(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void whenShardsEnabled_ThenCreditShardOfEveryBookingInsteadOfWallet() {
+      // Arrange
+      final var totalAmount = AMOUNT_TO_TRANSFER.add(AMOUNT_TO_TRANSFER);
+      final var userWalletInput = buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE);
+      final var companyWalletInput = buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
+      final var bookingTransactions =
+          List.of(buildBookingTransaction(1, 5), buildBookingTransaction(2, 3));
+      final var expectedUserWallet =
+          buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE.subtract(totalAmount));
+
+      when(tourCompanyWalletShards.isEnabled()).thenReturn(true);
+      when(tourCompanyWalletShards.shardOf(5)).thenReturn(5);
+      when(tourCompanyWalletShards.shardOf(3)).thenReturn(3);
+      when(userWalletRepository.saveAll(anyList())).thenReturn(List.of(expectedUserWallet));
+
+      // Actual
+      final var actualWallets =
+          walletService.transferMoneyForBookings(
+              Map.of(userWalletInput, totalAmount),
+              List.of(companyWalletInput),
+              bookingTransactions);
+
+      // Assert
+      final var inOrder = inOrder(tourCompanyWalletRepository);
+      assertEquals(List.of(expectedUserWallet), actualWallets.getFirst());
+      assertTrue(actualWallets.getSecond().isEmpty());
+      inOrder.verify(tourCompanyWalletRepository).creditShard(COMPANY_ID, 3, AMOUNT_TO_TRANSFER);
+      inOrder.verify(tourCompanyWalletRepository).creditShard(COMPANY_ID, 5, AMOUNT_TO_TRANSFER);
+      verify(tourCompanyWalletRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void whenOutboxEnabled_ThenQueueCreditOfEveryBookingInsteadOfWallet() {
+      // Arrange
+      final var totalAmount = AMOUNT_TO_TRANSFER.add(AMOUNT_TO_TRANSFER);
+      final var userWalletInput = buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE);
+      final var companyWalletInput = buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
+      final var bookingTransactions =
+          List.of(buildBookingTransaction(11, 1), buildBookingTransaction(12, 2));
+      final var expectedUserWallet =
+          buildMockUserWallet(USER_ID, CURRENT_USER_BALANCE.subtract(totalAmount));
+
+      when(tourCompanyWalletSettlement.isEnabled()).thenReturn(true);
+      when(userWalletRepository.saveAll(anyList())).thenReturn(List.of(expectedUserWallet));
+
+      // Actual
+      final var actualWallets =
+          walletService.transferMoneyForBookings(
+              Map.of(userWalletInput, totalAmount),
+              List.of(companyWalletInput),
+              bookingTransactions);
+
+      // Assert
+      assertEquals(List.of(expectedUserWallet), actualWallets.getFirst());
+      assertTrue(actualWallets.getSecond().isEmpty());
+      verify(tourCompanyWalletRepository).queueCredit(COMPANY_ID, 1, 11, AMOUNT_TO_TRANSFER);
+      verify(tourCompanyWalletRepository).queueCredit(COMPANY_ID, 2, 12, AMOUNT_TO_TRANSFER);
+      verify(tourCompanyWalletRepository, never()).saveAll(anyList());
+      verify(tourCompanyWalletRepository, never()).creditShard(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void butInsufficientBalance_ThenThrowException() {
+      // Arrange
+      final var expectedErrorMessage =
+          String.format(
+              "%s balance is insufficient for this operation", UserWallet.class.getSimpleName());
+      final var userWalletInput = buildMockUserWallet(USER_ID, BigDecimal.valueOf(299));
+      final var companyWalletInput = buildMockCompanyWallet(COMPANY_ID, CURRENT_COMPANY_BALANCE);
+
+      // Actual
+      final Executable actualExecutable =
+          () ->
+              walletService.transferMoneyForBookings(
+                  Map.of(userWalletInput, AMOUNT_TO_TRANSFER),
+                  List.of(companyWalletInput),
+                  List.of(buildBookingTransaction(1, 1)));
+
+      // Assert
+      final var exception =
+          assertThrowsExactly(InsufficientBalanceException.class, actualExecutable);
+      assertEquals(expectedErrorMessage, exception.getMessage());
+      verify(userWalletRepository, never()).saveAll(anyList());
+    }
+  }
 }